@@ -1,8 +1,11 @@
 package it.pagopa.transactions;
 
 import it.pagopa.ecommerce.commons.ConfigScan;
+import it.pagopa.transactions.configurations.ConnectionPoolsConfig;
+import it.pagopa.transactions.configurations.HttpProtocolsConfig;
 import it.pagopa.transactions.configurations.NpgSessionUrlConfig;
 import it.pagopa.transactions.configurations.WalletConfig;
+import it.pagopa.transactions.utils.soap.JaxbContextContainer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -17,7 +20,9 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @EnableConfigurationProperties(
     {
             NpgSessionUrlConfig.class,
-            WalletConfig.class
+            WalletConfig.class,
+            ConnectionPoolsConfig.class,
+            HttpProtocolsConfig.class
     }
 )
 @Import(ConfigScan.class)
@@ -25,6 +30,8 @@ import org.springframework.scheduling.annotation.EnableAsync;
 public class PagopaEcommerceTransactionsApplication {
 
     public static void main(String[] args) {
+        // Nodo SOAP JAXBContext is built concurrently with the application context
+        JaxbContextContainer.initialize();
         SpringApplication.run(PagopaEcommerceTransactionsApplication.class, args);
     }
 }
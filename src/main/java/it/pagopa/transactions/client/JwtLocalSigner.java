@@ -0,0 +1,319 @@
+package it.pagopa.transactions.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import it.pagopa.ecommerce.commons.generated.jwtissuer.v1.dto.CreateTokenRequestDto;
+import it.pagopa.ecommerce.commons.generated.jwtissuer.v1.dto.CreateTokenResponseDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local JWT signer, used to issue tokens in-process instead of calling the
+ * jwt-issuer-service for each request.
+ * <p>
+ * Signing keys are read from a directory (e.g. the jwt issuer Key Vault secrets
+ * mounted as files) where each file, named {@code <kid>.pem}, holds a PKCS#8
+ * EC or RSA private key. Keys are reloaded periodically so that key rotations
+ * are picked up without restarts: the most recently modified key is the active
+ * one and, when the issuer published key set uri is configured, only keys whose
+ * kid is published by the issuer are used, so that issued tokens can always be
+ * validated by the issuer consumers. The published key set is read with the jwt
+ * issuer web client and a bounded timeout: if it cannot be read, the last known
+ * published key set is used, so that a hung or failing request never stops key
+ * rotation.
+ * <p>
+ * When the signer is disabled or no valid key is available, no token is
+ * returned and callers are expected to fall back to the remote issuer.
+ */
+@Component
+@Slf4j
+public class JwtLocalSigner {
+
+    private static final String PEM_EXTENSION = ".pem";
+
+    private static final List<String> SUPPORTED_KEY_ALGORITHMS = List.of("EC", "RSA");
+
+    /**
+     * Private key used to sign tokens
+     *
+     * @param kid        the key id, set into the token header
+     * @param privateKey the signing private key
+     */
+    record SigningKey(
+            String kid,
+            PrivateKey privateKey
+    ) {
+    }
+
+    private final boolean enabled;
+
+    private final Path keysPath;
+
+    private final String publishedKeySetUri;
+
+    private final String issuer;
+
+    private final Duration refreshInterval;
+
+    private final Clock clock;
+
+    private final WebClient webClient;
+
+    private final Duration publishedKeySetTimeout;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicReference<SigningKey> activeKey = new AtomicReference<>();
+
+    private final AtomicReference<Predicate<String>> lastPublishedKeyIds = new AtomicReference<>();
+
+    private final Counter signedTokens;
+
+    private final Counter keyRefreshFailures;
+
+    private Disposable keysRefresh;
+
+    @Autowired
+    public JwtLocalSigner(
+            MeterRegistry meterRegistry,
+            @Qualifier("jwtIssuerKeySetWebClient") WebClient webClient,
+            @Value("${jwtissuer.localSigner.enabled}") boolean enabled,
+            @Value("${jwtissuer.localSigner.keysPath}") String keysPath,
+            @Value("${jwtissuer.localSigner.publishedKeySetUri}") String publishedKeySetUri,
+            @Value("${jwtissuer.localSigner.publishedKeySetTimeoutMillis}") long publishedKeySetTimeoutMillis,
+            @Value("${jwtissuer.localSigner.issuer}") String issuer,
+            @Value("${jwtissuer.localSigner.refreshIntervalSeconds}") long refreshIntervalSeconds
+    ) {
+        this(
+                meterRegistry,
+                webClient,
+                enabled,
+                keysPath,
+                publishedKeySetUri,
+                Duration.ofMillis(publishedKeySetTimeoutMillis),
+                issuer,
+                Duration.ofSeconds(refreshIntervalSeconds),
+                Clock.systemUTC()
+        );
+    }
+
+    JwtLocalSigner(
+            MeterRegistry meterRegistry,
+            WebClient webClient,
+            boolean enabled,
+            String keysPath,
+            String publishedKeySetUri,
+            Duration publishedKeySetTimeout,
+            String issuer,
+            Duration refreshInterval,
+            Clock clock
+    ) {
+        this.webClient = webClient;
+        this.enabled = enabled;
+        this.keysPath = Path.of(keysPath);
+        this.publishedKeySetUri = publishedKeySetUri;
+        this.publishedKeySetTimeout = publishedKeySetTimeout;
+        this.issuer = issuer;
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+        this.signedTokens = Counter.builder("jwt.local.signer.tokens").register(meterRegistry);
+        this.keyRefreshFailures = Counter.builder("jwt.local.signer.key.refresh.failures").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            keysRefresh = Flux.interval(Duration.ZERO, refreshInterval)
+                    .concatMap(tick -> refreshKeys().onErrorResume(error -> Mono.empty()))
+                    .subscribe();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (keysRefresh != null) {
+            keysRefresh.dispose();
+        }
+    }
+
+    /**
+     * Sign a token for the input request with the active key
+     *
+     * @param createTokenRequestDto the token request
+     * @return the signed token, or an empty Mono if the signer is disabled or no
+     *         valid signing key is available
+     */
+    public Mono<CreateTokenResponseDto> createJWTToken(CreateTokenRequestDto createTokenRequestDto) {
+        return Mono.defer(() -> {
+            SigningKey signingKey = activeKey.get();
+            if (!enabled || signingKey == null) {
+                return Mono.empty();
+            }
+            return Mono.fromCallable(
+                    () -> new CreateTokenResponseDto().token(sign(signingKey, createTokenRequestDto))
+            ).doOnNext(response -> signedTokens.increment());
+        });
+    }
+
+    /**
+     * Reload the signing keys, activating the most recent valid one. The
+     * current key is kept if keys cannot be reloaded.
+     *
+     * @return the reloaded active key, if any
+     */
+    Mono<SigningKey> refreshKeys() {
+        return Mono.fromCallable(this::readSigningKeys)
+                .subscribeOn(Schedulers.boundedElastic())
+                .zipWith(publishedKeyIds())
+                .flatMap(
+                        keysAndPublished -> Mono.justOrEmpty(
+                                keysAndPublished.getT1().stream()
+                                        .filter(key -> keysAndPublished.getT2().test(key.kid()))
+                                        .findFirst()
+                        )
+                )
+                .doOnNext(key -> {
+                    SigningKey previous = activeKey.getAndSet(key);
+                    if (previous == null || !previous.kid().equals(key.kid())) {
+                        log.info("Local jwt signer active key set to kid: [{}]", key.kid());
+                    }
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> {
+                    if (activeKey.getAndSet(null) != null) {
+                        log.warn("No valid local jwt signing key found, falling back to remote jwt issuer");
+                    }
+                }))
+                .doOnError(error -> {
+                    keyRefreshFailures.increment();
+                    log.error("Error refreshing local jwt signing keys", error);
+                });
+    }
+
+    private String sign(
+                        SigningKey signingKey,
+                        CreateTokenRequestDto createTokenRequestDto
+    ) {
+        Instant now = clock.instant();
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam("kid", signingKey.kid())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(createTokenRequestDto.getDuration())))
+                .setAudience(createTokenRequestDto.getAudience());
+        if (issuer != null && !issuer.isBlank()) {
+            builder.setIssuer(issuer);
+        }
+        if (createTokenRequestDto.getPrivateClaims() != null) {
+            builder.addClaims(new HashMap<>(createTokenRequestDto.getPrivateClaims()));
+        }
+        return builder.signWith(signingKey.privateKey()).compact();
+    }
+
+    private List<SigningKey> readSigningKeys() throws IOException {
+        try (Stream<Path> files = Files.list(keysPath)) {
+            List<Path> keyFiles = files
+                    .filter(file -> file.getFileName().toString().endsWith(PEM_EXTENSION))
+                    .sorted(Comparator.comparing(this::lastModified).reversed())
+                    .toList();
+            List<SigningKey> signingKeys = new ArrayList<>();
+            for (Path keyFile : keyFiles) {
+                String fileName = keyFile.getFileName().toString();
+                signingKeys.add(
+                        new SigningKey(
+                                fileName.substring(0, fileName.length() - PEM_EXTENSION.length()),
+                                parsePrivateKey(Files.readString(keyFile))
+                        )
+                );
+            }
+            return signingKeys;
+        }
+    }
+
+    private Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private Mono<Predicate<String>> publishedKeyIds() {
+        if (publishedKeySetUri == null || publishedKeySetUri.isBlank()) {
+            Predicate<String> anyKey = kid -> true;
+            return Mono.just(anyKey);
+        }
+        return webClient.get()
+                .uri(publishedKeySetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(body -> {
+                    try {
+                        Set<String> kids = new HashSet<>();
+                        for (JsonNode key : objectMapper.readTree(body).path("keys")) {
+                            kids.add(key.path("kid").asText());
+                        }
+                        Predicate<String> published = kids::contains;
+                        return published;
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Invalid jwt issuer published key set", e);
+                    }
+                })
+                .timeout(publishedKeySetTimeout)
+                .doOnNext(lastPublishedKeyIds::set)
+                .onErrorResume(error -> {
+                    Predicate<String> lastKnown = lastPublishedKeyIds.get();
+                    if (lastKnown == null) {
+                        return Mono.error(error);
+                    }
+                    keyRefreshFailures.increment();
+                    log.warn("Error reading jwt issuer published key set, using the last known one", error);
+                    return Mono.just(lastKnown);
+                });
+    }
+
+    static PrivateKey parsePrivateKey(String pem) {
+        byte[] encoded = Base64.getMimeDecoder().decode(
+                pem.lines()
+                        .filter(line -> !line.startsWith("-----"))
+                        .collect(Collectors.joining())
+        );
+        for (String algorithm : SUPPORTED_KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(encoded));
+            } catch (GeneralSecurityException e) {
+                log.debug("Private key is not a valid {} key", algorithm);
+            }
+        }
+        throw new IllegalArgumentException("Unsupported jwt signing private key");
+    }
+}
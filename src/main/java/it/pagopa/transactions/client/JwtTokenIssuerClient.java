@@ -18,12 +18,34 @@ public class JwtTokenIssuerClient {
 
     private final JwtIssuerApi jwtIssuerWebClient;
 
+    private final JwtLocalSigner jwtLocalSigner;
+
     @Autowired
-    public JwtTokenIssuerClient(@Qualifier("jwtIssuerWebClient") JwtIssuerApi jwtIssuerWebClient) {
+    public JwtTokenIssuerClient(
+            @Qualifier("jwtIssuerWebClient") JwtIssuerApi jwtIssuerWebClient,
+            JwtLocalSigner jwtLocalSigner
+    ) {
         this.jwtIssuerWebClient = jwtIssuerWebClient;
+        this.jwtLocalSigner = jwtLocalSigner;
     }
 
+    /**
+     * Create a JWT token, signing it locally when the local signer is enabled
+     * and has a valid key, falling back to the jwt-issuer-service otherwise
+     *
+     * @param createTokenRequestDto the token request
+     * @return the created token
+     */
     public Mono<CreateTokenResponseDto> createJWTToken(CreateTokenRequestDto createTokenRequestDto) {
+        return jwtLocalSigner.createJWTToken(createTokenRequestDto)
+                .onErrorResume(error -> {
+                    log.warn("Error signing jwt token locally, falling back to remote jwt issuer", error);
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> createRemoteJWTToken(createTokenRequestDto)));
+    }
+
+    private Mono<CreateTokenResponseDto> createRemoteJWTToken(CreateTokenRequestDto createTokenRequestDto) {
         return jwtIssuerWebClient.createJwtToken(createTokenRequestDto).doOnError(
                 WebClientResponseException.class,
                 JwtTokenIssuerClient::logWebClientException
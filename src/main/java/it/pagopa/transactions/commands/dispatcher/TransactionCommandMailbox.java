@@ -0,0 +1,236 @@
+package it.pagopa.transactions.commands.dispatcher;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import it.pagopa.transactions.commands.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Per-transaction serial command executor, local to this instance. Command
+ * executions are routed to a mailbox keyed by their transaction id: executions
+ * for the same transaction are run one at a time in submission order, while
+ * executions for different transactions run fully in parallel. Mailboxes are
+ * created on demand and removed as soon as they are drained, so no
+ * per-transaction state outlives the commands in flight.
+ * <p>
+ * Serializing only reduces concurrent commands for the same transaction hitting
+ * this instance: a submitted execution must read and reduce the transaction
+ * events itself, otherwise it would run against the event list read before
+ * waiting in the mailbox. It is not a consistency guarantee across instances,
+ * which still relies on the event store and on the exclusive locks taken by the
+ * controllers.
+ */
+@Component
+@Slf4j
+public class TransactionCommandMailbox {
+
+    static final String METRIC_PREFIX = "transactions.command.mailbox";
+
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger pendingCommands = new AtomicInteger();
+
+    private final boolean enabled;
+
+    private final MeterRegistry meterRegistry;
+
+    private final DistributionSummary mailboxDepth;
+
+    @Autowired
+    public TransactionCommandMailbox(
+            MeterRegistry meterRegistry,
+            @Value("${transactionsCommandMailbox.enabled}") boolean enabled
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.mailboxDepth = DistributionSummary.builder(METRIC_PREFIX + ".depth")
+                .description("Number of commands queued for the same transaction at submission time")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".pending", pendingCommands, AtomicInteger::get)
+                .description("Commands waiting or running across all mailboxes")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", mailboxes, Map::size)
+                .description("Transactions with at least one command in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Submit a command execution to the mailbox of the command transaction. The
+     * supplied execution is subscribed only once every previously submitted
+     * execution for the same transaction has terminated.
+     *
+     * @param command   the command to be executed
+     * @param execution the supplier of the command execution pipeline
+     * @param <R>       the command execution result type
+     * @return the command execution result
+     */
+    public <R> Mono<R> submit(
+                              TransactionsCommand<?> command,
+                              Supplier<Mono<R>> execution
+    ) {
+        return submit(transactionIdOf(command), command.getCode(), execution);
+    }
+
+    /**
+     * Submit a command execution to the mailbox of the input transaction. The
+     * supplied execution is subscribed only once every previously submitted
+     * execution for the same transaction has terminated, so it must include the
+     * transaction events read for the command to see the events written by the
+     * previous ones. Executions must not submit further executions for the same
+     * transaction, since they would wait for their own termination.
+     *
+     * @param transactionId the transaction id
+     * @param commandCode   the code of the command to be executed
+     * @param execution     the supplier of the command execution pipeline
+     * @param <R>           the command execution result type
+     * @return the command execution result
+     */
+    public <R> Mono<R> submit(
+                              String transactionId,
+                              TransactionsCommandCode commandCode,
+                              Supplier<Mono<R>> execution
+    ) {
+        if (!enabled) {
+            return Mono.defer(execution);
+        }
+        return Mono.deferContextual(context -> {
+            Task<R> task = new Task<>(transactionId, commandCode.name(), execution, context);
+            enqueue(task);
+            return task.result.asMono().doOnCancel(task::cancel);
+        });
+    }
+
+    private void enqueue(Task<?> task) {
+        AtomicBoolean startNow = new AtomicBoolean();
+        pendingCommands.incrementAndGet();
+        mailboxes.compute(task.transactionId, (key, mailbox) -> {
+            Mailbox target = mailbox == null ? new Mailbox() : mailbox;
+            target.queue.add(task);
+            mailboxDepth.record(target.queue.size());
+            startNow.set(target.queue.size() == 1);
+            return target;
+        });
+        if (startNow.get()) {
+            task.start();
+        }
+    }
+
+    private void release(Task<?> completed) {
+        pendingCommands.decrementAndGet();
+        Task<?>[] next = new Task<?>[1];
+        mailboxes.computeIfPresent(completed.transactionId, (key, mailbox) -> {
+            mailbox.queue.remove(completed);
+            next[0] = mailbox.queue.peek();
+            return next[0] == null ? null : mailbox;
+        });
+        if (next[0] != null) {
+            // hop to another thread so that a chain of synchronously completing commands
+            // cannot grow the stack of the thread that completed the previous one
+            Schedulers.parallel().schedule(next[0]::start);
+        }
+    }
+
+    /**
+     * Extract the transaction id the given command refers to
+     *
+     * @param command the command
+     * @return the command transaction id
+     */
+    static String transactionIdOf(TransactionsCommand<?> command) {
+        return switch (command) {
+            case TransactionActivateCommand c -> c.getTransactionId().value();
+            case TransactionRequestAuthorizationCommand c -> c.getData().transactionId().value();
+            case TransactionUpdateAuthorizationCommand c -> c.getData().transactionId().value();
+            case TransactionClosureRequestCommand c -> c.getData().value();
+            case TransactionClosureSendCommand c -> c.getData().transactionId().value();
+            case TransactionAddUserReceiptCommand c -> c.getData().transactionId().value();
+            case TransactionUserCancelCommand c -> c.getData().value();
+        };
+    }
+
+    private static final class Mailbox {
+        private final Queue<Task<?>> queue = new ArrayDeque<>();
+    }
+
+    private final class Task<R> {
+        private final String transactionId;
+        private final String commandCode;
+        private final Supplier<Mono<R>> execution;
+        private final ContextView context;
+        private final Sinks.One<R> result = Sinks.one();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private final long enqueuedAt = System.nanoTime();
+        private volatile boolean cancelled;
+        private volatile Disposable running;
+
+        private Task(
+                String transactionId,
+                String commandCode,
+                Supplier<Mono<R>> execution,
+                ContextView context
+        ) {
+            this.transactionId = transactionId;
+            this.commandCode = commandCode;
+            this.execution = execution;
+            this.context = context;
+        }
+
+        private void start() {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            Timer.builder(METRIC_PREFIX + ".wait")
+                    .description("Time spent by a command waiting in its transaction mailbox")
+                    .tag("command", commandCode)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            running = Mono.defer(execution)
+                    .contextWrite(context)
+                    .doFinally(signal -> terminate())
+                    .subscribe(
+                            value -> result.tryEmitValue(value),
+                            result::tryEmitError,
+                            result::tryEmitEmpty
+                    );
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Disposable disposable = running;
+            if (disposable != null) {
+                log.warn(
+                        "Command [{}] for transaction [{}] cancelled while running",
+                        commandCode,
+                        transactionId
+                );
+                disposable.dispose();
+            }
+        }
+
+        private void terminate() {
+            if (terminated.compareAndSet(false, true)) {
+                release(this);
+            }
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
 import reactor.core.scheduler.Schedulers;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
@@ -105,7 +106,18 @@ public class TransactionActivateHandler extends TransactionActivateHandlerCommon
         boolean allowDigitalStamp = command.getClientId().equals(Transaction.ClientId.CHECKOUT_CART.toString())
                 || command.getClientId().equals(Transaction.ClientId.WISP_REDIRECT.toString());
 
-        return Mono.defer(
+        /*
+         * Token claims only depend on data known up front, so the token is requested
+         * concurrently with the Nodo activation fan-out. Token errors are
+         * materialized so that they do not cancel in-flight activations (whose
+         * outcome must still be cached), while an activation error cancels the token
+         * request. The request latency is so bounded by the slowest of the two
+         * instead of their sum.
+         */
+        Mono<Signal<CreateTokenResponseDto>> jwtToken = generateTransactionJwtToken(command, transactionId)
+                .materialize();
+
+        Mono<List<PaymentRequestInfo>> activatedPaymentRequests = Mono.defer(
                 () -> Flux.fromIterable(paymentNotices)
                         .parallel(nodoParallelRequests)
                         .runOn(Schedulers.parallel())
@@ -183,26 +195,31 @@ public class TransactionActivateHandler extends TransactionActivateHandlerCommon
                             );
                         })
                         .switchIfEmpty(Mono.error(new DigitalStampNotAllowedForClientException(command.getClientId())))
-                        .flatMap(
-                                paymentRequestInfos -> generateTransactionJwtToken(command, transactionId)
-                                        .map(token -> Tuples.of(token.getToken(), paymentRequestInfos))
-                        ).flatMap(
-                                args -> {
-                                    String authToken = args.getT1();
-                                    List<PaymentRequestInfo> paymentRequestsInfo = args.getT2();
-                                    return Mono.just(
-                                            Tuples.of(
-                                                    newTransactionActivatedEvent(
-                                                            command,
-                                                            paymentRequestsInfo,
-                                                            paymentTokenTimeout
-                                                    ),
-                                                    authToken
-                                            )
-                                    );
-                                }
-                        )
         );
+
+        return Mono.zip(jwtToken, activatedPaymentRequests)
+                .flatMap(
+                        args -> {
+                            Signal<CreateTokenResponseDto> tokenSignal = args.getT1();
+                            List<PaymentRequestInfo> paymentRequestsInfo = args.getT2();
+                            if (tokenSignal.hasError()) {
+                                return Mono.error(tokenSignal.getThrowable());
+                            }
+                            if (!tokenSignal.hasValue()) {
+                                return Mono.empty();
+                            }
+                            return Mono.just(
+                                    Tuples.of(
+                                            newTransactionActivatedEvent(
+                                                    command,
+                                                    paymentRequestsInfo,
+                                                    paymentTokenTimeout
+                                            ),
+                                            tokenSignal.get().getToken()
+                                    )
+                            );
+                        }
+                );
     }
 
     private Map<String, String> createClaimsMap(
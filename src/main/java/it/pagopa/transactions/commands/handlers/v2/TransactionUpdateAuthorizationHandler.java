@@ -9,113 +9,41 @@ import it.pagopa.ecommerce.commons.domain.v2.pojos.BaseTransaction;
 import it.pagopa.ecommerce.commons.domain.v2.pojos.BaseTransactionWithRequestedAuthorization;
 import it.pagopa.ecommerce.commons.generated.npg.v1.dto.OperationResultDto;
 import it.pagopa.generated.transactions.server.model.*;
-import it.pagopa.generated.wallet.v1.dto.WalletNotificationRequestCardDetailsDto;
-import it.pagopa.generated.wallet.v1.dto.WalletNotificationRequestDto;
-import it.pagopa.transactions.client.WalletClient;
 import it.pagopa.transactions.commands.TransactionUpdateAuthorizationCommand;
 import it.pagopa.transactions.commands.handlers.TransactionUpdateAuthorizationHandlerCommon;
-import it.pagopa.transactions.configurations.WalletConfig;
 import it.pagopa.transactions.exceptions.AlreadyProcessedException;
 import it.pagopa.transactions.exceptions.InvalidRequestException;
-import it.pagopa.transactions.exceptions.WalletErrorResponseException;
 import it.pagopa.transactions.repositories.TransactionsEventStoreRepository;
+import it.pagopa.transactions.repositories.WalletNotificationJob;
 import it.pagopa.transactions.utils.AuthRequestDataUtils;
 import it.pagopa.transactions.utils.TransactionsUtils;
+import it.pagopa.transactions.utils.WalletNotificationExecutor;
 import lombok.extern.slf4j.Slf4j;
-import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
-import reactor.core.scheduler.Schedulers;
-import reactor.function.TupleUtils;
-import reactor.util.function.Tuple2;
-import reactor.util.function.Tuples;
-import reactor.util.retry.Retry;
 
-import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
 
 @Component(TransactionUpdateAuthorizationHandler.QUALIFIER_NAME)
 @Slf4j
-public class TransactionUpdateAuthorizationHandler extends TransactionUpdateAuthorizationHandlerCommon
-        implements ApplicationListener<ApplicationReadyEvent> {
+public class TransactionUpdateAuthorizationHandler extends TransactionUpdateAuthorizationHandlerCommon {
 
     public static final String QUALIFIER_NAME = "transactionUpdateAuthorizationHandlerV2";
     private final TransactionsEventStoreRepository<it.pagopa.ecommerce.commons.documents.v2.TransactionAuthorizationCompletedData> transactionEventStoreRepository;
-    private final WalletClient walletClient;
-    private final Sinks.Many<TransactionUpdateAuthorizationCommand> authorizationCommandsSink = Sinks.many().unicast()
-            .onBackpressureBuffer();
-    private final WalletConfig walletConfig;
+    private final WalletNotificationExecutor walletNotificationExecutor;
 
     @Autowired
     protected TransactionUpdateAuthorizationHandler(
             TransactionsEventStoreRepository<TransactionAuthorizationCompletedData> transactionEventStoreRepository,
             AuthRequestDataUtils extractAuthRequestData,
             TransactionsUtils transactionsUtils,
-            WalletClient walletClient,
-            WalletConfig walletConfig
+            WalletNotificationExecutor walletNotificationExecutor
     ) {
         super(extractAuthRequestData, transactionsUtils);
         this.transactionEventStoreRepository = transactionEventStoreRepository;
-        this.walletClient = walletClient;
-        this.walletConfig = walletConfig;
-    }
-
-    @Override
-    public void onApplicationEvent(@NotNull ApplicationReadyEvent event) {
-        subscribeToAuthorizationCommandSink();
-    }
-
-    public void subscribeToAuthorizationCommandSink() {
-        authorizationCommandsSink
-                .asFlux()
-                .doOnSubscribe(s -> log.debug("Subscribed to authorization command sink with subscription: {}", s))
-                .flatMap(
-                        command -> notifyWalletForContextualOnboarding(command)
-                                .retryWhen(
-                                        Retry.backoff(
-                                                walletConfig.notification().maxRetryAttempts(),
-                                                Duration.ofSeconds(
-                                                        walletConfig.notification()
-                                                                .exponentialBackoffRetryOffsetSeconds()
-                                                )
-                                        )
-                                                .filter(
-                                                        exception -> !(exception instanceof WalletErrorResponseException walletErrorResponseException
-                                                                && walletErrorResponseException.getHttpStatus()
-                                                                        .is4xxClientError())
-                                                )
-                                                .doBeforeRetry(
-                                                        signal -> log.warn(
-                                                                "Exception performing POST wallet notification",
-                                                                signal.failure()
-                                                        )
-                                                )
-                                ).onErrorResume(exception -> {
-                                    log.error(
-                                            "Error performing POST wallet notification, wallet status may have not been updated correctly!",
-                                            exception
-                                    );
-                                    return Mono.empty();
-                                })
-                )
-                .doOnNext(
-                        TupleUtils.consumer(
-                                (
-                                 walletInfo,
-                                 walletNotificationRequest
-                                ) -> log.info(
-                                        "Post wallet performed successfully for walletId: [{}], with NPG operationResult: [{}]",
-                                        walletInfo.getWalletId(),
-                                        walletNotificationRequest.getOperationResult()
-                                )
-                        )
-                )
-                .subscribeOn(Schedulers.boundedElastic())
-                .subscribe();
+        this.walletNotificationExecutor = walletNotificationExecutor;
     }
 
     @Override
@@ -148,18 +76,11 @@ public class TransactionUpdateAuthorizationHandler extends TransactionUpdateAuth
                                 );
                         default -> throw new InvalidRequestException("Unexpected value: " + outcomeGateway);
                     };
-            return Mono.just(command)
-                    .flatMap(authCommand ->
-                            Mono.fromRunnable(() -> authorizationCommandsSink
-                                            .emitNext(
-                                                    authCommand,
-                                                    Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(500))
-                                            )
-                                    ).thenReturn(authCommand)
-                                    .doOnNext(ignored -> log.info("POST wallet notification event emitted successfully for transaction with contextual onboarding with id: [{}]", authCommand.getData().transactionId().value()))
-                                    .doOnError(exception -> log.error("Exception emitting event for POST wallet notification for transaction with contextual onboarding with id: [%s]".formatted(authCommand.getData().transactionId().value()), exception))
-                                    .onErrorReturn(authCommand)
-                    )
+            return buildWalletNotificationJob(command)
+                    .doOnNext(walletNotificationExecutor::submit)
+                    .doOnNext(job -> log.info("POST wallet notification job submitted for transaction with contextual onboarding with id: [{}]", transactionId.value()))
+                    .doOnError(exception -> log.error("Exception submitting POST wallet notification job for transaction with contextual onboarding with id: [%s]".formatted(transactionId.value()), exception))
+                    .onErrorResume(exception -> Mono.empty())
                     .thenReturn(
                             new it.pagopa.ecommerce.commons.documents.v2.TransactionAuthorizationCompletedEvent(
                                     transactionId.value(),
@@ -178,49 +99,36 @@ public class TransactionUpdateAuthorizationHandler extends TransactionUpdateAuth
 
     }
 
-    private Mono<Tuple2<WalletInfo, WalletNotificationRequestDto>> notifyWalletForContextualOnboarding(
-                                                                                                       TransactionUpdateAuthorizationCommand command
-    ) {
+    private Mono<WalletNotificationJob> buildWalletNotificationJob(TransactionUpdateAuthorizationCommand command) {
         Mono<BaseTransaction> transaction = transactionsUtils.reduceV2Events(command.getEvents());
         UpdateAuthorizationRequestDto updateAuthRequest = command.getData().updateAuthorizationRequest();
         return transaction
                 .cast(BaseTransactionWithRequestedAuthorization.class)
                 .filter(this::isNpgCardPaymentWithContextualOnboarding)
-                .flatMap(tx -> {
+                .map(tx -> {
                     NpgTransactionGatewayAuthorizationRequestedData npgAuthRequestedData = (NpgTransactionGatewayAuthorizationRequestedData) tx
                             .getTransactionAuthorizationRequestData().getTransactionGatewayAuthorizationRequestedData();
                     WalletInfo walletInfo = Objects.requireNonNull(
                             npgAuthRequestedData.getWalletInfo(),
                             "Null wallet info not valid for payment with contextual onboarding"
                     );
-                    String walletId = walletInfo.getWalletId();
                     OutcomeNpgGatewayDto outcomeNpgGatewayDto = (OutcomeNpgGatewayDto) updateAuthRequest
                             .getOutcomeGateway();
-                    String orderId = outcomeNpgGatewayDto.getOrderId();
-                    WalletNotificationRequestDto request = new WalletNotificationRequestDto()
-                            .timestampOperation(updateAuthRequest.getTimestampOperation())
-                            .operationId(outcomeNpgGatewayDto.getOperationId())
-                            .operationResult(
-                                    WalletNotificationRequestDto.OperationResultEnum
-                                            .fromValue(outcomeNpgGatewayDto.getOperationResult().toString())
-                            )
-                            .errorCode(outcomeNpgGatewayDto.getErrorCode())
-                            .details(
-                                    // payment with contextual onboarding supported only for CARD method
-                                    new WalletNotificationRequestCardDetailsDto()
-                                            .paymentInstrumentGatewayId(
-                                                    Objects.requireNonNull(
-                                                            outcomeNpgGatewayDto.getCardId4(),
-                                                            "null cardId4 NPG field not valid!"
-                                                    )
-                                            )
-                                            .type("CARD")
-                            );
-                    return walletClient.notifyWallet(
-                            walletId,
-                            orderId,
-                            request
-                    ).thenReturn(Tuples.of(walletInfo, request));
+                    return new WalletNotificationJob(
+                            tx.getTransactionId().value(),
+                            walletInfo.getWalletId(),
+                            outcomeNpgGatewayDto.getOrderId(),
+                            outcomeNpgGatewayDto.getOperationId(),
+                            outcomeNpgGatewayDto.getOperationResult().toString(),
+                            outcomeNpgGatewayDto.getErrorCode(),
+                            updateAuthRequest.getTimestampOperation().toString(),
+                            Objects.requireNonNull(
+                                    outcomeNpgGatewayDto.getCardId4(),
+                                    "null cardId4 NPG field not valid!"
+                            ),
+                            Instant.now().toString(),
+                            0
+                    );
                 });
     }
 
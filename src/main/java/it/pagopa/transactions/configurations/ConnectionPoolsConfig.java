@@ -0,0 +1,58 @@
+package it.pagopa.transactions.configurations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+@ConfigurationProperties(prefix = "connection-pools")
+public record ConnectionPoolsConfig(
+        boolean metricsEnabled,
+        Map<String, PoolConf> clients
+) {
+
+    public enum LeasingStrategy {
+        FIFO,
+        LIFO
+    }
+
+    public record PoolConf(
+            int maxConnections,
+            int pendingAcquireMaxCount,
+            long pendingAcquireTimeoutMillis,
+            long maxIdleTimeMillis,
+            long maxLifeTimeMillis,
+            long evictionIntervalMillis,
+            LeasingStrategy leasingStrategy
+    ) {
+    }
+
+    /**
+     * Build a named connection provider for the given downstream service
+     *
+     * @param name the downstream service name, as configured under
+     *             connectionPools.clients
+     * @return the connection provider configured for the downstream service
+     */
+    public ConnectionProvider connectionProvider(String name) {
+        PoolConf poolConf = Optional.ofNullable(clients).map(c -> c.get(name)).orElseThrow(
+                () -> new IllegalStateException(
+                        "Missing connection pool configuration for downstream: [%s]".formatted(name)
+                )
+        );
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(name)
+                .maxConnections(poolConf.maxConnections())
+                .pendingAcquireMaxCount(poolConf.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(poolConf.pendingAcquireTimeoutMillis()))
+                .maxIdleTime(Duration.ofMillis(poolConf.maxIdleTimeMillis()))
+                .maxLifeTime(Duration.ofMillis(poolConf.maxLifeTimeMillis()))
+                .evictInBackground(Duration.ofMillis(poolConf.evictionIntervalMillis()))
+                .metrics(metricsEnabled);
+        return switch (poolConf.leasingStrategy()) {
+            case FIFO -> builder.fifo().build();
+            case LIFO -> builder.lifo().build();
+        };
+    }
+}
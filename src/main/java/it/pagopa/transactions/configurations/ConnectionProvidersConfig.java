@@ -0,0 +1,58 @@
+package it.pagopa.transactions.configurations;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Dedicated Reactor Netty connection pools, one for each downstream service.
+ * Keeping pools separated prevents a slow downstream from starving the
+ * connections of the others and makes each pool observable on its own through
+ * the reactor.netty.connection.provider.* meters.
+ */
+@Configuration
+public class ConnectionProvidersConfig {
+
+    public static final String NODO = "nodo";
+    public static final String NPG = "npg";
+    public static final String WALLET = "wallet";
+    public static final String PAYMENT_METHODS = "paymentMethods";
+    public static final String PAYMENT_METHODS_HANDLER = "paymentMethodsHandler";
+    public static final String JWT_ISSUER = "jwtIssuer";
+    public static final String PERSONAL_DATA_VAULT = "personalDataVault";
+
+    @Bean(name = "nodoConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider nodoConnectionProvider(ConnectionPoolsConfig connectionPoolsConfig) {
+        return connectionPoolsConfig.connectionProvider(NODO);
+    }
+
+    @Bean(name = "npgConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider npgConnectionProvider(ConnectionPoolsConfig connectionPoolsConfig) {
+        return connectionPoolsConfig.connectionProvider(NPG);
+    }
+
+    @Bean(name = "walletConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider walletConnectionProvider(ConnectionPoolsConfig connectionPoolsConfig) {
+        return connectionPoolsConfig.connectionProvider(WALLET);
+    }
+
+    @Bean(name = "paymentMethodsConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider paymentMethodsConnectionProvider(ConnectionPoolsConfig connectionPoolsConfig) {
+        return connectionPoolsConfig.connectionProvider(PAYMENT_METHODS);
+    }
+
+    @Bean(name = "paymentMethodsHandlerConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider paymentMethodsHandlerConnectionProvider(ConnectionPoolsConfig connectionPoolsConfig) {
+        return connectionPoolsConfig.connectionProvider(PAYMENT_METHODS_HANDLER);
+    }
+
+    @Bean(name = "jwtIssuerConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider jwtIssuerConnectionProvider(ConnectionPoolsConfig connectionPoolsConfig) {
+        return connectionPoolsConfig.connectionProvider(JWT_ISSUER);
+    }
+
+    @Bean(name = "personalDataVaultConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider personalDataVaultConnectionProvider(ConnectionPoolsConfig connectionPoolsConfig) {
+        return connectionPoolsConfig.connectionProvider(PERSONAL_DATA_VAULT);
+    }
+}
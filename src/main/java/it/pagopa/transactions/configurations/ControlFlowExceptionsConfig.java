@@ -0,0 +1,22 @@
+package it.pagopa.transactions.configurations;
+
+import it.pagopa.transactions.exceptions.ControlFlowExceptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class used to enable stack trace capture for control flow
+ * exceptions (see {@link ControlFlowExceptions})
+ */
+@Configuration
+@Slf4j
+public class ControlFlowExceptionsConfig {
+
+    public ControlFlowExceptionsConfig(
+            @Value("${exceptions.controlFlow.stackTraceEnabled}") boolean stackTraceEnabled
+    ) {
+        ControlFlowExceptions.setStackTraceEnabled(stackTraceEnabled);
+        log.info("Control flow exceptions stack trace enabled: [{}]", stackTraceEnabled);
+    }
+}
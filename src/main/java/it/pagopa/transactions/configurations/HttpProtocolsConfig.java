@@ -0,0 +1,64 @@
+package it.pagopa.transactions.configurations;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.Map;
+import java.util.Optional;
+
+@ConfigurationProperties(prefix = "http-protocols")
+public record HttpProtocolsConfig(
+        Map<String, ProtocolConf> clients
+) {
+
+    /**
+     * Per downstream HTTP protocol configuration
+     *
+     * @param http2Enabled         whether HTTP/2 has to be negotiated with the
+     *                             downstream service
+     * @param cleartext            whether HTTP/2 is negotiated over cleartext
+     *                             (h2c, with HTTP/1.1 upgrade) instead of TLS
+     *                             (h2, with ALPN)
+     * @param maxConcurrentStreams maximum number of concurrent streams on a
+     *                             single HTTP/2 connection
+     */
+    public record ProtocolConf(
+            boolean http2Enabled,
+            boolean cleartext,
+            long maxConcurrentStreams
+    ) {
+    }
+
+    /**
+     * Configure the HTTP protocols the given client negotiates with a
+     * downstream service. HTTP/1.1 is always kept as fallback protocol so that
+     * downstream services not supporting HTTP/2 keep working: with TLS the
+     * protocol is chosen through ALPN, while in cleartext the client sends an
+     * HTTP/1.1 request with an h2c upgrade header.
+     *
+     * @param name       the downstream service name, as configured under
+     *                   httpProtocols.clients
+     * @param httpClient the client to be configured
+     * @return the configured client, HTTP/1.1 only if no configuration is found
+     */
+    public HttpClient configure(
+                                String name,
+                                HttpClient httpClient
+    ) {
+        return Optional.ofNullable(clients)
+                .map(c -> c.get(name))
+                .filter(ProtocolConf::http2Enabled)
+                .map(
+                        protocolConf -> httpClient
+                                .protocol(
+                                        protocolConf.cleartext() ? HttpProtocol.H2C : HttpProtocol.H2,
+                                        HttpProtocol.HTTP11
+                                )
+                                .http2Settings(
+                                        settings -> settings.maxConcurrentStreams(protocolConf.maxConcurrentStreams())
+                                )
+                )
+                .orElseGet(() -> httpClient.protocol(HttpProtocol.HTTP11));
+    }
+}
@@ -5,12 +5,14 @@ import io.netty.handler.timeout.ReadTimeoutHandler;
 import it.pagopa.ecommerce.commons.client.JwtIssuerClient;
 import it.pagopa.ecommerce.commons.generated.jwtissuer.v1.ApiClient;
 import it.pagopa.ecommerce.commons.generated.jwtissuer.v1.api.JwtIssuerApi;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.util.concurrent.TimeUnit;
 
@@ -28,9 +30,13 @@ public class JWTIssuerWebClientConfig {
                                            ) int jwtIssuerWebClientConnectionTimeout,
                                            @Value(
                                                "${jwtissuer.apiKey}"
-                                           ) String jwtIssuerApiKey
+                                           ) String jwtIssuerApiKey,
+                                           @Qualifier(
+                                               "jwtIssuerConnectionProvider"
+                                           ) ConnectionProvider connectionProvider,
+                                           HttpProtocolsConfig httpProtocolsConfig
     ) {
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(connectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, jwtIssuerWebClientConnectionTimeout)
                 .doOnConnected(
                         connection -> connection.addHandlerLast(
@@ -42,7 +48,9 @@ public class JWTIssuerWebClientConfig {
                 );
 
         WebClient webClient = ApiClient.buildWebClientBuilder().clientConnector(
-                new ReactorClientHttpConnector(httpClient)
+                new ReactorClientHttpConnector(
+                        httpProtocolsConfig.configure(ConnectionProvidersConfig.JWT_ISSUER, httpClient)
+                )
         ).baseUrl(jwtIssuerWebClientUri).build();
 
         ApiClient apiClient = new ApiClient(webClient).setBasePath(jwtIssuerWebClientUri)
@@ -51,6 +59,37 @@ public class JWTIssuerWebClientConfig {
         return new JwtIssuerApi(apiClient);
     }
 
+    @Bean(name = "jwtIssuerKeySetWebClient")
+    public WebClient jwtIssuerKeySetWebClient(
+                                              @Value(
+                                                  "${jwtissuer.readTimeout}"
+                                              ) int jwtIssuerWebClientReadTimeout,
+                                              @Value(
+                                                  "${jwtissuer.connectionTimeout}"
+                                              ) int jwtIssuerWebClientConnectionTimeout,
+                                              @Qualifier(
+                                                  "jwtIssuerConnectionProvider"
+                                              ) ConnectionProvider connectionProvider,
+                                              HttpProtocolsConfig httpProtocolsConfig
+    ) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, jwtIssuerWebClientConnectionTimeout)
+                .doOnConnected(
+                        connection -> connection.addHandlerLast(
+                                new ReadTimeoutHandler(
+                                        jwtIssuerWebClientReadTimeout,
+                                        TimeUnit.MILLISECONDS
+                                )
+                        )
+                );
+
+        return WebClient.builder().clientConnector(
+                new ReactorClientHttpConnector(
+                        httpProtocolsConfig.configure(ConnectionProvidersConfig.JWT_ISSUER, httpClient)
+                )
+        ).build();
+    }
+
     @Bean
     public JwtIssuerClient jwtIssuerClient(
                                            JwtIssuerApi jwtIssuerApi
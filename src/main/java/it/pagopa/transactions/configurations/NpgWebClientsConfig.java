@@ -7,12 +7,14 @@ import io.opentelemetry.api.trace.Tracer;
 import it.pagopa.ecommerce.commons.client.NpgClient;
 import it.pagopa.ecommerce.commons.generated.npg.v1.ApiClient;
 import it.pagopa.ecommerce.commons.generated.npg.v1.api.PaymentServicesApi;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.util.concurrent.TimeUnit;
 
@@ -27,9 +29,12 @@ public class NpgWebClientsConfig {
                                            ) int npgWebClientReadTimeout,
                                            @Value(
                                                "${npg.connectionTimeout}"
-                                           ) int npgWebClientConnectionTimeout
+                                           ) int npgWebClientConnectionTimeout,
+                                           @Qualifier(
+                                               "npgConnectionProvider"
+                                           ) ConnectionProvider connectionProvider
     ) {
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(connectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, npgWebClientConnectionTimeout)
                 .doOnConnected(
                         connection -> connection.addHandlerLast(
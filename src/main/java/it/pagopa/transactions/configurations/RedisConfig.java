@@ -4,8 +4,12 @@ import it.pagopa.ecommerce.commons.redis.reactivetemplatewrappers.ReactiveExclus
 import it.pagopa.ecommerce.commons.redis.reactivetemplatewrappers.v2.ReactivePaymentRequestInfoRedisTemplateWrapper;
 import it.pagopa.ecommerce.commons.redis.reactivetemplatewrappers.v2.ReactiveRedisTemplateWrapperBuilder;
 import it.pagopa.ecommerce.commons.repositories.ExclusiveLockDocument;
+import it.pagopa.transactions.repositories.FinalStateResponse;
+import it.pagopa.transactions.repositories.FinalStateResponseTemplateWrapper;
 import it.pagopa.transactions.repositories.TransactionCacheInfo;
 import it.pagopa.transactions.repositories.TransactionTemplateWrapper;
+import it.pagopa.transactions.repositories.WalletNotificationJob;
+import it.pagopa.transactions.repositories.WalletNotificationJobTemplateWrapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -103,4 +107,74 @@ public class RedisConfig {
         );
     }
 
+    @Bean
+    public WalletNotificationJobTemplateWrapper walletNotificationJobTemplateWrapper(
+                                                                                     ReactiveRedisConnectionFactory reactiveRedisConnectionFactory,
+                                                                                     @Value(
+                                                                                         "${wallet.notification.jobTtlSeconds}"
+                                                                                     ) int walletNotificationJobTtlSeconds
+    ) {
+        // serializer
+        StringRedisSerializer keySer = new StringRedisSerializer();
+        Jackson2JsonRedisSerializer<WalletNotificationJob> valueSer = new Jackson2JsonRedisSerializer<>(
+                WalletNotificationJob.class
+        );
+
+        // serialization context
+        RedisSerializationContext<String, WalletNotificationJob> ctx = RedisSerializationContext
+                .<String, WalletNotificationJob>newSerializationContext(keySer)
+                .key(keySer)
+                .value(valueSer)
+                .hashKey(keySer)
+                .hashValue(valueSer)
+                .build();
+
+        // reactive template
+        ReactiveRedisTemplate<String, WalletNotificationJob> reactiveTemplate = new ReactiveRedisTemplate<>(
+                reactiveRedisConnectionFactory,
+                ctx
+        );
+
+        return new WalletNotificationJobTemplateWrapper(
+                reactiveTemplate,
+                "walletNotificationJobs",
+                Duration.ofSeconds(walletNotificationJobTtlSeconds)
+        );
+    }
+
+    @Bean
+    public FinalStateResponseTemplateWrapper finalStateResponseTemplateWrapper(
+                                                                               ReactiveRedisConnectionFactory reactiveRedisConnectionFactory,
+                                                                               @Value(
+                                                                                   "${finalStateResponseCache.redis.ttlSeconds}"
+                                                                               ) int finalStateResponseTtlSeconds
+    ) {
+        // serializer
+        StringRedisSerializer keySer = new StringRedisSerializer();
+        Jackson2JsonRedisSerializer<FinalStateResponse> valueSer = new Jackson2JsonRedisSerializer<>(
+                FinalStateResponse.class
+        );
+
+        // serialization context
+        RedisSerializationContext<String, FinalStateResponse> ctx = RedisSerializationContext
+                .<String, FinalStateResponse>newSerializationContext(keySer)
+                .key(keySer)
+                .value(valueSer)
+                .hashKey(keySer)
+                .hashValue(valueSer)
+                .build();
+
+        // reactive template
+        ReactiveRedisTemplate<String, FinalStateResponse> reactiveTemplate = new ReactiveRedisTemplate<>(
+                reactiveRedisConnectionFactory,
+                ctx
+        );
+
+        return new FinalStateResponseTemplateWrapper(
+                reactiveTemplate,
+                "finalStateResponses",
+                Duration.ofSeconds(finalStateResponseTtlSeconds)
+        );
+    }
+
 }
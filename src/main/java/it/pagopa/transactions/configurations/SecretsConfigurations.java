@@ -3,9 +3,14 @@ package it.pagopa.transactions.configurations;
 import it.pagopa.ecommerce.commons.utils.ConfidentialDataManager;
 import it.pagopa.generated.pdv.v1.ApiClient;
 import it.pagopa.generated.pdv.v1.api.TokenApi;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class SecretsConfigurations {
@@ -16,9 +21,15 @@ public class SecretsConfigurations {
                                                ) String personalDataVaultApiKey,
                                                @Value(
                                                    "${confidentialDataManager.personalDataVault.apiBasePath}"
-                                               ) String apiBasePath
+                                               ) String apiBasePath,
+                                               @Qualifier(
+                                                   "personalDataVaultConnectionProvider"
+                                               ) ConnectionProvider connectionProvider
     ) {
-        ApiClient pdvApiClient = new ApiClient();
+        WebClient webClient = ApiClient.buildWebClientBuilder().clientConnector(
+                new ReactorClientHttpConnector(HttpClient.create(connectionProvider))
+        ).baseUrl(apiBasePath).build();
+        ApiClient pdvApiClient = new ApiClient(webClient);
         pdvApiClient.setApiKey(personalDataVaultApiKey);
         pdvApiClient.setBasePath(apiBasePath);
 
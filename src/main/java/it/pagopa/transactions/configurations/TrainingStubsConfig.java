@@ -0,0 +1,140 @@
+package it.pagopa.transactions.configurations;
+
+import it.pagopa.generated.transactions.model.ActivatePaymentNoticeV2Response;
+import it.pagopa.generated.transactions.model.CtTransferListPSPV2;
+import it.pagopa.generated.transactions.model.CtTransferPSPV2;
+import it.pagopa.generated.transactions.model.ObjectFactory;
+import it.pagopa.generated.transactions.model.StOutcome;
+import it.pagopa.transactions.utils.WarmupEngine;
+import it.pagopa.transactions.utils.soap.Jaxb2SoapEncoder;
+import it.pagopa.transactions.utils.soap.SoapEnvelope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PUT;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Configuration of the training run used by the Docker build to create the
+ * Class Data Sharing archive, enabled by {@code training.enabled} through
+ * {@code application-training.properties}. It is gated by a property instead
+ * of a profile since bean conditions are evaluated once at AOT processing
+ * time.
+ * <p>
+ * The downstream services called by the warmup scenarios (Nodo
+ * activatePaymentNoticeV2, JWT issuer and Personal Data Vault tokenization) are
+ * served by the stubs below, exposed by this same server under
+ * {@value #STUBS_BASE_PATH}, so that the training run archives the classes of
+ * the successful request path too. The JVM exits once the warmup has ended,
+ * dumping the archive.
+ */
+@Configuration
+@Slf4j
+public class TrainingStubsConfig {
+
+    static final String STUBS_BASE_PATH = "/training-stubs";
+
+    private final ObjectFactory objectFactoryNodeForPsp = new ObjectFactory();
+
+    private final Jaxb2SoapEncoder soapEncoder = new Jaxb2SoapEncoder();
+
+    private final boolean enabled;
+
+    public TrainingStubsConfig(@Value("${training.enabled}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> trainingStubsRouter() {
+        if (!enabled) {
+            return request -> Mono.empty();
+        }
+        return route(POST(STUBS_BASE_PATH + "/nodo/**"), request -> activatePaymentNoticeV2Response())
+                .andRoute(
+                        POST(STUBS_BASE_PATH + "/jwtIssuer/tokens"),
+                        request -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(Map.of("token", "training-token"))
+                )
+                .andRoute(
+                        PUT(STUBS_BASE_PATH + "/personalDataVault/tokens"),
+                        request -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(Map.of("token", UUID.randomUUID().toString()))
+                );
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> exitOnWarmupCompletion(
+                                                                              WarmupEngine warmupEngine,
+                                                                              ApplicationContext applicationContext
+    ) {
+        if (!enabled) {
+            return event -> {
+            };
+        }
+        // exit from a scheduler thread since the warmup completes on a server event
+        // loop thread, which would be waited for while closing the context
+        return event -> warmupEngine.completion()
+                .publishOn(Schedulers.boundedElastic())
+                .doOnSuccess(ignored -> {
+                    log.info("Training run completed, exiting");
+                    System.exit(SpringApplication.exit(applicationContext));
+                })
+                .subscribe();
+    }
+
+    private Mono<ServerResponse> activatePaymentNoticeV2Response() {
+        CtTransferPSPV2 transfer = objectFactoryNodeForPsp.createCtTransferPSPV2();
+        transfer.setIdTransfer(1);
+        transfer.setFiscalCodePA("77777777777");
+        transfer.setTransferAmount(BigDecimal.ONE);
+        transfer.setIBAN("IT41B0000100899876113235567");
+        transfer.setRemittanceInformation("remittanceInformation");
+        transfer.setTransferCategory("transferCategory");
+        CtTransferListPSPV2 transferList = objectFactoryNodeForPsp.createCtTransferListPSPV2();
+        transferList.getTransfer().add(transfer);
+        ActivatePaymentNoticeV2Response response = objectFactoryNodeForPsp.createActivatePaymentNoticeV2Response();
+        response.setOutcome(StOutcome.OK);
+        response.setPaymentToken(UUID.randomUUID().toString().replace("-", ""));
+        response.setFiscalCodePA("77777777777");
+        response.setCompanyName("companyName");
+        response.setPaymentDescription("paymentDescription");
+        response.setCreditorReferenceId("creditorReferenceId");
+        response.setTotalAmount(BigDecimal.ONE);
+        response.setTransferList(transferList);
+        return ServerResponse.ok().contentType(MediaType.TEXT_XML).body(
+                BodyInserters.fromDataBuffers(
+                        soapEncoder.encode(
+                                Mono.just(
+                                        new SoapEnvelope(
+                                                "",
+                                                objectFactoryNodeForPsp.createActivatePaymentNoticeV2Response(response)
+                                        )
+                                ),
+                                DefaultDataBufferFactory.sharedInstance,
+                                ResolvableType.forClass(SoapEnvelope.class),
+                                MediaType.TEXT_XML,
+                                Map.of()
+                        )
+                )
+        );
+    }
+}
@@ -12,7 +12,14 @@ public record WalletConfig(
 ) {
     public record NotificationConf(
             int maxRetryAttempts,
-            int exponentialBackoffRetryOffsetSeconds
+            int exponentialBackoffRetryOffsetSeconds,
+            int maxBackoffSeconds,
+            double jitterFactor,
+            int queueCapacity,
+            int concurrency,
+            int jobTtlSeconds,
+            int maxJobAttempts,
+            int recoveryIntervalSeconds
     ) {
     }
 }
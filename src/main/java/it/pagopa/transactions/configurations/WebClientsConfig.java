@@ -11,6 +11,7 @@ import it.pagopa.generated.ecommerce.redirect.v1.dto.RedirectUrlRequestDto;
 import it.pagopa.generated.ecommerce.redirect.v1.dto.RedirectUrlResponseDto;
 import it.pagopa.transactions.utils.soap.Jaxb2SoapDecoder;
 import it.pagopa.transactions.utils.soap.Jaxb2SoapEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +23,7 @@ import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.util.concurrent.TimeUnit;
 
@@ -32,10 +34,14 @@ public class WebClientsConfig {
     public WebClient nodoWebClient(
                                    @Value("${nodo.hostname}") String nodoHostname,
                                    @Value("${nodo.readTimeout}") int nodoReadTimeout,
-                                   @Value("${nodo.connectionTimeout}") int nodoConnectionTimeout
+                                   @Value("${nodo.connectionTimeout}") int nodoConnectionTimeout,
+                                   @Qualifier(
+                                       "nodoConnectionProvider"
+                                   ) ConnectionProvider connectionProvider
     ) {
 
-        HttpClient httpClient = HttpClient.create().option(ChannelOption.CONNECT_TIMEOUT_MILLIS, nodoConnectionTimeout)
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, nodoConnectionTimeout)
                 .doOnConnected(
                         connection -> connection
                                 .addHandlerLast(new ReadTimeoutHandler(nodoReadTimeout, TimeUnit.MILLISECONDS))
@@ -81,9 +87,13 @@ public class WebClientsConfig {
                                                                                                                    ) int ecommercePaymentMethodsConnectionTimeout,
                                                                                                                    @Value(
                                                                                                                        "${ecommercePaymentMethods.apiKey}"
-                                                                                                                   ) String apiKey
+                                                                                                                   ) String apiKey,
+                                                                                                                   @Qualifier(
+                                                                                                                       "paymentMethodsConnectionProvider"
+                                                                                                                   ) ConnectionProvider connectionProvider,
+                                                                                                                   HttpProtocolsConfig httpProtocolsConfig
     ) {
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(connectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, ecommercePaymentMethodsConnectionTimeout)
                 .doOnConnected(
                         connection -> connection.addHandlerLast(
@@ -96,7 +106,9 @@ public class WebClientsConfig {
 
         WebClient webClient = it.pagopa.generated.ecommerce.paymentmethods.v1.ApiClient.buildWebClientBuilder()
                 .clientConnector(
-                        new ReactorClientHttpConnector(httpClient)
+                        new ReactorClientHttpConnector(
+                                httpProtocolsConfig.configure(ConnectionProvidersConfig.PAYMENT_METHODS, httpClient)
+                        )
                 ).baseUrl(ecommercePaymentMethodsUri).build();
 
         it.pagopa.generated.ecommerce.paymentmethods.v1.ApiClient apiClient = new it.pagopa.generated.ecommerce.paymentmethods.v1.ApiClient(
@@ -119,9 +131,13 @@ public class WebClientsConfig {
                                                                         ) int walletConnectionTimeout,
                                                                         @Value(
                                                                             "${wallet.apiKey}"
-                                                                        ) String apiKey
+                                                                        ) String apiKey,
+                                                                        @Qualifier(
+                                                                            "walletConnectionProvider"
+                                                                        ) ConnectionProvider connectionProvider,
+                                                                        HttpProtocolsConfig httpProtocolsConfig
     ) {
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(connectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, walletConnectionTimeout)
                 .doOnConnected(
                         connection -> connection.addHandlerLast(
@@ -134,7 +150,9 @@ public class WebClientsConfig {
 
         WebClient webClient = it.pagopa.generated.wallet.v1.ApiClient.buildWebClientBuilder()
                 .clientConnector(
-                        new ReactorClientHttpConnector(httpClient)
+                        new ReactorClientHttpConnector(
+                                httpProtocolsConfig.configure(ConnectionProvidersConfig.WALLET, httpClient)
+                        )
                 ).baseUrl(walletUri).build();
 
         it.pagopa.generated.wallet.v1.ApiClient apiClient = new it.pagopa.generated.wallet.v1.ApiClient(
@@ -195,9 +213,13 @@ public class WebClientsConfig {
                                                                                                                    ) int ecommercePaymentMethodsConnectionTimeout,
                                                                                                                    @Value(
                                                                                                                        "${ecommercePaymentMethods.apiKey}"
-                                                                                                                   ) String apiKey
+                                                                                                                   ) String apiKey,
+                                                                                                                   @Qualifier(
+                                                                                                                       "paymentMethodsConnectionProvider"
+                                                                                                                   ) ConnectionProvider connectionProvider,
+                                                                                                                   HttpProtocolsConfig httpProtocolsConfig
     ) {
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(connectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, ecommercePaymentMethodsConnectionTimeout)
                 .doOnConnected(
                         connection -> connection.addHandlerLast(
@@ -210,7 +232,9 @@ public class WebClientsConfig {
 
         WebClient webClient = it.pagopa.generated.ecommerce.paymentmethods.v2.ApiClient.buildWebClientBuilder()
                 .clientConnector(
-                        new ReactorClientHttpConnector(httpClient)
+                        new ReactorClientHttpConnector(
+                                httpProtocolsConfig.configure(ConnectionProvidersConfig.PAYMENT_METHODS, httpClient)
+                        )
                 ).baseUrl(ecommercePaymentMethodsUri).build();
 
         it.pagopa.generated.ecommerce.paymentmethods.v2.ApiClient apiClient = new it.pagopa.generated.ecommerce.paymentmethods.v2.ApiClient(
@@ -233,9 +257,13 @@ public class WebClientsConfig {
                                                                                                                                         ) int ecommercePaymentMethodsHandlerConnectionTimeout,
                                                                                                                                         @Value(
                                                                                                                                             "${ecommercePaymentMethodsHandler.apiKey}"
-                                                                                                                                        ) String apiKey
+                                                                                                                                        ) String apiKey,
+                                                                                                                                        @Qualifier(
+                                                                                                                                            "paymentMethodsHandlerConnectionProvider"
+                                                                                                                                        ) ConnectionProvider connectionProvider,
+                                                                                                                                        HttpProtocolsConfig httpProtocolsConfig
     ) {
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(connectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, ecommercePaymentMethodsHandlerConnectionTimeout)
                 .doOnConnected(
                         connection -> connection.addHandlerLast(
@@ -248,7 +276,9 @@ public class WebClientsConfig {
 
         WebClient webClient = it.pagopa.generated.ecommerce.paymentmethods.v1.ApiClient.buildWebClientBuilder()
                 .clientConnector(
-                        new ReactorClientHttpConnector(httpClient)
+                        new ReactorClientHttpConnector(
+                                httpProtocolsConfig.configure(ConnectionProvidersConfig.PAYMENT_METHODS_HANDLER, httpClient)
+                        )
                 ).baseUrl(ecommercePaymentMethodsHandlerUri).build();
 
         it.pagopa.generated.ecommerce.paymentmethodshandler.v1.ApiClient apiClient = new it.pagopa.generated.ecommerce.paymentmethodshandler.v1.ApiClient(
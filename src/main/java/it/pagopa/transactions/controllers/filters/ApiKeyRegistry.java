@@ -0,0 +1,279 @@
+package it.pagopa.transactions.controllers.filters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the API keys accepted by the secured paths, grouped by client.
+ * <p>
+ * Keys are kept as SHA-256 digests and matched in constant time: the input key
+ * digest is compared against every registered digest, so that neither the
+ * matched position nor the key length leak through response times.
+ * <p>
+ * Client keys are configured as a JSON object in the form
+ * {@code {"clientId": {"keys": ["key1", "key2"], "rateLimit": {"capacity": 100, "permitsPerSecond": 50}}}},
+ * where {@code rateLimit} is optional and defaults to the global rate limit.
+ * The legacy primary and secondary keys are registered for the
+ * {@value #DEFAULT_CLIENT_ID} client. When a clients file is configured, e.g.
+ * a mounted secret, it is polled and the keys are swapped whenever its content
+ * changes, keeping the rate limiter state of the keys that are still
+ * registered.
+ * <p>
+ * Each key has its own token bucket, so that a single misbehaving client
+ * cannot exhaust downstream resources for everyone else. A non-positive
+ * {@code permitsPerSecond} disables rate limiting.
+ */
+@Slf4j
+class ApiKeyRegistry {
+
+    static final String DEFAULT_CLIENT_ID = "default";
+
+    /**
+     * Registered API key
+     */
+    static final class ApiKey {
+        private final String clientId;
+
+        private final byte[] digest;
+
+        private final RateLimitConf rateLimit;
+
+        private final TokenBucket tokenBucket;
+
+        private ApiKey(
+                String clientId,
+                byte[] digest,
+                RateLimitConf rateLimit,
+                TokenBucket tokenBucket
+        ) {
+            this.clientId = clientId;
+            this.digest = digest;
+            this.rateLimit = rateLimit;
+            this.tokenBucket = tokenBucket;
+        }
+
+        String clientId() {
+            return clientId;
+        }
+
+        /**
+         * Try to consume a request permit for this key
+         *
+         * @return 0 if the request is allowed, otherwise the nanoseconds to wait
+         *         before a permit will be available
+         */
+        long tryAcquire() {
+            return tokenBucket == null ? 0 : tokenBucket.tryAcquire();
+        }
+    }
+
+    record RateLimitConf(
+            int capacity,
+            double permitsPerSecond
+    ) {
+    }
+
+    record ClientConf(
+            Set<String> keys,
+            RateLimitConf rateLimit
+    ) {
+    }
+
+    private static final TypeReference<Map<String, ClientConf>> CLIENTS_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String primaryKey;
+
+    private final String secondaryKey;
+
+    private final String clientKeys;
+
+    private final String clientKeysFile;
+
+    private final Duration reloadInterval;
+
+    private final RateLimitConf defaultRateLimit;
+
+    private final LongSupplier nanoTime;
+
+    private volatile ApiKey[] apiKeys;
+
+    private String loadedClientKeysFileContent;
+
+    private Disposable reloadSubscription;
+
+    ApiKeyRegistry(
+            String primaryKey,
+            String secondaryKey,
+            String clientKeys,
+            String clientKeysFile,
+            Duration reloadInterval,
+            RateLimitConf defaultRateLimit,
+            LongSupplier nanoTime
+    ) {
+        this.primaryKey = primaryKey;
+        this.secondaryKey = secondaryKey;
+        this.clientKeys = clientKeys;
+        this.clientKeysFile = clientKeysFile;
+        this.reloadInterval = reloadInterval;
+        this.defaultRateLimit = defaultRateLimit;
+        this.nanoTime = nanoTime;
+        this.apiKeys = buildApiKeys(parseClients(clientKeys), new ApiKey[0]);
+        if (hasClientKeysFile()) {
+            try {
+                reloadFromFile();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read API keys file: [%s]".formatted(clientKeysFile), e);
+            }
+        }
+    }
+
+    /**
+     * Find the registered key matching the input one
+     *
+     * @param requestApiKey the API key sent by the client
+     * @return the matched key, or null if no registered key matches
+     */
+    ApiKey match(String requestApiKey) {
+        byte[] requestDigest = sha256(requestApiKey);
+        ApiKey matchedKey = null;
+        // every key is compared, without exiting at the first match
+        for (ApiKey apiKey : apiKeys) {
+            boolean matches = MessageDigest.isEqual(apiKey.digest, requestDigest);
+            if (matches && matchedKey == null) {
+                matchedKey = apiKey;
+            }
+        }
+        return matchedKey;
+    }
+
+    /**
+     * Start polling the clients file, if configured, for key changes
+     */
+    synchronized void startReloading() {
+        if (!hasClientKeysFile() || reloadSubscription != null) {
+            return;
+        }
+        reloadSubscription = Flux.interval(reloadInterval, Schedulers.boundedElastic())
+                .concatMap(
+                        tick -> Mono.fromCallable(this::reloadFromFile)
+                                .onErrorResume(exception -> {
+                                    log.error(
+                                            "Error reloading API keys from file: [{}], keeping current keys",
+                                            clientKeysFile,
+                                            exception
+                                    );
+                                    return Mono.just(false);
+                                })
+                )
+                .subscribe();
+    }
+
+    synchronized void stopReloading() {
+        if (reloadSubscription != null) {
+            reloadSubscription.dispose();
+            reloadSubscription = null;
+        }
+    }
+
+    /**
+     * Reload client keys from the configured file, if its content has changed
+     *
+     * @return true if keys have been reloaded
+     * @throws IOException if the file cannot be read
+     */
+    synchronized boolean reloadFromFile() throws IOException {
+        String content = Files.readString(Path.of(clientKeysFile), StandardCharsets.UTF_8);
+        if (content.equals(loadedClientKeysFileContent)) {
+            return false;
+        }
+        Map<String, ClientConf> clients = new HashMap<>(parseClients(clientKeys));
+        clients.putAll(parseClients(content));
+        apiKeys = buildApiKeys(clients, apiKeys);
+        loadedClientKeysFileContent = content;
+        log.info("Loaded [{}] API keys for [{}] clients", apiKeys.length, clients.size() + 1);
+        return true;
+    }
+
+    private boolean hasClientKeysFile() {
+        return clientKeysFile != null && !clientKeysFile.isBlank();
+    }
+
+    private Map<String, ClientConf> parseClients(String clients) {
+        if (clients == null || clients.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(clients, CLIENTS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid API keys clients configuration", e);
+        }
+    }
+
+    private ApiKey[] buildApiKeys(
+                                  Map<String, ClientConf> clients,
+                                  ApiKey[] currentApiKeys
+    ) {
+        List<ApiKey> keys = new ArrayList<>();
+        keys.add(buildApiKey(DEFAULT_CLIENT_ID, primaryKey, defaultRateLimit, currentApiKeys));
+        keys.add(buildApiKey(DEFAULT_CLIENT_ID, secondaryKey, defaultRateLimit, currentApiKeys));
+        clients.forEach((clientId, clientConf) -> {
+            RateLimitConf rateLimit = clientConf.rateLimit() != null ? clientConf.rateLimit() : defaultRateLimit;
+            for (String key : clientConf.keys()) {
+                keys.add(buildApiKey(clientId, key, rateLimit, currentApiKeys));
+            }
+        });
+        return keys.toArray(ApiKey[]::new);
+    }
+
+    private ApiKey buildApiKey(
+                               String clientId,
+                               String key,
+                               RateLimitConf rateLimit,
+                               ApiKey[] currentApiKeys
+    ) {
+        byte[] digest = sha256(key);
+        for (ApiKey currentApiKey : currentApiKeys) {
+            if (currentApiKey.clientId.equals(clientId) && MessageDigest.isEqual(currentApiKey.digest, digest)
+                    && Objects.equals(currentApiKey.rateLimit, rateLimit)) {
+                // unchanged key: keep its rate limiter state
+                return currentApiKey;
+            }
+        }
+        TokenBucket tokenBucket = rateLimit.permitsPerSecond() > 0
+                ? new TokenBucket(rateLimit.capacity(), rateLimit.permitsPerSecond(), nanoTime)
+                : null;
+        return new ApiKey(clientId, digest, rateLimit, tokenBucket);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+}
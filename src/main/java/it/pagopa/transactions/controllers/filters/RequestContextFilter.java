@@ -0,0 +1,158 @@
+package it.pagopa.transactions.controllers.filters;
+
+import it.pagopa.transactions.mdcutilities.TransactionTracingUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single web filter stage for incoming requests that:
+ * <ul>
+ * <li>validates the {@code x-api-key} header for requests whose path starts
+ * with one of the configured secured paths, rejecting requests exceeding the
+ * matched key rate limit with a {@code 429} response carrying the
+ * {@code Retry-After} header (see {@link ApiKeyRegistry})</li>
+ * <li>writes the tracing headers ({@code x-transaction-id},
+ * {@code x-rpt-ids}, {@code x-correlation-id}) into the reactor context, with
+ * a single context write, so that they are copied to MDC</li>
+ * </ul>
+ * Secured paths are matched against a prefix array built once at startup, and
+ * headers are read with a single lookup each, so that no per-request
+ * collections, streams or optionals are allocated.
+ */
+@Component
+@Slf4j
+public class RequestContextFilter implements WebFilter, ApplicationListener<ApplicationReadyEvent> {
+
+    public static final String HEADER_API_KEY = "x-api-key";
+    public static final String HEADER_TRANSACTION_ID = "x-transaction-id";
+    public static final String HEADER_RPT_ID = "x-rpt-ids";
+    public static final String HEADER_NPG_CORRELATION_ID = "x-correlation-id";
+
+    private final String[] securedPathPrefixes;
+
+    private final ApiKeyRegistry apiKeyRegistry;
+
+    @Autowired
+    public RequestContextFilter(
+            @Value("${security.apiKey.securedPaths}") Set<String> securedPaths,
+            @Value("${security.apiKey.primary}") String primaryKey,
+            @Value("${security.apiKey.secondary}") String secondaryKey,
+            @Value("${security.apiKey.clients}") String clientKeys,
+            @Value("${security.apiKey.clientsFile}") String clientKeysFile,
+            @Value("${security.apiKey.reloadIntervalSeconds}") int reloadIntervalSeconds,
+            @Value("${security.apiKey.rateLimit.capacity}") int rateLimitCapacity,
+            @Value("${security.apiKey.rateLimit.permitsPerSecond}") double rateLimitPermitsPerSecond
+    ) {
+        this(
+                securedPaths,
+                new ApiKeyRegistry(
+                        primaryKey,
+                        secondaryKey,
+                        clientKeys,
+                        clientKeysFile,
+                        Duration.ofSeconds(reloadIntervalSeconds),
+                        new ApiKeyRegistry.RateLimitConf(rateLimitCapacity, rateLimitPermitsPerSecond),
+                        System::nanoTime
+                )
+        );
+    }
+
+    RequestContextFilter(
+            Set<String> securedPaths,
+            ApiKeyRegistry apiKeyRegistry
+    ) {
+        this.securedPathPrefixes = securedPaths.toArray(String[]::new);
+        this.apiKeyRegistry = apiKeyRegistry;
+    }
+
+    @Override
+    public void onApplicationEvent(@NotNull ApplicationReadyEvent event) {
+        apiKeyRegistry.startReloading();
+    }
+
+    @PreDestroy
+    public void stop() {
+        apiKeyRegistry.stopReloading();
+    }
+
+    @Override
+    public @NotNull Mono<Void> filter(
+                                      @NotNull ServerWebExchange exchange,
+                                      @NotNull WebFilterChain chain
+    ) {
+        String requestPath = exchange.getRequest().getPath().value();
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (isSecuredPath(requestPath)) {
+            String requestApiKey = headers.getFirst(HEADER_API_KEY);
+            ApiKeyRegistry.ApiKey matchedKey = requestApiKey == null ? null : apiKeyRegistry.match(requestApiKey);
+            if (matchedKey == null) {
+                log.error(
+                        "Unauthorized request for path: [{}], missing or invalid input [\"x-api-key\"] header",
+                        requestPath
+                );
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                return exchange.getResponse().setComplete();
+            }
+            long retryAfterNanos = matchedKey.tryAcquire();
+            if (retryAfterNanos > 0) {
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999));
+                log.warn(
+                        "Rate limit exceeded for client: [{}] on path: [{}], retry after [{}] seconds",
+                        matchedKey.clientId(),
+                        requestPath,
+                        retryAfterSeconds
+                );
+                exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                return exchange.getResponse().setComplete();
+            }
+            log.debug("Matched client: [{}] for path: [{}]", matchedKey.clientId(), requestPath);
+        }
+        return chain.filter(exchange)
+                .contextWrite(
+                        Context.of(
+                                TransactionTracingUtils.TracingEntry.TRANSACTION_ID.getKey(),
+                                headerOrDefault(headers, HEADER_TRANSACTION_ID, TransactionTracingUtils.TracingEntry.TRANSACTION_ID),
+                                TransactionTracingUtils.TracingEntry.RPT_IDS.getKey(),
+                                headerOrDefault(headers, HEADER_RPT_ID, TransactionTracingUtils.TracingEntry.RPT_IDS),
+                                TransactionTracingUtils.TracingEntry.CORRELATION_ID.getKey(),
+                                headerOrDefault(headers, HEADER_NPG_CORRELATION_ID, TransactionTracingUtils.TracingEntry.CORRELATION_ID)
+                        )
+                );
+    }
+
+    private boolean isSecuredPath(String requestPath) {
+        for (String securedPathPrefix : securedPathPrefixes) {
+            if (requestPath.startsWith(securedPathPrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String headerOrDefault(
+                                          HttpHeaders headers,
+                                          String headerName,
+                                          TransactionTracingUtils.TracingEntry tracingEntry
+    ) {
+        String headerValue = headers.getFirst(headerName);
+        return headerValue != null ? headerValue : tracingEntry.getDefaultValue();
+    }
+}
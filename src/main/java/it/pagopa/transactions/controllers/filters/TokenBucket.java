@@ -0,0 +1,51 @@
+package it.pagopa.transactions.controllers.filters;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter. The bucket starts full with {@code capacity}
+ * tokens and is refilled continuously at {@code permitsPerSecond} tokens per
+ * second, up to its capacity
+ */
+final class TokenBucket {
+
+    private final double capacity;
+
+    private final double nanosPerPermit;
+
+    private final LongSupplier nanoTime;
+
+    private double availableTokens;
+
+    private long lastRefillNanos;
+
+    TokenBucket(
+            int capacity,
+            double permitsPerSecond,
+            LongSupplier nanoTime
+    ) {
+        this.capacity = capacity;
+        this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.nanoTime = nanoTime;
+        this.availableTokens = capacity;
+        this.lastRefillNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Try to take a token from the bucket
+     *
+     * @return 0 if a token has been taken, otherwise the nanoseconds to wait
+     *         before a token will be available
+     */
+    synchronized long tryAcquire() {
+        long now = nanoTime.getAsLong();
+        availableTokens = Math.min(capacity, availableTokens + (now - lastRefillNanos) / nanosPerPermit);
+        lastRefillNanos = now;
+        if (availableTokens >= 1) {
+            availableTokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - availableTokens) * nanosPerPermit);
+    }
+}
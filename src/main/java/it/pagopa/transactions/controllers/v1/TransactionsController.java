@@ -1,7 +1,6 @@
 package it.pagopa.transactions.controllers.v1;
 
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
-import it.pagopa.ecommerce.commons.annotations.Warmup;
 import it.pagopa.ecommerce.commons.documents.v2.Transaction;
 import it.pagopa.ecommerce.commons.domain.v2.TransactionId;
 import it.pagopa.ecommerce.commons.redis.reactivetemplatewrappers.ReactiveExclusiveLockDocumentWrapper;
@@ -15,13 +14,13 @@ import it.pagopa.generated.transactions.v2.server.model.ValidationFaultPaymentDa
 import it.pagopa.transactions.exceptions.*;
 import it.pagopa.transactions.mdcutilities.TransactionTracingUtils;
 import it.pagopa.transactions.services.v1.TransactionsService;
+import it.pagopa.transactions.utils.SideEffectScheduler;
 import it.pagopa.transactions.utils.SpanLabelOpenTelemetry;
-import it.pagopa.transactions.utils.TransactionsUtils;
+import it.pagopa.transactions.utils.TransactionETagUtils;
 import it.pagopa.transactions.utils.UUIDUtils;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,29 +29,34 @@ import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.support.WebExchangeBindException;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.context.Context;
 
-import java.time.Duration;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 @RestController("TransactionsControllerV1")
 @Slf4j
 public class TransactionsController implements TransactionsApi {
 
-    @Autowired
-    private TransactionsService transactionsService;
+    private static final ResponseEntity<ProblemJsonDto> NODO_GENERIC_ERROR_RESPONSE = new ResponseEntity<>(
+            new ProblemJsonDto().title("Bad gateway"),
+            HttpStatus.BAD_GATEWAY
+    );
+
+    /*
+     * Nodo fault codes responses are computed once, since they only depend on the
+     * fault code. Fault categories are checked in order, so a fault code is mapped
+     * to the response of the first category it belongs to
+     */
+    private static final Map<String, ResponseEntity<?>> NODO_ERROR_RESPONSES = buildNodoErrorResponses();
 
     @Autowired
-    private TransactionsUtils transactionsUtils;
+    private TransactionsService transactionsService;
 
     @Autowired
     private UUIDUtils uuidUtils;
@@ -66,8 +70,11 @@ public class TransactionsController implements TransactionsApi {
     @Autowired
     private ReactiveExclusiveLockDocumentWrapper reactiveExclusiveLockDocumentWrapper;
 
-    @Value("${security.apiKey.primary}")
-    private String primaryKey;
+    @Autowired
+    private SideEffectScheduler sideEffectScheduler;
+
+    @Autowired
+    private TransactionETagUtils transactionETagUtils;
 
     @ExceptionHandler(
         {
@@ -122,9 +129,13 @@ public class TransactionsController implements TransactionsApi {
                                                                        UUID xUserId,
                                                                        ServerWebExchange exchange
     ) {
-        return transactionsService.getTransactionInfo(transactionId, xUserId)
-                .doOnNext(t -> log.info("GetTransactionInfo for transactionId completed: [{}]", transactionId))
-                .map(ResponseEntity::ok)
+        return transactionETagUtils.conditionalGet(
+                transactionId,
+                xUserId,
+                exchange.getRequest(),
+                () -> transactionsService.getTransactionInfo(transactionId, xUserId)
+                        .doOnNext(t -> log.info("GetTransactionInfo for transactionId completed: [{}]", transactionId))
+        )
                 .contextWrite(
                         context -> TransactionTracingUtils.setTransactionInfoIntoReactorContext(
                                 new TransactionTracingUtils.TransactionInfo(
@@ -274,24 +285,25 @@ public class TransactionsController implements TransactionsApi {
                             domainTransactionId.uuid(),
                             updateAuthorizationRequestDto
                     ).doFinally(
-                            s -> reactiveExclusiveLockDocumentWrapper
-                                    .deleteById(lockDocument.id())
-                                    .subscribeOn(Schedulers.boundedElastic())
-                                    .doOnNext(
-                                            deleted -> log
-                                                    .info(
-                                                            "Lock with id: [{}], deleted: [{}]",
-                                                            lockDocument.id(),
-                                                            deleted
+                            s -> sideEffectScheduler.submitRequired(
+                                    "authRequestLockRelease",
+                                    reactiveExclusiveLockDocumentWrapper
+                                            .deleteById(lockDocument.id())
+                                            .doOnNext(
+                                                    deleted -> log
+                                                            .info(
+                                                                    "Lock with id: [{}], deleted: [{}]",
+                                                                    lockDocument.id(),
+                                                                    deleted
+                                                            )
+                                            )
+                                            .doOnError(
+                                                    error -> log.error(
+                                                            "Error deleting lock with id: [%s]".formatted(lockDocument.id()),
+                                                            error
                                                     )
-                                    )
-                                    .doOnError(
-                                            error -> log.error(
-                                                    "Error deleting lock with id: [%s]".formatted(lockDocument.id()),
-                                                    error
                                             )
-                                    )
-                                    .subscribe()
+                            )
                     );
                 })
                 .contextWrite(
@@ -442,9 +454,18 @@ public class TransactionsController implements TransactionsApi {
                                                                                   UUID xUserId,
                                                                                   ServerWebExchange exchange
     ) {
-        return transactionsService.getTransactionOutcome(transactionId, xUserId)
-                .doOnNext(t -> log.info("Get TransactionOutcomeInfo for transactionId completed: [{}]", transactionId))
-                .map(ResponseEntity::ok)
+        return transactionETagUtils.conditionalGet(
+                transactionId,
+                xUserId,
+                exchange.getRequest(),
+                () -> transactionsService.getTransactionOutcome(transactionId, xUserId)
+                        .doOnNext(
+                                t -> log.info(
+                                        "Get TransactionOutcomeInfo for transactionId completed: [{}]",
+                                        transactionId
+                                )
+                        )
+        )
                 .contextWrite(
                         context -> TransactionTracingUtils.setTransactionInfoIntoReactorContext(
                                 new TransactionTracingUtils.TransactionInfo(
@@ -727,41 +748,72 @@ public class TransactionsController implements TransactionsApi {
             NodoErrorException.class,
     })
     ResponseEntity<?> nodoErrorHandler(NodoErrorException exception) {
+        return NODO_ERROR_RESPONSES.getOrDefault(exception.getFaultCode(), NODO_GENERIC_ERROR_RESPONSE);
+    }
 
-        return switch (exception.getFaultCode()) {
-            case String s when Arrays.stream(PartyConfigurationFaultDto.values()).anyMatch(z -> z.getValue().equals(s)) ->
+    private static Map<String, ResponseEntity<?>> buildNodoErrorResponses() {
+        Map<String, ResponseEntity<?>> responses = new HashMap<>();
+        for (PartyConfigurationFaultDto fault : PartyConfigurationFaultDto.values()) {
+            responses.putIfAbsent(
+                    fault.getValue(),
                     new ResponseEntity<>(
                             new PartyConfigurationFaultPaymentProblemJsonDto()
                                     .title("EC error")
                                     .faultCodeCategory(FaultCategoryDto.PAYMENT_UNAVAILABLE)
-                                    .faultCodeDetail(PartyConfigurationFaultDto.fromValue(s)), HttpStatus.BAD_GATEWAY);
-            case String s when Arrays.stream(ValidationFaultDto.values()).anyMatch(z -> z.getValue().equals(s)) ->
+                                    .faultCodeDetail(fault),
+                            HttpStatus.BAD_GATEWAY
+                    )
+            );
+        }
+        for (ValidationFaultDto fault : ValidationFaultDto.values()) {
+            responses.putIfAbsent(
+                    fault.getValue(),
                     new ResponseEntity<>(
                             new ValidationFaultPaymentProblemJsonDto()
                                     .title("Validation Fault")
                                     .faultCodeCategory(FaultCategoryDto.PAYMENT_UNKNOWN)
-                                    .faultCodeDetail(ValidationFaultDto.fromValue(s)), HttpStatus.NOT_FOUND);
-            case String s when Arrays.stream(GatewayFaultDto.values()).anyMatch(z -> z.getValue().equals(s)) ->
+                                    .faultCodeDetail(fault),
+                            HttpStatus.NOT_FOUND
+                    )
+            );
+        }
+        for (GatewayFaultDto fault : GatewayFaultDto.values()) {
+            responses.putIfAbsent(
+                    fault.getValue(),
                     new ResponseEntity<>(
                             new GatewayFaultPaymentProblemJsonDto()
                                     .title("Payment unavailable")
                                     .faultCodeCategory(FaultCategoryDto.GENERIC_ERROR)
-                                    .faultCodeDetail(GatewayFaultDto.fromValue(s)), HttpStatus.BAD_GATEWAY);
-            case String s when Arrays.stream(PartyTimeoutFaultDto.values()).anyMatch(z -> z.getValue().equals(s)) ->
+                                    .faultCodeDetail(fault),
+                            HttpStatus.BAD_GATEWAY
+                    )
+            );
+        }
+        for (PartyTimeoutFaultDto fault : PartyTimeoutFaultDto.values()) {
+            responses.putIfAbsent(
+                    fault.getValue(),
                     new ResponseEntity<>(
                             new PartyTimeoutFaultPaymentProblemJsonDto()
                                     .title("Gateway Timeout")
                                     .faultCodeCategory(FaultCategoryDto.GENERIC_ERROR)
-                                    .faultCodeDetail(PartyTimeoutFaultDto.fromValue(s)), HttpStatus.GATEWAY_TIMEOUT);
-            case String s when Arrays.stream(PaymentStatusFaultDto.values()).anyMatch(z -> z.getValue().equals(s)) ->
+                                    .faultCodeDetail(fault),
+                            HttpStatus.GATEWAY_TIMEOUT
+                    )
+            );
+        }
+        for (PaymentStatusFaultDto fault : PaymentStatusFaultDto.values()) {
+            responses.putIfAbsent(
+                    fault.getValue(),
                     new ResponseEntity<>(
                             new PaymentStatusFaultPaymentProblemJsonDto()
                                     .title("Payment Status Fault")
                                     .faultCodeCategory(FaultCategoryDto.PAYMENT_UNAVAILABLE)
-                                    .faultCodeDetail(PaymentStatusFaultDto.fromValue(s)), HttpStatus.CONFLICT);
-            default -> new ResponseEntity<>(
-                    new ProblemJsonDto().title("Bad gateway"), HttpStatus.BAD_GATEWAY);
-        };
+                                    .faultCodeDetail(fault),
+                            HttpStatus.CONFLICT
+                    )
+            );
+        }
+        return Collections.unmodifiableMap(responses);
     }
 
     @ExceptionHandler(
@@ -821,33 +873,4 @@ public class TransactionsController implements TransactionsApi {
                 httpStatus
         );
     }
-
-    @Warmup
-    public void postNewTransactionWarmupMethod() {
-        IntStream.range(0, 3).forEach(
-                idx -> {
-                    log.info("Performing warmup iteration: {}", idx);
-                    NewTransactionResponseDto newTransactionResponseDto = WebClient
-                            .create()
-                            .post()
-                            .uri("http://localhost:8080/transactions")
-                            .header("X-Client-Id", TransactionInfoDto.ClientIdEnum.CHECKOUT.toString())
-                            .header("x-api-key", primaryKey)
-                            .bodyValue(transactionsUtils.buildWarmupRequestV1())
-                            .retrieve()
-                            .bodyToMono(NewTransactionResponseDto.class)
-                            .block(Duration.ofSeconds(30));
-                    WebClient
-                            .create()
-                            .get()
-                            .uri(
-                                    "http://localhost:8080/transactions/{transactionId}",
-                                    newTransactionResponseDto.getTransactionId()
-                            ).header("x-api-key", primaryKey)
-                            .retrieve()
-                            .toBodilessEntity()
-                            .block(Duration.ofSeconds(30));
-                }
-        );
-    }
 }
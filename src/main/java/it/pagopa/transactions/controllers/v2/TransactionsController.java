@@ -1,7 +1,6 @@
 package it.pagopa.transactions.controllers.v2;
 
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
-import it.pagopa.ecommerce.commons.annotations.Warmup;
 import it.pagopa.ecommerce.commons.domain.v2.TransactionId;
 import it.pagopa.ecommerce.commons.utils.OpenTelemetryUtils;
 import it.pagopa.generated.transactions.v2.server.api.V2Api;
@@ -10,11 +9,10 @@ import it.pagopa.transactions.exceptions.*;
 import it.pagopa.transactions.mdcutilities.TransactionTracingUtils;
 import it.pagopa.transactions.services.v2.TransactionsService;
 import it.pagopa.transactions.utils.SpanLabelOpenTelemetry;
-import it.pagopa.transactions.utils.TransactionsUtils;
+import it.pagopa.transactions.utils.TransactionETagUtils;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.ObjectError;
@@ -22,16 +20,13 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
 import java.util.HashSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import static it.pagopa.transactions.utils.TransactionsUtils.nodeErrorToV2TransactionsResponseEntityMapping;
 
@@ -42,17 +37,14 @@ public class TransactionsController implements V2Api {
     @Autowired
     private TransactionsService transactionsService;
 
-    @Autowired
-    private TransactionsUtils transactionsUtils;
-
     @Autowired
     private OpenTelemetryUtils openTelemetryUtils;
 
     @Autowired
     private it.pagopa.transactions.controllers.v1.TransactionsController transactionsControllerV1;
 
-    @Value("${security.apiKey.primary}")
-    private String primaryKey;
+    @Autowired
+    private TransactionETagUtils transactionETagUtils;
 
     @ExceptionHandler(
         {
@@ -84,9 +76,13 @@ public class TransactionsController implements V2Api {
                                                                        UUID xUserId,
                                                                        ServerWebExchange exchange
     ) {
-        return transactionsService.getTransactionInfo(transactionId, xUserId)
-                .doOnNext(t -> log.info("GetTransactionInfo for transactionId completed: [{}]", transactionId))
-                .map(ResponseEntity::ok)
+        return transactionETagUtils.conditionalGet(
+                transactionId,
+                xUserId,
+                exchange.getRequest(),
+                () -> transactionsService.getTransactionInfo(transactionId, xUserId)
+                        .doOnNext(t -> log.info("GetTransactionInfo for transactionId completed: [{}]", transactionId))
+        )
                 .contextWrite(
                         context -> TransactionTracingUtils.setTransactionInfoIntoReactorContext(
                                 new TransactionTracingUtils.TransactionInfo(
@@ -302,18 +298,19 @@ public class TransactionsController implements V2Api {
     @ExceptionHandler(NodoErrorException.class)
     public ResponseEntity<?> nodoErrorHandler(NodoErrorException e) {
         String faultCode = e.getFaultCode();
-        ResponseEntity<?> response = nodeErrorToV2TransactionsResponseEntityMapping.getOrDefault(
-                faultCode,
-                new ResponseEntity<>(
-                        new GatewayFaultPaymentProblemJsonDto()
-                                .title("Bad gateway")
-                                .faultCodeCategory(
-                                        GatewayFaultPaymentProblemJsonDto.FaultCodeCategoryEnum.GENERIC_ERROR
-                                )
-                                .faultCodeDetail(faultCode),
-                        HttpStatus.BAD_GATEWAY
-                )
-        );
+        ResponseEntity<?> response = nodeErrorToV2TransactionsResponseEntityMapping.get(faultCode);
+        if (response == null) {
+            // only unmapped fault codes need a dedicated response
+            response = new ResponseEntity<>(
+                    new GatewayFaultPaymentProblemJsonDto()
+                            .title("Bad gateway")
+                            .faultCodeCategory(
+                                    GatewayFaultPaymentProblemJsonDto.FaultCodeCategoryEnum.GENERIC_ERROR
+                            )
+                            .faultCodeDetail(faultCode),
+                    HttpStatus.BAD_GATEWAY
+            );
+        }
 
         log.error(
                 "Nodo error processing request with fault code: [" + faultCode + "] mapped to http status code: [" +
@@ -356,37 +353,4 @@ public class TransactionsController implements V2Api {
                 httpStatus
         );
     }
-
-    @Warmup
-    public void postNewTransactionWarmupMethod() {
-        IntStream.range(0, 3).forEach(
-                idx -> {
-                    log.info("Performing warmup iteration: {}", idx);
-                    NewTransactionResponseDto newTransactionResponseDto = WebClient
-                            .create()
-                            .post()
-                            .uri("http://localhost:8080/v2/transactions")
-                            .header("X-Client-Id", NewTransactionResponseDto.ClientIdEnum.CHECKOUT.toString())
-                            .header("x-correlation-id", UUID.randomUUID().toString())
-                            .header("x-api-key", primaryKey)
-                            .bodyValue(transactionsUtils.buildWarmupRequestV2())
-                            .retrieve()
-                            .bodyToMono(NewTransactionResponseDto.class)
-                            .block(Duration.ofSeconds(30));
-                    WebClient
-                            .create()
-                            .get()
-                            .uri(
-                                    "http://localhost:8080/v2/transactions/{transactionId}",
-                                    newTransactionResponseDto.getTransactionId()
-                            )
-                            .header("X-Client-Id", TransactionInfoDto.ClientIdEnum.CHECKOUT.toString())
-                            .header("x-api-key", primaryKey)
-                            .retrieve()
-                            .toBodilessEntity()
-                            .block(Duration.ofSeconds(30));
-                }
-        );
-
-    }
 }
@@ -1,38 +1,33 @@
 package it.pagopa.transactions.controllers.v2_1;
 
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
-import it.pagopa.ecommerce.commons.annotations.Warmup;
 import it.pagopa.ecommerce.commons.domain.v2.TransactionId;
 import it.pagopa.ecommerce.commons.utils.OpenTelemetryUtils;
-import it.pagopa.generated.transactions.server.model.TransactionInfoDto;
 import it.pagopa.generated.transactions.v2_1.server.api.V21Api;
 import it.pagopa.generated.transactions.v2_1.server.model.*;
 import it.pagopa.transactions.exceptions.*;
 import it.pagopa.transactions.mdcutilities.TransactionTracingUtils;
 import it.pagopa.transactions.services.v2_1.TransactionsService;
 import it.pagopa.transactions.utils.SpanLabelOpenTelemetry;
-import it.pagopa.transactions.utils.TransactionsUtils;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
 import java.util.HashSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import static it.pagopa.transactions.utils.TransactionsUtils.nodeErrorToV2_1TransactionsResponseEntityMapping;
 
@@ -43,15 +38,9 @@ public class TransactionsController implements V21Api {
     @Autowired
     private TransactionsService transactionsService;
 
-    @Autowired
-    private TransactionsUtils transactionsUtils;
-
     @Autowired
     private OpenTelemetryUtils openTelemetryUtils;
 
-    @Value("${security.apiKey.primary}")
-    private String primaryKey;
-
     @ExceptionHandler(
         {
                 CallNotPermittedException.class
@@ -109,6 +98,101 @@ public class TransactionsController implements V21Api {
                 );
     }
 
+    @Override
+    public Mono<ResponseEntity<TransactionOutcomeInfoDto>> waitTransactionOutcome(
+                                                                                  String transactionId,
+                                                                                  UUID xUserId,
+                                                                                  Integer waitSeconds,
+                                                                                  ServerWebExchange exchange
+    ) {
+        return transactionsService.waitTransactionOutcome(transactionId, xUserId, waitSeconds)
+                .doOnNext(
+                        outcome -> log.info(
+                                "Wait TransactionOutcomeInfo for transactionId completed: [{}], final status: [{}]",
+                                transactionId,
+                                outcome.getIsFinalStatus()
+                        )
+                )
+                .map(ResponseEntity::ok)
+                .contextWrite(
+                        context -> TransactionTracingUtils.setTransactionInfoIntoReactorContext(
+                                new TransactionTracingUtils.TransactionInfo(
+                                        new TransactionId(transactionId),
+                                        new HashSet<>(),
+                                        exchange.getRequest().getMethod().name(),
+                                        exchange.getRequest().getURI().getPath()
+                                ),
+                                context
+                        )
+                );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<TransactionOutcomeInfoDto>>> streamTransactionOutcome(
+                                                                                          String transactionId,
+                                                                                          UUID xUserId,
+                                                                                          ServerWebExchange exchange
+    ) {
+        return transactionsService.streamTransactionOutcome(transactionId, xUserId)
+                .map(
+                        updates -> ResponseEntity.ok()
+                                .contentType(MediaType.TEXT_EVENT_STREAM)
+                                .body(
+                                        updates.doOnComplete(
+                                                () -> log.info(
+                                                        "Stream TransactionOutcomeInfo for transactionId completed: [{}]",
+                                                        transactionId
+                                                )
+                                        )
+                                )
+                )
+                .contextWrite(
+                        context -> TransactionTracingUtils.setTransactionInfoIntoReactorContext(
+                                new TransactionTracingUtils.TransactionInfo(
+                                        new TransactionId(transactionId),
+                                        new HashSet<>(),
+                                        exchange.getRequest().getMethod().name(),
+                                        exchange.getRequest().getURI().getPath()
+                                ),
+                                context
+                        )
+                );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<TransactionStatusInfoDto>>> getTransactionsStatuses(
+                                                                                        Mono<TransactionsStatusesRequestDto> transactionsStatusesRequestDto,
+                                                                                        UUID xUserId,
+                                                                                        ServerWebExchange exchange
+    ) {
+        return transactionsStatusesRequestDto
+                .map(
+                        request -> ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(
+                                        transactionsService
+                                                .getTransactionsStatuses(request.getTransactionIds(), xUserId)
+                                                .doOnComplete(
+                                                        () -> log.info(
+                                                                "Get transactions statuses completed for [{}] transaction ids",
+                                                                request.getTransactionIds().size()
+                                                        )
+                                                )
+                                )
+                );
+    }
+
+    @ExceptionHandler(TransactionNotFoundException.class)
+    ResponseEntity<ProblemJsonDto> transactionNotFoundHandler(TransactionNotFoundException exception) {
+        return new ResponseEntity<>(
+                new ProblemJsonDto()
+                        .status(404)
+                        .title("Transaction not found")
+                        .detail("Transaction for payment token '%s' not found".formatted(exception.getPaymentToken())),
+                HttpStatus.NOT_FOUND
+        );
+    }
+
     @ExceptionHandler(AlreadyProcessedException.class)
     ResponseEntity<ProblemJsonDto> alreadyProcessedHandler(AlreadyProcessedException exception) {
         return new ResponseEntity<>(
@@ -211,18 +295,19 @@ public class TransactionsController implements V21Api {
     @ExceptionHandler(NodoErrorException.class)
     public ResponseEntity<?> nodoErrorHandler(NodoErrorException e) {
         String faultCode = e.getFaultCode();
-        ResponseEntity<?> response = nodeErrorToV2_1TransactionsResponseEntityMapping.getOrDefault(
-                faultCode,
-                new ResponseEntity<>(
-                        new GatewayFaultPaymentProblemJsonDto()
-                                .title("Bad gateway")
-                                .faultCodeCategory(
-                                        GatewayFaultPaymentProblemJsonDto.FaultCodeCategoryEnum.GENERIC_ERROR
-                                )
-                                .faultCodeDetail(faultCode),
-                        HttpStatus.BAD_GATEWAY
-                )
-        );
+        ResponseEntity<?> response = nodeErrorToV2_1TransactionsResponseEntityMapping.get(faultCode);
+        if (response == null) {
+            // only unmapped fault codes need a dedicated response
+            response = new ResponseEntity<>(
+                    new GatewayFaultPaymentProblemJsonDto()
+                            .title("Bad gateway")
+                            .faultCodeCategory(
+                                    GatewayFaultPaymentProblemJsonDto.FaultCodeCategoryEnum.GENERIC_ERROR
+                            )
+                            .faultCodeDetail(faultCode),
+                    HttpStatus.BAD_GATEWAY
+            );
+        }
 
         log.error(
                 "Nodo error processing request with fault code: [" + faultCode + "] mapped to http status code: [" +
@@ -264,37 +349,4 @@ public class TransactionsController implements V21Api {
                 httpStatus
         );
     }
-
-    @Warmup
-    public void postNewTransactionWarmupMethod() {
-        IntStream.range(0, 3).forEach(
-                idx -> {
-                    log.info("Performing warmup iteration: {}", idx);
-                    NewTransactionResponseDto newTransactionResponseDto = WebClient
-                            .create()
-                            .post()
-                            .uri("http://localhost:8080/v2.1/transactions")
-                            .header("X-Client-Id", NewTransactionResponseDto.ClientIdEnum.CHECKOUT.toString())
-                            .header("x-correlation-id", UUID.randomUUID().toString())
-                            .header("x-api-key", primaryKey)
-                            .bodyValue(transactionsUtils.buildWarmupRequestV2_1())
-                            .retrieve()
-                            .bodyToMono(NewTransactionResponseDto.class)
-                            .block(Duration.ofSeconds(30));
-                    WebClient
-                            .create()
-                            .get()
-                            .uri(
-                                    "http://localhost:8080/transactions/{transactionId}",
-                                    newTransactionResponseDto.getTransactionId()
-                            )
-                            .header("X-Client-Id", TransactionInfoDto.ClientIdEnum.CHECKOUT.toString())
-                            .header("x-api-key", primaryKey)
-                            .retrieve()
-                            .toBodilessEntity()
-                            .block(Duration.ofSeconds(30));
-                }
-        );
-
-    }
 }
@@ -78,4 +78,9 @@ public class AlreadyProcessedException extends Exception implements TransactionC
     public Optional<UpdateTransactionStatusTracerUtils.GatewayOutcomeResult> gatewayOutcomeResult() {
         return Optional.ofNullable(gatewayOutcomeResult);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return ControlFlowExceptions.isStackTraceEnabled() ? super.fillInStackTrace() : this;
+    }
 }
@@ -0,0 +1,26 @@
+package it.pagopa.transactions.exceptions;
+
+/**
+ * Settings shared by the exceptions raised on expected business paths, such as
+ * duplicate callbacks, unknown transaction ids and Nodo faults.
+ * <p>
+ * Those exceptions are handled by the controllers exception handlers and never
+ * need a stack trace to be diagnosed, so stack trace capture is skipped unless
+ * explicitly enabled with {@code exceptions.controlFlow.stackTraceEnabled} for
+ * debugging purposes.
+ */
+public final class ControlFlowExceptions {
+
+    private static volatile boolean stackTraceEnabled = false;
+
+    private ControlFlowExceptions() {
+    }
+
+    public static boolean isStackTraceEnabled() {
+        return stackTraceEnabled;
+    }
+
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+}
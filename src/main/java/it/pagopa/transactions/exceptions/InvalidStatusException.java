@@ -4,4 +4,9 @@ public class InvalidStatusException extends RuntimeException {
     public InvalidStatusException(String message) {
         super(message);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return ControlFlowExceptions.isStackTraceEnabled() ? super.fillInStackTrace() : this;
+    }
 }
@@ -23,4 +23,8 @@ public class LockNotAcquiredException extends RuntimeException {
         this.transactionId = transactionId;
     }
 
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return ControlFlowExceptions.isStackTraceEnabled() ? super.fillInStackTrace() : this;
+    }
 }
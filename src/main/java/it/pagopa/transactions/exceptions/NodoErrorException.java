@@ -35,4 +35,9 @@ public class NodoErrorException extends RuntimeException {
 
         return faultBean.getFaultCode();
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return ControlFlowExceptions.isStackTraceEnabled() ? super.fillInStackTrace() : this;
+    }
 }
@@ -14,4 +14,9 @@ public class TransactionNotFoundException extends RuntimeException {
     public String getPaymentToken() {
         return paymentToken;
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return ControlFlowExceptions.isStackTraceEnabled() ? super.fillInStackTrace() : this;
+    }
 }
@@ -5,15 +5,15 @@ import org.slf4j.MDC;
 import reactor.core.CoreSubscriber;
 import reactor.util.context.Context;
 
-import java.util.*;
-import java.util.stream.Collectors;
-
 /**
  * Helper that copies the state of Reactor [Context] to MDC on the #onNext
  * function.
  */
 class MDCContextLifter<T> implements CoreSubscriber<T> {
 
+    private static final TransactionTracingUtils.TracingEntry[] TRACING_ENTRIES = TransactionTracingUtils.TracingEntry
+            .values();
+
     CoreSubscriber<T> coreSubscriber;
 
     public MDCContextLifter(CoreSubscriber<T> coreSubscriber) {
@@ -48,28 +48,30 @@ class MDCContextLifter<T> implements CoreSubscriber<T> {
     }
 
     /**
-     * Extension function for the Reactor [Context]. Copies the current context to
-     * the MDC, if context is empty clears the MDC. State of the MDC after calling
-     * this method should be same as Reactor [Context] state. One thread-local
-     * access only.
+     * Copies the tracing entries of the Reactor [Context] to the MDC, if context is
+     * empty removes them from the MDC. State of the MDC tracing entries after
+     * calling this method should be same as Reactor [Context] state.
+     * <p>
+     * The MDC is only written when its values differ from the context ones, that
+     * is when the signal crosses a thread boundary or a different request context:
+     * on the hot path every signal only performs a lookup per tracing entry,
+     * without copying the MDC map or allocating.
      */
     private void copyToMdc(Context context) {
         if (!context.isEmpty()) {
-            Map<String, String> mdcContextMap = Optional.ofNullable(MDC.getCopyOfContextMap()).orElseGet(HashMap::new);
-            Map<String, String> reactorContextMap = Arrays
-                    .stream(TransactionTracingUtils.TracingEntry.values())
-                    .map(
-                            key -> new AbstractMap.SimpleEntry<>(
-                                    key.getKey(),
-                                    context.getOrEmpty(key.getKey()).map(Object::toString)
-                                            .orElse(key.getDefaultValue())
-                            )
-                    )
-                    .collect(Collectors.toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
-            mdcContextMap.putAll(reactorContextMap);
-            MDC.setContextMap(mdcContextMap);
+            for (TransactionTracingUtils.TracingEntry tracingEntry : TRACING_ENTRIES) {
+                Object contextValue = context.getOrDefault(tracingEntry.getKey(), tracingEntry.getDefaultValue());
+                String value = contextValue == null ? tracingEntry.getDefaultValue() : contextValue.toString();
+                if (!value.equals(MDC.get(tracingEntry.getKey()))) {
+                    MDC.put(tracingEntry.getKey(), value);
+                }
+            }
         } else {
-            MDC.clear();
+            for (TransactionTracingUtils.TracingEntry tracingEntry : TRACING_ENTRIES) {
+                if (MDC.get(tracingEntry.getKey()) != null) {
+                    MDC.remove(tracingEntry.getKey());
+                }
+            }
         }
     }
 
@@ -7,6 +7,7 @@ import it.pagopa.transactions.commands.data.AuthorizationRequestedEventData;
 import it.pagopa.transactions.exceptions.TransactionNotFoundException;
 import it.pagopa.transactions.projections.handlers.ProjectionHandler;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -26,14 +27,17 @@ public class AuthorizationRequestProjectionHandler
     public static final String QUALIFIER_NAME = "authorizationRequestProjectionHandlerV2";
 
     private final TransactionsViewRepository transactionsViewRepository;
+    private final TransactionOutcomeUtils transactionOutcomeUtils;
     private final boolean transactionsviewUpdateEnabled;
 
     @Autowired
     public AuthorizationRequestProjectionHandler(
             TransactionsViewRepository transactionsViewRepository,
+            TransactionOutcomeUtils transactionOutcomeUtils,
             @Value("${transactionsview.update.enabled}") boolean transactionsviewUpdateEnabled
     ) {
         this.transactionsViewRepository = transactionsViewRepository;
+        this.transactionOutcomeUtils = transactionOutcomeUtils;
         this.transactionsviewUpdateEnabled = transactionsviewUpdateEnabled;
     }
 
@@ -73,7 +77,8 @@ public class AuthorizationRequestProjectionHandler
                 ZonedDateTime.parse(creationDate).toInstant().toEpochMilli()
         );
 
-        return transactionsViewRepository.save(transactionDocument);
+        return transactionsViewRepository.save(transactionDocument)
+                .flatMap(transactionOutcomeUtils::materializeOutcome);
 
     }
 }
@@ -11,6 +11,7 @@ import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
 import it.pagopa.transactions.exceptions.TransactionNotFoundException;
 import it.pagopa.transactions.projections.handlers.ProjectionHandler;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -32,16 +33,20 @@ public class AuthorizationUpdateProjectionHandler
     public static final String QUALIFIER_NAME = "authorizationUpdateProjectionHandlerV2";
     private final TransactionsViewRepository transactionsViewRepository;
 
+    private final TransactionOutcomeUtils transactionOutcomeUtils;
+
     private final Integer paymentTokenValidity;
     private final boolean transactionsviewUpdateEnabled;
 
     @Autowired
     public AuthorizationUpdateProjectionHandler(
             TransactionsViewRepository transactionsViewRepository,
+            TransactionOutcomeUtils transactionOutcomeUtils,
             @Value("${payment.token.validity}") Integer paymentTokenValidity,
             @Value("${transactionsview.update.enabled}") boolean transactionsviewUpdateEnabled
     ) {
         this.transactionsViewRepository = transactionsViewRepository;
+        this.transactionOutcomeUtils = transactionOutcomeUtils;
         this.paymentTokenValidity = paymentTokenValidity;
         this.transactionsviewUpdateEnabled = transactionsviewUpdateEnabled;
     }
@@ -116,7 +121,8 @@ public class AuthorizationUpdateProjectionHandler
         transactionDocument.setGatewayAuthorizationStatus(gatewayStatusAndErrorCode.getT1());
         transactionDocument.setLastProcessedEventAt(ZonedDateTime.parse(data.getCreationDate()).toInstant().toEpochMilli());
 
-        return transactionsViewRepository.save(transactionDocument);
+        return transactionsViewRepository.save(transactionDocument)
+                .flatMap(transactionOutcomeUtils::materializeOutcome);
 
     }
 
@@ -4,6 +4,7 @@ import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
 import it.pagopa.transactions.exceptions.TransactionNotFoundException;
 import it.pagopa.transactions.projections.handlers.ProjectionHandler;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,14 +23,18 @@ public class CancellationRequestProjectionHandler
 
     private final TransactionsViewRepository transactionsViewRepository;
 
+    private final TransactionOutcomeUtils transactionOutcomeUtils;
+
     private final boolean transactionsviewUpdateEnabled;
 
     @Autowired
     public CancellationRequestProjectionHandler(
             TransactionsViewRepository transactionsViewRepository,
+            TransactionOutcomeUtils transactionOutcomeUtils,
             @Value("${transactionsview.update.enabled}") boolean transactionsviewUpdateEnabled
     ) {
         this.transactionsViewRepository = transactionsViewRepository;
+        this.transactionOutcomeUtils = transactionOutcomeUtils;
         this.transactionsviewUpdateEnabled = transactionsviewUpdateEnabled;
     }
 
@@ -67,6 +72,7 @@ public class CancellationRequestProjectionHandler
                         .toEpochMilli()
         );
 
-        return transactionsViewRepository.save(transactionDocument);
+        return transactionsViewRepository.save(transactionDocument)
+                .flatMap(transactionOutcomeUtils::materializeOutcome);
     }
 }
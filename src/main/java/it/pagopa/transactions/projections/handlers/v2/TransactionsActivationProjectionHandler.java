@@ -5,6 +5,7 @@ import it.pagopa.ecommerce.commons.domain.v2.*;
 import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
 import it.pagopa.transactions.projections.handlers.ProjectionHandler;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
 import java.time.ZonedDateTime;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,14 +24,17 @@ public class TransactionsActivationProjectionHandler
     public static final String QUALIFIER_NAME = "transactionsActivationProjectionHandlerV2";
 
     private final TransactionsViewRepository transactionsViewRepository;
+    private final TransactionOutcomeUtils transactionOutcomeUtils;
     private final boolean transactionsviewUpdateEnabled;
 
     @Autowired
     public TransactionsActivationProjectionHandler(
             TransactionsViewRepository transactionsViewRepository,
+            TransactionOutcomeUtils transactionOutcomeUtils,
             @Value("${transactionsview.update.enabled}") boolean transactionsviewUpdateEnabled
     ) {
         this.transactionsViewRepository = transactionsViewRepository;
+        this.transactionOutcomeUtils = transactionOutcomeUtils;
         this.transactionsviewUpdateEnabled = transactionsviewUpdateEnabled;
     }
 
@@ -93,6 +97,7 @@ public class TransactionsActivationProjectionHandler
         if (transactionsviewUpdateEnabled) {
             return transactionsViewRepository
                     .save(transactionDocument)
+                    .flatMap(transactionOutcomeUtils::materializeOutcome)
                     .doOnNext(t -> log.info("Transactions update view for transactionId: {}", t.getTransactionId()))
                     .thenReturn(transaction);
         } else {
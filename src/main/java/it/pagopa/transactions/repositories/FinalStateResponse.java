@@ -0,0 +1,37 @@
+package it.pagopa.transactions.repositories;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Response served for a transaction that reached an immutable state, shared
+ * across instances through Redis. The response is kept as serialized json so
+ * that a single keyspace can hold all the cached response types.
+ *
+ * @param id       the cache key, made of the response type and the
+ *                 transaction id
+ * @param userId   the user that owns the transaction, if any
+ * @param response the serialized response
+ */
+public record FinalStateResponse(
+        @NonNull @Id String id,
+        @Nullable String userId,
+        @NonNull String response
+) {
+    /*
+     * @formatter:off
+     *
+     * Warning java:S6207 - Redundant constructors/methods should be avoided in records
+     * Suppressed because this constructor is just to add the `@PersistenceConstructor` annotation
+     * and is currently the canonical way to add annotations to record constructors
+     *
+     * @formatter:on
+     */
+    @SuppressWarnings("java:S6207")
+    @PersistenceCreator
+    public FinalStateResponse {
+        // Do nothing
+    }
+}
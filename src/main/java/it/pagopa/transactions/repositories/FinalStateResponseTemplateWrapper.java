@@ -0,0 +1,28 @@
+package it.pagopa.transactions.repositories;
+
+import it.pagopa.ecommerce.commons.redis.reactivetemplatewrappers.ReactiveRedisTemplateWrapper;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+
+import java.time.Duration;
+
+public class FinalStateResponseTemplateWrapper extends ReactiveRedisTemplateWrapper<FinalStateResponse> {
+    /**
+     * Primary constructor
+     *
+     * @param reactiveRedisTemplate inner reactive redis template
+     * @param keyspace              keyspace associated to this wrapper
+     * @param ttl                   time to live for keys
+     */
+    public FinalStateResponseTemplateWrapper(
+            ReactiveRedisTemplate<String, FinalStateResponse> reactiveRedisTemplate,
+            String keyspace,
+            Duration ttl
+    ) {
+        super(reactiveRedisTemplate, keyspace, ttl);
+    }
+
+    @Override
+    protected String getKeyFromEntity(FinalStateResponse value) {
+        return value.id();
+    }
+}
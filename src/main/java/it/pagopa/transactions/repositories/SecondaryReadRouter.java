@@ -0,0 +1,169 @@
+package it.pagopa.transactions.repositories;
+
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Router of the transaction view polling reads. When enabled, polling reads are
+ * sent to secondary members with a bounded staleness, offloading the primary
+ * that serves the command path writes and event reads, which keep using the
+ * client default read preference.
+ * <p>
+ * Replication lag can only make a secondary return an older version of a view
+ * document, bounded by the configured max staleness and superseded by the next
+ * poll, or no document at all for a transaction just activated. A missing
+ * document is re-read from the primary, so that a freshly activated transaction
+ * is never reported as not found. Single document reads performed when a newer
+ * view version is already known, such as the one a client sent back in its
+ * If-None-Match header or the one carried by an outcome update notification,
+ * set it in the Reactor context with {@link #minVersion(Long)}: a secondary
+ * document older than that is re-read from the primary too, so that a read
+ * never goes back to a version older than the known one.
+ * <p>
+ * Secondary reads and primary re-reads are exposed through the
+ * {@code transactionsview.reads} counter tagged with the read member.
+ */
+@Component
+@Slf4j
+public class SecondaryReadRouter {
+
+    private static final String READS_METRIC = "transactionsview.reads";
+
+    private static final String MIN_VERSION_CONTEXT_KEY = SecondaryReadRouter.class.getName() + ".minVersion";
+
+    private final boolean enabled;
+
+    private final ReadPreference secondaryReadPreference;
+
+    private final Counter secondaryReads;
+
+    private final Counter primaryReReads;
+
+    @Autowired
+    public SecondaryReadRouter(
+            MeterRegistry meterRegistry,
+            @Value("${transactionsview.secondaryReads.enabled}") boolean enabled,
+            @Value("${transactionsview.secondaryReads.maxStalenessSeconds}") long maxStalenessSeconds
+    ) {
+        this.enabled = enabled;
+        this.secondaryReadPreference = ReadPreference.secondaryPreferred(maxStalenessSeconds, TimeUnit.SECONDS);
+        this.secondaryReads = Counter.builder(READS_METRIC).tag("member", "secondary").register(meterRegistry);
+        this.primaryReReads = Counter.builder(READS_METRIC).tag("member", "primary").register(meterRegistry);
+    }
+
+    /**
+     * Require the single document reads performed within the returned context
+     * to return a view version not older than the input one
+     *
+     * @param minVersion the known view last processed event timestamp, null if
+     *                   no version is known
+     * @return the function writing the min version into a Reactor context
+     */
+    public static Function<Context, Context> minVersion(@Nullable Long minVersion) {
+        return context -> minVersion == null ? context : context.put(MIN_VERSION_CONTEXT_KEY, minVersion);
+    }
+
+    /**
+     * Perform a polling read of a single document
+     *
+     * @param query     the supplier of the query to be performed
+     * @param finder    the function performing the input query
+     * @param versionOf the function extracting the last processed event timestamp
+     *                  of a read document
+     * @param <T>       the read document type
+     * @return the document read from a secondary member, or from the primary if
+     *         the secondary has no such document or has a version older than the
+     *         one required by the Reactor context
+     */
+    public <T> Mono<T> read(
+                            Supplier<Query> query,
+                            Function<Query, Mono<T>> finder,
+                            Function<T, Long> versionOf
+    ) {
+        if (!enabled) {
+            return finder.apply(query.get());
+        }
+        return Mono.deferContextual(
+                context -> finder.apply(query.get().withReadPreference(secondaryReadPreference))
+                        .filter(
+                                document -> context.<Long>getOrEmpty(MIN_VERSION_CONTEXT_KEY)
+                                        .map(minVersion -> isUpToDate(versionOf.apply(document), minVersion))
+                                        .orElse(true)
+                        )
+                        .doOnNext(ignored -> secondaryReads.increment())
+                        .switchIfEmpty(
+                                Mono.defer(() -> {
+                                    primaryReReads.increment();
+                                    return finder.apply(query.get().withReadPreference(ReadPreference.primary()));
+                                })
+                        )
+        );
+    }
+
+    /**
+     * Perform a polling read of the documents with the input ids
+     *
+     * @param ids    the ids of the documents to be read
+     * @param query  the function building the query for a set of ids
+     * @param finder the function performing the input query
+     * @param idOf   the function extracting the id of a read document
+     * @param <T>    the read documents type
+     * @return the documents read from a secondary member, followed by the ones
+     *         missing on the secondary read from the primary
+     */
+    public <T> Flux<T> readAll(
+                               Collection<String> ids,
+                               Function<Collection<String>, Query> query,
+                               Function<Query, Flux<T>> finder,
+                               Function<T, String> idOf
+    ) {
+        if (!enabled) {
+            return finder.apply(query.apply(ids));
+        }
+        return finder.apply(query.apply(ids).withReadPreference(secondaryReadPreference))
+                .collectList()
+                .flatMapMany(documents -> {
+                    secondaryReads.increment(documents.size());
+                    Set<String> foundIds = documents.stream().map(idOf).collect(Collectors.toSet());
+                    List<String> missingIds = ids.stream().filter(id -> !foundIds.contains(id)).toList();
+                    if (missingIds.isEmpty()) {
+                        return Flux.fromIterable(documents);
+                    }
+                    log.debug("Re-reading [{}] transaction view documents from primary", missingIds.size());
+                    primaryReReads.increment(missingIds.size());
+                    return Flux.concat(
+                            Flux.fromIterable(documents),
+                            finder.apply(query.apply(missingIds).withReadPreference(ReadPreference.primary()))
+                    );
+                });
+    }
+
+    private static boolean isUpToDate(
+                                      Long version,
+                                      long minVersion
+    ) {
+        if (version == null || version < minVersion) {
+            log.debug("Re-reading transaction view document older than [{}] from primary", minVersion);
+            return false;
+        }
+        return true;
+    }
+}
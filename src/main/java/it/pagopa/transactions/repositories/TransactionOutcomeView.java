@@ -0,0 +1,45 @@
+package it.pagopa.transactions.repositories;
+
+import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
+import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+public record TransactionOutcomeView(
+        @NonNull @Id String transactionId,
+        @Nullable String userId,
+        @Nullable TransactionStatusDto status,
+        @Nullable Long lastProcessedEventAt,
+        @Nullable TransactionViewOutcome outcomeInfo,
+        @Nullable BaseTransactionView view
+) {
+    /**
+     * Projection of the transaction view document containing the fields needed
+     * to serve the transaction outcome. The whole view document is read along
+     * with the materialized outcome only when the latter is missing or stale,
+     * so that the outcome can be evaluated from the same document.
+     *
+     * @param transactionId        transaction id
+     * @param userId               user id the transaction belongs to
+     * @param status               view status
+     * @param lastProcessedEventAt view last processed event timestamp
+     * @param outcomeInfo          materialized transaction outcome
+     * @param view                 whole transaction view document, if read
+     */
+    @PersistenceCreator
+    public TransactionOutcomeView {
+        // Do nothing
+    }
+
+    /**
+     * Get the materialized outcome, if it is up-to-date with the view state
+     *
+     * @return the materialized outcome or null if it's missing or stale
+     */
+    @Nullable
+    public TransactionViewOutcome upToDateOutcome() {
+        return outcomeInfo != null && outcomeInfo.isUpToDateWith(status, lastProcessedEventAt) ? outcomeInfo : null;
+    }
+}
@@ -0,0 +1,54 @@
+package it.pagopa.transactions.repositories;
+
+import it.pagopa.ecommerce.commons.annotations.ValueObject;
+import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
+import it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Objects;
+
+@ValueObject
+public record TransactionViewOutcome(
+        @NonNull TransactionOutcomeInfoDto.OutcomeEnum outcome,
+        boolean isFinalStatus,
+        @Nullable Long totalAmount,
+        @Nullable Integer fees,
+        @NonNull TransactionStatusDto status,
+        @Nullable Long lastProcessedEventAt
+) {
+    /**
+     * Transaction outcome materialized on the transaction view document by the
+     * projection handlers. The view status and last processed event timestamp the
+     * outcome was evaluated against are stored along with it, so that readers can
+     * detect an outcome made stale by a view update that did not refresh it.
+     *
+     * @param outcome              transaction outcome
+     * @param isFinalStatus        whether the transaction outcome is final
+     * @param totalAmount          total amount, valued only for successful
+     *                             transactions
+     * @param fees                 fees, valued only for successful transactions
+     * @param status               view status the outcome was evaluated for
+     * @param lastProcessedEventAt view last processed event timestamp the outcome
+     *                             was evaluated for
+     */
+    @PersistenceCreator
+    public TransactionViewOutcome {
+        // Do nothing
+    }
+
+    /**
+     * Check whether this outcome was evaluated against the given view state
+     *
+     * @param status               current view status
+     * @param lastProcessedEventAt current view last processed event timestamp
+     * @return true iff the outcome is up-to-date with the given view state
+     */
+    public boolean isUpToDateWith(
+                                  TransactionStatusDto status,
+                                  Long lastProcessedEventAt
+    ) {
+        return this.status == status && Objects.equals(this.lastProcessedEventAt, lastProcessedEventAt);
+    }
+}
@@ -0,0 +1,29 @@
+package it.pagopa.transactions.repositories;
+
+import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+public record TransactionViewVersion(
+        @NonNull @Id String transactionId,
+        @Nullable String userId,
+        @Nullable TransactionStatusDto status,
+        @Nullable Long lastProcessedEventAt
+) {
+    /**
+     * Projection of the transaction view document containing only the fields
+     * identifying its version, used to answer conditional requests without
+     * reading the whole document.
+     *
+     * @param transactionId        transaction id
+     * @param userId               user id the transaction belongs to
+     * @param status               view status
+     * @param lastProcessedEventAt view last processed event timestamp
+     */
+    @PersistenceCreator
+    public TransactionViewVersion {
+        // Do nothing
+    }
+}
@@ -0,0 +1,163 @@
+package it.pagopa.transactions.repositories;
+
+import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Repository handling the transaction outcome materialized on the transaction
+ * view documents under the {@value OUTCOME_FIELD} field. The field is not part
+ * of the shared view document model, so it is read and written with targeted
+ * queries against the view collection.
+ */
+@Component
+public class TransactionsViewOutcomeRepository {
+
+    public static final String OUTCOME_FIELD = "outcomeInfo";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String STATUS_FIELD = "status";
+
+    private static final String LAST_PROCESSED_EVENT_AT_FIELD = "lastProcessedEventAt";
+
+    private static final String EMAIL_FIELD = "email";
+
+    private static final String TRANSFER_LIST_FIELD = "paymentNotices.transferList";
+
+    private static final String DESCRIPTION_FIELD = "paymentNotices.description";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final SecondaryReadRouter secondaryReadRouter;
+
+    private final String collectionName;
+
+    @Autowired
+    public TransactionsViewOutcomeRepository(
+            ReactiveMongoTemplate reactiveMongoTemplate,
+            SecondaryReadRouter secondaryReadRouter
+    ) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.secondaryReadRouter = secondaryReadRouter;
+        this.collectionName = reactiveMongoTemplate.getCollectionName(BaseTransactionView.class);
+    }
+
+    /**
+     * Find the transaction outcome view with a single query, reading the
+     * materialized outcome together with the view fields needed to evaluate it:
+     * all but the encrypted email and the payment notices transfer lists and
+     * descriptions, which make most of the document size for carts. The whole
+     * view is mapped only when the materialized outcome is missing or stale
+     *
+     * @param transactionId the transaction id
+     * @return the transaction outcome view or an empty Mono if no view document
+     *         exists for the given transaction id
+     */
+    public Mono<TransactionOutcomeView> findById(String transactionId) {
+        return secondaryReadRouter.read(
+                () -> outcomeViewQuery(Criteria.where(ID_FIELD).is(transactionId)),
+                query -> reactiveMongoTemplate.findOne(query, Document.class, collectionName)
+                        .map(this::toOutcomeView),
+                TransactionOutcomeView::lastProcessedEventAt
+        );
+    }
+
+    /**
+     * Find the transaction outcome views of the input transactions with a single
+     * query, with the same projection of {@link #findById(String)}: the whole view
+     * is mapped only for the documents whose materialized outcome is missing or
+     * stale, so that their outcome can be evaluated without further queries
+     *
+     * @param transactionIds the transaction ids
+     * @return the transaction outcome views of the existing view documents
+     */
+    public Flux<TransactionOutcomeView> findAllById(Collection<String> transactionIds) {
+        return secondaryReadRouter.readAll(
+                transactionIds,
+                ids -> outcomeViewQuery(Criteria.where(ID_FIELD).in(ids)),
+                query -> reactiveMongoTemplate.find(query, Document.class, collectionName)
+                        .map(this::toOutcomeView),
+                TransactionOutcomeView::transactionId
+        );
+    }
+
+    /**
+     * Materialize the transaction outcome on the view document. The update is
+     * conditional on the view still being in the state the outcome was evaluated
+     * for, so that a concurrent view update is never overwritten by a stale
+     * outcome.
+     *
+     * @param transactionId the transaction id
+     * @param outcome       the outcome to be materialized
+     * @return true iff the view document was updated
+     */
+    public Mono<Boolean> updateOutcome(
+                                       String transactionId,
+                                       TransactionViewOutcome outcome
+    ) {
+        Query query = Query.query(
+                Criteria.where(ID_FIELD).is(transactionId)
+                        .and(STATUS_FIELD).is(outcome.status())
+                        .and(LAST_PROCESSED_EVENT_AT_FIELD).is(outcome.lastProcessedEventAt())
+        );
+        return reactiveMongoTemplate.updateFirst(query, Update.update(OUTCOME_FIELD, outcome), collectionName)
+                .map(updateResult -> updateResult.getModifiedCount() > 0);
+    }
+
+    /**
+     * Find, in transaction id order, a batch of view documents with no
+     * materialized outcome
+     *
+     * @param fromTransactionId exclusive lower bound for the transaction id, null
+     *                          to start from the first document
+     * @param batchSize         max number of returned documents
+     * @return the view documents batch
+     */
+    public Flux<BaseTransactionView> findWithoutOutcome(
+                                                        String fromTransactionId,
+                                                        int batchSize
+    ) {
+        Criteria criteria = Criteria.where(OUTCOME_FIELD).exists(false);
+        if (fromTransactionId != null) {
+            criteria = criteria.and(ID_FIELD).gt(fromTransactionId);
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, ID_FIELD))
+                .limit(batchSize);
+        return reactiveMongoTemplate.find(query, BaseTransactionView.class, collectionName);
+    }
+
+    private TransactionOutcomeView toOutcomeView(Document document) {
+        MongoConverter converter = reactiveMongoTemplate.getConverter();
+        TransactionOutcomeView outcomeView = converter.read(TransactionOutcomeView.class, document);
+        if (outcomeView.upToDateOutcome() != null) {
+            return outcomeView;
+        }
+        return new TransactionOutcomeView(
+                outcomeView.transactionId(),
+                outcomeView.userId(),
+                outcomeView.status(),
+                outcomeView.lastProcessedEventAt(),
+                outcomeView.outcomeInfo(),
+                converter.read(BaseTransactionView.class, document)
+        );
+    }
+
+    private static Query outcomeViewQuery(Criteria criteria) {
+        Query query = Query.query(criteria);
+        query.fields().exclude(EMAIL_FIELD, TRANSFER_LIST_FIELD, DESCRIPTION_FIELD);
+        return query;
+    }
+}
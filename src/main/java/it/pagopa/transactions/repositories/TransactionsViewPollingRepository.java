@@ -0,0 +1,21 @@
+package it.pagopa.transactions.repositories;
+
+import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transaction view reads performed by the polling endpoints. They read
+ * projections of the view documents and are routed through the
+ * {@link SecondaryReadRouter}.
+ */
+public interface TransactionsViewPollingRepository {
+
+    /**
+     * Find the transaction view document without the fields not needed to serve
+     * the transaction info: the encrypted email and the materialized outcome
+     *
+     * @param transactionId the transaction id
+     * @return the projected transaction view document
+     */
+    Mono<BaseTransactionView> findTransactionInfoById(String transactionId);
+}
@@ -0,0 +1,49 @@
+package it.pagopa.transactions.repositories;
+
+import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
+import it.pagopa.ecommerce.commons.documents.v2.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link TransactionsViewPollingRepository} implementation, picked up by Spring
+ * Data as a fragment of the {@link TransactionsViewRepository}
+ */
+public class TransactionsViewPollingRepositoryImpl implements TransactionsViewPollingRepository {
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String EMAIL_FIELD = "email";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final SecondaryReadRouter secondaryReadRouter;
+
+    private final String collectionName;
+
+    @Autowired
+    public TransactionsViewPollingRepositoryImpl(
+            ReactiveMongoTemplate reactiveMongoTemplate,
+            SecondaryReadRouter secondaryReadRouter
+    ) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.secondaryReadRouter = secondaryReadRouter;
+        this.collectionName = reactiveMongoTemplate.getCollectionName(BaseTransactionView.class);
+    }
+
+    @Override
+    public Mono<BaseTransactionView> findTransactionInfoById(String transactionId) {
+        return secondaryReadRouter.read(
+                () -> {
+                    Query query = Query.query(Criteria.where(ID_FIELD).is(transactionId));
+                    query.fields().exclude(EMAIL_FIELD, TransactionsViewOutcomeRepository.OUTCOME_FIELD);
+                    return query;
+                },
+                query -> reactiveMongoTemplate.findOne(query, BaseTransactionView.class, collectionName),
+                view -> view instanceof Transaction transaction ? transaction.getLastProcessedEventAt() : null
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package it.pagopa.transactions.repositories;
+
+import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository reading projections of the transaction view documents, so that
+ * read paths needing only a few fields do not fetch and map the whole document.
+ */
+@Component
+public class TransactionsViewProjectionRepository {
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String STATUS_FIELD = "status";
+
+    private static final String LAST_PROCESSED_EVENT_AT_FIELD = "lastProcessedEventAt";
+
+    private static final String USER_ID_FIELD = "userId";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final SecondaryReadRouter secondaryReadRouter;
+
+    private final String collectionName;
+
+    @Autowired
+    public TransactionsViewProjectionRepository(
+            ReactiveMongoTemplate reactiveMongoTemplate,
+            SecondaryReadRouter secondaryReadRouter
+    ) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.secondaryReadRouter = secondaryReadRouter;
+        this.collectionName = reactiveMongoTemplate.getCollectionName(BaseTransactionView.class);
+    }
+
+    /**
+     * Find the transaction view version, reading only the fields identifying it
+     *
+     * @param transactionId the transaction id
+     * @return the transaction view version or an empty Mono if no view document
+     *         exists for the given transaction id
+     */
+    public Mono<TransactionViewVersion> findVersionById(String transactionId) {
+        return secondaryReadRouter.read(
+                () -> {
+                    Query query = Query.query(Criteria.where(ID_FIELD).is(transactionId));
+                    query.fields().include(USER_ID_FIELD, STATUS_FIELD, LAST_PROCESSED_EVENT_AT_FIELD);
+                    return query;
+                },
+                query -> reactiveMongoTemplate.findOne(query, TransactionViewVersion.class, collectionName),
+                TransactionViewVersion::lastProcessedEventAt
+        );
+    }
+}
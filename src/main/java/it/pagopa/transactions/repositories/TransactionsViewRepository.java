@@ -4,6 +4,7 @@ import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Mono;
 
-public interface TransactionsViewRepository extends ReactiveCrudRepository<BaseTransactionView, String> {
+public interface TransactionsViewRepository
+        extends ReactiveCrudRepository<BaseTransactionView, String>, TransactionsViewPollingRepository {
     Mono<BaseTransactionView> findByTransactionId(String transactionId);
 }
@@ -0,0 +1,72 @@
+package it.pagopa.transactions.repositories;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Pending wallet notification for a payment with contextual onboarding. Jobs
+ * are keyed by transaction id, since at most one notification is sent for each
+ * transaction authorization outcome, and hold the plain request fields so that
+ * they can be persisted and replayed after a restart.
+ *
+ * @param transactionId              the transaction id
+ * @param walletId                   the wallet to be notified
+ * @param orderId                    the NPG order id
+ * @param operationId                the NPG operation id
+ * @param operationResult            the NPG operation result
+ * @param errorCode                  the NPG error code, if any
+ * @param timestampOperation         the authorization operation timestamp
+ * @param paymentInstrumentGatewayId the NPG card id (cardId4)
+ * @param createdAt                  the job creation instant
+ * @param attempts                   the number of executions started for this
+ *                                   job
+ */
+public record WalletNotificationJob(
+        @NonNull @Id String transactionId,
+        @NonNull String walletId,
+        @Nullable String orderId,
+        @Nullable String operationId,
+        @NonNull String operationResult,
+        @Nullable String errorCode,
+        @NonNull String timestampOperation,
+        @NonNull String paymentInstrumentGatewayId,
+        @NonNull String createdAt,
+        int attempts
+) {
+    /*
+     * @formatter:off
+     *
+     * Warning java:S6207 - Redundant constructors/methods should be avoided in records
+     * Suppressed because this constructor is just to add the `@PersistenceConstructor` annotation
+     * and is currently the canonical way to add annotations to record constructors
+     *
+     * @formatter:on
+     */
+    @SuppressWarnings("java:S6207")
+    @PersistenceCreator
+    public WalletNotificationJob {
+        // Do nothing
+    }
+
+    /**
+     * Return a copy of this job with one more execution attempt
+     *
+     * @return the job with the attempts count incremented
+     */
+    public WalletNotificationJob nextAttempt() {
+        return new WalletNotificationJob(
+                transactionId,
+                walletId,
+                orderId,
+                operationId,
+                operationResult,
+                errorCode,
+                timestampOperation,
+                paymentInstrumentGatewayId,
+                createdAt,
+                attempts + 1
+        );
+    }
+}
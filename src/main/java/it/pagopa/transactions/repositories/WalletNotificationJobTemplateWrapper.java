@@ -0,0 +1,69 @@
+package it.pagopa.transactions.repositories;
+
+import it.pagopa.ecommerce.commons.redis.reactivetemplatewrappers.ReactiveRedisTemplateWrapper;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+public class WalletNotificationJobTemplateWrapper extends ReactiveRedisTemplateWrapper<WalletNotificationJob> {
+
+    private final ReactiveRedisTemplate<String, WalletNotificationJob> reactiveRedisTemplate;
+
+    private final String keyspace;
+
+    /**
+     * Primary constructor
+     *
+     * @param reactiveRedisTemplate inner reactive redis template
+     * @param keyspace              keyspace associated to this wrapper
+     * @param ttl                   time to live for keys
+     */
+    public WalletNotificationJobTemplateWrapper(
+            ReactiveRedisTemplate<String, WalletNotificationJob> reactiveRedisTemplate,
+            String keyspace,
+            Duration ttl
+    ) {
+        super(reactiveRedisTemplate, keyspace, ttl);
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.keyspace = keyspace;
+    }
+
+    @Override
+    protected String getKeyFromEntity(WalletNotificationJob value) {
+        return value.transactionId();
+    }
+
+    /**
+     * Scan this wrapper keyspace returning all the persisted jobs. Keys are
+     * scanned incrementally so that Redis is not blocked by a full keys listing
+     *
+     * @return the persisted wallet notification jobs
+     */
+    public Flux<WalletNotificationJob> findAll() {
+        return reactiveRedisTemplate
+                .scan(ScanOptions.scanOptions().match(keyspace + ":*").build())
+                .concatMap(key -> reactiveRedisTemplate.opsForValue().get(key));
+    }
+
+    /**
+     * Atomically acquire the execution lease of the input job, so that a job is
+     * executed by a single instance at a time. The lease is kept in a dedicated
+     * keyspace, not matched by {@link #findAll()}, and expires after the input
+     * duration
+     *
+     * @param job           the job to be claimed
+     * @param leaseDuration the lease duration
+     * @return true if the lease has been acquired, false if it is held by another
+     *         execution
+     */
+    public Mono<Boolean> claim(
+                               WalletNotificationJob job,
+                               Duration leaseDuration
+    ) {
+        return reactiveRedisTemplate.opsForValue()
+                .setIfAbsent(keyspace + "Leases:" + job.transactionId(), job, leaseDuration);
+    }
+}
@@ -2,6 +2,9 @@ package it.pagopa.transactions.services.v1;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.api.common.Attributes;
 import io.vavr.control.Either;
 import it.pagopa.ecommerce.commons.documents.BaseTransactionEvent;
@@ -25,10 +28,14 @@ import it.pagopa.transactions.client.EcommercePaymentMethodsHandlerClient;
 import it.pagopa.transactions.client.WalletClient;
 import it.pagopa.transactions.commands.*;
 import it.pagopa.transactions.commands.data.*;
+import it.pagopa.transactions.commands.dispatcher.TransactionCommandMailbox;
 import it.pagopa.transactions.commands.handlers.v2.*;
 import it.pagopa.transactions.exceptions.*;
 import it.pagopa.transactions.projections.handlers.v2.*;
+import it.pagopa.transactions.repositories.TransactionOutcomeView;
+import it.pagopa.transactions.repositories.TransactionViewOutcome;
 import it.pagopa.transactions.repositories.TransactionsEventStoreRepository;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
 import it.pagopa.transactions.utils.*;
 import lombok.extern.slf4j.Slf4j;
@@ -45,21 +52,27 @@ import reactor.util.function.Tuple2;
 import reactor.util.function.Tuple4;
 import reactor.util.function.Tuples;
 
-import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static it.pagopa.generated.transactions.v2.server.model.OutcomeNpgGatewayDto.OperationResultEnum.EXECUTED;
-
 @Service(TransactionsService.QUALIFIER_NAME)
 @Slf4j
 public class TransactionsService {
 
     public static final String QUALIFIER_NAME = "TransactionsServiceV1";
 
+    private static final String AUTH_REQUEST_GATHERING_METRIC_NAME = "transactions.authorization.request.gathering";
+
+    private static final String AUTH_REQUEST_TRANSACTION_BRANCH = "transaction";
+
+    private static final String AUTH_REQUEST_PAYMENT_INSTRUMENT_BRANCH = "paymentInstrument";
+
+    static final String AUTH_UPDATE_RESPONSE_THREAD_METRIC_NAME = "transactions.authorization.update.response.thread";
+
     private final TransactionActivateHandler transactionActivateHandlerV2;
 
     private final TransactionRequestAuthorizationHandler requestAuthHandlerV2;
@@ -102,13 +115,30 @@ public class TransactionsService {
 
     private final UpdateTransactionStatusTracerUtils updateTransactionStatusTracerUtils;
 
-    private final Map<String, TransactionOutcomeInfoDto.OutcomeEnum> npgAuthorizationErrorCodeMapping;
-    private final Set<TransactionStatusDto> ecommerceFinalStates;
-    private final Set<TransactionStatusDto> ecommercePossibleFinalState;
+    private final TransactionsViewOutcomeRepository transactionsViewOutcomeRepository;
+
+    private final TransactionOutcomeUtils transactionOutcomeUtils;
+
+    private final FinalStateResponseCache finalStateResponseCache;
+
     private final boolean ecommercePaymentMethodsHandlerEnabled;
 
     private final OpenTelemetryUtils openTelemetryUtils;
 
+    private final TransactionCommandMailbox transactionCommandMailbox;
+
+    private final PaymentMethodsCache paymentMethodsCache;
+
+    private final MeterRegistry meterRegistry;
+
+    private final CalculateFeeCache calculateFeeCache;
+
+    private final SideEffectScheduler sideEffectScheduler;
+
+    private final Counter authUpdateNonBlockingThreadResponses;
+
+    private final Counter authUpdateBlockingThreadResponses;
+
     @Autowired
     public TransactionsService(
             @Qualifier(
@@ -152,11 +182,16 @@ public class TransactionsService {
             ReactivePaymentRequestInfoRedisTemplateWrapper reactivePaymentRequestInfoRedisTemplateWrapper,
             ConfidentialMailUtils confidentialMailUtils,
             UpdateTransactionStatusTracerUtils updateTransactionStatusTracerUtils,
-            @Value("#{${npg.authorizationErrorCodeMapping}}") Map<String, String> npgAuthorizationErrorCodeMapping,
-            @Value("${ecommerce.finalStates}") Set<String> ecommerceFinalStates,
-            @Value("${ecommerce.possibleFinalStates}") Set<String> ecommercePossibleFinalStates,
+            TransactionsViewOutcomeRepository transactionsViewOutcomeRepository,
+            TransactionOutcomeUtils transactionOutcomeUtils,
+            FinalStateResponseCache finalStateResponseCache,
             @Value("${ecommercePaymentMethodsHandler.enabled}") boolean ecommercePaymentMethodsHandlerEnabled,
-            OpenTelemetryUtils openTelemetryUtils
+            OpenTelemetryUtils openTelemetryUtils,
+            TransactionCommandMailbox transactionCommandMailbox,
+            PaymentMethodsCache paymentMethodsCache,
+            MeterRegistry meterRegistry,
+            CalculateFeeCache calculateFeeCache,
+            SideEffectScheduler sideEffectScheduler
     ) {
         this.transactionActivateHandlerV2 = transactionActivateHandlerV2;
         this.requestAuthHandlerV2 = requestAuthHandlerV2;
@@ -178,20 +213,23 @@ public class TransactionsService {
         this.reactivePaymentRequestInfoRedisTemplateWrapper = reactivePaymentRequestInfoRedisTemplateWrapper;
         this.confidentialMailUtils = confidentialMailUtils;
         this.updateTransactionStatusTracerUtils = updateTransactionStatusTracerUtils;
-        this.npgAuthorizationErrorCodeMapping = npgAuthorizationErrorCodeMapping.entrySet().stream().collect(
-                Collectors.toMap(
-                        Map.Entry::getKey,
-                        outcome -> TransactionOutcomeInfoDto.OutcomeEnum
-                                .fromValue(BigDecimal.valueOf(Long.parseLong(outcome.getValue())))
-                )
-        );
-        this.ecommerceFinalStates = ecommerceFinalStates.stream().map(TransactionStatusDto::valueOf)
-                .collect(Collectors.toSet());
-        this.ecommercePossibleFinalState = ecommercePossibleFinalStates.stream().map(TransactionStatusDto::valueOf)
-                .collect(Collectors.toSet());
+        this.transactionsViewOutcomeRepository = transactionsViewOutcomeRepository;
+        this.transactionOutcomeUtils = transactionOutcomeUtils;
+        this.finalStateResponseCache = finalStateResponseCache;
         this.ecommercePaymentMethodsHandlerClient = ecommercePaymentMethodsHandlerClient;
         this.ecommercePaymentMethodsHandlerEnabled = ecommercePaymentMethodsHandlerEnabled;
         this.openTelemetryUtils = openTelemetryUtils;
+        this.transactionCommandMailbox = transactionCommandMailbox;
+        this.paymentMethodsCache = paymentMethodsCache;
+        this.meterRegistry = meterRegistry;
+        this.calculateFeeCache = calculateFeeCache;
+        this.sideEffectScheduler = sideEffectScheduler;
+        this.authUpdateNonBlockingThreadResponses = Counter.builder(AUTH_UPDATE_RESPONSE_THREAD_METRIC_NAME)
+                .tag("nonBlocking", "true")
+                .register(meterRegistry);
+        this.authUpdateBlockingThreadResponses = Counter.builder(AUTH_UPDATE_RESPONSE_THREAD_METRIC_NAME)
+                .tag("nonBlocking", "false")
+                .register(meterRegistry);
     }
 
     @CircuitBreaker(name = "node-backend")
@@ -237,7 +275,11 @@ public class TransactionsService {
                 transactionActivateCommand.getRptIds().stream().map(RptId::value).toList(),
                 clientId
         );
-        return transactionActivateHandlerV2.handle(transactionActivateCommand)
+        return transactionCommandMailbox
+                .submit(
+                        transactionActivateCommand,
+                        () -> transactionActivateHandlerV2.handle(transactionActivateCommand)
+                )
                 .doOnNext(
                         args -> log.info(
                                 "Transaction initialized for rptIds: {}",
@@ -267,9 +309,23 @@ public class TransactionsService {
                                                        UUID xUserId
     ) {
         log.info("Get Transaction Invoked with id {} ", transactionId);
-        return getBaseTransactionView(transactionId, xUserId)
-                .switchIfEmpty(Mono.error(new TransactionNotFoundException(transactionId)))
-                .map(this::buildTransactionInfoDtoFromView);
+        return finalStateResponseCache.get(FinalStateResponseCache.TRANSACTION_INFO_V1, transactionId, xUserId)
+                .switchIfEmpty(
+                        Mono.defer(
+                                () -> getBaseTransactionView(
+                                        transactionsViewRepository.findTransactionInfoById(transactionId),
+                                        xUserId
+                                )
+                                        .switchIfEmpty(Mono.error(new TransactionNotFoundException(transactionId)))
+                                        .map(
+                                                transactionView -> finalStateResponseCache.put(
+                                                        FinalStateResponseCache.TRANSACTION_INFO_V1,
+                                                        transactionView,
+                                                        buildTransactionInfoDtoFromView(transactionView)
+                                                )
+                                        )
+                        )
+                );
     }
 
     @CircuitBreaker(name = "ecommerce-db")
@@ -279,184 +335,96 @@ public class TransactionsService {
                                                                  UUID xUserId
     ) {
         log.info("Get transaction outcome invoked with id {} ", transactionId);
-        return getBaseTransactionView(transactionId, xUserId)
-                .switchIfEmpty(Mono.error(new TransactionNotFoundException(transactionId)))
-                .map(this::buildTransactionOutcomeInfoDtoFromView);
-    }
-
-    private TransactionOutcomeInfoDto buildTransactionOutcomeInfoDtoFromView(BaseTransactionView baseTransactionView) {
-        switch (baseTransactionView) {
-            case Transaction transaction -> {
-                TransactionOutcomeInfoDto.OutcomeEnum outcome = evaluateOutcome(transaction.getStatus(), transaction.getSendPaymentResultOutcome(), transaction.getPaymentGateway(), transaction.getGatewayAuthorizationStatus(), transaction.getAuthorizationErrorCode(), transaction.getClosureErrorData());
-                TransactionOutcomeInfoDto transactionOutcomeInfoDto = new TransactionOutcomeInfoDto()
-                        .outcome(outcome)
-                        .totalAmount(outcome == TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0 ? transaction.getPaymentNotices().stream().mapToLong(it.pagopa.ecommerce.commons.documents.PaymentNotice::getAmount).sum() : null)
-                        .fees(outcome == TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0 ? +Optional.ofNullable(transaction.getFeeTotal()).orElse(0) : null)
-                        .isFinalStatus(evaluateFinalStatus(transaction.getStatus(), transaction.getClosureErrorData(), transaction.getPaymentGateway(), transaction.getGatewayAuthorizationStatus()));
-                openTelemetryUtils.addSpanWithAttributes(
-                        SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_NAME,
-                        Attributes.of(
-                                SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_OUTCOME_ATTRIBUTE_KEY,
-                                transactionOutcomeInfoDto.getOutcome().toString(),
-                                SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_TRANSACTION_ID_ATTRIBUTE_KEY,
-                                transaction.getTransactionId(),
-                                SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_IS_FINAL_STATUS_FLAG_ATTRIBUTE_KEY,
-                                transactionOutcomeInfoDto.getIsFinalStatus().toString(),
-                                SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_TRANSACTION_STATUS_ATTRIBUTE_KEY,
-                                Optional.ofNullable(transaction.getStatus()).map(TransactionStatusDto::toString).orElse("-")
+        return finalStateResponseCache.get(FinalStateResponseCache.TRANSACTION_OUTCOME, transactionId, xUserId)
+                .switchIfEmpty(
+                        Mono.defer(
+                                () -> transactionsViewOutcomeRepository.findById(transactionId)
+                                        .switchIfEmpty(Mono.error(new TransactionNotFoundException(transactionId)))
+                                        .flatMap(
+                                                transactionOutcomeView -> getTransactionViewOutcome(
+                                                        transactionOutcomeView,
+                                                        xUserId
+                                                )
+                                        )
                         )
-                );
-                return transactionOutcomeInfoDto;
-            }
-            default -> throw new IllegalStateException("Unexpected value: " + baseTransactionView);
-        }
-    }
-
-    private Boolean evaluateFinalStatus(
-                                        TransactionStatusDto status,
-                                        ClosureErrorData closureErrorData,
-                                        String paymentGateway,
-                                        String gatewayAuthorizationStatus
-    ) {
-        return ecommerceFinalStates.contains(status) ||
-                (closureErrorData != null && closureErrorData.getHttpErrorCode() != null
-                        && closureErrorData.getHttpErrorCode().is4xxClientError())
-                ||
-                (ecommercePossibleFinalState.contains(status)
-                        && paymentGateway != null
-                        && gatewayAuthorizationStatus != null
-                        && !wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus));
-    }
-
-    private boolean wasAuthorizedByGateway(String gateway, String gatewayAuthorizationStatus) {
-        return switch (gateway) {
-            case "NPG" -> EXECUTED.getValue().equals(gatewayAuthorizationStatus);
-            case "REDIRECT" -> "OK".equals(gatewayAuthorizationStatus);
-            case null, default -> false;
-        };
+                )
+                .map(outcome -> buildTransactionOutcomeInfoDto(transactionId, outcome));
     }
 
-    private TransactionOutcomeInfoDto.OutcomeEnum evaluateOutcome(
-            TransactionStatusDto status,
-            TransactionUserReceiptData.Outcome sendPaymentResultOutcome,
-            String paymentGateway,
-            String gatewayAuthorizationStatus,
-            String authorizationErrorCode,
-            ClosureErrorData closureErrorData
+    /**
+     * Get the outcome materialized on the view by the projection handlers,
+     * without evaluating it again. When the materialized outcome is missing or
+     * stale it is evaluated from the whole view document, read by the same query.
+     * No further query is performed, so that outcome views read in bulk are
+     * evaluated in-process.
+     *
+     * @param transactionOutcomeView the transaction outcome view
+     * @param xUserId                the user requesting the transaction, if any
+     * @return the transaction outcome or a {@link TransactionNotFoundException}
+     *         if the transaction does not belong to the requesting user
+     */
+    public Mono<TransactionViewOutcome> getTransactionViewOutcome(
+                                                                  TransactionOutcomeView transactionOutcomeView,
+                                                                  UUID xUserId
     ) {
-        if (closureErrorData != null) {
-            return wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus) ?
-                    evaluateClosePaymentResultError(closureErrorData) : //Authorized
-                    evaluateUnauthorizedStatus(paymentGateway, gatewayAuthorizationStatus, authorizationErrorCode); //Not authorized
-        } else {
-            switch (status) {
-                case NOTIFIED_OK -> {
-                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0;
-                }
-                case NOTIFICATION_REQUESTED, NOTIFICATION_ERROR -> {
-                    return TransactionUserReceiptData.Outcome.OK.equals(sendPaymentResultOutcome)
-                            ? TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0
-                            : TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
-                }
-                case EXPIRED_NOT_AUTHORIZED -> {
-                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_4;
-                }
-                case CANCELED, CANCELLATION_EXPIRED -> {
-                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_8;
-                }
-                case CLOSURE_ERROR, AUTHORIZATION_COMPLETED -> {
-                    return wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus) ?
-                            TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1 : //Authorized
-                            evaluateUnauthorizedStatus(
-                                    paymentGateway,
-                                    gatewayAuthorizationStatus,
-                                    authorizationErrorCode); //Not authorized
-                }
-                case CLOSURE_REQUESTED -> {
-                    return wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus) ?
-                            TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17 :
-                            evaluateUnauthorizedStatus(
-                                    paymentGateway,
-                                    gatewayAuthorizationStatus,
-                                    authorizationErrorCode);
-                }
-                case UNAUTHORIZED -> {
-                    return wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus) ?
-                            TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25 :
-                            evaluateUnauthorizedStatus(
-                                    paymentGateway,
-                                    gatewayAuthorizationStatus,
-                                    authorizationErrorCode);
-                }
-                case CLOSED -> {
-                    return sendPaymentResultOutcome != null
-                            && sendPaymentResultOutcome.equals(TransactionUserReceiptData.Outcome.NOT_RECEIVED)
-                            ? TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17
-                            : TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
-                }
-                case EXPIRED -> {
-                    if (paymentGateway == null || gatewayAuthorizationStatus == null)
-                        return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17;
-                    else if (!wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus)) {
-                        return evaluateUnauthorizedStatus(paymentGateway, gatewayAuthorizationStatus, authorizationErrorCode);
-                    } else {
-                        return switch (sendPaymentResultOutcome) {
-                            case OK -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0;
-                            case KO -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
-                            case NOT_RECEIVED -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17;
-                            case null -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
-                        };
-                    }
-                }
-                case AUTHORIZATION_REQUESTED -> {
-                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17;
-                }
-                case NOTIFIED_KO, REFUNDED, REFUND_ERROR, REFUND_REQUESTED -> {
-                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18;
-                }
-                case null, default -> {
-                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
-                }
-            }
+        TransactionViewOutcome outcome = transactionOutcomeView.upToDateOutcome();
+        if (outcome == null) {
+            return getBaseTransactionView(Mono.justOrEmpty(transactionOutcomeView.view()), xUserId)
+                    .switchIfEmpty(
+                            Mono.error(new TransactionNotFoundException(transactionOutcomeView.transactionId()))
+                    )
+                    .map(this::evaluateTransactionOutcome);
+        }
+        boolean isUserTransaction = xUserId == null ? transactionOutcomeView.userId() == null
+                : xUserId.toString().equals(transactionOutcomeView.userId());
+        if (!isUserTransaction) {
+            return Mono.error(new TransactionNotFoundException(transactionOutcomeView.transactionId()));
         }
+        return Mono.just(
+                finalStateResponseCache.put(
+                        FinalStateResponseCache.TRANSACTION_OUTCOME,
+                        transactionOutcomeView.transactionId(),
+                        transactionOutcomeView.userId(),
+                        transactionOutcomeView.status(),
+                        outcome
+                )
+        );
     }
 
-    private TransactionOutcomeInfoDto.OutcomeEnum evaluateClosePaymentResultError(ClosureErrorData closureErrorData) {
-        HttpStatus status = closureErrorData.getHttpErrorCode();
-        String errorDescription = closureErrorData.getErrorDescription();
-        return switch (status) {
-            case UNPROCESSABLE_ENTITY -> "Node did not receive RPT yet".equals(errorDescription)
-                    ? TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18
-                    : TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
-
-            case BAD_REQUEST ->
-                    "Invalid token".equals(errorDescription) ? TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17 : TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18;
-            case NOT_FOUND -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18;
-            case null, default -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
-
+    private TransactionViewOutcome evaluateTransactionOutcome(BaseTransactionView baseTransactionView) {
+        return switch (baseTransactionView) {
+            case Transaction transaction -> finalStateResponseCache.put(
+                    FinalStateResponseCache.TRANSACTION_OUTCOME,
+                    transaction,
+                    transactionOutcomeUtils.evaluateOutcome(transaction)
+            );
+            default -> throw new IllegalStateException("Unexpected value: " + baseTransactionView);
         };
     }
 
-    private TransactionOutcomeInfoDto.OutcomeEnum evaluateUnauthorizedStatus(String paymentGateway, String gatewayAuthorizationStatus, String authorizationErrorCode) {
-        return switch (paymentGateway) {
-            case "NPG" -> switch (gatewayAuthorizationStatus) {
-                case "CANCELED" -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_8;
-                case "DENIED_BY_RISK", "THREEDS_VALIDATED", "THREEDS_FAILED" ->
-                        TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_2;
-                case "AUTHORIZED", "PENDING", "VOIDED", "REFUNDED", "FAILED" ->
-                        TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
-                case "DECLINED" ->
-                        Optional.ofNullable(npgAuthorizationErrorCodeMapping.get(authorizationErrorCode)).orElse(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25);
-                case null, default -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
-            };
-            case "REDIRECT" -> switch (gatewayAuthorizationStatus) {
-                case "KO" -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_2;
-                case "CANCELED" -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_8;
-                case "ERROR", "EXPIRED" -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
-                case null, default -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
-            };
-            case null, default -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17;
-        };
+    private TransactionOutcomeInfoDto buildTransactionOutcomeInfoDto(
+                                                                     String transactionId,
+                                                                     TransactionViewOutcome outcome
+    ) {
+        TransactionOutcomeInfoDto transactionOutcomeInfoDto = new TransactionOutcomeInfoDto()
+                .outcome(outcome.outcome())
+                .totalAmount(outcome.totalAmount())
+                .fees(outcome.fees())
+                .isFinalStatus(outcome.isFinalStatus());
+        openTelemetryUtils.addSpanWithAttributes(
+                SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_NAME,
+                Attributes.of(
+                        SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_OUTCOME_ATTRIBUTE_KEY,
+                        transactionOutcomeInfoDto.getOutcome().toString(),
+                        SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_TRANSACTION_ID_ATTRIBUTE_KEY,
+                        transactionId,
+                        SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_IS_FINAL_STATUS_FLAG_ATTRIBUTE_KEY,
+                        transactionOutcomeInfoDto.getIsFinalStatus().toString(),
+                        SpanLabelOpenTelemetry.GET_TRANSACTIONS_OUTCOMES_SPAN_TRANSACTION_STATUS_ATTRIBUTE_KEY,
+                        Optional.ofNullable(outcome.status()).map(TransactionStatusDto::toString).orElse("-")
+                )
+        );
+        return transactionOutcomeInfoDto;
     }
 
     private TransactionInfoDto buildTransactionInfoDtoFromView(BaseTransactionView baseTransactionView) {
@@ -551,24 +519,28 @@ public class TransactionsService {
                                         String transactionId,
                                         UUID xUserId
     ) {
-        return getTransactionEventsForUserId(transactionId, xUserId)
-                .flatMap(
-                        events -> {
-                            TransactionUserCancelCommand transactionCancelCommand = new TransactionUserCancelCommand(
-                                    null,
-                                    new TransactionId(transactionId),
-                                    events
-                            );
+        return transactionCommandMailbox.submit(
+                transactionId,
+                TransactionsCommandCode.USER_CANCEL_REQUEST,
+                () -> getTransactionEventsForUserId(transactionId, xUserId)
+                        .flatMap(
+                                events -> {
+                                    TransactionUserCancelCommand transactionCancelCommand = new TransactionUserCancelCommand(
+                                            null,
+                                            new TransactionId(transactionId),
+                                            events
+                                    );
 
-                            return transactionCancelHandlerV2
-                                    .handle(transactionCancelCommand).flatMap(
-                                            event -> cancellationRequestProjectionHandlerV2
-                                                    .handle((TransactionUserCanceledEvent) event)
-                                                    .thenReturn(event)
+                                    return transactionCancelHandlerV2.handle(transactionCancelCommand)
+                                            .flatMap(
+                                                    event -> cancellationRequestProjectionHandlerV2
+                                                            .handle((TransactionUserCanceledEvent) event)
+                                                            .thenReturn(event)
 
-                                    );
-                        }
-                )
+                                            );
+                                }
+                        )
+        )
                 .then();
 
     }
@@ -581,30 +553,115 @@ public class TransactionsService {
                                                                                  String lang,
                                                                                  RequestAuthorizationRequestDto authRequest
     ) {
-        return getTransactionEventsForUserId(transactionId, xUserId)
+        return transactionCommandMailbox.submit(
+                transactionId,
+                TransactionsCommandCode.REQUEST_AUTHORIZATION,
+                () -> gatherAuthRequestData(transactionId, xUserId, authRequest)
+                        .flatMap(tuple -> {
+                            List<BaseTransactionEvent<Object>> events = tuple.getT1().getT1();
+                            var tx = tuple.getT1().getT2();
+                            return processAuthRequest(tx, authRequest, tuple.getT2())
+                                    .map(authData -> Tuples.of(tx, authData.getT2(), events));
+                        })
+                        .flatMap(tuple -> {
+                            var tx = tuple.getT1();
+                            var authData = tuple.getT2();
+                            List<BaseTransactionEvent<Object>> events = tuple.getT3();
+                            return executeAuthPipeline(tx, events, authData, lang, authRequest, paymentGatewayId);
+                        })
+        );
+    }
+
+    /**
+     * Gathers the data needed to process an authorization request: the
+     * transaction event stream (reduced and validated against the request) and
+     * the payment instrument session data are independent, so they are fetched
+     * concurrently. A transaction validation error cancels the payment
+     * instrument branch, while a payment instrument error is held until the
+     * transaction has been validated, so that the transaction validation errors
+     * are always the ones returned to the client. APM payment method lookups
+     * depend on the transaction client id and so are performed once the
+     * transaction has been validated. Each branch latency is recorded into the
+     * {@value AUTH_REQUEST_GATHERING_METRIC_NAME} timer.
+     *
+     * @param transactionId the transaction id
+     * @param xUserId       the user id the transaction must belong to
+     * @param authRequest   the authorization request
+     * @return the transaction events, the validated transaction and the payment
+     *         session data
+     */
+    private Mono<Tuple2<Tuple2<List<BaseTransactionEvent<Object>>, it.pagopa.ecommerce.commons.domain.v2.pojos.BaseTransaction>, PaymentSessionData>> gatherAuthRequestData(
+                                                                                                                                                                                String transactionId,
+                                                                                                                                                                                UUID xUserId,
+                                                                                                                                                                                RequestAuthorizationRequestDto authRequest
+    ) {
+        Mono<Tuple2<List<BaseTransactionEvent<Object>>, it.pagopa.ecommerce.commons.domain.v2.pojos.BaseTransaction>> transactionData = timeAuthRequestBranch(
+                getTransactionEventsForUserId(transactionId, xUserId)
+                        .flatMap(
+                                events -> transactionsUtils
+                                        .reduceV2Events(events)
+                                        .map(tx -> Tuples.of(events, tx))
+                        )
+                        .flatMap(tuple -> {
+                            List<BaseTransactionEvent<Object>> events = tuple.getT1();
+                            var tx = tuple.getT2();
+                            return validateTransactionDetails(tx, authRequest)
+                                    .map(validatedTx -> Tuples.of(events, validatedTx));
+                        }),
+                AUTH_REQUEST_TRANSACTION_BRANCH
+        );
+
+        if (authRequest.getDetails() instanceof ApmAuthRequestDetailsDto) {
+            return transactionData.flatMap(
+                    data -> timeAuthRequestBranch(
+                            retrieveInformationFromAuthorizationRequest(
+                                    authRequest,
+                                    data.getT2().getClientId().toString()
+                            ),
+                            AUTH_REQUEST_PAYMENT_INSTRUMENT_BRANCH
+                    ).map(paymentSessionData -> Tuples.of(data, paymentSessionData))
+            );
+        }
+
+        // client id is only used for APM payment method lookups
+        Mono<Either<Throwable, PaymentSessionData>> paymentInstrumentData = timeAuthRequestBranch(
+                Mono.defer(() -> retrieveInformationFromAuthorizationRequest(authRequest, null)),
+                AUTH_REQUEST_PAYMENT_INSTRUMENT_BRANCH
+        )
+                .map(Either::<Throwable, PaymentSessionData>right)
+                .onErrorResume(exception -> Mono.just(Either.left(exception)));
+
+        return Mono.zip(transactionData, paymentInstrumentData)
                 .flatMap(
-                        events -> transactionsUtils
-                                .reduceV2Events(events)
-                                .map(tx -> Tuples.of(events, tx))
-                )
-                .flatMap(tuple -> {
-                    List<BaseTransactionEvent<Object>> events = tuple.getT1();
-                    var tx = tuple.getT2();
-                    return validateTransactionDetails(tx, authRequest)
-                            .map(validatedTx -> Tuples.of(events, validatedTx));
-                })
-                .flatMap(tuple -> {
-                    List<BaseTransactionEvent<Object>> events = tuple.getT1();
-                    var tx = tuple.getT2();
-                    return processAuthRequest(tx, authRequest)
-                            .map(authData -> Tuples.of(tx, authData.getT2(), events));
-                })
-                .flatMap(tuple -> {
-                    var tx = tuple.getT1();
-                    var authData = tuple.getT2();
-                    List<BaseTransactionEvent<Object>> events = tuple.getT3();
-                    return executeAuthPipeline(tx, events, authData, lang, authRequest, paymentGatewayId);
-                });
+                        data -> data.getT2().fold(
+                                Mono::error,
+                                paymentSessionData -> Mono.just(Tuples.of(data.getT1(), paymentSessionData))
+                        )
+                );
+    }
+
+    /**
+     * Records the input authorization request data gathering branch latency,
+     * tagged with the branch name and its termination signal
+     *
+     * @param branch     the branch to be timed
+     * @param branchName the branch name
+     * @return the timed branch
+     */
+    private <T> Mono<T> timeAuthRequestBranch(
+                                              Mono<T> branch,
+                                              String branchName
+    ) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return branch.doFinally(
+                    signalType -> Timer.builder(AUTH_REQUEST_GATHERING_METRIC_NAME)
+                            .tag("branch", branchName)
+                            .tag("signal", signalType.name())
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+            );
+        });
     }
 
     /**
@@ -714,8 +771,7 @@ public class TransactionsService {
                                                                                        TransactionRequestAuthorizationCommand transactionRequestAuthCommand,
                                                                                        AuthorizationRequestData authData
     ) {
-        return requestAuthHandlerV2
-                .handleWithCreationDate(transactionRequestAuthCommand)
+        return requestAuthHandlerV2.handleWithCreationDate(transactionRequestAuthCommand)
                 .doOnNext(
                         responseAndDate -> logAuthRequested(transactionDocument.getTransactionId().value())
                 )
@@ -833,29 +889,26 @@ public class TransactionsService {
     }
 
     /**
-     * Processes the authorization request by retrieving payment session data and
-     * calculating fees
+     * Processes the authorization request by calculating fees for the retrieved
+     * payment session data
      *
-     * @param transaction The transaction to process
-     * @param authRequest The authorization request data
+     * @param transaction        The transaction to process
+     * @param authRequest        The authorization request data
+     * @param paymentSessionData The payment session data
      * @return A tuple containing the transaction and authorization session data
      */
     private Mono<Tuple2<it.pagopa.ecommerce.commons.domain.v2.pojos.BaseTransaction, AuthorizationRequestSessionData>> processAuthRequest(
                                                                                                                                           it.pagopa.ecommerce.commons.domain.v2.pojos.BaseTransaction transaction,
-                                                                                                                                          RequestAuthorizationRequestDto authRequest
+                                                                                                                                          RequestAuthorizationRequestDto authRequest,
+                                                                                                                                          PaymentSessionData paymentSessionData
     ) {
         log.info("Authorization psp validation for transactionId: {}", transaction.getTransactionId());
 
-        String clientId = transaction.getClientId().toString();
-
-        return retrieveInformationFromAuthorizationRequest(authRequest, clientId)
-                .flatMap(
-                        paymentSessionData -> calculateTransactionFee(
-                                transaction,
-                                authRequest,
-                                paymentSessionData
-                        )
-                )
+        return calculateTransactionFee(
+                transaction,
+                authRequest,
+                paymentSessionData
+        )
                 .map(data -> createAuthSessionData(authRequest, data))
                 .filter(authSessionData -> authSessionData.bundle().isPresent())
                 .switchIfEmpty(
@@ -873,27 +926,36 @@ public class TransactionsService {
      * @param transaction        The transaction being processed
      * @param authRequest        The authorization request data
      * @param paymentSessionData The payment session data
-     * @return A tuple containing the fee response and the payment session data
+     * @return A tuple containing the indexed fee response and the payment session
+     *         data
      */
-    private Mono<Tuple2<CalculateFeeResponseDto, PaymentSessionData>> calculateTransactionFee(
+    private Mono<Tuple2<IndexedCalculateFeeResponse, PaymentSessionData>> calculateTransactionFee(
                                                                                               it.pagopa.ecommerce.commons.domain.v2.pojos.BaseTransaction transaction,
                                                                                               RequestAuthorizationRequestDto authRequest,
                                                                                               PaymentSessionData paymentSessionData
     ) {
 
         List<PaymentNotice> paymentNotices = transaction.getPaymentNotices();
-
-        return ecommercePaymentMethodsClient
-                .calculateFee(
-                        authRequest.getPaymentInstrumentId(),
-                        transaction.getTransactionId().value(),
-                        createCalculateFeeRequest(
-                                transaction,
-                                authRequest,
-                                paymentSessionData,
-                                paymentNotices
-                        ),
-                        Integer.MAX_VALUE
+        CalculateFeeRequestDto calculateFeeRequest = createCalculateFeeRequest(
+                transaction,
+                authRequest,
+                paymentSessionData,
+                paymentNotices
+        );
+        String walletId = authRequest.getDetails() instanceof WalletAuthRequestDetailsDto wallet
+                ? Objects.toString(wallet.getWalletId(), null)
+                : null;
+
+        return calculateFeeCache
+                .getCalculateFeeResponse(
+                        CalculateFeeCache.keyOf(authRequest.getPaymentInstrumentId(), walletId, calculateFeeRequest),
+                        () -> ecommercePaymentMethodsClient
+                                .calculateFee(
+                                        authRequest.getPaymentInstrumentId(),
+                                        transaction.getTransactionId().value(),
+                                        calculateFeeRequest,
+                                        Integer.MAX_VALUE
+                                )
                 )
                 .map(calculateFeeResponseDto -> Tuples.of(calculateFeeResponseDto, paymentSessionData));
     }
@@ -988,16 +1050,16 @@ public class TransactionsService {
      */
     private AuthorizationRequestSessionData createAuthSessionData(
                                                                   RequestAuthorizationRequestDto authRequest,
-                                                                  Tuple2<CalculateFeeResponseDto, PaymentSessionData> paymentData
+                                                                  Tuple2<IndexedCalculateFeeResponse, PaymentSessionData> paymentData
     ) {
 
-        CalculateFeeResponseDto calculateFeeResponse = paymentData.getT1();
+        CalculateFeeResponseDto calculateFeeResponse = paymentData.getT1().response();
         PaymentSessionData paymentSessionData = paymentData.getT2();
 
         return new AuthorizationRequestSessionData(
                 calculateFeeResponse.getPaymentMethodName(),
                 calculateFeeResponse.getPaymentMethodDescription(),
-                findMatchingBundle(calculateFeeResponse, authRequest),
+                findMatchingBundle(paymentData.getT1(), authRequest),
                 paymentSessionData.brand(),
                 Optional.ofNullable(paymentSessionData.sessionId()),
                 Optional.ofNullable(paymentSessionData.contractId()),
@@ -1010,32 +1072,16 @@ public class TransactionsService {
     /**
      * Finds a bundle matching the PSP ID and fee from the authorization request
      *
-     * @param calculateFeeResponse The fee calculation response
+     * @param calculateFeeResponse The indexed fee calculation response
      * @param authRequest          The authorization request
      * @return An optional containing the matching bundle, or empty if no match
      *         found
      */
     private Optional<BundleDto> findMatchingBundle(
-                                                   CalculateFeeResponseDto calculateFeeResponse,
+                                                   IndexedCalculateFeeResponse calculateFeeResponse,
                                                    RequestAuthorizationRequestDto authRequest
     ) {
-        return calculateFeeResponse.getBundles().stream()
-                .filter(psp -> isMatchingPspAndFee(psp, authRequest)).findFirst();
-    }
-
-    /**
-     * Checks if a bundle matches the PSP ID and fee from the authorization request
-     *
-     * @param psp         The bundle to check
-     * @param authRequest The authorization request
-     * @return true if the bundle matches, false otherwise
-     */
-    private boolean isMatchingPspAndFee(
-                                        BundleDto psp,
-                                        RequestAuthorizationRequestDto authRequest
-    ) {
-        return authRequest.getPspId().equals(psp.getIdPsp())
-                && Long.valueOf(authRequest.getFee()).equals(psp.getTaxPayerFee());
+        return calculateFeeResponse.findBundle(authRequest.getPspId(), authRequest.getFee());
     }
 
     /**
@@ -1153,12 +1199,15 @@ public class TransactionsService {
     /**
      * Retrieves the base transaction view, filtering by user ID if provided
      *
-     * @param transactionId The ID of the transaction to retrieve
-     * @param xUserId       The user ID to filter by, may be null
+     * @param transactionView The projection query retrieving the transaction view
+     * @param xUserId         The user ID to filter by, may be null
      * @return A Mono containing the transaction view if found
      */
-    private Mono<BaseTransactionView> getBaseTransactionView(String transactionId, UUID xUserId) {
-        return transactionsViewRepository.findById(transactionId)
+    private Mono<BaseTransactionView> getBaseTransactionView(
+                                                             Mono<BaseTransactionView> transactionView,
+                                                             UUID xUserId
+    ) {
+        return transactionView
                 .filter(transactionDocument -> switch (transactionDocument) {
                     case it.pagopa.ecommerce.commons.documents.v1.Transaction ignored -> xUserId == null;
                     case Transaction t ->
@@ -1222,7 +1271,8 @@ public class TransactionsService {
                 .filter(t -> !(t instanceof it.pagopa.ecommerce.commons.domain.v2.EmptyTransaction))
                 .cast(it.pagopa.ecommerce.commons.domain.v2.pojos.BaseTransaction.class)
                 .zipWith(authorizationRequestedCreationDate)
-                .onErrorResume(ClassCastException.class, e -> Mono.empty());
+                .onErrorResume(ClassCastException.class, e -> Mono.empty())
+                .cache();
 
 
         Mono<Tuple4<String, String, Transaction.ClientId, Boolean>> txData = transactionV2.map(Tuple2::getT1)
@@ -1233,6 +1283,11 @@ public class TransactionsService {
                         transactionsUtils.isWalletPayment(t).orElseThrow())
                 );
 
+        /*
+         * The reduced transaction and the tracing context are cached so that the
+         * status update and the outcome tracing, either as a side effect or on error,
+         * share a single events reduction
+         */
         Mono<Tuple2<UpdateTransactionStatusTracerUtils.UpdateTransactionTrigger, UpdateTransactionStatusTracerUtils.PaymentGatewayStatusUpdateContext>> authUpdateContext = txData
                 .map(TupleUtils.function((pspId, paymentMethodTypeCode, clientId, isWalletPayment) -> switch (updateAuthorizationRequestDto.getOutcomeGateway()) {
                     case OutcomeNpgGatewayDto outcome -> Tuples.of(
@@ -1263,7 +1318,8 @@ public class TransactionsService {
                     );
                     default ->
                             throw new InvalidRequestException("Input outcomeGateway not map to any trigger: [%s]".formatted(updateAuthorizationRequestDto.getOutcomeGateway()));
-                }));
+                }))
+                .cache();
 
         Mono<TransactionInfoDto> v2Info =
                 events
@@ -1284,20 +1340,27 @@ public class TransactionsService {
                         });
 
 
-        return v2Info
+        return transactionCommandMailbox.submit(
+                transactionId.value(),
+                TransactionsCommandCode.UPDATE_AUTHORIZATION_STATUS,
+                () -> v2Info
+        )
                 .switchIfEmpty(Mono.error(new TransactionNotFoundException(transactionId.value())))
-                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(ignored -> countAuthUpdateResponseThread())
                 .doOnNext(
-                        ignored -> authUpdateContext.subscribe(TupleUtils.consumer((trigger, updateContext) ->
-                                updateTransactionStatusTracerUtils
-                                        .traceStatusUpdateOperation(
-                                                new UpdateTransactionStatusTracerUtils.PaymentGatewayStatusUpdate(
-                                                        trigger,
-                                                        UpdateTransactionStatusTracerUtils.UpdateTransactionStatusOutcome.OK,
-                                                        updateContext
+                        ignored -> sideEffectScheduler.submit(
+                                "authorizationOutcomeTracing",
+                                authUpdateContext.doOnNext(TupleUtils.consumer((trigger, updateContext) ->
+                                        updateTransactionStatusTracerUtils
+                                                .traceStatusUpdateOperation(
+                                                        new UpdateTransactionStatusTracerUtils.PaymentGatewayStatusUpdate(
+                                                                trigger,
+                                                                UpdateTransactionStatusTracerUtils.UpdateTransactionStatusOutcome.OK,
+                                                                updateContext
+                                                        )
                                                 )
-                                        )
-                        ))
+                                ))
+                        )
                 )
                 .onErrorResume(exception -> {
                     UpdateTransactionStatusTracerUtils.UpdateTransactionStatusOutcome outcome = exceptionToUpdateStatusOutcome(
@@ -1328,6 +1391,20 @@ public class TransactionsService {
                 });
     }
 
+    /**
+     * Count the authorization outcome responses by the kind of thread they are
+     * emitted on into the {@value AUTH_UPDATE_RESPONSE_THREAD_METRIC_NAME}
+     * counter, so that responses handed off from the non-blocking event loop
+     * (e.g. to the bounded elastic scheduler) can be spotted under callback load
+     */
+    private void countAuthUpdateResponseThread() {
+        if (Schedulers.isInNonBlockingThread()) {
+            authUpdateNonBlockingThreadResponses.increment();
+        } else {
+            authUpdateBlockingThreadResponses.increment();
+        }
+    }
+
     private Mono<TransactionInfoDto> updateTransactionAuthorizationStatusV2(
                                                                             it.pagopa.ecommerce.commons.domain.v2.pojos.BaseTransaction transaction,
                                                                             UpdateAuthorizationRequestDto updateAuthorizationRequestDto,
@@ -1446,8 +1523,7 @@ public class TransactionsService {
                 events
         );
 
-        return transactionSendClosureRequestHandler
-                .handle(transactionClosureRequestCommand)
+        return transactionSendClosureRequestHandler.handle(transactionClosureRequestCommand)
                 .doOnNext(
                         closureSentRequestedEvent -> log.info(
                                 "Requested async transaction closure for transactionId: {} rptIds: {} status: {}",
@@ -1529,6 +1605,18 @@ public class TransactionsService {
     public Mono<TransactionInfoDto> addUserReceipt(
                                                    String transactionId,
                                                    AddUserReceiptRequestDto addUserReceiptRequest
+    ) {
+        return transactionCommandMailbox.submit(
+                transactionId,
+                TransactionsCommandCode.UPDATE_TRANSACTION_STATUS,
+                () -> addUserReceiptToTransaction(transactionId, addUserReceiptRequest)
+        );
+
+    }
+
+    private Mono<TransactionInfoDto> addUserReceiptToTransaction(
+                                                                 String transactionId,
+                                                                 AddUserReceiptRequestDto addUserReceiptRequest
     ) {
         return eventsRepository.findByTransactionIdOrderByCreationDateAsc(transactionId)
                 .collectList()
@@ -1544,45 +1632,46 @@ public class TransactionsService {
                                 (
                                  baseTransaction,
                                  events
-                                ) -> transactionRequestUserReceiptHandlerV2
-                                        .handle(
-                                                new TransactionAddUserReceiptCommand(
-                                                        baseTransaction.getPaymentNotices().stream()
-                                                                .map(PaymentNotice::rptId).toList(),
-                                                        new AddUserReceiptData(
-                                                                new TransactionId(transactionId),
-                                                                addUserReceiptRequest
-                                                        ),
-                                                        events
-                                                )
-                                        )
-                                        .doOnNext(
-                                                transactionUserReceiptRequestedEvent -> log.info(
-                                                        "AddUserReceipt [{}] for transactionId: [{}]",
-                                                        TransactionEventCode.TRANSACTION_USER_RECEIPT_REQUESTED_EVENT,
-                                                        transactionUserReceiptRequestedEvent.getTransactionId()
-                                                )
-                                        )
-                                        .flatMap(
-                                                event -> transactionUserReceiptProjectionHandlerV2
-                                                        .handle((TransactionUserReceiptRequestedEvent) event)
-                                                        .then(
-                                                                transactionsUtils.reduceV2Events(
-                                                                        Stream.concat(
-                                                                                events.stream(),
-                                                                                Stream.of(event)
-                                                                        ).toList()
-                                                                )
-                                                        )
-                                        )
-                                        .doOnNext(
-                                                transaction -> log.info(
-                                                        "AddUserReceipt transaction status updated [{}] for transactionId: [{}]",
-                                                        transaction.getStatus(),
-                                                        transaction.getTransactionId()
-                                                )
-                                        )
-                                        .map(this::buildTransactionInfoDtoV2)
+                                ) -> {
+                                    TransactionAddUserReceiptCommand transactionAddUserReceiptCommand = new TransactionAddUserReceiptCommand(
+                                            baseTransaction.getPaymentNotices().stream()
+                                                    .map(PaymentNotice::rptId).toList(),
+                                            new AddUserReceiptData(
+                                                    new TransactionId(transactionId),
+                                                    addUserReceiptRequest
+                                            ),
+                                            events
+                                    );
+                                    return transactionRequestUserReceiptHandlerV2
+                                            .handle(transactionAddUserReceiptCommand)
+                                            .doOnNext(
+                                                    transactionUserReceiptRequestedEvent -> log.info(
+                                                            "AddUserReceipt [{}] for transactionId: [{}]",
+                                                            TransactionEventCode.TRANSACTION_USER_RECEIPT_REQUESTED_EVENT,
+                                                            transactionUserReceiptRequestedEvent.getTransactionId()
+                                                    )
+                                            )
+                                            .flatMap(
+                                                    event -> transactionUserReceiptProjectionHandlerV2
+                                                            .handle((TransactionUserReceiptRequestedEvent) event)
+                                                            .then(
+                                                                    transactionsUtils.reduceV2Events(
+                                                                            Stream.concat(
+                                                                                    events.stream(),
+                                                                                    Stream.of(event)
+                                                                            ).toList()
+                                                                    )
+                                                            )
+                                            )
+                                            .doOnNext(
+                                                    transaction -> log.info(
+                                                            "AddUserReceipt transaction status updated [{}] for transactionId: [{}]",
+                                                            transaction.getStatus(),
+                                                            transaction.getTransactionId()
+                                                    )
+                                            )
+                                            .map(this::buildTransactionInfoDtoV2);
+                                }
                         )
                 );
 
@@ -1688,10 +1777,12 @@ public class TransactionsService {
                                 walletAuthDataDto.getContextualOnboardDetails());
                     });
             case ApmAuthRequestDetailsDto ignore -> {
-                Mono<String> name =
-                        ecommercePaymentMethodsHandlerEnabled ?
+                Mono<String> name = paymentMethodsCache.getPaymentMethodName(
+                        new PaymentMethodsCache.Key(requestAuthorizationRequestDto.getPaymentInstrumentId(), clientId, ecommercePaymentMethodsHandlerEnabled),
+                        () -> ecommercePaymentMethodsHandlerEnabled ?
                                 ecommercePaymentMethodsHandlerClient.getPaymentMethod(requestAuthorizationRequestDto.getPaymentInstrumentId(), clientId).map(responseDto -> responseDto.getName().get(RequestAuthorizationRequestDto.LanguageEnum.IT.toString())) :
-                                ecommercePaymentMethodsClient.getPaymentMethod(requestAuthorizationRequestDto.getPaymentInstrumentId(), clientId).map(PaymentMethodResponseDto::getName);
+                                ecommercePaymentMethodsClient.getPaymentMethod(requestAuthorizationRequestDto.getPaymentInstrumentId(), clientId).map(PaymentMethodResponseDto::getName)
+                );
                 yield name.map(n -> PaymentSessionData.create(null, null, n, null, null));
             }
             case RedirectionAuthRequestDetailsDto ignored -> Mono.just(PaymentSessionData.create(
@@ -14,6 +14,7 @@ import it.pagopa.ecommerce.commons.domain.v2.TransactionId;
 import it.pagopa.generated.transactions.v2.server.model.*;
 import it.pagopa.transactions.commands.TransactionActivateCommand;
 import it.pagopa.transactions.commands.data.NewTransactionRequestData;
+import it.pagopa.transactions.commands.dispatcher.TransactionCommandMailbox;
 import it.pagopa.transactions.commands.handlers.v2.TransactionActivateHandler;
 import it.pagopa.transactions.exceptions.InvalidRequestException;
 import it.pagopa.transactions.exceptions.NotImplementedException;
@@ -21,6 +22,7 @@ import it.pagopa.transactions.exceptions.TransactionNotFoundException;
 import it.pagopa.transactions.projections.handlers.v2.TransactionsActivationProjectionHandler;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
 import it.pagopa.transactions.utils.ConfidentialMailUtils;
+import it.pagopa.transactions.utils.FinalStateResponseCache;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import it.pagopa.transactions.utils.WispDeprecation;
 import lombok.extern.slf4j.Slf4j;
@@ -49,6 +51,10 @@ public class TransactionsService {
 
     private final TransactionsViewRepository transactionsViewRepository;
 
+    private final TransactionCommandMailbox transactionCommandMailbox;
+
+    private final FinalStateResponseCache finalStateResponseCache;
+
     @Autowired
     public TransactionsService(
             @Qualifier(
@@ -59,13 +65,17 @@ public class TransactionsService {
             ) TransactionsActivationProjectionHandler transactionsActivationProjectionHandlerV2,
             TransactionsUtils transactionsUtils,
             ConfidentialMailUtils confidentialMailUtils,
-            TransactionsViewRepository transactionsViewRepository
+            TransactionsViewRepository transactionsViewRepository,
+            TransactionCommandMailbox transactionCommandMailbox,
+            FinalStateResponseCache finalStateResponseCache
     ) {
         this.transactionActivateHandlerV2 = transactionActivateHandlerV2;
         this.transactionsActivationProjectionHandlerV2 = transactionsActivationProjectionHandlerV2;
         this.transactionsUtils = transactionsUtils;
         this.confidentialMailUtils = confidentialMailUtils;
         this.transactionsViewRepository = transactionsViewRepository;
+        this.transactionCommandMailbox = transactionCommandMailbox;
+        this.finalStateResponseCache = finalStateResponseCache;
     }
 
     @CircuitBreaker(name = "node-backend")
@@ -114,7 +124,11 @@ public class TransactionsService {
                 clientId
         );
 
-        return transactionActivateHandlerV2.handle(transactionActivateCommand)
+        return transactionCommandMailbox
+                .submit(
+                        transactionActivateCommand,
+                        () -> transactionActivateHandlerV2.handle(transactionActivateCommand)
+                )
                 .doOnNext(
                         args -> log.info(
                                 "Transaction initialized for rptId [{}]",
@@ -216,13 +230,24 @@ public class TransactionsService {
                                                                                                         UUID xUserId
     ) {
         log.info("Get Transaction Invoked with id {} ", transactionId);
-        return getBaseTransactionView(transactionId, xUserId)
-                .switchIfEmpty(Mono.error(new TransactionNotFoundException(transactionId)))
-                .map(this::buildTransactionInfoDtoFromView);
+        return finalStateResponseCache.get(FinalStateResponseCache.TRANSACTION_INFO_V2, transactionId, xUserId)
+                .switchIfEmpty(
+                        Mono.defer(
+                                () -> getBaseTransactionView(transactionId, xUserId)
+                                        .switchIfEmpty(Mono.error(new TransactionNotFoundException(transactionId)))
+                                        .map(
+                                                transactionView -> finalStateResponseCache.put(
+                                                        FinalStateResponseCache.TRANSACTION_INFO_V2,
+                                                        transactionView,
+                                                        buildTransactionInfoDtoFromView(transactionView)
+                                                )
+                                        )
+                        )
+                );
     }
 
     private Mono<BaseTransactionView> getBaseTransactionView(String transactionId, UUID xUserId) {
-        return transactionsViewRepository.findById(transactionId)
+        return transactionsViewRepository.findTransactionInfoById(transactionId)
                 .filter(transactionDocument -> switch (transactionDocument) {
                     case it.pagopa.ecommerce.commons.documents.v1.Transaction ignored -> xUserId == null;
                     case it.pagopa.ecommerce.commons.documents.v2.Transaction t ->
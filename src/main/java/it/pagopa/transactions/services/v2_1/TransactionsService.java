@@ -9,32 +9,67 @@ import it.pagopa.ecommerce.commons.domain.v2.*;
 import it.pagopa.generated.transactions.v2_1.server.model.*;
 import it.pagopa.transactions.commands.TransactionActivateCommand;
 import it.pagopa.transactions.commands.data.NewTransactionRequestData;
+import it.pagopa.transactions.commands.dispatcher.TransactionCommandMailbox;
 import it.pagopa.transactions.commands.handlers.v2.TransactionActivateHandler;
 import it.pagopa.transactions.exceptions.InvalidRequestException;
+import it.pagopa.transactions.exceptions.TransactionNotFoundException;
 import it.pagopa.transactions.projections.handlers.v2.TransactionsActivationProjectionHandler;
+import it.pagopa.transactions.repositories.SecondaryReadRouter;
+import it.pagopa.transactions.repositories.TransactionOutcomeView;
+import it.pagopa.transactions.repositories.TransactionViewOutcome;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
+import it.pagopa.transactions.utils.FinalStateResponseCache;
+import it.pagopa.transactions.utils.TransactionOutcomeNotifier;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import it.pagopa.transactions.utils.WispDeprecation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service(TransactionsService.QUALIFIER_NAME)
 @Slf4j
 public class TransactionsService {
 
     public static final String QUALIFIER_NAME = "TransactionsServiceV2.1";
+
     private final TransactionActivateHandler transactionActivateHandlerV2;
 
     private final TransactionsActivationProjectionHandler transactionsActivationProjectionHandlerV2;
 
     private final TransactionsUtils transactionsUtils;
 
+    private final TransactionCommandMailbox transactionCommandMailbox;
+
+    private final it.pagopa.transactions.services.v1.TransactionsService transactionsServiceV1;
+
+    private final TransactionOutcomeNotifier transactionOutcomeNotifier;
+
+    private final TransactionsViewOutcomeRepository transactionsViewOutcomeRepository;
+
+    private final FinalStateResponseCache finalStateResponseCache;
+
+    private final Duration outcomeRecheckInterval;
+
+    private final Duration outcomeDefaultWait;
+
+    private final Duration outcomeMaxWait;
+
+    private final Duration outcomeMaxStream;
+
     @Autowired
     public TransactionsService(
             @Qualifier(
@@ -43,11 +78,31 @@ public class TransactionsService {
             @Qualifier(
                 TransactionsActivationProjectionHandler.QUALIFIER_NAME
             ) TransactionsActivationProjectionHandler transactionsActivationProjectionHandlerV2,
-            TransactionsUtils transactionsUtils
+            TransactionsUtils transactionsUtils,
+            TransactionCommandMailbox transactionCommandMailbox,
+            @Qualifier(
+                it.pagopa.transactions.services.v1.TransactionsService.QUALIFIER_NAME
+            ) it.pagopa.transactions.services.v1.TransactionsService transactionsServiceV1,
+            TransactionOutcomeNotifier transactionOutcomeNotifier,
+            TransactionsViewOutcomeRepository transactionsViewOutcomeRepository,
+            FinalStateResponseCache finalStateResponseCache,
+            @Value("${transactionOutcomeUpdates.recheckIntervalSeconds}") int outcomeRecheckIntervalSeconds,
+            @Value("${transactionOutcomeUpdates.defaultWaitSeconds}") int outcomeDefaultWaitSeconds,
+            @Value("${transactionOutcomeUpdates.maxWaitSeconds}") int outcomeMaxWaitSeconds,
+            @Value("${transactionOutcomeUpdates.maxStreamSeconds}") int outcomeMaxStreamSeconds
     ) {
         this.transactionActivateHandlerV2 = transactionActivateHandlerV2;
         this.transactionsActivationProjectionHandlerV2 = transactionsActivationProjectionHandlerV2;
         this.transactionsUtils = transactionsUtils;
+        this.transactionCommandMailbox = transactionCommandMailbox;
+        this.transactionsServiceV1 = transactionsServiceV1;
+        this.transactionOutcomeNotifier = transactionOutcomeNotifier;
+        this.transactionsViewOutcomeRepository = transactionsViewOutcomeRepository;
+        this.finalStateResponseCache = finalStateResponseCache;
+        this.outcomeRecheckInterval = Duration.ofSeconds(outcomeRecheckIntervalSeconds);
+        this.outcomeDefaultWait = Duration.ofSeconds(outcomeDefaultWaitSeconds);
+        this.outcomeMaxWait = Duration.ofSeconds(outcomeMaxWaitSeconds);
+        this.outcomeMaxStream = Duration.ofSeconds(outcomeMaxStreamSeconds);
     }
 
     @CircuitBreaker(name = "node-backend")
@@ -96,7 +151,11 @@ public class TransactionsService {
                 clientId
         );
 
-        return transactionActivateHandlerV2.handle(transactionActivateCommand)
+        return transactionCommandMailbox
+                .submit(
+                        transactionActivateCommand,
+                        () -> transactionActivateHandlerV2.handle(transactionActivateCommand)
+                )
                 .doOnNext(
                         args -> log.info(
                                 "Transaction initialized for rptId [{}]",
@@ -120,6 +179,197 @@ public class TransactionsService {
 
     }
 
+    /**
+     * Wait for the outcome of the input transaction to become final
+     *
+     * @param transactionId the transaction id
+     * @param xUserId       the user requesting the transaction outcome, if any
+     * @param waitSeconds   the requested max wait time, capped to the configured
+     *                      one. The configured default is used if null
+     * @return the final outcome, or the current one if it didn't become final
+     *         within the wait time
+     */
+    public Mono<TransactionOutcomeInfoDto> waitTransactionOutcome(
+                                                                  String transactionId,
+                                                                  UUID xUserId,
+                                                                  Integer waitSeconds
+    ) {
+        Duration wait = Optional.ofNullable(waitSeconds)
+                .map(seconds -> Duration.ofSeconds(Math.min(seconds, outcomeMaxWait.toSeconds())))
+                .orElse(outcomeDefaultWait);
+        return getTransactionOutcomeUpdates(transactionId, xUserId)
+                .flatMap(updates -> wait.isZero() ? updates.next() : updates.take(wait).last());
+    }
+
+    /**
+     * Stream the outcome of the input transaction, up to the configured max
+     * stream time
+     *
+     * @param transactionId the transaction id
+     * @param xUserId       the user requesting the transaction outcome, if any
+     * @return the current transaction outcome followed by each outcome change,
+     *         completing once the outcome is final
+     */
+    public Mono<Flux<TransactionOutcomeInfoDto>> streamTransactionOutcome(
+                                                                          String transactionId,
+                                                                          UUID xUserId
+    ) {
+        return getTransactionOutcomeUpdates(transactionId, xUserId)
+                .map(updates -> updates.take(outcomeMaxStream));
+    }
+
+    /**
+     * Read the current transaction outcome and build the Flux of its changes. The
+     * outcome is read again each time a change is notified for the transaction,
+     * requiring at least the notified view version, and, since changes made by
+     * other services are not notified, every recheck interval. Errors reading
+     * the current outcome are returned by the outer Mono, while errors reading it
+     * again are only logged so that waiting requests keep the last read outcome.
+     */
+    private Mono<Flux<TransactionOutcomeInfoDto>> getTransactionOutcomeUpdates(
+                                                                               String transactionId,
+                                                                               UUID xUserId
+    ) {
+        return transactionsServiceV1.getTransactionOutcome(transactionId, xUserId)
+                .map(
+                        currentOutcome -> Flux.just(currentOutcome)
+                                .concatWith(
+                                        isFinalOutcome(currentOutcome) ? Flux.empty()
+                                                : rereadTransactionOutcome(transactionId, xUserId)
+                                )
+                                .distinctUntilChanged()
+                                .takeUntil(this::isFinalOutcome)
+                                .map(this::toTransactionOutcomeInfoDto)
+                );
+    }
+
+    private Flux<it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto> rereadTransactionOutcome(
+                                                                                                                   String transactionId,
+                                                                                                                   UUID xUserId
+    ) {
+        return Flux.merge(
+                transactionOutcomeNotifier.updates(transactionId)
+                        .map(update -> Optional.ofNullable(update.lastProcessedEventAt())),
+                Flux.interval(outcomeRecheckInterval).map(ignored -> Optional.<Long>empty())
+        )
+                .onBackpressureLatest()
+                .concatMap(
+                        minVersion -> transactionsServiceV1.getTransactionOutcome(transactionId, xUserId)
+                                .contextWrite(SecondaryReadRouter.minVersion(minVersion.orElse(null)))
+                                .onErrorResume(exception -> {
+                                    log.warn(
+                                            "Error reading outcome update for transactionId: [{}]",
+                                            transactionId,
+                                            exception
+                                    );
+                                    return Mono.empty();
+                                }),
+                        1
+                );
+    }
+
+    /**
+     * Get status and outcome of the input transactions. Transactions in an
+     * immutable state are served from the final state response cache, all the
+     * other ones with a single projection query on the view collection, reading
+     * the whole view document only for the transactions whose materialized
+     * outcome is missing or stale, whose outcome is then evaluated in-process
+     * from it. Transactions not found or not owned by the requesting user are not
+     * returned.
+     *
+     * @param transactionIds the transaction ids
+     * @param xUserId        the user requesting the transactions, if any
+     * @return status and outcome of the found transactions
+     */
+    @CircuitBreaker(name = "ecommerce-db")
+    public Flux<TransactionStatusInfoDto> getTransactionsStatuses(
+                                                                 List<String> transactionIds,
+                                                                 UUID xUserId
+    ) {
+        List<String> distinctTransactionIds = transactionIds.stream().distinct().toList();
+        log.info("Get transactions statuses invoked for [{}] transaction ids", distinctTransactionIds.size());
+        return Flux.fromIterable(distinctTransactionIds)
+                .flatMap(
+                        transactionId -> finalStateResponseCache
+                                .get(FinalStateResponseCache.TRANSACTION_OUTCOME, transactionId, xUserId)
+                                .map(outcome -> Tuples.of(transactionId, outcome))
+                                .onErrorResume(TransactionNotFoundException.class, exception -> Mono.empty())
+                )
+                .collectList()
+                .flatMapMany(cachedOutcomes -> {
+                    Set<String> cachedTransactionIds = cachedOutcomes.stream().map(Tuple2::getT1)
+                            .collect(Collectors.toSet());
+                    List<String> notCachedTransactionIds = distinctTransactionIds.stream()
+                            .filter(transactionId -> !cachedTransactionIds.contains(transactionId))
+                            .toList();
+                    return Flux.fromIterable(cachedOutcomes)
+                            .map(cached -> toTransactionStatusInfoDto(cached.getT1(), cached.getT2()))
+                            .concatWith(getTransactionsStatusesFromView(notCachedTransactionIds, xUserId));
+                });
+    }
+
+    private Flux<TransactionStatusInfoDto> getTransactionsStatusesFromView(
+                                                                          List<String> transactionIds,
+                                                                          UUID xUserId
+    ) {
+        if (transactionIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return transactionsViewOutcomeRepository.findAllById(transactionIds)
+                .filter(
+                        transactionOutcomeView -> transactionOutcomeView.status() != null
+                                && Objects.equals(transactionOutcomeView.userId(), Objects.toString(xUserId, null))
+                )
+                .concatMap(
+                        transactionOutcomeView -> transactionsServiceV1
+                                .getTransactionViewOutcome(transactionOutcomeView, xUserId)
+                                .map(outcome -> toTransactionStatusInfoDto(transactionOutcomeView.transactionId(), outcome))
+                                .onErrorResume(exception -> {
+                                    log.warn(
+                                            "Error evaluating outcome for transactionId: [{}]",
+                                            transactionOutcomeView.transactionId(),
+                                            exception
+                                    );
+                                    return Mono.empty();
+                                })
+                );
+    }
+
+    private TransactionStatusInfoDto toTransactionStatusInfoDto(
+                                                                String transactionId,
+                                                                TransactionViewOutcome outcome
+    ) {
+        return new TransactionStatusInfoDto()
+                .transactionId(transactionId)
+                .status(transactionsUtils.convertEnumerationV2_1(outcome.status()))
+                .outcome(
+                        new TransactionOutcomeInfoDto()
+                                .outcome(TransactionOutcomeInfoDto.OutcomeEnum.fromValue(outcome.outcome().getValue()))
+                                .totalAmount(outcome.totalAmount())
+                                .fees(outcome.fees())
+                                .isFinalStatus(outcome.isFinalStatus())
+                );
+    }
+
+    private boolean isFinalOutcome(
+                                   it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto transactionOutcomeInfoDto
+    ) {
+        return Boolean.TRUE.equals(transactionOutcomeInfoDto.getIsFinalStatus());
+    }
+
+    private TransactionOutcomeInfoDto toTransactionOutcomeInfoDto(
+                                                                  it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto transactionOutcomeInfoDto
+    ) {
+        return new TransactionOutcomeInfoDto()
+                .outcome(
+                        TransactionOutcomeInfoDto.OutcomeEnum
+                                .fromValue(transactionOutcomeInfoDto.getOutcome().getValue())
+                )
+                .totalAmount(transactionOutcomeInfoDto.getTotalAmount())
+                .fees(transactionOutcomeInfoDto.getFees())
+                .isFinalStatus(transactionOutcomeInfoDto.getIsFinalStatus());
+    }
+
     private Mono<NewTransactionResponseDto> projectActivatedEvent(
                                                                   it.pagopa.ecommerce.commons.documents.v2.TransactionActivatedEvent transactionActivatedEvent,
                                                                   String authToken
@@ -0,0 +1,125 @@
+package it.pagopa.transactions.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import it.pagopa.generated.ecommerce.paymentmethods.v2.dto.CalculateFeeRequestDto;
+import it.pagopa.generated.ecommerce.paymentmethods.v2.dto.CalculateFeeResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache for calculate fee responses, so that authorization request
+ * retries and quick re-submissions for the same payment do not recompute
+ * bundles. Responses are cached together with their bundles index (see
+ * {@link IndexedCalculateFeeResponse}) and are keyed by a canonical fingerprint of the calculate fee
+ * request (touchpoint, bin, psp list, payment notices and their transfers)
+ * together with the payment method and wallet ids.
+ * <p>
+ * Cache hit ratio is exposed through the {@code cache.hit.ratio} gauge tagged
+ * with {@code cache=calculateFee}.
+ */
+@Component
+public class CalculateFeeCache {
+
+    /**
+     * Calculate fee cache key
+     *
+     * @param paymentMethodId    the payment method id fees are calculated for
+     * @param walletId           the wallet id, if the payment is made with a
+     *                           wallet
+     * @param requestFingerprint the calculate fee request canonical fingerprint
+     */
+    public record Key(
+            String paymentMethodId,
+            String walletId,
+            String requestFingerprint
+    ) {
+    }
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private final boolean enabled;
+
+    private final ReactiveLocalCache<Key, IndexedCalculateFeeResponse> cache;
+
+    @Autowired
+    public CalculateFeeCache(
+            MeterRegistry meterRegistry,
+            @Value("${calculateFeeCache.enabled}") boolean enabled,
+            @Value("${calculateFeeCache.ttlSeconds}") long ttlSeconds,
+            @Value("${calculateFeeCache.maxSize}") int maxSize
+    ) {
+        this.enabled = enabled;
+        this.cache = new ReactiveLocalCache<>(
+                "calculateFee",
+                Duration.ofSeconds(ttlSeconds),
+                Duration.ZERO,
+                Duration.ZERO,
+                maxSize,
+                error -> false,
+                meterRegistry,
+                Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Build the cache key for the input calculate fee request
+     *
+     * @param paymentMethodId        the payment method id
+     * @param walletId               the wallet id, if any
+     * @param calculateFeeRequestDto the calculate fee request
+     * @return the cache key
+     */
+    public static Key keyOf(
+                            String paymentMethodId,
+                            String walletId,
+                            CalculateFeeRequestDto calculateFeeRequestDto
+    ) {
+        try {
+            byte[] canonicalRequest = CANONICAL_MAPPER.writeValueAsBytes(calculateFeeRequestDto);
+            return new Key(
+                    paymentMethodId,
+                    walletId,
+                    HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonicalRequest))
+            );
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            // should never happen, fall back to the request string representation
+            return new Key(paymentMethodId, walletId, calculateFeeRequestDto.toString());
+        }
+    }
+
+    /**
+     * Get the indexed calculate fee response for the input key, loading it with
+     * the input loader on cache miss
+     *
+     * @param key    the calculate fee cache key
+     * @param loader the calculate fee response loader
+     * @return the indexed calculate fee response
+     */
+    public Mono<IndexedCalculateFeeResponse> getCalculateFeeResponse(
+                                                                     Key key,
+                                                                     Supplier<Mono<CalculateFeeResponseDto>> loader
+    ) {
+        Supplier<Mono<IndexedCalculateFeeResponse>> indexingLoader = () -> loader.get()
+                .map(IndexedCalculateFeeResponse::of);
+        return enabled ? cache.get(key, indexingLoader) : Mono.defer(indexingLoader);
+    }
+}
@@ -0,0 +1,281 @@
+package it.pagopa.transactions.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
+import it.pagopa.ecommerce.commons.documents.v2.Transaction;
+import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
+import it.pagopa.generated.transactions.server.model.TransactionInfoDto;
+import it.pagopa.transactions.exceptions.TransactionNotFoundException;
+import it.pagopa.transactions.repositories.FinalStateResponse;
+import it.pagopa.transactions.repositories.FinalStateResponseTemplateWrapper;
+import it.pagopa.transactions.repositories.TransactionViewOutcome;
+import it.pagopa.transactions.repositories.TransactionViewVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Cache for the responses served for transactions that reached an immutable
+ * state. Once a transaction reaches one of the configured immutable states its
+ * view document is not updated anymore, so the responses built from it can be
+ * served without reading the view again.
+ * <p>
+ * Responses are kept in a bounded local cache and, optionally, shared across
+ * instances through Redis. Entries are keyed by response type and transaction
+ * id and hold the transaction owner, so that the same ownership check done
+ * against the view document is applied to cached responses too. Redis writes
+ * are submitted to the {@link SideEffectScheduler}, so they never delay the
+ * response being cached.
+ * <p>
+ * Local cache metrics are exposed through the Micrometer cache.* meters tagged
+ * with {@code cache=finalStateResponses}, Redis lookups through the
+ * {@code cache.gets} counter tagged with {@code cache=finalStateResponses.redis}.
+ */
+@Component
+@Slf4j
+public class FinalStateResponseCache {
+
+    /**
+     * Cached response type
+     *
+     * @param name          the response type name, used as cache key prefix
+     * @param responseClass the response class
+     * @param <T>           the response type
+     */
+    public record ResponseType<T>(
+            String name,
+            Class<T> responseClass
+    ) {
+    }
+
+    public static final ResponseType<TransactionInfoDto> TRANSACTION_INFO_V1 = new ResponseType<>(
+            "transactionInfoV1",
+            TransactionInfoDto.class
+    );
+
+    public static final ResponseType<it.pagopa.generated.transactions.v2.server.model.TransactionInfoDto> TRANSACTION_INFO_V2 = new ResponseType<>(
+            "transactionInfoV2",
+            it.pagopa.generated.transactions.v2.server.model.TransactionInfoDto.class
+    );
+
+    public static final ResponseType<TransactionViewOutcome> TRANSACTION_OUTCOME = new ResponseType<>(
+            "transactionOutcome",
+            TransactionViewOutcome.class
+    );
+
+    public static final ResponseType<TransactionViewVersion> TRANSACTION_VERSION = new ResponseType<>(
+            "transactionVersion",
+            TransactionViewVersion.class
+    );
+
+    private record CachedResponse(
+            String userId,
+            Object response
+    ) {
+    }
+
+    private static final String CACHE_NAME = "finalStateResponses";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final boolean enabled;
+
+    private final boolean redisEnabled;
+
+    private final Set<TransactionStatusDto> immutableStates;
+
+    private final ReactiveLocalCache<String, CachedResponse> cache;
+
+    private final FinalStateResponseTemplateWrapper finalStateResponseTemplateWrapper;
+
+    private final SideEffectScheduler sideEffectScheduler;
+
+    private final Counter redisHits;
+
+    private final Counter redisMisses;
+
+    @Autowired
+    public FinalStateResponseCache(
+            MeterRegistry meterRegistry,
+            FinalStateResponseTemplateWrapper finalStateResponseTemplateWrapper,
+            SideEffectScheduler sideEffectScheduler,
+            @Value("${finalStateResponseCache.enabled}") boolean enabled,
+            @Value("${finalStateResponseCache.ttlSeconds}") long ttlSeconds,
+            @Value("${finalStateResponseCache.maxSize}") int maxSize,
+            @Value("${finalStateResponseCache.immutableStates}") Set<String> immutableStates,
+            @Value("${finalStateResponseCache.redis.enabled}") boolean redisEnabled
+    ) {
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.immutableStates = immutableStates.stream().map(TransactionStatusDto::valueOf)
+                .collect(Collectors.toSet());
+        this.finalStateResponseTemplateWrapper = finalStateResponseTemplateWrapper;
+        this.sideEffectScheduler = sideEffectScheduler;
+        this.cache = new ReactiveLocalCache<>(
+                CACHE_NAME,
+                Duration.ofSeconds(ttlSeconds),
+                Duration.ZERO,
+                Duration.ZERO,
+                maxSize,
+                error -> false,
+                meterRegistry,
+                Clock.systemUTC()
+        );
+        this.redisHits = Counter.builder("cache.gets").tag("cache", CACHE_NAME + ".redis").tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMisses = Counter.builder("cache.gets").tag("cache", CACHE_NAME + ".redis").tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the cached response for the input transaction
+     *
+     * @param type          the response type
+     * @param transactionId the transaction id
+     * @param xUserId       the user requesting the transaction, if any
+     * @param <T>           the response type
+     * @return the cached response, an empty Mono if the response is not cached or
+     *         a {@link TransactionNotFoundException} error if the transaction is
+     *         not owned by the requesting user
+     */
+    public <T> Mono<T> get(
+                           ResponseType<T> type,
+                           String transactionId,
+                           UUID xUserId
+    ) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        String key = cacheKey(type, transactionId);
+        return cache.get(key, () -> findInRedis(type, key))
+                .flatMap(
+                        cachedResponse -> Objects.equals(cachedResponse.userId(), Objects.toString(xUserId, null))
+                                ? Mono.just(type.responseClass().cast(cachedResponse.response()))
+                                : Mono.error(new TransactionNotFoundException(transactionId))
+                );
+    }
+
+    /**
+     * Cache the response built from the input view document, if the transaction
+     * is in an immutable state
+     *
+     * @param type     the response type
+     * @param view     the view document the response was built from
+     * @param response the response
+     * @param <T>      the response type
+     * @return the input response
+     */
+    public <T> T put(
+                     ResponseType<T> type,
+                     BaseTransactionView view,
+                     T response
+    ) {
+        if (view instanceof Transaction transaction) {
+            put(type, transaction.getTransactionId(), transaction.getUserId(), transaction.getStatus(), response);
+        }
+        return response;
+    }
+
+    /**
+     * Cache the input response, if the transaction is in an immutable state
+     *
+     * @param type          the response type
+     * @param transactionId the transaction id
+     * @param userId        the user that owns the transaction, if any
+     * @param status        the transaction status the response was built for
+     * @param response      the response
+     * @param <T>           the response type
+     * @return the input response
+     */
+    public <T> T put(
+                     ResponseType<T> type,
+                     String transactionId,
+                     String userId,
+                     TransactionStatusDto status,
+                     T response
+    ) {
+        if (enabled && immutableStates.contains(status)) {
+            String key = cacheKey(type, transactionId);
+            cache.put(key, new CachedResponse(userId, response));
+            if (redisEnabled) {
+                saveInRedis(key, userId, response);
+            }
+        }
+        return response;
+    }
+
+    private <T> Mono<CachedResponse> findInRedis(
+                                                 ResponseType<T> type,
+                                                 String key
+    ) {
+        if (!redisEnabled) {
+            return Mono.empty();
+        }
+        return finalStateResponseTemplateWrapper.findById(key)
+                .map(
+                        finalStateResponse -> new CachedResponse(
+                                finalStateResponse.userId(),
+                                deserialize(finalStateResponse.response(), type.responseClass())
+                        )
+                )
+                .doOnNext(ignored -> redisHits.increment())
+                .switchIfEmpty(Mono.fromRunnable(redisMisses::increment))
+                .onErrorResume(exception -> {
+                    log.warn("Error reading final state response with key: [{}] from Redis", key, exception);
+                    return Mono.empty();
+                });
+    }
+
+    private void saveInRedis(
+                             String key,
+                             String userId,
+                             Object response
+    ) {
+        sideEffectScheduler.submit(
+                "finalStateResponseCacheWrite",
+                Mono.fromCallable(() -> objectMapper.writeValueAsString(response))
+                        .flatMap(
+                                serialized -> finalStateResponseTemplateWrapper
+                                        .save(new FinalStateResponse(key, userId, serialized))
+                        )
+                        .onErrorResume(exception -> {
+                            log.warn("Error writing final state response with key: [{}] to Redis", key, exception);
+                            return Mono.empty();
+                        })
+        );
+    }
+
+    private <T> T deserialize(
+                              String response,
+                              Class<T> responseClass
+    ) {
+        try {
+            return objectMapper.readValue(response, responseClass);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Cannot deserialize cached response", exception);
+        }
+    }
+
+    private static String cacheKey(
+                                   ResponseType<?> type,
+                                   String transactionId
+    ) {
+        return type.name() + ":" + transactionId;
+    }
+}
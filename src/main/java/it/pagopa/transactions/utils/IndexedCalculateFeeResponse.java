@@ -0,0 +1,70 @@
+package it.pagopa.transactions.utils;
+
+import it.pagopa.generated.ecommerce.paymentmethods.v2.dto.BundleDto;
+import it.pagopa.generated.ecommerce.paymentmethods.v2.dto.CalculateFeeResponseDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Calculate fee response together with an index of its bundles keyed by psp id
+ * and tax payer fee, built once per response so that the bundle selected by an
+ * authorization request is found without scanning the whole bundle list. When
+ * more bundles share the same psp and fee the first one in the response is
+ * indexed, as a linear scan would return.
+ */
+public final class IndexedCalculateFeeResponse {
+
+    private record PspFee(
+            String idPsp,
+            Long fee
+    ) {
+    }
+
+    private final CalculateFeeResponseDto response;
+
+    private final Map<PspFee, BundleDto> bundlesByPspAndFee;
+
+    private IndexedCalculateFeeResponse(
+            CalculateFeeResponseDto response,
+            Map<PspFee, BundleDto> bundlesByPspAndFee
+    ) {
+        this.response = response;
+        this.bundlesByPspAndFee = bundlesByPspAndFee;
+    }
+
+    /**
+     * Index the input calculate fee response bundles
+     *
+     * @param response the calculate fee response
+     * @return the indexed response
+     */
+    public static IndexedCalculateFeeResponse of(CalculateFeeResponseDto response) {
+        List<BundleDto> bundles = Optional.ofNullable(response.getBundles()).orElse(List.of());
+        Map<PspFee, BundleDto> bundlesByPspAndFee = HashMap.newHashMap(bundles.size());
+        for (BundleDto bundle : bundles) {
+            bundlesByPspAndFee.putIfAbsent(new PspFee(bundle.getIdPsp(), bundle.getTaxPayerFee()), bundle);
+        }
+        return new IndexedCalculateFeeResponse(response, bundlesByPspAndFee);
+    }
+
+    public CalculateFeeResponseDto response() {
+        return response;
+    }
+
+    /**
+     * Find the bundle for the input psp id and tax payer fee
+     *
+     * @param idPsp the psp id
+     * @param fee   the tax payer fee
+     * @return the matching bundle, if any
+     */
+    public Optional<BundleDto> findBundle(
+                                          String idPsp,
+                                          long fee
+    ) {
+        return Optional.ofNullable(bundlesByPspAndFee.get(new PspFee(idPsp, fee)));
+    }
+}
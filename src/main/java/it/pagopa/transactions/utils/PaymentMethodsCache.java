@@ -0,0 +1,80 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import it.pagopa.transactions.exceptions.PaymentMethodNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for payment method names retrieved during APM
+ * authorization requests. Not found payment methods are cached for a shorter
+ * time so that repeated requests for an unknown method do not hit the payment
+ * methods service.
+ */
+@Component
+public class PaymentMethodsCache {
+
+    /**
+     * Payment method cache key
+     *
+     * @param paymentInstrumentId          the payment instrument id
+     * @param clientId                     the client id the payment method is
+     *                                     retrieved for
+     * @param paymentMethodsHandlerEnabled whether the payment method has been
+     *                                     retrieved from the payment methods
+     *                                     handler
+     */
+    public record Key(
+            String paymentInstrumentId,
+            String clientId,
+            boolean paymentMethodsHandlerEnabled
+    ) {
+    }
+
+    private final boolean enabled;
+
+    private final ReactiveLocalCache<Key, String> cache;
+
+    @Autowired
+    public PaymentMethodsCache(
+            MeterRegistry meterRegistry,
+            @Value("${paymentMethodsCache.enabled}") boolean enabled,
+            @Value("${paymentMethodsCache.ttlSeconds}") long ttlSeconds,
+            @Value("${paymentMethodsCache.refreshAheadSeconds}") long refreshAheadSeconds,
+            @Value("${paymentMethodsCache.negativeTtlSeconds}") long negativeTtlSeconds,
+            @Value("${paymentMethodsCache.maxSize}") int maxSize
+    ) {
+        this.enabled = enabled;
+        this.cache = new ReactiveLocalCache<>(
+                "paymentMethods",
+                Duration.ofSeconds(ttlSeconds),
+                Duration.ofSeconds(refreshAheadSeconds),
+                Duration.ofSeconds(negativeTtlSeconds),
+                maxSize,
+                PaymentMethodNotFoundException.class::isInstance,
+                meterRegistry,
+                Clock.systemUTC()
+        );
+    }
+
+    /**
+     * Get the payment method name for the input key, loading it with the input
+     * loader on cache miss
+     *
+     * @param key    the payment method cache key
+     * @param loader the payment method name loader
+     * @return the payment method name
+     */
+    public Mono<String> getPaymentMethodName(
+                                             Key key,
+                                             Supplier<Mono<String>> loader
+    ) {
+        return enabled ? cache.get(key, loader) : Mono.defer(loader);
+    }
+}
@@ -0,0 +1,331 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory read-through cache for reactive lookups.
+ * <p>
+ * Concurrent lookups for the same key share a single load. Values are kept for
+ * the configured ttl and, once the refresh-ahead threshold is reached, are
+ * reloaded in background while the cached value keeps being served. Errors
+ * matching the negative caching predicate (e.g. not found errors) are cached for
+ * the negative ttl, while any other error or empty result is never cached.
+ * <p>
+ * Once the max size is exceeded, entries are evicted with the CLOCK (second
+ * chance) policy, an approximation of LRU: entries are queued in insertion
+ * order, and an entry read since it was last examined is moved back to the
+ * queue tail instead of being evicted. Each eviction pass examines a bounded
+ * number of entries, so a lookup never scans the whole cache.
+ * <p>
+ * Hits, misses, hit ratio, loads, evictions and size are exposed through the
+ * Micrometer cache.* meters tagged with the cache name.
+ *
+ * @param <K> the cache key type
+ * @param <V> the cached value type
+ */
+@Slf4j
+public class ReactiveLocalCache<K, V> {
+
+    /**
+     * Max number of queued entries examined by a single eviction pass
+     */
+    static final int EVICTION_PASS_STEPS = 64;
+
+    private final String name;
+
+    private final Duration ttl;
+
+    private final Duration refreshAhead;
+
+    private final Duration negativeTtl;
+
+    private final int maxSize;
+
+    private final Predicate<Throwable> negativeCachingPredicate;
+
+    private final Clock clock;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final Queue<EvictionNode<K, V>> evictionQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger evictionQueueSize = new AtomicInteger();
+
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter loadSuccesses;
+
+    private final Counter loadFailures;
+
+    private final Counter evictions;
+
+    private final Counter refreshes;
+
+    public ReactiveLocalCache(
+            String name,
+            Duration ttl,
+            Duration refreshAhead,
+            Duration negativeTtl,
+            int maxSize,
+            Predicate<Throwable> negativeCachingPredicate,
+            MeterRegistry meterRegistry,
+            Clock clock
+    ) {
+        if (refreshAhead.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid cache [%s] configuration: refresh ahead [%s] must be lower than ttl [%s]"
+                            .formatted(name, refreshAhead, ttl)
+            );
+        }
+        this.name = name;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.negativeTtl = negativeTtl;
+        this.maxSize = maxSize;
+        this.negativeCachingPredicate = negativeCachingPredicate;
+        this.clock = clock;
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.loadSuccesses = Counter.builder("cache.loads").tag("cache", name).tag("result", "success")
+                .register(meterRegistry);
+        this.loadFailures = Counter.builder("cache.loads").tag("cache", name).tag("result", "failure")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        this.refreshes = Counter.builder("cache.refreshes").tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", this, ReactiveLocalCache::hitRatio).tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the value associated to the input key, loading it with the input loader
+     * if not cached or expired
+     *
+     * @param key    the cache key
+     * @param loader the value loader, invoked on cache miss and on refresh
+     * @return the cached or loaded value
+     */
+    public Mono<V> get(
+                       K key,
+                       Supplier<Mono<V>> loader
+    ) {
+        return Mono.defer(() -> {
+            long now = clock.millis();
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.isValidAt(now)) {
+                hits.increment();
+                if (!entry.referenced) {
+                    entry.referenced = true;
+                }
+                if (entry.shouldRefreshAt(now) && entry.refreshing.compareAndSet(false, true)) {
+                    refresh(key, entry, loader);
+                }
+                return entry.value;
+            }
+            misses.increment();
+            Entry<V> loaded = load(key, loader);
+            Entry<V> current = entries.compute(
+                    key,
+                    (k, previous) -> previous == null || previous == entry || !previous.isValidAt(now) ? loaded
+                            : previous
+            );
+            if (current == loaded) {
+                track(key, loaded, now);
+            }
+            return current.value;
+        });
+    }
+
+    /**
+     * Associate the input value to the input key, replacing any cached or
+     * in-flight value
+     *
+     * @param key   the cache key
+     * @param value the value to be cached
+     */
+    public void put(
+                    K key,
+                    V value
+    ) {
+        long now = clock.millis();
+        Entry<V> entry = new Entry<>();
+        entry.value = Mono.just(value);
+        entry.expireAfter(now, ttl, refreshAhead);
+        entries.put(key, entry);
+        track(key, entry, now);
+    }
+
+    /**
+     * Remove the input key from the cache
+     *
+     * @param key the key to be invalidated
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the ratio between cache hits and total lookups since cache creation
+     *
+     * @return the cache hit ratio, 0 if no lookup has been made yet
+     */
+    public double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+
+    private Entry<V> load(
+                          K key,
+                          Supplier<Mono<V>> loader
+    ) {
+        Entry<V> entry = new Entry<>();
+        entry.value = Mono.defer(loader)
+                .doOnNext(value -> {
+                    loadSuccesses.increment();
+                    entry.expireAfter(clock.millis(), ttl, refreshAhead);
+                })
+                .doOnError(error -> {
+                    loadFailures.increment();
+                    if (negativeCachingPredicate.test(error)) {
+                        entry.expireAfter(clock.millis(), negativeTtl, Duration.ZERO);
+                    } else {
+                        entries.remove(key, entry);
+                    }
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> entries.remove(key, entry)))
+                // the entry expiration is handled by the cache itself: a not cacheable outcome
+                // removes the entry, so only concurrent subscribers share it
+                .cache();
+        return entry;
+    }
+
+    private void refresh(
+                         K key,
+                         Entry<V> entry,
+                         Supplier<Mono<V>> loader
+    ) {
+        refreshes.increment();
+        Mono.defer(loader)
+                .doOnNext(value -> {
+                    loadSuccesses.increment();
+                    Entry<V> refreshed = new Entry<>();
+                    refreshed.value = Mono.just(value);
+                    refreshed.expireAfter(clock.millis(), ttl, refreshAhead);
+                    refreshed.referenced = true;
+                    if (entries.replace(key, entry, refreshed)) {
+                        track(key, refreshed, clock.millis());
+                    }
+                })
+                .doOnError(error -> {
+                    loadFailures.increment();
+                    log.warn("Error refreshing cache [{}] entry for key [{}]", name, key, error);
+                })
+                .doFinally(signal -> entry.refreshing.set(false))
+                .onErrorResume(error -> Mono.empty())
+                .subscribe();
+    }
+
+    private void track(
+                       K key,
+                       Entry<V> entry,
+                       long now
+    ) {
+        evictionQueue.offer(new EvictionNode<>(key, entry));
+        evictionQueueSize.incrementAndGet();
+        evictIfNeeded(now);
+    }
+
+    private void evictIfNeeded(long now) {
+        // nodes of replaced or invalidated entries are dropped while examining the queue,
+        // which is also trimmed when they make it grow beyond twice the max size
+        if (!needsEviction() || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int step = 0; step < EVICTION_PASS_STEPS && needsEviction(); step++) {
+                EvictionNode<K, V> node = evictionQueue.poll();
+                if (node == null) {
+                    return;
+                }
+                evictionQueueSize.decrementAndGet();
+                if (entries.get(node.key()) != node.entry()) {
+                    continue;
+                }
+                if (entries.size() > maxSize
+                        && (node.entry().isExpiredAt(now) || !node.entry().referenced)) {
+                    if (entries.remove(node.key(), node.entry())) {
+                        evictions.increment();
+                    }
+                } else {
+                    node.entry().referenced = false;
+                    evictionQueue.offer(node);
+                    evictionQueueSize.incrementAndGet();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private boolean needsEviction() {
+        return entries.size() > maxSize || evictionQueueSize.get() > 2 * maxSize;
+    }
+
+    private record EvictionNode<K, V>(
+            K key,
+            Entry<V> entry
+    ) {
+    }
+
+    private static final class Entry<V> {
+        private volatile Mono<V> value;
+        private volatile boolean referenced;
+        private volatile long expiresAt = Long.MAX_VALUE;
+        private volatile long refreshAt = Long.MAX_VALUE;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private void expireAfter(
+                                 long now,
+                                 Duration ttl,
+                                 Duration refreshAhead
+        ) {
+            this.expiresAt = now + ttl.toMillis();
+            this.refreshAt = refreshAhead.isZero() ? Long.MAX_VALUE : expiresAt - refreshAhead.toMillis();
+        }
+
+        private boolean isValidAt(long now) {
+            return now < expiresAt;
+        }
+
+        private boolean isExpiredAt(long now) {
+            return !isValidAt(now);
+        }
+
+        private boolean shouldRefreshAt(long now) {
+            return now >= refreshAt;
+        }
+    }
+}
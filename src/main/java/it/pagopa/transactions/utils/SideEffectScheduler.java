@@ -0,0 +1,264 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler for detached side effects (lock releases, tracing, background
+ * notifications) that must not delay the response they are triggered by.
+ * <p>
+ * Tasks are subscribed as soon as they are submitted, up to
+ * {@code sideEffects.maxConcurrency} tasks in flight. When all slots are busy
+ * the configured {@link OverflowPolicy} applies: tasks are either dropped or
+ * queued, up to {@code sideEffects.queueCapacity}, and started as soon as a
+ * slot is released. Tasks that must not be dropped are submitted through
+ * {@link #submitRequired(String, Mono)}. On shutdown the scheduler waits for in flight and queued
+ * tasks to complete, within {@code spring.lifecycle.timeout-per-shutdown-phase},
+ * after the web server has stopped accepting requests.
+ * <p>
+ * Submitted, failed, dropped and overflowed tasks are counted through the
+ * {@code side.effects.tasks} counter tagged with the task name and outcome.
+ */
+@Component
+@Slf4j
+public class SideEffectScheduler implements SmartLifecycle {
+
+    static final String METRIC_PREFIX = "side.effects.tasks";
+
+    /**
+     * Policy applied to tasks submitted while all concurrency slots are busy
+     */
+    public enum OverflowPolicy {
+        DROP,
+        QUEUE
+    }
+
+    private record Task(
+            String name,
+            Mono<?> effect
+    ) {
+    }
+
+    private final int maxConcurrency;
+
+    private final int queueCapacity;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Duration shutdownTimeout;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlightTasks = new AtomicInteger();
+
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger drainInProgress = new AtomicInteger();
+
+    private final Sinks.Empty<Void> drained = Sinks.empty();
+
+    private volatile boolean running = false;
+
+    private volatile boolean stopping = false;
+
+    @Autowired
+    public SideEffectScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${sideEffects.maxConcurrency}") int maxConcurrency,
+            @Value("${sideEffects.queueCapacity}") int queueCapacity,
+            @Value("${sideEffects.overflowPolicy}") OverflowPolicy overflowPolicy,
+            @Value("${spring.lifecycle.timeout-per-shutdown-phase:30s}") Duration shutdownTimeout
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.shutdownTimeout = shutdownTimeout;
+        Gauge.builder(METRIC_PREFIX + ".inflight", inFlightTasks, AtomicInteger::get)
+                .description("Number of side effect tasks currently running")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", queuedTasks, AtomicInteger::get)
+                .description("Number of side effect tasks waiting for a free concurrency slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Submit a side effect task. The task errors are logged and counted, never
+     * propagated to the caller
+     *
+     * @param name   the task name, used for logging and metrics
+     * @param effect the side effect to be subscribed
+     * @return true if the task has been started or queued, false if it has been
+     *         dropped
+     */
+    public boolean submit(
+                          String name,
+                          Mono<?> effect
+    ) {
+        return submit(name, effect, false);
+    }
+
+    /**
+     * Submit a side effect task that must never be dropped, such as a lock
+     * release. The task is queued as per {@link #submit(String, Mono)}, but when
+     * it would be dropped it is started right away exceeding the max concurrency,
+     * and counted with the {@code overflowed} outcome
+     *
+     * @param name   the task name, used for logging and metrics
+     * @param effect the side effect to be subscribed
+     */
+    public void submitRequired(
+                               String name,
+                               Mono<?> effect
+    ) {
+        submit(name, effect, true);
+    }
+
+    private boolean submit(
+                           String name,
+                           Mono<?> effect,
+                           boolean required
+    ) {
+        countTask(name, "submitted");
+        Task task = new Task(name, effect);
+        if (tryAcquireSlot()) {
+            run(task);
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.QUEUE && queuedTasks.incrementAndGet() <= queueCapacity) {
+            queue.offer(task);
+            // a slot may have been released meanwhile, with nothing left to poll
+            drainQueue();
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.QUEUE) {
+            queuedTasks.decrementAndGet();
+        }
+        if (required) {
+            inFlightTasks.incrementAndGet();
+            countTask(name, "overflowed");
+            log.warn("Side effect task [{}] started exceeding [{}] concurrency slots", name, maxConcurrency);
+            run(task);
+            return true;
+        }
+        countTask(name, "dropped");
+        log.warn("Side effect task [{}] dropped, all [{}] concurrency slots are busy", name, maxConcurrency);
+        return false;
+    }
+
+    private boolean tryAcquireSlot() {
+        if (inFlightTasks.incrementAndGet() <= maxConcurrency) {
+            return true;
+        }
+        inFlightTasks.decrementAndGet();
+        return false;
+    }
+
+    private void run(Task task) {
+        task.effect()
+                .doFinally(signal -> {
+                    inFlightTasks.decrementAndGet();
+                    drainQueue();
+                })
+                .subscribe(
+                        ignored -> {
+                        },
+                        exception -> {
+                            countTask(task.name(), "failed");
+                            log.error("Error executing side effect task [%s]".formatted(task.name()), exception);
+                        }
+                );
+    }
+
+    private void drainQueue() {
+        // tasks completing synchronously drain the queue again from within run:
+        // only the outermost call loops, avoiding unbounded recursion
+        if (drainInProgress.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!queue.isEmpty() && tryAcquireSlot()) {
+                Task task = queue.poll();
+                if (task == null) {
+                    inFlightTasks.decrementAndGet();
+                    break;
+                }
+                queuedTasks.decrementAndGet();
+                run(task);
+            }
+            missed = drainInProgress.addAndGet(-missed);
+        } while (missed != 0);
+        if (stopping && inFlightTasks.get() == 0 && queue.isEmpty()) {
+            drained.tryEmitEmpty();
+        }
+    }
+
+    private void countTask(
+                           String name,
+                           String outcome
+    ) {
+        meterRegistry.counter(METRIC_PREFIX, "task", name, "outcome", outcome).increment();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        // synchronous stop is not used by the lifecycle processor since
+        // stop(Runnable) is overridden
+        running = false;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stopping = true;
+        drainQueue();
+        drained.asMono()
+                .timeout(shutdownTimeout)
+                .doOnError(
+                        TimeoutException.class,
+                        exception -> log.warn(
+                                "Side effect tasks not completed within shutdown timeout, in flight: [{}], queued: [{}]",
+                                inFlightTasks.get(),
+                                queuedTasks.get()
+                        )
+                )
+                .onErrorResume(exception -> Mono.empty())
+                .doFinally(signal -> {
+                    running = false;
+                    callback.run();
+                })
+                .subscribe();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // stopped after the web server graceful shutdown (DEFAULT_PHASE - 1024),
+        // so that side effects of the last drained requests are awaited too
+        return SmartLifecycle.DEFAULT_PHASE - 1536;
+    }
+}
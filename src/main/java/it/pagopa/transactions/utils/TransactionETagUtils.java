@@ -0,0 +1,206 @@
+package it.pagopa.transactions.utils;
+
+import it.pagopa.transactions.exceptions.TransactionNotFoundException;
+import it.pagopa.transactions.repositories.SecondaryReadRouter;
+import it.pagopa.transactions.repositories.TransactionViewVersion;
+import it.pagopa.transactions.repositories.TransactionsViewProjectionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Utility class handling conditional GET requests for the transaction read
+ * endpoints. Responses are tagged with a weak ETag derived from the transaction
+ * view status and last processed event timestamp, so that a request whose
+ * If-None-Match header matches the current view version is answered with a
+ * 304 Not Modified response without building the response body.
+ * <p>
+ * The view version is read with a projection query, or from the final state
+ * response cache for transactions in an immutable state, before the response
+ * is built: a view update racing with the request can only tag a newer
+ * response with an older ETag, which costs the client one more full response
+ * but never makes it keep a stale one. Both reads may be served by secondary
+ * members, so the version sent back by the client is required for the version
+ * read and the read version is required for the response reads, through
+ * {@link SecondaryReadRouter#minVersion(Long)}: a lagging secondary never
+ * makes a response go back to an older version or be tagged with a newer one.
+ */
+@Component
+@Slf4j
+public class TransactionETagUtils {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private static final String ANY_ETAG = "*";
+
+    private final TransactionsViewProjectionRepository transactionsViewProjectionRepository;
+
+    private final FinalStateResponseCache finalStateResponseCache;
+
+    private final boolean enabled;
+
+    @Autowired
+    public TransactionETagUtils(
+            TransactionsViewProjectionRepository transactionsViewProjectionRepository,
+            FinalStateResponseCache finalStateResponseCache,
+            @Value("${transactionsview.conditionalRequests.enabled}") boolean enabled
+    ) {
+        this.transactionsViewProjectionRepository = transactionsViewProjectionRepository;
+        this.finalStateResponseCache = finalStateResponseCache;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Serve a transaction read request, honoring its If-None-Match header
+     *
+     * @param transactionId    the transaction id
+     * @param xUserId          the user requesting the transaction, if any
+     * @param request          the incoming request
+     * @param responseSupplier the supplier of the response body, invoked only if
+     *                         the client copy is not up-to-date
+     * @param <T>              the response body type
+     * @return a 304 response if the client copy is up-to-date, the response
+     *         built by the supplier otherwise
+     */
+    public <T> Mono<ResponseEntity<T>> conditionalGet(
+                                                      String transactionId,
+                                                      UUID xUserId,
+                                                      ServerHttpRequest request,
+                                                      Supplier<Mono<T>> responseSupplier
+    ) {
+        if (!enabled) {
+            return responseSupplier.get().map(ResponseEntity::ok);
+        }
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return getVersion(transactionId, xUserId)
+                .contextWrite(SecondaryReadRouter.minVersion(clientVersion(ifNoneMatch)))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(version -> {
+                    Optional<String> eTag = version.map(TransactionETagUtils::toETag);
+                    if (eTag.isPresent() && matches(ifNoneMatch, eTag.get())) {
+                        log.debug("Transaction with id: [{}] not modified", transactionId);
+                        return Mono.just(
+                                ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                        .eTag(eTag.get())
+                                        .cacheControl(CacheControl.noCache().cachePrivate())
+                                        .<T>build()
+                        );
+                    }
+                    return responseSupplier.get()
+                            .contextWrite(
+                                    SecondaryReadRouter.minVersion(
+                                            version.map(TransactionViewVersion::lastProcessedEventAt).orElse(null)
+                                    )
+                            )
+                            .map(
+                                    response -> eTag.map(
+                                            tag -> ResponseEntity.ok()
+                                                    .eTag(tag)
+                                                    .cacheControl(CacheControl.noCache().cachePrivate())
+                                                    .body(response)
+                                    ).orElseGet(() -> ResponseEntity.ok(response))
+                            );
+                });
+    }
+
+    /**
+     * Get the current transaction view version
+     *
+     * @param transactionId the transaction id
+     * @param xUserId       the user requesting the transaction, if any
+     * @return the view version, an empty Mono if the transaction view does not
+     *         exist or has no version information, or a
+     *         {@link TransactionNotFoundException} error if the transaction is not
+     *         owned by the requesting user
+     */
+    Mono<TransactionViewVersion> getVersion(
+                                            String transactionId,
+                                            UUID xUserId
+    ) {
+        return finalStateResponseCache.get(FinalStateResponseCache.TRANSACTION_VERSION, transactionId, xUserId)
+                .switchIfEmpty(
+                        Mono.defer(
+                                () -> transactionsViewProjectionRepository.findVersionById(transactionId)
+                                        .flatMap(version -> checkOwnership(version, xUserId))
+                        )
+                )
+                .filter(version -> toETag(version) != null);
+    }
+
+    private Mono<TransactionViewVersion> checkOwnership(
+                                                       TransactionViewVersion version,
+                                                       UUID xUserId
+    ) {
+        boolean isUserTransaction = xUserId == null ? version.userId() == null
+                : xUserId.toString().equals(version.userId());
+        if (!isUserTransaction) {
+            return Mono.error(new TransactionNotFoundException(version.transactionId()));
+        }
+        return Mono.just(
+                finalStateResponseCache.put(
+                        FinalStateResponseCache.TRANSACTION_VERSION,
+                        version.transactionId(),
+                        version.userId(),
+                        version.status(),
+                        version
+                )
+        );
+    }
+
+    private static String toETag(TransactionViewVersion version) {
+        if (version.status() == null || version.lastProcessedEventAt() == null) {
+            return null;
+        }
+        return "%s\"%s-%s\"".formatted(WEAK_PREFIX, version.lastProcessedEventAt(), version.status());
+    }
+
+    /**
+     * Get the newest view version the client has, from the last processed event
+     * timestamps of its If-None-Match ETags
+     */
+    private static Long clientVersion(List<String> ifNoneMatch) {
+        return ifNoneMatch.stream()
+                .map(TransactionETagUtils::lastProcessedEventAt)
+                .flatMap(Optional::stream)
+                .max(Long::compare)
+                .orElse(null);
+    }
+
+    private static Optional<Long> lastProcessedEventAt(String tag) {
+        String opaqueTag = opaqueTag(tag);
+        int separatorIndex = opaqueTag.indexOf('-');
+        if (!opaqueTag.startsWith("\"") || separatorIndex < 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(opaqueTag.substring(1, separatorIndex)));
+        } catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean matches(
+                                   List<String> ifNoneMatch,
+                                   String eTag
+    ) {
+        // If-None-Match uses the weak comparison, so the weak prefix is ignored
+        return ifNoneMatch.stream()
+                .anyMatch(tag -> ANY_ETAG.equals(tag) || opaqueTag(tag).equals(opaqueTag(eTag)));
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
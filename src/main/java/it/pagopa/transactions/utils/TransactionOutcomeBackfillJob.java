@@ -0,0 +1,139 @@
+package it.pagopa.transactions.utils;
+
+import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
+import it.pagopa.ecommerce.commons.documents.v2.Transaction;
+import it.pagopa.ecommerce.commons.redis.reactivetemplatewrappers.ReactiveExclusiveLockDocumentWrapper;
+import it.pagopa.ecommerce.commons.repositories.ExclusiveLockDocument;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Job that materializes the transaction outcome on the view documents written
+ * before the projection handlers started doing it. Documents are scanned in
+ * transaction id order, in batches, starting once the application is ready.
+ * Outcome updates are conditional on the view state, so the job can safely run
+ * alongside the projection handlers.
+ * <p>
+ * The {@code outcomeInfo} field is not indexed, so every scan is a collection
+ * scan: the job runs on the single instance acquiring the
+ * {@value #LOCK_ID} Redis exclusive lock, which is not released once done so
+ * that instances started within its TTL skip the scan too.
+ */
+@Component
+@Slf4j
+public class TransactionOutcomeBackfillJob implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final String LOCK_ID = "transaction-outcome-backfill";
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final int concurrency;
+
+    private final Duration lockTtl;
+
+    private final TransactionsViewOutcomeRepository transactionsViewOutcomeRepository;
+
+    private final TransactionOutcomeUtils transactionOutcomeUtils;
+
+    private final ReactiveExclusiveLockDocumentWrapper reactiveExclusiveLockDocumentWrapper;
+
+    private Disposable backfill;
+
+    @Autowired
+    public TransactionOutcomeBackfillJob(
+            @Value("${transactionsview.outcomeBackfill.enabled}") boolean enabled,
+            @Value("${transactionsview.outcomeBackfill.batchSize}") int batchSize,
+            @Value("${transactionsview.outcomeBackfill.concurrency}") int concurrency,
+            @Value("${transactionsview.outcomeBackfill.lockTtlSeconds}") int lockTtlSeconds,
+            TransactionsViewOutcomeRepository transactionsViewOutcomeRepository,
+            TransactionOutcomeUtils transactionOutcomeUtils,
+            ReactiveExclusiveLockDocumentWrapper reactiveExclusiveLockDocumentWrapper
+    ) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.lockTtl = Duration.ofSeconds(lockTtlSeconds);
+        this.transactionsViewOutcomeRepository = transactionsViewOutcomeRepository;
+        this.transactionOutcomeUtils = transactionOutcomeUtils;
+        this.reactiveExclusiveLockDocumentWrapper = reactiveExclusiveLockDocumentWrapper;
+    }
+
+    @Override
+    public void onApplicationEvent(@NotNull ApplicationReadyEvent event) {
+        if (enabled) {
+            backfill = runExclusively().onErrorComplete().subscribe();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (backfill != null) {
+            backfill.dispose();
+        }
+    }
+
+    /**
+     * Run the backfill if no other instance has run it within the lock TTL
+     *
+     * @return a Mono emitting the number of processed view documents, or an empty
+     *         Mono if the lock is held by another run
+     */
+    Mono<Long> runExclusively() {
+        return reactiveExclusiveLockDocumentWrapper
+                .saveIfAbsent(new ExclusiveLockDocument(LOCK_ID, "transactions-service"), lockTtl)
+                .filter(lockAcquired -> {
+                    if (!lockAcquired) {
+                        log.info("Transaction outcome backfill lock held by another run, skipping backfill");
+                    }
+                    return lockAcquired;
+                })
+                .flatMap(lockAcquired -> run());
+    }
+
+    /**
+     * Materialize the outcome on all the view documents not having it
+     *
+     * @return a Mono emitting the number of processed view documents
+     */
+    Mono<Long> run() {
+        log.info("Starting transaction outcome backfill with batch size: [{}]", batchSize);
+        return findBatch(null)
+                .expand(
+                        batch -> batch.size() < batchSize ? Mono.empty()
+                                : findBatch(batch.getLast().getTransactionId())
+                )
+                .concatMap(
+                        batch -> Flux.fromIterable(batch)
+                                .ofType(Transaction.class)
+                                .flatMap(transactionOutcomeUtils::backfillOutcome, concurrency)
+                                .then(Mono.just(batch.size()))
+                )
+                .reduce(0L, Long::sum)
+                .doOnNext(
+                        processed -> log.info(
+                                "Transaction outcome backfill completed, processed view documents: [{}]",
+                                processed
+                        )
+                )
+                .doOnError(exception -> log.error("Error performing transaction outcome backfill", exception));
+    }
+
+    private Mono<List<BaseTransactionView>> findBatch(String fromTransactionId) {
+        return transactionsViewOutcomeRepository.findWithoutOutcome(fromTransactionId, batchSize).collectList();
+    }
+}
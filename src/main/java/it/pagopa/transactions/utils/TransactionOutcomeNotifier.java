@@ -0,0 +1,183 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Notifier of transaction outcome changes, used to wake up the requests
+ * waiting for a transaction outcome instead of having clients poll for it.
+ * <p>
+ * Changes are notified locally by the projection handlers and, when enabled,
+ * fanned out to the other instances through a Redis pub/sub channel, published
+ * through the {@link SideEffectScheduler}. Only the transaction id and the
+ * updated view version are notified: waiting requests read the outcome again,
+ * requiring at least the notified version so that a lagging secondary member
+ * cannot serve them the view as it was before the update. Notifications never
+ * carry transaction data and a lost notification only delays the outcome until
+ * the waiting request re-checks it.
+ */
+@Component
+@Slf4j
+public class TransactionOutcomeNotifier implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final String METRIC_NAME = "transaction.outcome.notifications";
+
+    private static final String SEPARATOR = ":";
+
+    private final Sinks.Many<TransactionOutcomeUpdate> updates = Sinks.many().multicast().directBestEffort();
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    private final SideEffectScheduler sideEffectScheduler;
+
+    private final boolean redisEnabled;
+
+    private final String channel;
+
+    private final Counter localNotifications;
+
+    private final Counter remoteNotifications;
+
+    private Disposable subscription;
+
+    @Autowired
+    public TransactionOutcomeNotifier(
+            ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+            MeterRegistry meterRegistry,
+            SideEffectScheduler sideEffectScheduler,
+            @Value("${transactionOutcomeUpdates.redis.enabled}") boolean redisEnabled,
+            @Value("${transactionOutcomeUpdates.redis.channel}") String channel
+    ) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.sideEffectScheduler = sideEffectScheduler;
+        this.redisEnabled = redisEnabled;
+        this.channel = channel;
+        this.localNotifications = Counter.builder(METRIC_NAME).tag("source", "local").register(meterRegistry);
+        this.remoteNotifications = Counter.builder(METRIC_NAME).tag("source", "redis").register(meterRegistry);
+    }
+
+    @Override
+    public void onApplicationEvent(@NotNull ApplicationReadyEvent event) {
+        if (redisEnabled) {
+            subscription = listen().subscribe();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Notify that the outcome of the input transaction may have changed
+     *
+     * @param transactionId        the transaction id
+     * @param lastProcessedEventAt the last processed event timestamp of the
+     *                             updated view, null if unknown
+     */
+    public void notifyUpdate(
+                             String transactionId,
+                             @Nullable Long lastProcessedEventAt
+    ) {
+        localNotifications.increment();
+        emit(new TransactionOutcomeUpdate(transactionId, lastProcessedEventAt));
+        if (redisEnabled) {
+            sideEffectScheduler.submit(
+                    "transactionOutcomeUpdatePublish",
+                    reactiveStringRedisTemplate.convertAndSend(
+                            channel,
+                            String.join(
+                                    SEPARATOR,
+                                    instanceId,
+                                    transactionId,
+                                    Objects.toString(lastProcessedEventAt, "")
+                            )
+                    )
+                            .onErrorResume(exception -> {
+                                log.warn(
+                                        "Error publishing outcome update for transactionId: [{}]",
+                                        transactionId,
+                                        exception
+                                );
+                                return Mono.empty();
+                            })
+            );
+        }
+    }
+
+    /**
+     * Get the outcome change notifications for the input transaction. The
+     * returned Flux is hot: only the notifications sent after the subscription
+     * are received.
+     *
+     * @param transactionId the transaction id
+     * @return the outcome change notifications
+     */
+    public Flux<TransactionOutcomeUpdate> updates(String transactionId) {
+        return updates.asFlux().filter(update -> transactionId.equals(update.transactionId()));
+    }
+
+    /**
+     * Listen to the notifications published by the other instances, re-subscribing
+     * to the channel if the Redis connection is lost
+     *
+     * @return the listening Flux
+     */
+    Flux<TransactionOutcomeUpdate> listen() {
+        return reactiveStringRedisTemplate.listenToChannel(channel)
+                .map(ReactiveSubscription.Message::getMessage)
+                .filter(message -> !message.startsWith(instanceId + SEPARATOR))
+                .map(TransactionOutcomeNotifier::toUpdate)
+                .doOnNext(update -> {
+                    remoteNotifications.increment();
+                    emit(update);
+                })
+                .doOnError(exception -> log.warn("Error listening to outcome updates channel", exception))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)));
+    }
+
+    private static TransactionOutcomeUpdate toUpdate(String message) {
+        // messages published by instances not sending the view version have no
+        // version part
+        String[] parts = message.split(SEPARATOR, -1);
+        Long lastProcessedEventAt = null;
+        if (parts.length > 2 && !parts[2].isEmpty()) {
+            try {
+                lastProcessedEventAt = Long.valueOf(parts[2]);
+            } catch (NumberFormatException exception) {
+                log.warn("Invalid view version in outcome update message: [{}]", message);
+            }
+        }
+        return new TransactionOutcomeUpdate(parts[1], lastProcessedEventAt);
+    }
+
+    private synchronized void emit(TransactionOutcomeUpdate update) {
+        // emissions are serialized here, any other failure (no subscribers or slow
+        // subscribers) only drops the notification
+        updates.tryEmitNext(update);
+    }
+}
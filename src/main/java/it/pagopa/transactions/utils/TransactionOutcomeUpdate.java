@@ -0,0 +1,21 @@
+package it.pagopa.transactions.utils;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+public record TransactionOutcomeUpdate(
+        @NonNull String transactionId,
+        @Nullable Long lastProcessedEventAt
+) {
+    /**
+     * Notification of a transaction outcome change, sent once the updated view
+     * has been written
+     *
+     * @param transactionId        transaction id
+     * @param lastProcessedEventAt last processed event timestamp of the updated
+     *                             view, null if unknown
+     */
+    public TransactionOutcomeUpdate {
+        // Do nothing
+    }
+}
@@ -0,0 +1,349 @@
+package it.pagopa.transactions.utils;
+
+import it.pagopa.ecommerce.commons.documents.PaymentNotice;
+import it.pagopa.ecommerce.commons.documents.v2.ClosureErrorData;
+import it.pagopa.ecommerce.commons.documents.v2.Transaction;
+import it.pagopa.ecommerce.commons.documents.v2.TransactionUserReceiptData;
+import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
+import it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto;
+import it.pagopa.transactions.repositories.TransactionViewOutcome;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static it.pagopa.generated.transactions.v2.server.model.OutcomeNpgGatewayDto.OperationResultEnum.EXECUTED;
+
+/**
+ * Utility class that evaluates the transaction outcome returned to the
+ * frontend from the transaction view state and materializes it on the view
+ * document, so that outcome polling doesn't need to re-evaluate it on every
+ * request.
+ */
+@Component
+@Slf4j
+public class TransactionOutcomeUtils {
+
+    private final TransactionsViewOutcomeRepository transactionsViewOutcomeRepository;
+
+    private final FinalStateResponseCache finalStateResponseCache;
+
+    private final TransactionOutcomeNotifier transactionOutcomeNotifier;
+
+    private final SideEffectScheduler sideEffectScheduler;
+
+    private final Map<String, TransactionOutcomeInfoDto.OutcomeEnum> npgAuthorizationErrorCodeMapping;
+
+    private final Set<TransactionStatusDto> ecommerceFinalStates;
+
+    private final Set<TransactionStatusDto> ecommercePossibleFinalState;
+
+    @Autowired
+    public TransactionOutcomeUtils(
+            TransactionsViewOutcomeRepository transactionsViewOutcomeRepository,
+            FinalStateResponseCache finalStateResponseCache,
+            TransactionOutcomeNotifier transactionOutcomeNotifier,
+            SideEffectScheduler sideEffectScheduler,
+            @Value("#{${npg.authorizationErrorCodeMapping}}") Map<String, String> npgAuthorizationErrorCodeMapping,
+            @Value("${ecommerce.finalStates}") Set<String> ecommerceFinalStates,
+            @Value("${ecommerce.possibleFinalStates}") Set<String> ecommercePossibleFinalStates
+    ) {
+        this.transactionsViewOutcomeRepository = transactionsViewOutcomeRepository;
+        this.finalStateResponseCache = finalStateResponseCache;
+        this.transactionOutcomeNotifier = transactionOutcomeNotifier;
+        this.sideEffectScheduler = sideEffectScheduler;
+        this.npgAuthorizationErrorCodeMapping = npgAuthorizationErrorCodeMapping.entrySet().stream().collect(
+                Collectors.toMap(
+                        Map.Entry::getKey,
+                        outcome -> TransactionOutcomeInfoDto.OutcomeEnum
+                                .fromValue(BigDecimal.valueOf(Long.parseLong(outcome.getValue())))
+                )
+        );
+        this.ecommerceFinalStates = ecommerceFinalStates.stream().map(TransactionStatusDto::valueOf)
+                .collect(Collectors.toSet());
+        this.ecommercePossibleFinalState = ecommercePossibleFinalStates.stream().map(TransactionStatusDto::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Materialize the outcome of the input transaction view on its document.
+     * The view document write is submitted as a side effect, so that it doesn't
+     * add to the command latency. Failures are logged and ignored, evaluation
+     * ones included, since readers fall back to evaluating the outcome from the
+     * view when it is missing or stale. The outcome of a transaction that
+     * reached an immutable state is cached too, so that outcome polling doesn't
+     * need to read the view anymore, and requests waiting for the transaction
+     * outcome are notified.
+     *
+     * @param transaction the transaction view, as just saved
+     * @return the input transaction view
+     */
+    public Mono<Transaction> materializeOutcome(Transaction transaction) {
+        return Mono.fromSupplier(
+                () -> finalStateResponseCache.put(
+                        FinalStateResponseCache.TRANSACTION_OUTCOME,
+                        transaction,
+                        evaluateOutcome(transaction)
+                )
+        )
+                .doOnNext(
+                        outcome -> sideEffectScheduler.submit(
+                                "transactionOutcomeMaterialization",
+                                updateOutcome(transaction, outcome)
+                        )
+                )
+                .onErrorResume(exception -> {
+                    log.warn(
+                            "Error evaluating outcome for transactionId: [{}]",
+                            transaction.getTransactionId(),
+                            exception
+                    );
+                    return Mono.empty();
+                })
+                .then(
+                        Mono.fromRunnable(
+                                () -> transactionOutcomeNotifier
+                                        .notifyUpdate(transaction.getTransactionId(), transaction.getLastProcessedEventAt())
+                        )
+                )
+                .thenReturn(transaction);
+    }
+
+    /**
+     * Materialize the outcome of the input transaction view on its document,
+     * without caching it. Used when materializing outcomes in bulk, where caching
+     * would only evict the responses of the transactions being polled. Evaluation
+     * and update errors are logged and ignored, so that a single document cannot
+     * stop the bulk materialization.
+     *
+     * @param transaction the transaction view
+     * @return the input transaction view
+     */
+    public Mono<Transaction> backfillOutcome(Transaction transaction) {
+        return Mono.fromCallable(() -> evaluateOutcome(transaction))
+                .onErrorResume(exception -> {
+                    log.warn(
+                            "Error evaluating outcome for transactionId: [{}]",
+                            transaction.getTransactionId(),
+                            exception
+                    );
+                    return Mono.empty();
+                })
+                .flatMap(outcome -> updateOutcome(transaction, outcome))
+                .thenReturn(transaction);
+    }
+
+    private Mono<Transaction> updateOutcome(
+                                            Transaction transaction,
+                                            TransactionViewOutcome outcome
+    ) {
+        return Mono.defer(
+                () -> transactionsViewOutcomeRepository.updateOutcome(transaction.getTransactionId(), outcome)
+        )
+                .doOnNext(
+                        updated -> log.debug(
+                                "Materialized outcome [{}] for transactionId: [{}], updated: [{}]",
+                                outcome.outcome(),
+                                transaction.getTransactionId(),
+                                updated
+                        )
+                )
+                .onErrorResume(exception -> {
+                    log.warn(
+                            "Error materializing outcome for transactionId: [{}]",
+                            transaction.getTransactionId(),
+                            exception
+                    );
+                    return Mono.empty();
+                })
+                .thenReturn(transaction);
+    }
+
+    /**
+     * Evaluate the outcome of the input transaction view
+     *
+     * @param transaction the transaction view
+     * @return the evaluated transaction outcome
+     */
+    public TransactionViewOutcome evaluateOutcome(Transaction transaction) {
+        TransactionOutcomeInfoDto.OutcomeEnum outcome = evaluateOutcome(
+                transaction.getStatus(),
+                transaction.getSendPaymentResultOutcome(),
+                transaction.getPaymentGateway(),
+                transaction.getGatewayAuthorizationStatus(),
+                transaction.getAuthorizationErrorCode(),
+                transaction.getClosureErrorData()
+        );
+        boolean isSuccessful = outcome == TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0;
+        return new TransactionViewOutcome(
+                outcome,
+                evaluateFinalStatus(
+                        transaction.getStatus(),
+                        transaction.getClosureErrorData(),
+                        transaction.getPaymentGateway(),
+                        transaction.getGatewayAuthorizationStatus()
+                ),
+                isSuccessful ? transaction.getPaymentNotices().stream().mapToLong(PaymentNotice::getAmount).sum()
+                        : null,
+                isSuccessful ? Optional.ofNullable(transaction.getFeeTotal()).orElse(0) : null,
+                transaction.getStatus(),
+                transaction.getLastProcessedEventAt()
+        );
+    }
+
+    private boolean evaluateFinalStatus(
+                                        TransactionStatusDto status,
+                                        ClosureErrorData closureErrorData,
+                                        String paymentGateway,
+                                        String gatewayAuthorizationStatus
+    ) {
+        return ecommerceFinalStates.contains(status) ||
+                (closureErrorData != null && closureErrorData.getHttpErrorCode() != null
+                        && closureErrorData.getHttpErrorCode().is4xxClientError())
+                ||
+                (ecommercePossibleFinalState.contains(status)
+                        && paymentGateway != null
+                        && gatewayAuthorizationStatus != null
+                        && !wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus));
+    }
+
+    private boolean wasAuthorizedByGateway(String gateway, String gatewayAuthorizationStatus) {
+        return switch (gateway) {
+            case "NPG" -> EXECUTED.getValue().equals(gatewayAuthorizationStatus);
+            case "REDIRECT" -> "OK".equals(gatewayAuthorizationStatus);
+            case null, default -> false;
+        };
+    }
+
+    private TransactionOutcomeInfoDto.OutcomeEnum evaluateOutcome(
+            TransactionStatusDto status,
+            TransactionUserReceiptData.Outcome sendPaymentResultOutcome,
+            String paymentGateway,
+            String gatewayAuthorizationStatus,
+            String authorizationErrorCode,
+            ClosureErrorData closureErrorData
+    ) {
+        if (closureErrorData != null) {
+            return wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus) ?
+                    evaluateClosePaymentResultError(closureErrorData) : //Authorized
+                    evaluateUnauthorizedStatus(paymentGateway, gatewayAuthorizationStatus, authorizationErrorCode); //Not authorized
+        } else {
+            switch (status) {
+                case NOTIFIED_OK -> {
+                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0;
+                }
+                case NOTIFICATION_REQUESTED, NOTIFICATION_ERROR -> {
+                    return TransactionUserReceiptData.Outcome.OK.equals(sendPaymentResultOutcome)
+                            ? TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0
+                            : TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
+                }
+                case EXPIRED_NOT_AUTHORIZED -> {
+                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_4;
+                }
+                case CANCELED, CANCELLATION_EXPIRED -> {
+                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_8;
+                }
+                case CLOSURE_ERROR, AUTHORIZATION_COMPLETED -> {
+                    return wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus) ?
+                            TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1 : //Authorized
+                            evaluateUnauthorizedStatus(
+                                    paymentGateway,
+                                    gatewayAuthorizationStatus,
+                                    authorizationErrorCode); //Not authorized
+                }
+                case CLOSURE_REQUESTED -> {
+                    return wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus) ?
+                            TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17 :
+                            evaluateUnauthorizedStatus(
+                                    paymentGateway,
+                                    gatewayAuthorizationStatus,
+                                    authorizationErrorCode);
+                }
+                case UNAUTHORIZED -> {
+                    return wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus) ?
+                            TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25 :
+                            evaluateUnauthorizedStatus(
+                                    paymentGateway,
+                                    gatewayAuthorizationStatus,
+                                    authorizationErrorCode);
+                }
+                case CLOSED -> {
+                    return sendPaymentResultOutcome != null
+                            && sendPaymentResultOutcome.equals(TransactionUserReceiptData.Outcome.NOT_RECEIVED)
+                            ? TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17
+                            : TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
+                }
+                case EXPIRED -> {
+                    if (paymentGateway == null || gatewayAuthorizationStatus == null)
+                        return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17;
+                    else if (!wasAuthorizedByGateway(paymentGateway, gatewayAuthorizationStatus)) {
+                        return evaluateUnauthorizedStatus(paymentGateway, gatewayAuthorizationStatus, authorizationErrorCode);
+                    } else {
+                        return switch (sendPaymentResultOutcome) {
+                            case OK -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0;
+                            case KO -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
+                            case NOT_RECEIVED -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17;
+                            case null -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
+                        };
+                    }
+                }
+                case AUTHORIZATION_REQUESTED -> {
+                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17;
+                }
+                case NOTIFIED_KO, REFUNDED, REFUND_ERROR, REFUND_REQUESTED -> {
+                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18;
+                }
+                case null, default -> {
+                    return TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
+                }
+            }
+        }
+    }
+
+    private TransactionOutcomeInfoDto.OutcomeEnum evaluateClosePaymentResultError(ClosureErrorData closureErrorData) {
+        HttpStatus status = closureErrorData.getHttpErrorCode();
+        String errorDescription = closureErrorData.getErrorDescription();
+        return switch (status) {
+            case UNPROCESSABLE_ENTITY -> "Node did not receive RPT yet".equals(errorDescription)
+                    ? TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18
+                    : TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
+
+            case BAD_REQUEST ->
+                    "Invalid token".equals(errorDescription) ? TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17 : TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18;
+            case NOT_FOUND -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18;
+            case null, default -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1;
+
+        };
+    }
+
+    private TransactionOutcomeInfoDto.OutcomeEnum evaluateUnauthorizedStatus(String paymentGateway, String gatewayAuthorizationStatus, String authorizationErrorCode) {
+        return switch (paymentGateway) {
+            case "NPG" -> switch (gatewayAuthorizationStatus) {
+                case "CANCELED" -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_8;
+                case "DENIED_BY_RISK", "THREEDS_VALIDATED", "THREEDS_FAILED" ->
+                        TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_2;
+                case "AUTHORIZED", "PENDING", "VOIDED", "REFUNDED", "FAILED" ->
+                        TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
+                case "DECLINED" ->
+                        Optional.ofNullable(npgAuthorizationErrorCodeMapping.get(authorizationErrorCode)).orElse(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25);
+                case null, default -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
+            };
+            case "REDIRECT" -> switch (gatewayAuthorizationStatus) {
+                case "KO" -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_2;
+                case "CANCELED" -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_8;
+                case "ERROR", "EXPIRED" -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
+                case null, default -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25;
+            };
+            case null, default -> TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17;
+        };
+    }
+}
@@ -0,0 +1,390 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import it.pagopa.generated.wallet.v1.dto.WalletNotificationRequestCardDetailsDto;
+import it.pagopa.generated.wallet.v1.dto.WalletNotificationRequestDto;
+import it.pagopa.transactions.client.WalletClient;
+import it.pagopa.transactions.configurations.WalletConfig;
+import it.pagopa.transactions.exceptions.WalletErrorResponseException;
+import it.pagopa.transactions.repositories.WalletNotificationJob;
+import it.pagopa.transactions.repositories.WalletNotificationJobTemplateWrapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background executor for POST wallet notifications performed for payments
+ * with contextual onboarding.
+ * <p>
+ * Submitted jobs are persisted to Redis and then queued into a bounded
+ * in-memory queue, drained with a configurable concurrency, through the
+ * {@link SideEffectScheduler}, so that the submitting request does not wait
+ * for Redis. Each notification is retried with exponential backoff and jitter,
+ * except for wallet 4xx responses that are not retried. Jobs are removed from
+ * Redis once completed, while jobs still pending because of a shutdown, a full
+ * queue or exhausted retries are replayed by a recovery sweep, run by every
+ * instance at startup and then every {@code recoveryIntervalSeconds}.
+ * <p>
+ * Since every instance replays all the persisted jobs, each job is claimed with
+ * a Redis lease lasting the retry window before being executed: jobs leased by
+ * another execution, or already completed and removed, are skipped, and jobs
+ * left pending by an execution are replayed once its lease expires. Every
+ * execution increments the job attempts count persisted with the job, and jobs
+ * that reached the configured max attempts are discarded instead of being
+ * replayed again.
+ * <p>
+ * A full queue never blocks the caller: the job is rejected, counted and left
+ * persisted for the next recovery sweep.
+ */
+@Component
+@Slf4j
+public class WalletNotificationExecutor implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final String METRIC_PREFIX = "wallet.notification.jobs";
+
+    private final WalletClient walletClient;
+
+    private final WalletNotificationJobTemplateWrapper walletNotificationJobTemplateWrapper;
+
+    private final WalletConfig.NotificationConf notificationConf;
+
+    private final SideEffectScheduler sideEffectScheduler;
+
+    private final Sinks.Many<QueuedJob> jobsSink;
+
+    private final Set<String> localJobIds = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter retriesCounter;
+
+    private final Timer executionTimer;
+
+    private Disposable subscription;
+
+    private Disposable recovery;
+
+    /**
+     * Queued job, along with whether it has been persisted. Jobs that could not
+     * be persisted cannot be claimed and are executed right away
+     */
+    private record QueuedJob(
+            WalletNotificationJob job,
+            boolean persisted
+    ) {
+    }
+
+    @Autowired
+    public WalletNotificationExecutor(
+            WalletClient walletClient,
+            WalletNotificationJobTemplateWrapper walletNotificationJobTemplateWrapper,
+            WalletConfig walletConfig,
+            MeterRegistry meterRegistry,
+            SideEffectScheduler sideEffectScheduler
+    ) {
+        this.walletClient = walletClient;
+        this.walletNotificationJobTemplateWrapper = walletNotificationJobTemplateWrapper;
+        this.notificationConf = walletConfig.notification();
+        this.meterRegistry = meterRegistry;
+        this.sideEffectScheduler = sideEffectScheduler;
+        this.jobsSink = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<QueuedJob>get(notificationConf.queueCapacity()).get());
+        this.retriesCounter = Counter.builder("wallet.notification.retries")
+                .description("Number of POST wallet notification retries")
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Time taken to complete a wallet notification job, retries included")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", queuedJobs, AtomicInteger::get)
+                .description("Number of wallet notification jobs waiting to be executed")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".running", runningJobs, AtomicInteger::get)
+                .description("Number of wallet notification jobs currently executing")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onApplicationEvent(@NotNull ApplicationReadyEvent event) {
+        start();
+        startRecovery();
+    }
+
+    /**
+     * Start draining the jobs queue. Jobs submitted before this method is called
+     * are buffered up to the queue capacity
+     */
+    public synchronized void start() {
+        if (subscription != null) {
+            return;
+        }
+        subscription = jobsSink.asFlux()
+                .doOnNext(queuedJob -> queuedJobs.decrementAndGet())
+                .flatMap(
+                        queuedJob -> Mono.defer(() -> execute(queuedJob))
+                                .doFinally(signal -> localJobIds.remove(queuedJob.job().transactionId())),
+                        notificationConf.concurrency()
+                )
+                .subscribe();
+    }
+
+    /**
+     * Start the periodic recovery sweep of the persisted jobs, running the first
+     * sweep right away. Each sweep is submitted to the {@link SideEffectScheduler}
+     */
+    public synchronized void startRecovery() {
+        if (recovery != null) {
+            return;
+        }
+        recovery = Flux.interval(Duration.ZERO, Duration.ofSeconds(notificationConf.recoveryIntervalSeconds()))
+                .subscribe(
+                        ignored -> sideEffectScheduler.submit("walletNotificationJobsRecovery", recoverPendingJobs())
+                );
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recovery != null) {
+            recovery.dispose();
+        }
+        if (subscription != null) {
+            // queued and running jobs are persisted and will be replayed by the
+            // recovery sweep of any instance once their lease expires
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Persist and enqueue the input wallet notification job. Both are performed
+     * through the {@link SideEffectScheduler}, so the caller never waits for
+     * them
+     *
+     * @param job the wallet notification job
+     */
+    public void submit(WalletNotificationJob job) {
+        sideEffectScheduler.submitRequired(
+                "walletNotificationJobSubmission",
+                walletNotificationJobTemplateWrapper.save(job)
+                        .onErrorResume(exception -> {
+                            log.warn(
+                                    "Cannot persist wallet notification job for transaction with id: [{}], job will not survive a restart",
+                                    job.transactionId(),
+                                    exception
+                            );
+                            return Mono.just(false);
+                        })
+                        .map(persisted -> enqueue(new QueuedJob(job, persisted), "submitted"))
+        );
+    }
+
+    /**
+     * Replay the persisted jobs not already queued or running on this instance
+     *
+     * @return the number of replayed jobs
+     */
+    public Mono<Long> recoverPendingJobs() {
+        return walletNotificationJobTemplateWrapper.findAll()
+                .filter(job -> !localJobIds.contains(job.transactionId()))
+                .filter(job -> enqueue(new QueuedJob(job, true), "recovered"))
+                .count()
+                .doOnNext(count -> log.info("Recovered [{}] pending wallet notification jobs", count))
+                .onErrorResume(exception -> {
+                    log.error("Error recovering pending wallet notification jobs", exception);
+                    return Mono.just(0L);
+                });
+    }
+
+    private synchronized boolean enqueue(
+                                         QueuedJob queuedJob,
+                                         String source
+    ) {
+        String transactionId = queuedJob.job().transactionId();
+        if (!localJobIds.add(transactionId)) {
+            // already queued or running on this instance
+            return false;
+        }
+        Sinks.EmitResult emitResult = jobsSink.tryEmitNext(queuedJob);
+        if (emitResult.isSuccess()) {
+            queuedJobs.incrementAndGet();
+            countJob(source);
+            return true;
+        }
+        localJobIds.remove(transactionId);
+        countJob("rejected");
+        log.warn(
+                "Wallet notification job for transaction with id: [{}] rejected with emit result: [{}], it will be replayed by the next recovery sweep",
+                transactionId,
+                emitResult
+        );
+        return false;
+    }
+
+    private Mono<Void> execute(QueuedJob queuedJob) {
+        if (!queuedJob.persisted()) {
+            return notifyWallet(queuedJob.job().nextAttempt());
+        }
+        return claim(queuedJob.job())
+                .flatMap(claimedJob -> {
+                    if (claimedJob.attempts() > notificationConf.maxJobAttempts()) {
+                        log.error(
+                                "Discarding wallet notification job for transaction with id: [{}] after [{}] attempts, wallet status may have not been updated correctly!",
+                                claimedJob.transactionId(),
+                                claimedJob.attempts() - 1
+                        );
+                        countJob("discarded");
+                        return deleteJob(claimedJob);
+                    }
+                    return walletNotificationJobTemplateWrapper.save(claimedJob)
+                            .onErrorResume(exception -> {
+                                log.warn(
+                                        "Cannot persist attempts of wallet notification job for transaction with id: [{}]",
+                                        claimedJob.transactionId(),
+                                        exception
+                                );
+                                return Mono.just(false);
+                            })
+                            .then(Mono.defer(() -> notifyWallet(claimedJob)));
+                });
+    }
+
+    /**
+     * Claim the input job, returning it with the attempts count incremented.
+     * Redis errors do not prevent the execution, since a job that cannot be
+     * claimed most likely could not be persisted and replayed either
+     *
+     * @param job the job to be claimed
+     * @return the claimed job, or an empty Mono if the job is leased by another
+     *         execution or has already been completed
+     */
+    private Mono<WalletNotificationJob> claim(WalletNotificationJob job) {
+        return walletNotificationJobTemplateWrapper.claim(job, retryWindow())
+                .flatMap(
+                        claimed -> Boolean.TRUE.equals(claimed)
+                                ? walletNotificationJobTemplateWrapper.findById(job.transactionId())
+                                : Mono.empty()
+                )
+                .onErrorResume(exception -> {
+                    log.warn(
+                            "Cannot claim wallet notification job for transaction with id: [{}], executing it anyway",
+                            job.transactionId(),
+                            exception
+                    );
+                    return Mono.just(job);
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> {
+                    log.info(
+                            "Skipping wallet notification job for transaction with id: [{}], leased by another execution or already completed",
+                            job.transactionId()
+                    );
+                    countJob("skipped");
+                }))
+                .map(WalletNotificationJob::nextAttempt);
+    }
+
+    private Mono<Void> notifyWallet(WalletNotificationJob job) {
+        runningJobs.incrementAndGet();
+        long startTime = System.nanoTime();
+        return Mono.defer(() -> walletClient.notifyWallet(job.walletId(), job.orderId(), notificationRequest(job)))
+                .retryWhen(
+                        Retry.backoff(
+                                notificationConf.maxRetryAttempts(),
+                                Duration.ofSeconds(notificationConf.exponentialBackoffRetryOffsetSeconds())
+                        )
+                                .maxBackoff(Duration.ofSeconds(notificationConf.maxBackoffSeconds()))
+                                .jitter(notificationConf.jitterFactor())
+                                .filter(this::isRetryable)
+                                .doBeforeRetry(signal -> {
+                                    retriesCounter.increment();
+                                    log.warn("Exception performing POST wallet notification", signal.failure());
+                                })
+                )
+                .then(Mono.defer(() -> {
+                    log.info(
+                            "Post wallet performed successfully for walletId: [{}], with NPG operationResult: [{}]",
+                            job.walletId(),
+                            job.operationResult()
+                    );
+                    countJob("succeeded");
+                    return deleteJob(job);
+                }))
+                .onErrorResume(exception -> {
+                    log.error(
+                            "Error performing POST wallet notification, wallet status may have not been updated correctly!",
+                            exception
+                    );
+                    countJob("failed");
+                    // transient failures are kept to be replayed once the lease expires
+                    return Exceptions.isRetryExhausted(exception) ? Mono.empty() : deleteJob(job);
+                })
+                .doFinally(signal -> {
+                    runningJobs.decrementAndGet();
+                    executionTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                });
+    }
+
+    private boolean isRetryable(Throwable exception) {
+        return !(exception instanceof WalletErrorResponseException walletErrorResponseException
+                && walletErrorResponseException.getHttpStatus().is4xxClientError());
+    }
+
+    private Mono<Void> deleteJob(WalletNotificationJob job) {
+        return walletNotificationJobTemplateWrapper.deleteById(job.transactionId())
+                .doOnError(
+                        exception -> log.warn(
+                                "Error deleting wallet notification job for transaction with id: [{}]",
+                                job.transactionId(),
+                                exception
+                        )
+                )
+                .onErrorResume(exception -> Mono.empty())
+                .then();
+    }
+
+    private void countJob(String outcome) {
+        meterRegistry.counter(METRIC_PREFIX, "outcome", outcome).increment();
+    }
+
+    private Duration retryWindow() {
+        return Duration.ofSeconds(
+                (long) notificationConf.maxBackoffSeconds() * (notificationConf.maxRetryAttempts() + 1)
+        );
+    }
+
+    private static WalletNotificationRequestDto notificationRequest(WalletNotificationJob job) {
+        return new WalletNotificationRequestDto()
+                .timestampOperation(OffsetDateTime.parse(job.timestampOperation()))
+                .operationId(job.operationId())
+                .operationResult(WalletNotificationRequestDto.OperationResultEnum.fromValue(job.operationResult()))
+                .errorCode(job.errorCode())
+                .details(
+                        // payment with contextual onboarding supported only for CARD method
+                        new WalletNotificationRequestCardDetailsDto()
+                                .paymentInstrumentGatewayId(job.paymentInstrumentGatewayId())
+                                .type("CARD")
+                );
+    }
+}
@@ -0,0 +1,468 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import it.pagopa.ecommerce.commons.domain.v2.TransactionId;
+import it.pagopa.generated.transactions.model.ActivatePaymentNoticeV2Request;
+import it.pagopa.generated.transactions.model.CtQrCode;
+import it.pagopa.generated.transactions.model.ObjectFactory;
+import it.pagopa.transactions.utils.soap.Jaxb2SoapDecoder;
+import it.pagopa.transactions.utils.soap.Jaxb2SoapEncoder;
+import it.pagopa.transactions.utils.soap.SoapEnvelope;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Warmup engine executed once the application is ready, before the instance is
+ * reported as ready to accept traffic.
+ * <p>
+ * Each warmup round runs every scenario concurrently against the running
+ * server: transaction activation and info retrieval for every API version,
+ * outcomes retrieval, authorization request, authorization outcome update, user
+ * receipt and the Nodo SOAP codec. Scenarios not involving transaction
+ * activation target random, not existing, transactions so that they exercise
+ * request decoding, validation, service lookup and error handling without
+ * reaching any downstream service. Any HTTP response counts as a completed
+ * warmup request.
+ * <p>
+ * Authorization request, authorization outcome update and user receipt
+ * requests carry a body failing validation on a single field: they exercise
+ * request decoding, bean validation and the bad request handling only, and are
+ * rejected before any Redis exclusive lock is acquired or any transaction status
+ * update outcome is recorded, so they are safe to run against production
+ * instances.
+ * <p>
+ * JIT compilation time is logged after every round, to follow how much code is
+ * still being compiled. The engine is exposed as the {@code warmupEngine}
+ * health indicator, included into the readiness group, that is
+ * {@code OUT_OF_SERVICE} until all rounds are completed or the overall warmup
+ * timeout expires.
+ */
+@Component
+@Slf4j
+public class WarmupEngine implements ApplicationListener<ApplicationReadyEvent>, HealthIndicator {
+
+    static final String METRIC_PREFIX = "warmup";
+
+    static final String METRIC_NAME = METRIC_PREFIX + ".requests";
+
+    private record WarmupScenario(
+            String name,
+            Supplier<Mono<?>> request
+    ) {
+    }
+
+    // negative amount
+    static final String INVALID_AUTHORIZATION_REQUEST = """
+            {
+                "amount": -1,
+                "fee": 10,
+                "paymentInstrumentId": "paymentInstrumentId",
+                "pspId": "pspId",
+                "language": "IT",
+                "isAllCCP": false,
+                "details": {
+                    "detailType": "cards",
+                    "orderId": "orderId"
+                }
+            }
+            """;
+
+    // missing timestampOperation
+    static final String INVALID_UPDATE_AUTHORIZATION_REQUEST = """
+            {
+                "outcomeGateway": {
+                    "paymentGatewayType": "NPG",
+                    "operationResult": "EXECUTED",
+                    "orderId": "orderId",
+                    "operationId": "operationId",
+                    "authorizationCode": "authorizationCode",
+                    "paymentEndToEndId": "paymentEndToEndId",
+                    "rrn": "rrn"
+                }
+            }
+            """;
+
+    // no payments
+    static final String INVALID_ADD_USER_RECEIPT_REQUEST = """
+            {
+                "outcome": "OK",
+                "paymentDate": "%s",
+                "payments": []
+            }
+            """;
+
+    private final boolean enabled;
+
+    private final int rounds;
+
+    private final int concurrency;
+
+    private final Duration requestTimeout;
+
+    private final Duration timeout;
+
+    private final String apiKey;
+
+    private final TransactionsUtils transactionsUtils;
+
+    private final MeterRegistry meterRegistry;
+
+    private final WebClient webClient;
+
+    private final CompilationMXBean compilationMXBean = ManagementFactory.getCompilationMXBean();
+
+    private final Jaxb2SoapEncoder soapEncoder = new Jaxb2SoapEncoder();
+
+    private final Jaxb2SoapDecoder soapDecoder = new Jaxb2SoapDecoder();
+
+    private final ObjectFactory objectFactoryNodeForPsp = new ObjectFactory();
+
+    private final Sinks.Empty<Void> completion = Sinks.empty();
+
+    private volatile boolean completed;
+
+    @Autowired
+    public WarmupEngine(
+            @Value("${warmup.enabled}") boolean enabled,
+            @Value("${warmup.baseUrl}") String baseUrl,
+            @Value("${warmup.rounds}") int rounds,
+            @Value("${warmup.concurrency}") int concurrency,
+            @Value("${warmup.requestTimeoutMillis}") int requestTimeoutMillis,
+            @Value("${warmup.timeoutSeconds}") int timeoutSeconds,
+            @Value("${security.apiKey.primary}") String apiKey,
+            TransactionsUtils transactionsUtils,
+            MeterRegistry meterRegistry
+    ) {
+        this(
+                enabled,
+                rounds,
+                concurrency,
+                Duration.ofMillis(requestTimeoutMillis),
+                Duration.ofSeconds(timeoutSeconds),
+                apiKey,
+                transactionsUtils,
+                meterRegistry,
+                WebClient.builder().baseUrl(baseUrl).build()
+        );
+    }
+
+    WarmupEngine(
+            boolean enabled,
+            int rounds,
+            int concurrency,
+            Duration requestTimeout,
+            Duration timeout,
+            String apiKey,
+            TransactionsUtils transactionsUtils,
+            MeterRegistry meterRegistry,
+            WebClient webClient
+    ) {
+        this.enabled = enabled;
+        this.rounds = rounds;
+        this.concurrency = concurrency;
+        this.requestTimeout = requestTimeout;
+        this.timeout = timeout;
+        this.apiKey = apiKey;
+        this.transactionsUtils = transactionsUtils;
+        this.meterRegistry = meterRegistry;
+        this.webClient = webClient;
+        this.completed = !enabled;
+        if (!enabled) {
+            completion.tryEmitEmpty();
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(@NotNull ApplicationReadyEvent event) {
+        if (enabled) {
+            run().subscribe();
+        }
+    }
+
+    @Override
+    public Health health() {
+        return completed ? Health.up().build() : Health.outOfService().withDetail("warmup", "in progress").build();
+    }
+
+    boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Signal the end of the warmup, whatever its outcome
+     *
+     * @return a Mono completing once all warmup rounds are completed or the
+     *         overall warmup timeout expires, immediately if the warmup is
+     *         disabled
+     */
+    public Mono<Void> completion() {
+        return completion.asMono();
+    }
+
+    /**
+     * Run all warmup rounds, marking the warmup as completed at the end
+     *
+     * @return a Mono completing once the warmup has ended
+     */
+    Mono<Void> run() {
+        List<WarmupScenario> scenarios = scenarios();
+        long startTime = System.nanoTime();
+        log.info("Starting warmup: [{}] rounds of [{}] scenarios", rounds, scenarios.size());
+        return Flux.range(1, rounds)
+                .concatMap(round -> runRound(round, scenarios))
+                .then()
+                .timeout(timeout)
+                .doOnError(
+                        TimeoutException.class,
+                        exception -> log.warn("Warmup not completed within [{}], marking it as completed", timeout)
+                )
+                .onErrorResume(exception -> Mono.empty())
+                .doFinally(signal -> {
+                    long elapsedNanos = System.nanoTime() - startTime;
+                    completed = true;
+                    meterRegistry.timer(METRIC_PREFIX + ".duration").record(elapsedNanos, TimeUnit.NANOSECONDS);
+                    log.info(
+                            "Warmup completed in [{}] ms, total JIT compilation time: [{}] ms",
+                            Duration.ofNanos(elapsedNanos).toMillis(),
+                            compilationTimeMillis()
+                    );
+                    completion.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> runRound(
+                                int round,
+                                List<WarmupScenario> scenarios
+    ) {
+        return Mono.defer(() -> {
+            long startTime = System.nanoTime();
+            long startCompilationTime = compilationTimeMillis();
+            return Flux.fromIterable(scenarios)
+                    .flatMap(this::runScenario, concurrency)
+                    .then()
+                    .doOnSuccess(ignored -> {
+                        long compilationTime = compilationTimeMillis();
+                        log.info(
+                                "Warmup round [{}/{}] completed in [{}] ms, JIT compilation time: [{}] ms (+[{}] ms)",
+                                round,
+                                rounds,
+                                Duration.ofNanos(System.nanoTime() - startTime).toMillis(),
+                                compilationTime,
+                                compilationTime - startCompilationTime
+                        );
+                    });
+        });
+    }
+
+    private Mono<Void> runScenario(WarmupScenario scenario) {
+        return Mono.defer(scenario.request())
+                .timeout(requestTimeout)
+                .doOnSuccess(ignored -> countRequest(scenario.name(), "completed"))
+                .onErrorResume(exception -> {
+                    log.warn("Error executing warmup scenario [{}]: [{}]", scenario.name(), exception.toString());
+                    countRequest(scenario.name(), "failed");
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private List<WarmupScenario> scenarios() {
+        return List.of(
+                new WarmupScenario("newTransactionV1", this::newTransactionV1),
+                new WarmupScenario("newTransactionV2", this::newTransactionV2),
+                new WarmupScenario("newTransactionV2_1", this::newTransactionV2_1),
+                new WarmupScenario(
+                        "getTransactionOutcomes",
+                        () -> exchange(
+                                webClient.get()
+                                        .uri("/transactions/{transactionId}/outcomes", randomTransactionId())
+                                        .header("x-api-key", apiKey)
+                        )
+                ),
+                new WarmupScenario(
+                        "requestAuthorization",
+                        () -> exchange(
+                                webClient.post()
+                                        .uri("/transactions/{transactionId}/auth-requests", randomTransactionId())
+                                        .header("x-api-key", apiKey)
+                                        .header("x-pgs-id", "NPG")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(INVALID_AUTHORIZATION_REQUEST)
+                        )
+                ),
+                new WarmupScenario(
+                        "updateAuthorization",
+                        () -> exchange(
+                                webClient.patch()
+                                        .uri("/v2/transactions/{transactionId}/auth-requests", randomTransactionId())
+                                        .header("x-api-key", apiKey)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(INVALID_UPDATE_AUTHORIZATION_REQUEST)
+                        )
+                ),
+                new WarmupScenario(
+                        "addUserReceipt",
+                        () -> exchange(
+                                webClient.post()
+                                        .uri("/transactions/{transactionId}/user-receipts", randomTransactionId())
+                                        .header("x-api-key", apiKey)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(INVALID_ADD_USER_RECEIPT_REQUEST.formatted(OffsetDateTime.now()))
+                        )
+                ),
+                new WarmupScenario("nodoSoapCodec", this::soapCodecRoundTrip)
+        );
+    }
+
+    private Mono<?> newTransactionV1() {
+        return webClient.post()
+                .uri("/transactions")
+                .header("X-Client-Id", "CHECKOUT")
+                .header("x-api-key", apiKey)
+                .bodyValue(transactionsUtils.buildWarmupRequestV1())
+                .retrieve()
+                .bodyToMono(it.pagopa.generated.transactions.server.model.NewTransactionResponseDto.class)
+                .flatMap(
+                        newTransactionResponse -> exchange(
+                                webClient.get()
+                                        .uri("/transactions/{transactionId}", newTransactionResponse.getTransactionId())
+                                        .header("x-api-key", apiKey)
+                        )
+                                .then(
+                                        exchange(
+                                                webClient.get()
+                                                        .uri(
+                                                                "/transactions/{transactionId}/outcomes",
+                                                                newTransactionResponse.getTransactionId()
+                                                        )
+                                                        .header("x-api-key", apiKey)
+                                        )
+                                )
+                );
+    }
+
+    private Mono<?> newTransactionV2() {
+        return webClient.post()
+                .uri("/v2/transactions")
+                .header("X-Client-Id", "CHECKOUT")
+                .header("x-correlation-id", UUID.randomUUID().toString())
+                .header("x-api-key", apiKey)
+                .bodyValue(transactionsUtils.buildWarmupRequestV2())
+                .retrieve()
+                .bodyToMono(it.pagopa.generated.transactions.v2.server.model.NewTransactionResponseDto.class)
+                .flatMap(
+                        newTransactionResponse -> exchange(
+                                webClient.get()
+                                        .uri(
+                                                "/v2/transactions/{transactionId}",
+                                                newTransactionResponse.getTransactionId()
+                                        )
+                                        .header("X-Client-Id", "CHECKOUT")
+                                        .header("x-api-key", apiKey)
+                        )
+                );
+    }
+
+    private Mono<?> newTransactionV2_1() {
+        return webClient.post()
+                .uri("/v2.1/transactions")
+                .header("X-Client-Id", "CHECKOUT")
+                .header("x-correlation-id", UUID.randomUUID().toString())
+                .header("x-api-key", apiKey)
+                .bodyValue(transactionsUtils.buildWarmupRequestV2_1())
+                .retrieve()
+                .bodyToMono(it.pagopa.generated.transactions.v2_1.server.model.NewTransactionResponseDto.class)
+                .flatMap(
+                        newTransactionResponse -> exchange(
+                                webClient.get()
+                                        .uri("/transactions/{transactionId}", newTransactionResponse.getTransactionId())
+                                        .header("x-api-key", apiKey)
+                        )
+                );
+    }
+
+    private Mono<Integer> exchange(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(
+                response -> response.releaseBody().thenReturn(response.statusCode().value())
+        );
+    }
+
+    private Mono<?> soapCodecRoundTrip() {
+        return Mono.fromSupplier(() -> {
+            CtQrCode qrCode = new CtQrCode();
+            qrCode.setFiscalCode("77777777777");
+            qrCode.setNoticeNumber("302000000000000000");
+            ActivatePaymentNoticeV2Request request = objectFactoryNodeForPsp.createActivatePaymentNoticeV2Request();
+            request.setIdPSP("idPSP");
+            request.setIdBrokerPSP("idBrokerPSP");
+            request.setIdChannel("idChannel");
+            request.setAmount(BigDecimal.ONE);
+            request.setQrCode(qrCode);
+            request.setIdempotencyKey("00000000000_0000000000");
+            return new SoapEnvelope("", objectFactoryNodeForPsp.createActivatePaymentNoticeV2Request(request));
+        })
+                .flatMap(
+                        soapEnvelope -> DataBufferUtils.join(
+                                soapEncoder.encode(
+                                        Mono.just(soapEnvelope),
+                                        DefaultDataBufferFactory.sharedInstance,
+                                        ResolvableType.forClass(SoapEnvelope.class),
+                                        MediaType.TEXT_XML,
+                                        Map.of()
+                                )
+                        )
+                )
+                .map(
+                        dataBuffer -> soapDecoder.decode(
+                                dataBuffer,
+                                ResolvableType.forClass(ActivatePaymentNoticeV2Request.class),
+                                MediaType.TEXT_XML,
+                                Map.of()
+                        )
+                );
+    }
+
+    private static String randomTransactionId() {
+        return new TransactionId(UUID.randomUUID()).value();
+    }
+
+    private long compilationTimeMillis() {
+        return compilationMXBean != null && compilationMXBean.isCompilationTimeMonitoringSupported()
+                ? compilationMXBean.getTotalCompilationTime()
+                : -1;
+    }
+
+    private void countRequest(
+                              String scenario,
+                              String outcome
+    ) {
+        meterRegistry.counter(METRIC_NAME, "scenario", scenario, "outcome", outcome).increment();
+    }
+}
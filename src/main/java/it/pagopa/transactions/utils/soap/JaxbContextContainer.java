@@ -5,26 +5,58 @@ import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
 
-final class JaxbContextContainer {
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
-    private static final String PACKAGE_NODE = "it.pagopa.generated.transactions.model";
+/**
+ * Holder of the JAXBContext for the Nodo SOAP model. The context is built on a
+ * dedicated background thread as soon as this class is initialized, so that
+ * calling {@link #initialize()} at startup overlaps its creation with the
+ * Spring context refresh
+ */
+public final class JaxbContextContainer {
 
-    private static final JAXBContext jaxbContext;
+    private static final String PACKAGE_NODE = "it.pagopa.generated.transactions.model";
 
-    static {
-        try {
-            jaxbContext = JAXBContext.newInstance(PACKAGE_NODE);
-        } catch (JAXBException e) {
-            throw new IllegalStateException("Exception initializing JaxbContext", e);
-        }
+    private static final CompletableFuture<JAXBContext> jaxbContext = CompletableFuture.supplyAsync(
+            () -> {
+                try {
+                    return JAXBContext.newInstance(PACKAGE_NODE);
+                } catch (JAXBException e) {
+                    throw new IllegalStateException("Exception initializing JaxbContext", e);
+                }
+            },
+            task -> {
+                Thread thread = new Thread(task, "jaxb-context-init");
+                thread.setDaemon(true);
+                thread.start();
+            }
+    );
+
+    /**
+     * Start the JAXBContext creation in background, if not already started
+     */
+    public static void initialize() {
+        // class initialization starts the context creation
     }
 
     public Marshaller createMarshaller() throws JAXBException {
-        return jaxbContext.createMarshaller();
+        return jaxbContext().createMarshaller();
     }
 
     public Unmarshaller createUnmarshaller() throws JAXBException {
-        return jaxbContext.createUnmarshaller();
+        return jaxbContext().createUnmarshaller();
+    }
+
+    private static JAXBContext jaxbContext() {
+        try {
+            return jaxbContext.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IllegalStateException illegalStateException) {
+                throw illegalStateException;
+            }
+            throw new IllegalStateException("Exception initializing JaxbContext", e.getCause());
+        }
     }
 
 }
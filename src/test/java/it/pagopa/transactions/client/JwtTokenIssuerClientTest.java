@@ -1,5 +1,6 @@
 package it.pagopa.transactions.client;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import it.pagopa.ecommerce.commons.generated.jwtissuer.v1.api.JwtIssuerApi;
 import it.pagopa.ecommerce.commons.generated.jwtissuer.v1.dto.CreateTokenRequestDto;
 import it.pagopa.ecommerce.commons.generated.jwtissuer.v1.dto.CreateTokenResponseDto;
@@ -18,12 +19,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -45,9 +49,21 @@ class JwtTokenIssuerClientTest {
     @Mock
     JwtIssuerApi jwtIssuerApi;
 
+    private final JwtLocalSigner disabledLocalSigner = new JwtLocalSigner(
+            new SimpleMeterRegistry(),
+            WebClient.create(),
+            false,
+            "",
+            "",
+            Duration.ofSeconds(5),
+            "",
+            Duration.ofMinutes(5),
+            Clock.systemUTC()
+    );
+
     @BeforeEach
     void init() {
-        client = new JwtTokenIssuerClient(jwtIssuerApi);
+        client = new JwtTokenIssuerClient(jwtIssuerApi, disabledLocalSigner);
         Hooks.onOperatorDebug();
     }
 
@@ -72,7 +88,7 @@ class JwtTokenIssuerClientTest {
     @Test
     void shouldAddApiKeyHeaderWhenMakingHttpRequest() throws IOException, InterruptedException {
         CreateTokenResponseDto createTokenResponseDto = new CreateTokenResponseDto().token("token");
-        JwtTokenIssuerClient jwtTokenIssuerClient = new JwtTokenIssuerClient(realJwtIssuerApi);
+        JwtTokenIssuerClient jwtTokenIssuerClient = new JwtTokenIssuerClient(realJwtIssuerApi, disabledLocalSigner);
         MockWebServer mockWebServer = new MockWebServer();
         mockWebServer.start(8080);
 
@@ -25,6 +25,7 @@ import org.springframework.web.server.ResponseStatusException;
 import org.testcontainers.shaded.com.fasterxml.jackson.core.JsonProcessingException;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.test.StepVerifier;
 
 import jakarta.xml.bind.JAXBElement;
@@ -418,7 +419,8 @@ class NodeForPspClientTest {
                 new WebClientsConfig().nodoWebClient(
                         "http://localhost:9000",
                         10000,
-                        10000
+                        10000,
+                        ConnectionProvider.create("test")
                 ),
                 "/",
                 ecommerceClientId,
@@ -462,7 +464,8 @@ class NodeForPspClientTest {
                 new WebClientsConfig().nodoWebClient(
                         "http://localhost:9000",
                         10000,
-                        10000
+                        10000,
+                        ConnectionProvider.create("test")
                 ),
                 "/",
                 ecommerceClientId,
@@ -507,7 +510,8 @@ class NodeForPspClientTest {
                 new WebClientsConfig().nodoWebClient(
                         "http://localhost:9000",
                         10000,
-                        10000
+                        10000,
+                        ConnectionProvider.create("test")
                 ),
                 "/",
                 ecommerceClientId,
@@ -11,6 +11,7 @@ import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.netty.resources.ConnectionProvider;
 
 import static org.mockito.Mockito.mock;
 
@@ -22,7 +23,7 @@ class NpgWebClientConfigTest {
     @Test
     void testNpgWebClientConfigApi() {
         NpgWebClientsConfig config = new NpgWebClientsConfig();
-        PaymentServicesApi api = config.npgWebClient("localhost/test", 10000, 10000);
+        PaymentServicesApi api = config.npgWebClient("localhost/test", 10000, 10000, ConnectionProvider.create("test"));
         Assert.assertNotNull(api);
         Assert.assertEquals(ApiClient.class, api.getApiClient().getClass());
     }
@@ -30,7 +31,7 @@ class NpgWebClientConfigTest {
     @Test
     void testNpgWebClientConfigNpgClient() {
         NpgWebClientsConfig config = new NpgWebClientsConfig();
-        PaymentServicesApi api = config.npgWebClient("localhost/test", 10000, 10000);
+        PaymentServicesApi api = config.npgWebClient("localhost/test", 10000, 10000, ConnectionProvider.create("test"));
         NpgClient npgClient = config.npgClient(api, mock(Tracer.class), objectMapper);
         Assert.assertNotNull(npgClient);
         Assert.assertEquals(NpgClient.class, npgClient.getClass());
@@ -0,0 +1,170 @@
+package it.pagopa.transactions.commands.dispatcher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.pagopa.ecommerce.commons.domain.v2.TransactionId;
+import it.pagopa.transactions.commands.TransactionClosureRequestCommand;
+import it.pagopa.transactions.commands.TransactionUserCancelCommand;
+import it.pagopa.transactions.commands.TransactionsCommand;
+import it.pagopa.transactions.commands.TransactionsCommandCode;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionCommandMailboxTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TransactionCommandMailbox transactionCommandMailbox = new TransactionCommandMailbox(
+            meterRegistry,
+            true
+    );
+
+    @Test
+    void shouldSerializeCommandsForSameTransaction() {
+        TransactionId transactionId = new TransactionId("3fa85f6457174562b3fc2c963f66afa6");
+        Sinks.One<String> firstCommandCompletion = Sinks.one();
+        AtomicBoolean secondCommandStarted = new AtomicBoolean(false);
+
+        Mono<String> first = transactionCommandMailbox
+                .submit(cancelCommand(transactionId), firstCommandCompletion::asMono);
+        Mono<String> second = transactionCommandMailbox.submit(closureCommand(transactionId), () -> {
+            secondCommandStarted.set(true);
+            return Mono.just("second");
+        });
+
+        StepVerifier.create(first.zipWith(second))
+                .then(() -> {
+                    assertFalse(secondCommandStarted.get());
+                    assertEquals(2, meterRegistry.get("transactions.command.mailbox.pending").gauge().value());
+                    firstCommandCompletion.tryEmitValue("first");
+                })
+                .assertNext(results -> {
+                    assertEquals("first", results.getT1());
+                    assertEquals("second", results.getT2());
+                })
+                .verifyComplete();
+        assertTrue(secondCommandStarted.get());
+        StepVerifier.create(Mono.delay(Duration.ofMillis(50)))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(0, meterRegistry.get("transactions.command.mailbox.active").gauge().value());
+        assertEquals(0, meterRegistry.get("transactions.command.mailbox.pending").gauge().value());
+    }
+
+    @Test
+    void shouldRunCommandsForDifferentTransactionsInParallel() {
+        Sinks.One<String> blockedCommandCompletion = Sinks.one();
+
+        Mono<String> blocked = transactionCommandMailbox.submit(
+                cancelCommand(new TransactionId("3fa85f6457174562b3fc2c963f66afa6")),
+                blockedCommandCompletion::asMono
+        );
+        Mono<String> other = transactionCommandMailbox.submit(
+                cancelCommand(new TransactionId("4fa85f6457174562b3fc2c963f66afa6")),
+                () -> Mono.just("other")
+        );
+
+        blocked.subscribe();
+        StepVerifier.create(other)
+                .expectNext("other")
+                .verifyComplete();
+        blockedCommandCompletion.tryEmitValue("blocked");
+        assertEquals(
+                2,
+                meterRegistry.get("transactions.command.mailbox.wait").timers().stream()
+                        .mapToLong(timer -> timer.count()).sum()
+        );
+    }
+
+    @Test
+    void shouldReleaseMailboxOnCommandError() {
+        TransactionId transactionId = new TransactionId("3fa85f6457174562b3fc2c963f66afa6");
+        AtomicInteger executions = new AtomicInteger();
+
+        StepVerifier.create(
+                transactionCommandMailbox.submit(
+                        cancelCommand(transactionId),
+                        () -> Mono.error(new IllegalStateException("command error"))
+                )
+        )
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(
+                transactionCommandMailbox.submit(cancelCommand(transactionId), () -> {
+                    executions.incrementAndGet();
+                    return Mono.just("executed");
+                })
+        )
+                .expectNext("executed")
+                .verifyComplete();
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldExecuteDirectlyWhenDisabled() {
+        TransactionCommandMailbox disabledMailbox = new TransactionCommandMailbox(new SimpleMeterRegistry(), false);
+
+        StepVerifier.create(
+                disabledMailbox.submit(
+                        cancelCommand(new TransactionId("3fa85f6457174562b3fc2c963f66afa6")),
+                        () -> Mono.just("executed")
+                )
+        )
+                .expectNext("executed")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReadEventsWrittenByPreviousCommandForSameTransaction() {
+        String transactionId = "3fa85f6457174562b3fc2c963f66afa6";
+        List<String> eventStore = new CopyOnWriteArrayList<>(List.of("ACTIVATED"));
+        Sinks.One<String> firstCommandCompletion = Sinks.one();
+
+        Mono<List<String>> first = transactionCommandMailbox.submit(
+                transactionId,
+                TransactionsCommandCode.REQUEST_AUTHORIZATION,
+                () -> Mono.fromCallable(() -> List.copyOf(eventStore))
+                        .delayUntil(ignored -> firstCommandCompletion.asMono())
+                        .doOnNext(ignored -> eventStore.add("AUTHORIZATION_REQUESTED"))
+        );
+        Mono<List<String>> second = transactionCommandMailbox.submit(
+                transactionId,
+                TransactionsCommandCode.USER_CANCEL_REQUEST,
+                () -> Mono.fromCallable(() -> List.copyOf(eventStore))
+        );
+
+        StepVerifier.create(first.zipWith(second))
+                .then(() -> firstCommandCompletion.tryEmitValue("completed"))
+                .assertNext(results -> {
+                    assertEquals(List.of("ACTIVATED"), results.getT1());
+                    assertEquals(List.of("ACTIVATED", "AUTHORIZATION_REQUESTED"), results.getT2());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldExtractTransactionIdFromCommand() {
+        TransactionId transactionId = new TransactionId("3fa85f6457174562b3fc2c963f66afa6");
+        TransactionsCommand<?> command = closureCommand(transactionId);
+
+        assertEquals(transactionId.value(), TransactionCommandMailbox.transactionIdOf(command));
+    }
+
+    private static TransactionUserCancelCommand cancelCommand(TransactionId transactionId) {
+        return new TransactionUserCancelCommand(List.of(), transactionId, List.of());
+    }
+
+    private static TransactionClosureRequestCommand closureCommand(TransactionId transactionId) {
+        return new TransactionClosureRequestCommand(List.of(), transactionId, List.of());
+    }
+}
@@ -49,12 +49,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 import reactor.util.function.Tuple2;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static it.pagopa.ecommerce.commons.v2.TransactionTestUtils.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -792,6 +794,9 @@ class TransactionActivateHandlerTest {
                 nodoOperations.generateRandomStringToIdempotencyKey()
         )
                 .thenReturn("aabbccddee");
+        AtomicBoolean jwtTokenRequestCancelled = new AtomicBoolean(false);
+        Mockito.when(jwtTokenIssuerClient.createJWTToken(any(CreateTokenRequestDto.class)))
+                .thenReturn(Mono.<CreateTokenResponseDto>never().doOnCancel(() -> jwtTokenRequestCancelled.set(true)));
         Hooks.onOperatorDebug();
         /* run test */
         StepVerifier.create(handler.handle(command))
@@ -805,7 +810,7 @@ class TransactionActivateHandlerTest {
                 })
                 .verify();
         /* Assertions */
-        Mockito.verify(jwtTokenIssuerClient, Mockito.times(0)).createJWTToken(any());
+        assertTrue(jwtTokenRequestCancelled.get());
         Mockito.verify(paymentRequestInfoRedisTemplateWrapper, Mockito.times(1)).findById(rptId.value());
         Mockito.verify(paymentRequestInfoRedisTemplateWrapper, Mockito.times(0)).save(any());
         Mockito.verify(
@@ -1181,6 +1186,88 @@ class TransactionActivateHandlerTest {
         assertEquals(dueDate, paymentRequestInfoArgumentCaptor.getValue().dueDate());
     }
 
+    @Test
+    void shouldGenerateJwtTokenConcurrentlyWithNodoActivation() {
+        TransactionActivatedEvent transactionActivatedEvent = transactionActivateEvent();
+        PaymentNotice paymentNotice = transactionActivatedEvent.getData().getPaymentNotices().get(0);
+        TransactionId transactionId = new TransactionId(TRANSACTION_ID);
+        RptId rptId = new RptId(paymentNotice.getRptId());
+
+        TransactionActivateCommand command = new TransactionActivateCommand(
+                List.of(rptId),
+                new NewTransactionRequestData(
+                        null,
+                        confidentialDataManager.encrypt(new Email(EMAIL_STRING)),
+                        null,
+                        null,
+                        List.of(
+                                new it.pagopa.ecommerce.commons.domain.v2.PaymentNotice(
+                                        null,
+                                        rptId,
+                                        new TransactionAmount(paymentNotice.getAmount()),
+                                        null,
+                                        null,
+                                        null,
+                                        false,
+                                        null,
+                                        null
+                                )
+                        )
+                ),
+                Transaction.ClientId.CHECKOUT.name(),
+                transactionId,
+                userId
+        );
+
+        PaymentRequestInfo paymentRequestInfoActivation = new PaymentRequestInfo(
+                rptId,
+                rptId.getFiscalCode(),
+                "paName",
+                paymentNotice.getDescription(),
+                paymentNotice.getAmount(),
+                dueDate,
+                paymentNotice.getPaymentToken(),
+                ZonedDateTime.now().toString(),
+                new IdempotencyKey("32009090901", "aabbccddee"),
+                List.of(new PaymentTransferInfo(rptId.getFiscalCode(), false, paymentNotice.getAmount(), null)),
+                false,
+                null
+        );
+
+        /*
+         * preconditions: each of token generation and Nodo activation completes only
+         * once the other one has been started, so the handler would never complete
+         * if they were executed sequentially
+         */
+        Sinks.Empty<Void> jwtTokenRequested = Sinks.empty();
+        Sinks.Empty<Void> activationRequested = Sinks.empty();
+        Mockito.when(jwtTokenIssuerClient.createJWTToken(any(CreateTokenRequestDto.class)))
+                .thenReturn(Mono.defer(() -> {
+                    jwtTokenRequested.tryEmitEmpty();
+                    return activationRequested.asMono()
+                            .thenReturn(new CreateTokenResponseDto().token("TEST_TOKEN"));
+                }));
+        Mockito.when(paymentRequestInfoRedisTemplateWrapper.findById(rptId.value()))
+                .thenReturn(Mono.empty());
+        Mockito.when(paymentRequestInfoRedisTemplateWrapper.save(any()))
+                .thenReturn(Mono.just(true));
+        Mockito.when(
+                nodoOperations.activatePaymentRequest(any(), any(), any(), any(), any(), any(), eq(null), any())
+        )
+                .thenReturn(Mono.defer(() -> {
+                    activationRequested.tryEmitEmpty();
+                    return jwtTokenRequested.asMono().thenReturn(paymentRequestInfoActivation);
+                }));
+        Mockito.when(nodoOperations.getEcommerceFiscalCode()).thenReturn("77700000000");
+        Mockito.when(nodoOperations.generateRandomStringToIdempotencyKey()).thenReturn("aabbccddee");
+
+        /* run test */
+        StepVerifier.create(handler.handle(command))
+                .assertNext(response -> assertEquals("TEST_TOKEN", response.getT2()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     void shouldActivatePaymentRequestSavingCreditorReferenceId() {
         final var creditorReferenceId = UUID.randomUUID().toString();
@@ -1367,14 +1454,18 @@ class TransactionActivateHandlerTest {
                 .thenReturn(Mono.just(paymentRequestInfoActivation));
         Mockito.when(nodoOperations.getEcommerceFiscalCode()).thenReturn("77700000000");
         Mockito.when(nodoOperations.generateRandomStringToIdempotencyKey()).thenReturn("aabbccddee");
+        Mockito.when(jwtTokenIssuerClient.createJWTToken(any(CreateTokenRequestDto.class)))
+                .thenReturn(Mono.just(new CreateTokenResponseDto().token("token")));
 
         /* run test */
         StepVerifier.create(handler.handle(command))
                 .expectError(DigitalStampNotAllowedForClientException.class)
                 .verify();
 
-        /* asserts: rejection happens before token generation and event enqueue */
-        Mockito.verify(jwtTokenIssuerClient, Mockito.never()).createJWTToken(any());
+        /*
+         * asserts: rejection happens before event enqueue, the concurrently
+         * generated token is discarded
+         */
         Mockito.verify(transactionActivatedQueueAsyncClient, Mockito.never())
                 .sendMessageWithResponse(any(QueueEvent.class), any(), any());
     }
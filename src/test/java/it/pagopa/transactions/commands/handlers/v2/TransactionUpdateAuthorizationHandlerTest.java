@@ -1,5 +1,6 @@
 package it.pagopa.transactions.commands.handlers.v2;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import it.pagopa.ecommerce.commons.documents.BaseTransactionEvent;
 import it.pagopa.ecommerce.commons.documents.v2.*;
 import it.pagopa.ecommerce.commons.documents.v2.authorization.NpgTransactionGatewayAuthorizationData;
@@ -21,9 +22,13 @@ import it.pagopa.transactions.configurations.WalletConfig;
 import it.pagopa.transactions.exceptions.InvalidRequestException;
 import it.pagopa.transactions.exceptions.WalletErrorResponseException;
 import it.pagopa.transactions.repositories.TransactionsEventStoreRepository;
+import it.pagopa.transactions.repositories.WalletNotificationJob;
+import it.pagopa.transactions.repositories.WalletNotificationJobTemplateWrapper;
 import it.pagopa.transactions.utils.AuthRequestDataUtils;
+import it.pagopa.transactions.utils.SideEffectScheduler;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import it.pagopa.transactions.utils.UUIDUtils;
+import it.pagopa.transactions.utils.WalletNotificationExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,10 +43,13 @@ import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -74,21 +82,56 @@ class TransactionUpdateAuthorizationHandlerTest {
             "api-key",
             new WalletConfig.NotificationConf(
                     3,
-                    1
+                    1,
+                    10,
+                    0.5,
+                    16,
+                    4,
+                    3600,
+                    3,
+                    60
+            )
+    );
+
+    private final WalletNotificationJobTemplateWrapper walletNotificationJobTemplateWrapper = Mockito
+            .mock(WalletNotificationJobTemplateWrapper.class);
+
+    private final WalletNotificationExecutor walletNotificationExecutor = new WalletNotificationExecutor(
+            walletClient,
+            walletNotificationJobTemplateWrapper,
+            walletConfig,
+            new SimpleMeterRegistry(),
+            new SideEffectScheduler(
+                    new SimpleMeterRegistry(),
+                    16,
+                    16,
+                    SideEffectScheduler.OverflowPolicy.QUEUE,
+                    Duration.ZERO
             )
     );
 
+    private final Map<String, WalletNotificationJob> persistedJobs = new ConcurrentHashMap<>();
+
     private final it.pagopa.transactions.commands.handlers.v2.TransactionUpdateAuthorizationHandler updateAuthorizationHandler = new TransactionUpdateAuthorizationHandler(
             transactionEventStoreRepository,
             new AuthRequestDataUtils(mockUuidUtils),
             transactionsUtils,
-            walletClient,
-            walletConfig
+            walletNotificationExecutor
     );
 
     @BeforeEach
     void initializeTests() {
-        updateAuthorizationHandler.subscribeToAuthorizationCommandSink();
+        Mockito.lenient().when(walletNotificationJobTemplateWrapper.save(any())).thenAnswer(invocation -> {
+            WalletNotificationJob job = invocation.getArgument(0);
+            persistedJobs.put(job.transactionId(), job);
+            return Mono.just(true);
+        });
+        Mockito.lenient().when(walletNotificationJobTemplateWrapper.deleteById(any()))
+                .thenAnswer(invocation -> Mono.just(persistedJobs.remove(invocation.<String>getArgument(0)) != null));
+        Mockito.lenient().when(walletNotificationJobTemplateWrapper.claim(any(), any())).thenReturn(Mono.just(true));
+        Mockito.lenient().when(walletNotificationJobTemplateWrapper.findById(any()))
+                .thenAnswer(invocation -> Mono.justOrEmpty(persistedJobs.get(invocation.<String>getArgument(0))));
+        walletNotificationExecutor.start();
     }
 
     @Test
@@ -201,8 +244,7 @@ class TransactionUpdateAuthorizationHandlerTest {
                 transactionEventStoreRepository,
                 authRequestDataUtilsMock,
                 transactionsUtils,
-                walletClient,
-                walletConfig
+                walletNotificationExecutor
         );
         /* test */
         assertThrows(InvalidRequestException.class, () -> updateAuthHandler.handle(requestAuthorizationCommand));
@@ -11,6 +11,7 @@ import it.pagopa.ecommerce.commons.domain.v2.TransactionActivated;
 import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
 import it.pagopa.transactions.projections.handlers.v2.TransactionsActivationProjectionHandler;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,10 +37,19 @@ class TransactionsActivationProjectionHandlerTest {
     @Mock
     TransactionsViewRepository transactionsViewRepository;
 
+    private final TransactionOutcomeUtils transactionOutcomeUtils = Mockito.mock(TransactionOutcomeUtils.class);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.lenient().when(transactionOutcomeUtils.materializeOutcome(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
     @Test
     void shouldSaveTransaction() {
         handler = new TransactionsActivationProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 true
         );
         /* preconditions */
@@ -168,6 +178,7 @@ class TransactionsActivationProjectionHandlerTest {
     void shouldSaveTransactionWithoutSavingWhenUpdateDisabled() {
         handler = new TransactionsActivationProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 false
         );
 
@@ -0,0 +1,66 @@
+package it.pagopa.transactions.configurations;
+
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolsConfigTest {
+
+    private final ConnectionPoolsConfig connectionPoolsConfig = new ConnectionPoolsConfig(
+            false,
+            Map.of(
+                    ConnectionProvidersConfig.WALLET,
+                    new ConnectionPoolsConfig.PoolConf(
+                            20,
+                            40,
+                            5000,
+                            30000,
+                            300000,
+                            60000,
+                            ConnectionPoolsConfig.LeasingStrategy.LIFO
+                    ),
+                    ConnectionProvidersConfig.NPG,
+                    new ConnectionPoolsConfig.PoolConf(
+                            10,
+                            20,
+                            1000,
+                            30000,
+                            300000,
+                            60000,
+                            ConnectionPoolsConfig.LeasingStrategy.FIFO
+                    )
+            )
+    );
+
+    @Test
+    void shouldBuildNamedConnectionProviderForConfiguredDownstream() {
+        ConnectionProvider connectionProvider = connectionPoolsConfig
+                .connectionProvider(ConnectionProvidersConfig.WALLET);
+
+        assertEquals(ConnectionProvidersConfig.WALLET, connectionProvider.name());
+        assertEquals(20, connectionProvider.maxConnections());
+        connectionProvider.dispose();
+    }
+
+    @Test
+    void shouldBuildFifoConnectionProvider() {
+        ConnectionProvider connectionProvider = connectionPoolsConfig
+                .connectionProvider(ConnectionProvidersConfig.NPG);
+
+        assertEquals(ConnectionProvidersConfig.NPG, connectionProvider.name());
+        assertEquals(10, connectionProvider.maxConnections());
+        connectionProvider.dispose();
+    }
+
+    @Test
+    void shouldThrowExceptionForMissingDownstreamConfiguration() {
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> connectionPoolsConfig.connectionProvider(ConnectionProvidersConfig.NODO)
+        );
+        assertEquals("Missing connection pool configuration for downstream: [nodo]", exception.getMessage());
+    }
+}
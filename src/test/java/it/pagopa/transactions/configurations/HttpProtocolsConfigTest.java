@@ -0,0 +1,69 @@
+package it.pagopa.transactions.configurations;
+
+import org.junit.jupiter.api.Test;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpProtocolsConfigTest {
+
+    private final HttpProtocolsConfig httpProtocolsConfig = new HttpProtocolsConfig(
+            Map.of(
+                    ConnectionProvidersConfig.WALLET,
+                    new HttpProtocolsConfig.ProtocolConf(true, false, 100),
+                    ConnectionProvidersConfig.JWT_ISSUER,
+                    new HttpProtocolsConfig.ProtocolConf(true, true, 50),
+                    ConnectionProvidersConfig.PAYMENT_METHODS,
+                    new HttpProtocolsConfig.ProtocolConf(false, false, 100)
+            )
+    );
+
+    @Test
+    void shouldNegotiateH2WithHttp11FallbackOverTls() {
+        HttpClient httpClient = httpProtocolsConfig.configure(ConnectionProvidersConfig.WALLET, HttpClient.create());
+
+        assertArrayEquals(
+                new HttpProtocol[] {
+                        HttpProtocol.H2,
+                        HttpProtocol.HTTP11
+                },
+                httpClient.configuration().protocols()
+        );
+        assertEquals(100L, httpClient.configuration().http2SettingsSpec().maxConcurrentStreams());
+    }
+
+    @Test
+    void shouldNegotiateH2cWithHttp11FallbackOverCleartext() {
+        HttpClient httpClient = httpProtocolsConfig
+                .configure(ConnectionProvidersConfig.JWT_ISSUER, HttpClient.create());
+
+        assertArrayEquals(
+                new HttpProtocol[] {
+                        HttpProtocol.H2C,
+                        HttpProtocol.HTTP11
+                },
+                httpClient.configuration().protocols()
+        );
+    }
+
+    @Test
+    void shouldUseHttp11WhenHttp2IsDisabledOrNotConfigured() {
+        assertArrayEquals(
+                new HttpProtocol[] {
+                        HttpProtocol.HTTP11
+                },
+                httpProtocolsConfig.configure(ConnectionProvidersConfig.PAYMENT_METHODS, HttpClient.create())
+                        .configuration().protocols()
+        );
+        assertArrayEquals(
+                new HttpProtocol[] {
+                        HttpProtocol.HTTP11
+                },
+                httpProtocolsConfig.configure(ConnectionProvidersConfig.NODO, HttpClient.create())
+                        .configuration().protocols()
+        );
+    }
+}
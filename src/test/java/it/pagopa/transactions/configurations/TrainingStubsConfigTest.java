@@ -0,0 +1,67 @@
+package it.pagopa.transactions.configurations;
+
+import it.pagopa.generated.transactions.model.ActivatePaymentNoticeV2Response;
+import it.pagopa.generated.transactions.model.StOutcome;
+import it.pagopa.transactions.utils.soap.Jaxb2SoapDecoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrainingStubsConfigTest {
+
+    private final WebTestClient webTestClient = WebTestClient
+            .bindToRouterFunction(new TrainingStubsConfig(true).trainingStubsRouter())
+            .build();
+
+    @Test
+    void shouldStubNodoActivation() {
+        byte[] body = webTestClient.post()
+                .uri("/training-stubs/nodo/webservices/pof/PagamentiTelematiciPspNodoservice")
+                .contentType(MediaType.TEXT_XML)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        ActivatePaymentNoticeV2Response response = (ActivatePaymentNoticeV2Response) new Jaxb2SoapDecoder().decode(
+                DefaultDataBufferFactory.sharedInstance.wrap(body),
+                ResolvableType.forClass(ActivatePaymentNoticeV2Response.class),
+                MediaType.TEXT_XML,
+                Map.of()
+        );
+        assertEquals(StOutcome.OK, response.getOutcome());
+        assertFalse(response.getPaymentToken().isBlank());
+        assertEquals(1, response.getTransferList().getTransfer().size());
+    }
+
+    @Test
+    void shouldStubTokenServices() {
+        webTestClient.post()
+                .uri("/training-stubs/jwtIssuer/tokens")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.token").isNotEmpty();
+        webTestClient.put()
+                .uri("/training-stubs/personalDataVault/tokens")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.token").isNotEmpty();
+    }
+
+    @Test
+    void shouldNotExposeStubsWhenDisabled() {
+        WebTestClient.bindToRouterFunction(new TrainingStubsConfig(false).trainingStubsRouter())
+                .build()
+                .post()
+                .uri("/training-stubs/jwtIssuer/tokens")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
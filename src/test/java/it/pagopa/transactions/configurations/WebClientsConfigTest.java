@@ -9,12 +9,14 @@ import it.pagopa.generated.wallet.v1.api.WalletsApi;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,6 +26,8 @@ class WebClientsConfigTest {
 
     private final WebClientsConfig webClientsConfig = new WebClientsConfig();
 
+    private final HttpProtocolsConfig httpProtocolsConfig = new HttpProtocolsConfig(Map.of());
+
     @Test
     void shouldCorrectlySerialize() {
         // Precondition
@@ -109,7 +113,7 @@ class WebClientsConfigTest {
         String apiKey = "paymentMethodsApiKey";
         // test
         PaymentMethodsApi paymentMethodsApi = webClientsConfig
-                .ecommercePaymentMethodWebClientV1(basePath, 1000, 1000, apiKey);
+                .ecommercePaymentMethodWebClientV1(basePath, 1000, 1000, apiKey, ConnectionProvider.create("test"), httpProtocolsConfig);
         // assertions
         assertEquals(basePath, paymentMethodsApi.getApiClient().getBasePath());
         it.pagopa.generated.ecommerce.paymentmethods.v1.auth.ApiKeyAuth apiKeyAuth = (it.pagopa.generated.ecommerce.paymentmethods.v1.auth.ApiKeyAuth) paymentMethodsApi
@@ -124,7 +128,7 @@ class WebClientsConfigTest {
         String apiKey = "walletApiKey";
         // test
         WalletsApi walletsApi = webClientsConfig
-                .walletWebClient(basePath, 1000, 1000, apiKey);
+                .walletWebClient(basePath, 1000, 1000, apiKey, ConnectionProvider.create("test"), httpProtocolsConfig);
         // assertions
         assertEquals(basePath, walletsApi.getApiClient().getBasePath());
         it.pagopa.generated.wallet.v1.auth.ApiKeyAuth apiKeyAuth = (it.pagopa.generated.wallet.v1.auth.ApiKeyAuth) walletsApi
@@ -139,7 +143,7 @@ class WebClientsConfigTest {
         String apiKey = "paymentMethodsHandlerApiKey";
         // test
         it.pagopa.generated.ecommerce.paymentmethodshandler.v1.api.PaymentMethodsHandlerApi paymentMethodsApi = webClientsConfig
-                .ecommercePaymentMethodHandlerWebClientV1(basePath, 1000, 1000, apiKey);
+                .ecommercePaymentMethodHandlerWebClientV1(basePath, 1000, 1000, apiKey, ConnectionProvider.create("test"), httpProtocolsConfig);
         // assertions
         assertEquals(basePath, paymentMethodsApi.getApiClient().getBasePath());
         it.pagopa.generated.ecommerce.paymentmethodshandler.v1.auth.ApiKeyAuth apiKeyAuth = (it.pagopa.generated.ecommerce.paymentmethodshandler.v1.auth.ApiKeyAuth) paymentMethodsApi
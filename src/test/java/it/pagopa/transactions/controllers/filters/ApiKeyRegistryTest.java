@@ -0,0 +1,113 @@
+package it.pagopa.transactions.controllers.filters;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiKeyRegistryTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private ApiKeyRegistry apiKeyRegistry(
+                                          String clientKeys,
+                                          String clientKeysFile
+    ) {
+        return new ApiKeyRegistry(
+                "primaryKey",
+                "secondaryKey",
+                clientKeys,
+                clientKeysFile,
+                Duration.ofSeconds(60),
+                new ApiKeyRegistry.RateLimitConf(1, 1),
+                nanoTime::get
+        );
+    }
+
+    @Test
+    void shouldMatchKeysToTheirClient() {
+        ApiKeyRegistry apiKeyRegistry = apiKeyRegistry(
+                """
+                        {"client1": {"keys": ["key1", "key2"]}, "client2": {"keys": ["key3"]}}
+                        """,
+                ""
+        );
+
+        assertEquals(ApiKeyRegistry.DEFAULT_CLIENT_ID, apiKeyRegistry.match("primaryKey").clientId());
+        assertEquals(ApiKeyRegistry.DEFAULT_CLIENT_ID, apiKeyRegistry.match("secondaryKey").clientId());
+        assertEquals("client1", apiKeyRegistry.match("key1").clientId());
+        assertEquals("client1", apiKeyRegistry.match("key2").clientId());
+        assertEquals("client2", apiKeyRegistry.match("key3").clientId());
+        assertNull(apiKeyRegistry.match("key"));
+        assertNull(apiKeyRegistry.match(""));
+    }
+
+    @Test
+    void shouldLimitRequestsPerKey() {
+        ApiKeyRegistry apiKeyRegistry = apiKeyRegistry(
+                """
+                        {"client": {"keys": ["key1", "key2"], "rateLimit": {"capacity": 2, "permitsPerSecond": 1}}}
+                        """,
+                ""
+        );
+        ApiKeyRegistry.ApiKey key1 = apiKeyRegistry.match("key1");
+
+        assertEquals(0, key1.tryAcquire());
+        assertEquals(0, key1.tryAcquire());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), key1.tryAcquire());
+        // other keys of the same client have their own bucket
+        assertEquals(0, apiKeyRegistry.match("key2").tryAcquire());
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), key1.tryAcquire());
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, key1.tryAcquire());
+    }
+
+    @Test
+    void shouldNotLimitRequestsWhenRateLimitIsDisabled() {
+        ApiKeyRegistry apiKeyRegistry = apiKeyRegistry(
+                """
+                        {"client": {"keys": ["key"], "rateLimit": {"capacity": 1, "permitsPerSecond": 0}}}
+                        """,
+                ""
+        );
+        ApiKeyRegistry.ApiKey apiKey = apiKeyRegistry.match("key");
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, apiKey.tryAcquire());
+        }
+    }
+
+    @Test
+    void shouldReloadChangedKeysFromFileKeepingRateLimiterState(@TempDir Path tempDir) throws IOException {
+        Path clientKeysFile = tempDir.resolve("clients.json");
+        Files.writeString(clientKeysFile, """
+                {"client": {"keys": ["key1", "key2"]}}
+                """);
+        ApiKeyRegistry apiKeyRegistry = apiKeyRegistry("", clientKeysFile.toString());
+        assertEquals(0, apiKeyRegistry.match("key1").tryAcquire());
+
+        assertFalse(apiKeyRegistry.reloadFromFile());
+        Files.writeString(clientKeysFile, """
+                {"client": {"keys": ["key1", "key3"]}}
+                """);
+        assertTrue(apiKeyRegistry.reloadFromFile());
+
+        assertEquals("client", apiKeyRegistry.match("key3").clientId());
+        assertNull(apiKeyRegistry.match("key2"));
+        // bucket of the retained key is still empty
+        assertTrue(apiKeyRegistry.match("key1").tryAcquire() > 0);
+    }
+
+    @Test
+    void shouldFailForInvalidClientsConfiguration() {
+        assertThrows(IllegalStateException.class, () -> apiKeyRegistry("{invalid", ""));
+    }
+}
@@ -1,5 +1,6 @@
 package it.pagopa.transactions.controllers.filters;
 
+import it.pagopa.transactions.mdcutilities.TransactionTracingUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -14,18 +15,23 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.context.ContextView;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
-class ApiKeyFilterTest {
+class RequestContextFilterTest {
     private static final Set<String> securedPaths = Set.of("/test1", "/test2");
     private static final String PRIMARY_KEY = "primaryKey";
     private static final String SECONDARY_KEY = "secondaryKey";
@@ -35,10 +41,20 @@ class ApiKeyFilterTest {
     private final RequestPath requestPath = Mockito.mock(RequestPath.class);
     private final HttpHeaders httpHeaders = Mockito.mock(HttpHeaders.class);
     private final ServerHttpResponse serverHttpResponse = Mockito.mock(ServerHttpResponse.class);
-    private final ApiKeyFilter apiKeyFilter = new ApiKeyFilter(
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final RequestContextFilter requestContextFilter = new RequestContextFilter(
             securedPaths,
-            PRIMARY_KEY,
-            SECONDARY_KEY
+            new ApiKeyRegistry(
+                    PRIMARY_KEY,
+                    SECONDARY_KEY,
+                    """
+                            {"integrator": {"keys": ["integratorKey"], "rateLimit": {"capacity": 1, "permitsPerSecond": 0.5}}}
+                            """,
+                    "",
+                    Duration.ofSeconds(60),
+                    new ApiKeyRegistry.RateLimitConf(10, 10),
+                    nanoTime::get
+            )
     );
 
     public static Stream<Arguments> validApiKeysAndPaths() {
@@ -46,6 +62,7 @@ class ApiKeyFilterTest {
         for (String path : securedPaths) {
             arguments.add(Arguments.of(PRIMARY_KEY, path));
             arguments.add(Arguments.of(SECONDARY_KEY, path));
+            arguments.add(Arguments.of("integratorKey", path));
         }
         return arguments.stream();
     }
@@ -59,12 +76,12 @@ class ApiKeyFilterTest {
         // pre-condition
         given(exchange.getRequest()).willReturn(serverHttpRequest);
         given(serverHttpRequest.getPath()).willReturn(requestPath);
-        given(requestPath.toString()).willReturn(path);
+        given(requestPath.value()).willReturn(path);
         given(serverHttpRequest.getHeaders()).willReturn(httpHeaders);
         given(httpHeaders.getFirst(any())).willReturn(apiKey);
         given(webFilterChain.filter(exchange)).willReturn(Mono.empty());
         // test
-        StepVerifier.create(apiKeyFilter.filter(exchange, webFilterChain))
+        StepVerifier.create(requestContextFilter.filter(exchange, webFilterChain))
                 .expectNext()
                 .verifyComplete();
         // assertions
@@ -81,14 +98,14 @@ class ApiKeyFilterTest {
         String invalidApiKey = "invalidApiKey";
         given(exchange.getRequest()).willReturn(serverHttpRequest);
         given(serverHttpRequest.getPath()).willReturn(requestPath);
-        given(requestPath.toString()).willReturn(securedPaths.stream().toList().get(0));
+        given(requestPath.value()).willReturn(securedPaths.stream().toList().get(0));
         given(serverHttpRequest.getHeaders()).willReturn(httpHeaders);
         given(httpHeaders.getFirst(any())).willReturn(invalidApiKey);
         given(webFilterChain.filter(exchange)).willReturn(Mono.empty());
         given(exchange.getResponse()).willReturn(serverHttpResponse);
         given(serverHttpResponse.setComplete()).willReturn(Mono.empty());
         // test
-        StepVerifier.create(apiKeyFilter.filter(exchange, webFilterChain))
+        StepVerifier.create(requestContextFilter.filter(exchange, webFilterChain))
                 .expectNext()
                 .verifyComplete();
         // assertions
@@ -111,24 +128,79 @@ class ApiKeyFilterTest {
         String invalidPath = "/invalidPath" + path;
         given(exchange.getRequest()).willReturn(serverHttpRequest);
         given(serverHttpRequest.getPath()).willReturn(requestPath);
-        given(requestPath.toString()).willReturn(invalidPath);
+        given(requestPath.value()).willReturn(invalidPath);
         given(serverHttpRequest.getHeaders()).willReturn(httpHeaders);
         given(httpHeaders.getFirst(any())).willReturn(apiKey);
         given(webFilterChain.filter(exchange)).willReturn(Mono.empty());
         given(exchange.getResponse()).willReturn(serverHttpResponse);
         given(serverHttpResponse.setComplete()).willReturn(Mono.empty());
         // test
-        StepVerifier.create(apiKeyFilter.filter(exchange, webFilterChain))
+        StepVerifier.create(requestContextFilter.filter(exchange, webFilterChain))
                 .expectNext()
                 .verifyComplete();
         // assertions
-        verify(exchange, times(1)).getRequest();
+        verify(exchange, times(2)).getRequest();
         verify(serverHttpRequest, times(1)).getPath();
-        verify(serverHttpRequest, times(0)).getHeaders();
+        verify(serverHttpRequest, times(1)).getHeaders();
         verify(httpHeaders, times(0)).getFirst("x-api-key");
         verify(webFilterChain, times(1)).filter(exchange);
         verify(serverHttpResponse, times(0)).setStatusCode(HttpStatus.UNAUTHORIZED);
         verify(serverHttpResponse, times(0)).setComplete();
     }
 
+    @Test
+    void shouldWriteTracingHeadersIntoReactorContext() {
+        // pre-condition
+        given(exchange.getRequest()).willReturn(serverHttpRequest);
+        given(serverHttpRequest.getPath()).willReturn(requestPath);
+        given(requestPath.value()).willReturn("/unsecured");
+        given(serverHttpRequest.getHeaders()).willReturn(httpHeaders);
+        given(httpHeaders.getFirst(RequestContextFilter.HEADER_TRANSACTION_ID)).willReturn("transactionId");
+        given(httpHeaders.getFirst(RequestContextFilter.HEADER_RPT_ID)).willReturn(null);
+        given(httpHeaders.getFirst(RequestContextFilter.HEADER_NPG_CORRELATION_ID)).willReturn("correlationId");
+        AtomicReference<ContextView> filterChainContext = new AtomicReference<>();
+        given(webFilterChain.filter(exchange)).willReturn(
+                Mono.deferContextual(context -> {
+                    filterChainContext.set(context);
+                    return Mono.empty();
+                })
+        );
+        // test
+        StepVerifier.create(requestContextFilter.filter(exchange, webFilterChain))
+                .verifyComplete();
+        // assertions
+        ContextView context = filterChainContext.get();
+        assertEquals("transactionId", context.get(TransactionTracingUtils.TracingEntry.TRANSACTION_ID.getKey()));
+        assertEquals(
+                TransactionTracingUtils.TracingEntry.RPT_IDS.getDefaultValue(),
+                context.get(TransactionTracingUtils.TracingEntry.RPT_IDS.getKey())
+        );
+        assertEquals("correlationId", context.get(TransactionTracingUtils.TracingEntry.CORRELATION_ID.getKey()));
+    }
+
+    @Test
+    void shouldRejectRequestsExceedingKeyRateLimitWithRetryAfter() {
+        // pre-condition
+        HttpHeaders responseHeaders = new HttpHeaders();
+        given(exchange.getRequest()).willReturn(serverHttpRequest);
+        given(serverHttpRequest.getPath()).willReturn(requestPath);
+        given(requestPath.value()).willReturn("/test1");
+        given(serverHttpRequest.getHeaders()).willReturn(httpHeaders);
+        given(httpHeaders.getFirst(any())).willReturn("integratorKey");
+        given(webFilterChain.filter(exchange)).willReturn(Mono.empty());
+        given(exchange.getResponse()).willReturn(serverHttpResponse);
+        given(serverHttpResponse.getHeaders()).willReturn(responseHeaders);
+        given(serverHttpResponse.setComplete()).willReturn(Mono.empty());
+        // test
+        StepVerifier.create(requestContextFilter.filter(exchange, webFilterChain))
+                .verifyComplete();
+        StepVerifier.create(requestContextFilter.filter(exchange, webFilterChain))
+                .verifyComplete();
+        // assertions
+        verify(webFilterChain, times(1)).filter(exchange);
+        verify(serverHttpResponse, times(1)).setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        verify(serverHttpResponse, times(1)).setComplete();
+        assertEquals("2", responseHeaders.getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
 }
@@ -3,6 +3,7 @@ package it.pagopa.transactions.controllers.v1;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vavr.control.Either;
 import it.pagopa.ecommerce.commons.documents.v2.Transaction;
 import it.pagopa.ecommerce.commons.domain.v2.PaymentToken;
@@ -18,10 +19,16 @@ import it.pagopa.generated.transactions.server.model.*;
 import it.pagopa.generated.transactions.v2.server.model.ValidationFaultPaymentDataErrorDto;
 import it.pagopa.generated.transactions.v2.server.model.ValidationFaultPaymentDataErrorProblemJsonDto;
 import it.pagopa.transactions.exceptions.*;
+import it.pagopa.transactions.repositories.TransactionViewVersion;
+import it.pagopa.transactions.repositories.TransactionsViewProjectionRepository;
 import it.pagopa.transactions.services.v1.TransactionsService;
+import it.pagopa.transactions.utils.FinalStateResponseCache;
+import it.pagopa.transactions.utils.SideEffectScheduler;
+import it.pagopa.transactions.utils.TransactionETagUtils;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import it.pagopa.transactions.utils.UUIDUtils;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -37,11 +44,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.data.redis.AutoConfigureDataRedis;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.*;
 import org.springframework.http.server.RequestPath;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.server.ServerWebExchange;
@@ -68,8 +77,18 @@ import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @WebFluxTest(TransactionsController.class)
-@TestPropertySource(locations = "classpath:application-tests.properties")
+@TestPropertySource(
+        locations = "classpath:application-tests.properties",
+        properties = "transactionsview.conditionalRequests.enabled=true"
+)
 @AutoConfigureDataRedis
+@Import(
+    {
+            SideEffectScheduler.class,
+            SimpleMeterRegistry.class,
+            TransactionETagUtils.class
+    }
+)
 class TransactionsControllerTest {
     private static final Long MOCK_AMOUNT = 100L;
 
@@ -98,6 +117,15 @@ class TransactionsControllerTest {
     @MockitoBean
     private OpenTelemetryUtils openTelemetryUtils;
 
+    @MockitoBean
+    private TransactionsViewProjectionRepository transactionsViewProjectionRepository;
+
+    @MockitoBean
+    private FinalStateResponseCache finalStateResponseCache;
+
+    @Autowired
+    private TransactionETagUtils transactionETagUtils;
+
     private CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(
             Map.of("circuit-breaker-test", CircuitBreakerConfig.ofDefaults())
     );
@@ -115,6 +143,16 @@ class TransactionsControllerTest {
     private ReactiveExclusiveLockDocumentWrapper exclusiveLockDocumentWrapper;
     private final Integer paymentTokenValidityTime = 120;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transactionsController, "transactionETagUtils", transactionETagUtils);
+        Mockito.lenient().when(finalStateResponseCache.get(any(), any(), any())).thenReturn(Mono.empty());
+        Mockito.lenient().when(transactionsViewProjectionRepository.findVersionById(any()))
+                .thenReturn(Mono.empty());
+        Mockito.lenient().when(finalStateResponseCache.put(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(4));
+    }
+
     @Test
     void shouldGetOk() {
         TransactionId transactionId = new TransactionId(TransactionTestUtils.TRANSACTION_ID);
@@ -196,6 +234,9 @@ class TransactionsControllerTest {
         Mockito.when(mockExchange.getRequest().getURI())
                 .thenReturn(URI.create(String.join("/", "https://localhost/transactions", transactionId)));
 
+        Mockito.when(mockExchange.getRequest().getHeaders())
+                .thenReturn(new HttpHeaders());
+
         ResponseEntity<TransactionInfoDto> responseEntity = transactionsController
                 .getTransactionInfo(transactionId, null, mockExchange).block();
 
@@ -814,6 +855,108 @@ class TransactionsControllerTest {
         }
     }
 
+    @Test
+    void shouldGetTransactionInfoWithETag() {
+        TransactionInfoDto response = new TransactionInfoDto()
+                .addPaymentsItem(
+                        new PaymentInfoDto()
+                                .amount(MOCK_AMOUNT)
+                                .reason("Reason")
+                                .paymentToken("payment_token")
+                ).authToken("token")
+                .status(TransactionStatusDto.AUTHORIZATION_REQUESTED);
+        String transactionId = TransactionTestUtils.TRANSACTION_ID;
+
+        Mockito.when(transactionsViewProjectionRepository.findVersionById(transactionId))
+                .thenReturn(
+                        Mono.just(
+                                new TransactionViewVersion(
+                                        transactionId,
+                                        null,
+                                        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.AUTHORIZATION_REQUESTED,
+                                        10L
+                                )
+                        )
+                );
+        Mockito.when(transactionsService.getTransactionInfo(transactionId, null))
+                .thenReturn(Mono.just(response));
+
+        webTestClient.get()
+                .uri("/transactions/{trnId}", Map.of("trnId", transactionId))
+                .header("x-api-key", "primary-key")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .valueEquals(HttpHeaders.ETAG, "W/\"10-AUTHORIZATION_REQUESTED\"")
+                .expectHeader()
+                .valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+                .expectBody(TransactionInfoDto.class)
+                .isEqualTo(response);
+    }
+
+    @Test
+    void shouldReturnNotModifiedForTransactionInfoMatchingETag() {
+        String transactionId = TransactionTestUtils.TRANSACTION_ID;
+
+        Mockito.when(transactionsViewProjectionRepository.findVersionById(transactionId))
+                .thenReturn(
+                        Mono.just(
+                                new TransactionViewVersion(
+                                        transactionId,
+                                        null,
+                                        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.AUTHORIZATION_REQUESTED,
+                                        10L
+                                )
+                        )
+                );
+
+        webTestClient.get()
+                .uri("/transactions/{trnId}", Map.of("trnId", transactionId))
+                .header("x-api-key", "primary-key")
+                .ifNoneMatch("W/\"10-AUTHORIZATION_REQUESTED\"")
+                .exchange()
+                .expectStatus()
+                .isNotModified()
+                .expectHeader()
+                .valueEquals(HttpHeaders.ETAG, "W/\"10-AUTHORIZATION_REQUESTED\"")
+                .expectHeader()
+                .valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+                .expectBody()
+                .isEmpty();
+        verify(transactionsService, never()).getTransactionInfo(any(), any());
+    }
+
+    @Test
+    void shouldReturnNotModifiedForTransactionOutcomesMatchingETag() {
+        String transactionId = TransactionTestUtils.TRANSACTION_ID;
+
+        Mockito.when(transactionsViewProjectionRepository.findVersionById(transactionId))
+                .thenReturn(
+                        Mono.just(
+                                new TransactionViewVersion(
+                                        transactionId,
+                                        null,
+                                        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.NOTIFIED_OK,
+                                        20L
+                                )
+                        )
+                );
+
+        webTestClient.get()
+                .uri("/transactions/{trnId}/outcomes", Map.of("trnId", transactionId))
+                .header("x-api-key", "primary-key")
+                .ifNoneMatch("W/\"20-NOTIFIED_OK\"")
+                .exchange()
+                .expectStatus()
+                .isNotModified()
+                .expectHeader()
+                .valueEquals(HttpHeaders.ETAG, "W/\"20-NOTIFIED_OK\"")
+                .expectHeader()
+                .valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private");
+        verify(transactionsService, never()).getTransactionOutcome(any(), any());
+    }
+
     @ParameterizedTest
     @ValueSource(
             strings = {
@@ -1654,6 +1797,9 @@ class TransactionsControllerTest {
         Mockito.when(mockExchange.getRequest().getURI())
                 .thenReturn(URI.create(String.join("/", "https://localhost/transactions", transactionId, "outcomes")));
 
+        Mockito.when(mockExchange.getRequest().getHeaders())
+                .thenReturn(new HttpHeaders());
+
         ResponseEntity<TransactionOutcomeInfoDto> responseEntity = transactionsController
                 .getTransactionOutcomes(transactionId, null, mockExchange).block();
 
@@ -11,9 +11,14 @@ import it.pagopa.generated.transactions.model.CtFaultBean;
 import it.pagopa.ecommerce.commons.repositories.ExclusiveLockDocument;
 import it.pagopa.generated.transactions.v2.server.model.*;
 import it.pagopa.transactions.exceptions.*;
+import it.pagopa.transactions.repositories.TransactionViewVersion;
+import it.pagopa.transactions.repositories.TransactionsViewProjectionRepository;
 import it.pagopa.transactions.services.v2.TransactionsService;
+import it.pagopa.transactions.utils.FinalStateResponseCache;
+import it.pagopa.transactions.utils.TransactionETagUtils;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import it.pagopa.transactions.utils.UUIDUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -32,6 +37,7 @@ import org.springframework.boot.test.autoconfigure.data.redis.AutoConfigureDataR
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.http.*;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -52,13 +58,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @WebFluxTest(it.pagopa.transactions.controllers.v2.TransactionsController.class)
-@TestPropertySource(locations = "classpath:application-tests.properties")
+@TestPropertySource(
+        locations = "classpath:application-tests.properties",
+        properties = "transactionsview.conditionalRequests.enabled=true"
+)
 @AutoConfigureDataRedis
+@Import(TransactionETagUtils.class)
 class TransactionsControllerTest {
 
     @InjectMocks
@@ -83,6 +94,12 @@ class TransactionsControllerTest {
     @MockitoBean
     private OpenTelemetryUtils openTelemetryUtils;
 
+    @MockitoBean
+    private TransactionsViewProjectionRepository transactionsViewProjectionRepository;
+
+    @MockitoBean
+    private FinalStateResponseCache finalStateResponseCache;
+
     @MockitoBean
     private it.pagopa.transactions.controllers.v1.TransactionsController transactionsControllerV1;
 
@@ -99,6 +116,15 @@ class TransactionsControllerTest {
             Map.of("circuit-breaker-test", CircuitBreakerConfig.ofDefaults())
     );
 
+    @BeforeEach
+    void setUp() {
+        Mockito.lenient().when(finalStateResponseCache.get(any(), any(), any())).thenReturn(Mono.empty());
+        Mockito.lenient().when(transactionsViewProjectionRepository.findVersionById(any()))
+                .thenReturn(Mono.empty());
+        Mockito.lenient().when(finalStateResponseCache.put(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(4));
+    }
+
     @Test
     void shouldGetOk() {
         TransactionId transactionId = new TransactionId(TransactionTestUtils.TRANSACTION_ID);
@@ -803,6 +829,81 @@ class TransactionsControllerTest {
 
     }
 
+    @Test
+    void shouldHandleGetTransactionWithETag() {
+        String transactionId = it.pagopa.ecommerce.commons.v2.TransactionTestUtils.TRANSACTION_ID;
+        TransactionInfoDto expectedResponse = new TransactionInfoDto()
+                .transactionId(transactionId)
+                .status(TransactionStatusDto.CLOSED)
+                .addPaymentsItem(
+                        new PaymentInfoDto()
+                                .rptId("rptId")
+                );
+
+        Mockito.when(transactionsViewProjectionRepository.findVersionById(transactionId))
+                .thenReturn(
+                        Mono.just(
+                                new TransactionViewVersion(
+                                        transactionId,
+                                        null,
+                                        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.CLOSED,
+                                        10L
+                                )
+                        )
+                );
+        Mockito.when(transactionsService.getTransactionInfo(transactionId, null))
+                .thenReturn(Mono.just(expectedResponse));
+
+        webTestClient.get()
+                .uri("/v2/transactions/{transactionId}", Map.of("transactionId", transactionId))
+                .header("X-Client-Id", "CHECKOUT")
+                .header("x-correlation-id", UUID.randomUUID().toString())
+                .header("x-api-key", "primary-key")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectHeader()
+                .valueEquals(HttpHeaders.ETAG, "W/\"10-CLOSED\"")
+                .expectHeader()
+                .valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+                .expectBody(TransactionInfoDto.class)
+                .isEqualTo(expectedResponse);
+    }
+
+    @Test
+    void shouldReturnNotModifiedForGetTransactionMatchingETag() {
+        String transactionId = it.pagopa.ecommerce.commons.v2.TransactionTestUtils.TRANSACTION_ID;
+
+        Mockito.when(transactionsViewProjectionRepository.findVersionById(transactionId))
+                .thenReturn(
+                        Mono.just(
+                                new TransactionViewVersion(
+                                        transactionId,
+                                        null,
+                                        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.CLOSED,
+                                        10L
+                                )
+                        )
+                );
+
+        webTestClient.get()
+                .uri("/v2/transactions/{transactionId}", Map.of("transactionId", transactionId))
+                .header("X-Client-Id", "CHECKOUT")
+                .header("x-correlation-id", UUID.randomUUID().toString())
+                .header("x-api-key", "primary-key")
+                .ifNoneMatch("W/\"10-CLOSED\"")
+                .exchange()
+                .expectStatus()
+                .isNotModified()
+                .expectHeader()
+                .valueEquals(HttpHeaders.ETAG, "W/\"10-CLOSED\"")
+                .expectHeader()
+                .valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+                .expectBody()
+                .isEmpty();
+        verify(transactionsService, never()).getTransactionInfo(any(), any());
+    }
+
     public static Stream<Arguments> patchAuthRequestProxyTestMethodSource() {
         return Stream.of(
                 Arguments.of(
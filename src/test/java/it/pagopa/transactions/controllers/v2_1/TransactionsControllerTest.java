@@ -35,10 +35,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -819,4 +822,116 @@ class TransactionsControllerTest {
         }
     }
 
+    @Test
+    void shouldWaitTransactionOutcome() {
+        String transactionId = new TransactionId(TransactionTestUtils.TRANSACTION_ID).value();
+        TransactionOutcomeInfoDto outcome = new TransactionOutcomeInfoDto()
+                .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0)
+                .isFinalStatus(true);
+        Mockito.when(transactionsService.waitTransactionOutcome(transactionId, null, 5))
+                .thenReturn(Mono.just(outcome));
+
+        webTestClient.get()
+                .uri("/v2.1/transactions/{transactionId}/outcomes?waitSeconds=5", transactionId)
+                .header("x-api-key", "primary-key")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(TransactionOutcomeInfoDto.class)
+                .isEqualTo(outcome);
+    }
+
+    @Test
+    void shouldReturnNotFoundWaitingOutcomeOfUnknownTransaction() {
+        String transactionId = new TransactionId(TransactionTestUtils.TRANSACTION_ID).value();
+        Mockito.when(transactionsService.waitTransactionOutcome(transactionId, null, null))
+                .thenReturn(Mono.error(new TransactionNotFoundException(transactionId)));
+
+        webTestClient.get()
+                .uri("/v2.1/transactions/{transactionId}/outcomes", transactionId)
+                .header("x-api-key", "primary-key")
+                .exchange()
+                .expectStatus()
+                .isNotFound()
+                .expectBody(ProblemJsonDto.class)
+                .value(p -> assertEquals(404, p.getStatus()));
+    }
+
+    @Test
+    void shouldStreamTransactionOutcomeUpdates() {
+        String transactionId = new TransactionId(TransactionTestUtils.TRANSACTION_ID).value();
+        TransactionOutcomeInfoDto pending = new TransactionOutcomeInfoDto()
+                .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1)
+                .isFinalStatus(false);
+        TransactionOutcomeInfoDto completed = new TransactionOutcomeInfoDto()
+                .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0)
+                .totalAmount(100L)
+                .fees(BigDecimal.TEN.intValue())
+                .isFinalStatus(true);
+        Mockito.when(transactionsService.streamTransactionOutcome(transactionId, null))
+                .thenReturn(Mono.just(Flux.just(pending, completed)));
+
+        List<TransactionOutcomeInfoDto> events = webTestClient.get()
+                .uri("/v2.1/transactions/{transactionId}/outcomes/events", transactionId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("x-api-key", "primary-key")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(TransactionOutcomeInfoDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(List.of(pending, completed), events);
+    }
+
+    @Test
+    void shouldStreamTransactionsStatusesAsNdjson() {
+        String transactionId = new TransactionId(TransactionTestUtils.TRANSACTION_ID).value();
+        TransactionStatusInfoDto statusInfo = new TransactionStatusInfoDto()
+                .transactionId(transactionId)
+                .status(TransactionStatusDto.NOTIFIED_OK)
+                .outcome(
+                        new TransactionOutcomeInfoDto()
+                                .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0)
+                                .isFinalStatus(true)
+                );
+        Mockito.when(transactionsService.getTransactionsStatuses(List.of(transactionId), null))
+                .thenReturn(Flux.just(statusInfo));
+
+        List<TransactionStatusInfoDto> statuses = webTestClient.post()
+                .uri("/v2.1/transactions/statuses")
+                .header("x-api-key", "primary-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(new TransactionsStatusesRequestDto().transactionIds(List.of(transactionId)))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TransactionStatusInfoDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(List.of(statusInfo), statuses);
+    }
+
+    @Test
+    void shouldReturnBadRequestForEmptyTransactionsStatusesRequest() {
+        webTestClient.post()
+                .uri("/v2.1/transactions/statuses")
+                .header("x-api-key", "primary-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TransactionsStatusesRequestDto().transactionIds(List.of()))
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+
+        Mockito.verify(transactionsService, Mockito.never()).getTransactionsStatuses(any(), any());
+    }
 }
@@ -0,0 +1,34 @@
+package it.pagopa.transactions.exceptions;
+
+import it.pagopa.ecommerce.commons.domain.v2.TransactionId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ControlFlowExceptionsTest {
+
+    @AfterEach
+    void resetStackTraceEnabled() {
+        ControlFlowExceptions.setStackTraceEnabled(false);
+    }
+
+    @Test
+    void shouldNotCaptureStackTraceByDefault() {
+        assertEquals(0, new TransactionNotFoundException("paymentToken").getStackTrace().length);
+        assertEquals(0, new AlreadyProcessedException(new TransactionId(UUID.randomUUID())).getStackTrace().length);
+        assertEquals(0, new InvalidStatusException("invalid status").getStackTrace().length);
+    }
+
+    @Test
+    void shouldCaptureStackTraceWhenEnabled() {
+        ControlFlowExceptions.setStackTraceEnabled(true);
+
+        assertNotEquals(0, new TransactionNotFoundException("paymentToken").getStackTrace().length);
+        assertNotEquals(0, new AlreadyProcessedException(new TransactionId(UUID.randomUUID())).getStackTrace().length);
+        assertNotEquals(0, new InvalidStatusException("invalid status").getStackTrace().length);
+    }
+}
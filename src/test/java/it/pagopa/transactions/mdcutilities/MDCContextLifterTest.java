@@ -0,0 +1,97 @@
+package it.pagopa.transactions.mdcutilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.slf4j.MDC;
+import reactor.core.CoreSubscriber;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MDCContextLifterTest {
+
+    private static final class ContextSubscriber implements CoreSubscriber<String> {
+
+        private final Context context;
+
+        private final List<String> transactionIds = new ArrayList<>();
+
+        private ContextSubscriber(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public Context currentContext() {
+            return context;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            // not needed
+        }
+
+        @Override
+        public void onNext(String value) {
+            transactionIds.add(MDC.get(TransactionTracingUtils.TracingEntry.TRANSACTION_ID.getKey()));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // not needed
+        }
+
+        @Override
+        public void onComplete() {
+            // not needed
+        }
+    }
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void shouldCopyTracingEntriesToMdcBeforeOnNext() {
+        ContextSubscriber subscriber = new ContextSubscriber(
+                Context.of(TransactionTracingUtils.TracingEntry.TRANSACTION_ID.getKey(), "transactionId")
+        );
+        MDC.put(TransactionTracingUtils.TracingEntry.TRANSACTION_ID.getKey(), "otherTransactionId");
+
+        new MDCContextLifter<>(subscriber).onNext("value");
+
+        assertEquals(List.of("transactionId"), subscriber.transactionIds);
+        assertEquals(
+                TransactionTracingUtils.TracingEntry.RPT_IDS.getDefaultValue(),
+                MDC.get(TransactionTracingUtils.TracingEntry.RPT_IDS.getKey())
+        );
+    }
+
+    @Test
+    void shouldKeepOtherMdcEntries() {
+        ContextSubscriber subscriber = new ContextSubscriber(
+                Context.of(TransactionTracingUtils.TracingEntry.TRANSACTION_ID.getKey(), "transactionId")
+        );
+        MDC.put("otherKey", "otherValue");
+
+        new MDCContextLifter<>(subscriber).onNext("value");
+
+        assertEquals("otherValue", MDC.get("otherKey"));
+    }
+
+    @Test
+    void shouldRemoveTracingEntriesForEmptyContext() {
+        ContextSubscriber subscriber = new ContextSubscriber(Context.empty());
+        MDC.put(TransactionTracingUtils.TracingEntry.TRANSACTION_ID.getKey(), "staleTransactionId");
+
+        new MDCContextLifter<>(subscriber).onNext("value");
+
+        assertEquals(1, subscriber.transactionIds.size());
+        assertNull(subscriber.transactionIds.get(0));
+    }
+}
@@ -7,13 +7,16 @@ import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
 import it.pagopa.transactions.commands.data.AuthorizationRequestData;
 import it.pagopa.transactions.commands.data.AuthorizationRequestedEventData;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
 import java.time.ZoneId;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import it.pagopa.transactions.utils.PaymentSessionData;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -33,6 +36,14 @@ class AuthorizationRequestProjectionHandlerTest {
 
     @Mock
     private TransactionsViewRepository transactionsViewRepository;
+
+    private final TransactionOutcomeUtils transactionOutcomeUtils = Mockito.mock(TransactionOutcomeUtils.class);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.lenient().when(transactionOutcomeUtils.materializeOutcome(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
     private final PaymentSessionData.ContextualOnboardDetails contextualOnboardDetails = new PaymentSessionData.ContextualOnboardDetails(
             UUID.randomUUID().toString(),
             100L,
@@ -48,6 +59,7 @@ class AuthorizationRequestProjectionHandlerTest {
 
         authorizationRequestProjectionHandler = new AuthorizationRequestProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 true
         );
 
@@ -157,6 +169,7 @@ class AuthorizationRequestProjectionHandlerTest {
 
         authorizationRequestProjectionHandler = new AuthorizationRequestProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 false
         );
 
@@ -11,6 +11,8 @@ import it.pagopa.ecommerce.commons.generated.npg.v1.dto.OperationResultDto;
 import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
 import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import reactor.core.publisher.Mono;
@@ -26,11 +28,20 @@ class AuthorizationUpdateProjectionHandlerTest {
 
     private final TransactionsViewRepository viewRepository = Mockito.mock(TransactionsViewRepository.class);
 
+    private final TransactionOutcomeUtils transactionOutcomeUtils = Mockito.mock(TransactionOutcomeUtils.class);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.lenient().when(transactionOutcomeUtils.materializeOutcome(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
     private final int paymentTokenValidity = TransactionTestUtils.PAYMENT_TOKEN_VALIDITY_TIME_SEC;
     private final boolean transactionsviewUpdateEnabled = true;
 
     private final it.pagopa.transactions.projections.handlers.v2.AuthorizationUpdateProjectionHandler authorizationUpdateProjectionHandler = new AuthorizationUpdateProjectionHandler(
             viewRepository,
+            transactionOutcomeUtils,
             paymentTokenValidity,
             transactionsviewUpdateEnabled
     );
@@ -41,6 +52,7 @@ class AuthorizationUpdateProjectionHandlerTest {
     void shouldHandleTransactionNpg() {
         AuthorizationUpdateProjectionHandler handler = new AuthorizationUpdateProjectionHandler(
                 viewRepository,
+                transactionOutcomeUtils,
                 paymentTokenValidity,
                 false
         );
@@ -109,6 +121,7 @@ class AuthorizationUpdateProjectionHandlerTest {
     void shouldHandleTransactionNpgWithoutSavingWhenViewUpdateDisabled() {
         AuthorizationUpdateProjectionHandler handler = new AuthorizationUpdateProjectionHandler(
                 viewRepository,
+                transactionOutcomeUtils,
                 paymentTokenValidity,
                 false
         );
@@ -177,6 +190,7 @@ class AuthorizationUpdateProjectionHandlerTest {
     void shouldHandleTransactionRedirectionWithoutSavingWhenViewUpdateDisabled() {
         AuthorizationUpdateProjectionHandler handler = new AuthorizationUpdateProjectionHandler(
                 viewRepository,
+                transactionOutcomeUtils,
                 paymentTokenValidity,
                 false
         );
@@ -246,6 +260,7 @@ class AuthorizationUpdateProjectionHandlerTest {
     void shouldNotSaveErrorCodeForNpgKOAuthorizationRequestWhenUpdateDisabledReturningMonoEmpty() {
         AuthorizationUpdateProjectionHandler handler = new AuthorizationUpdateProjectionHandler(
                 viewRepository,
+                transactionOutcomeUtils,
                 paymentTokenValidity,
                 false
         );
@@ -6,6 +6,8 @@ import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
 import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
 import it.pagopa.transactions.exceptions.TransactionNotFoundException;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -27,10 +29,19 @@ public class CancellationRequestProjectionHandlerTests {
     @Mock
     private TransactionsViewRepository transactionsViewRepository;
 
+    private final TransactionOutcomeUtils transactionOutcomeUtils = Mockito.mock(TransactionOutcomeUtils.class);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.lenient().when(transactionOutcomeUtils.materializeOutcome(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
     @Test
     void shouldHandleProjection() {
         cancellationRequestProjectionHandler = new CancellationRequestProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 true
         );
 
@@ -76,6 +87,7 @@ public class CancellationRequestProjectionHandlerTests {
     void shouldNotSaveWhenViewUpdateDisabledReturningMonoEmpty() {
         cancellationRequestProjectionHandler = new CancellationRequestProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 false
         );
 
@@ -100,6 +112,7 @@ public class CancellationRequestProjectionHandlerTests {
 
         cancellationRequestProjectionHandler = new CancellationRequestProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 true
         );
         Transaction transaction = TransactionTestUtils
@@ -6,6 +6,8 @@ import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
 import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
 import it.pagopa.transactions.exceptions.TransactionNotFoundException;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -23,12 +25,21 @@ public class ClosureRequestedProjectionHandlerTests {
 
     private TransactionsViewRepository transactionsViewRepository = Mockito.mock();
 
+    private final TransactionOutcomeUtils transactionOutcomeUtils = Mockito.mock(TransactionOutcomeUtils.class);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.lenient().when(transactionOutcomeUtils.materializeOutcome(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
     private ClosureRequestedProjectionHandler closureRequestedProjectionHandler;
 
     @Test
     void shouldHandleProjection() {
         closureRequestedProjectionHandler = new ClosureRequestedProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 true
         );
 
@@ -53,12 +64,14 @@ public class ClosureRequestedProjectionHandlerTests {
         StepVerifier.create(closureRequestedProjectionHandler.handle(spyEvent))
                 .expectNext(expected)
                 .verifyComplete();
+        Mockito.verify(transactionOutcomeUtils).materializeOutcome(expected);
     }
 
     @Test
     void shouldHandleProjectionWithoutSavingWhenViewUpdateDisabledReturningMonoEmpty() {
         closureRequestedProjectionHandler = new ClosureRequestedProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 false
         );
 
@@ -73,12 +86,14 @@ public class ClosureRequestedProjectionHandlerTests {
         StepVerifier.create(closureRequestedProjectionHandler.handle(spyEvent))
                 .verifyComplete();
         Mockito.verify(transactionsViewRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(transactionOutcomeUtils, Mockito.never()).materializeOutcome(Mockito.any());
     }
 
     @Test
     void shouldReturnTransactionNotFoundExceptionOnTransactionNotFound() {
         closureRequestedProjectionHandler = new ClosureRequestedProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 true
         );
         Transaction transaction = TransactionTestUtils
@@ -7,6 +7,8 @@ import it.pagopa.ecommerce.commons.domain.v2.TransactionActivated;
 import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
 import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -29,11 +31,20 @@ class TransactionUserReceiptProjectionHandlerTest {
     @Mock
     private TransactionsViewRepository transactionsViewRepository;
 
+    private final TransactionOutcomeUtils transactionOutcomeUtils = Mockito.mock(TransactionOutcomeUtils.class);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.lenient().when(transactionOutcomeUtils.materializeOutcome(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
     @Test
     void shouldHandleTransactionWithOKOutcome() {
 
         transactionUserReceiptProjectionHandler = new TransactionUserReceiptProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 true
         );
         Transaction transaction = TransactionTestUtils
@@ -97,6 +108,7 @@ class TransactionUserReceiptProjectionHandlerTest {
     void shouldHandleTransactionWithKOOutcome() {
         transactionUserReceiptProjectionHandler = new TransactionUserReceiptProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 true
         );
         TransactionActivated transaction = TransactionTestUtils.transactionActivated(ZonedDateTime.now().toString());
@@ -159,6 +171,7 @@ class TransactionUserReceiptProjectionHandlerTest {
     void shouldHandleTransactionWithKOOutcomeWithoutSavingWhenViewUpdateDisabledReturningMonoEmpty() {
         transactionUserReceiptProjectionHandler = new TransactionUserReceiptProjectionHandler(
                 transactionsViewRepository,
+                transactionOutcomeUtils,
                 false
         );
 
@@ -0,0 +1,172 @@
+package it.pagopa.transactions.repositories;
+
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SecondaryReadRouterTest {
+
+    private static final ReadPreference SECONDARY_READ_PREFERENCE = ReadPreference
+            .secondaryPreferred(90, TimeUnit.SECONDS);
+
+    private static final Map<String, Long> VERSIONS = Map.of("secondary", 10L, "primary", 11L);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SecondaryReadRouter secondaryReadRouter = new SecondaryReadRouter(meterRegistry, true, 90);
+
+    private final List<ReadPreference> readPreferences = new ArrayList<>();
+
+    @Test
+    void shouldReadFromSecondary() {
+        StepVerifier.create(
+                secondaryReadRouter.read(
+                        () -> Query.query(Criteria.where("_id").is("id")),
+                        query -> find(query, Map.of(SECONDARY_READ_PREFERENCE, "secondary")),
+                        VERSIONS::get
+                )
+        )
+                .expectNext("secondary")
+                .verifyComplete();
+
+        assertEquals(List.of(SECONDARY_READ_PREFERENCE), readPreferences);
+        assertEquals(1, readCount("secondary"));
+        assertEquals(0, readCount("primary"));
+    }
+
+    @Test
+    void shouldReReadFromPrimaryDocumentMissingOnSecondary() {
+        StepVerifier.create(
+                secondaryReadRouter.read(
+                        () -> Query.query(Criteria.where("_id").is("id")),
+                        query -> find(query, Map.of(ReadPreference.primary(), "primary")),
+                        VERSIONS::get
+                )
+        )
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(List.of(SECONDARY_READ_PREFERENCE, ReadPreference.primary()), readPreferences);
+        assertEquals(1, readCount("primary"));
+    }
+
+    @Test
+    void shouldReReadFromPrimaryDocumentOlderThanMinVersion() {
+        StepVerifier.create(
+                secondaryReadRouter.read(
+                        () -> Query.query(Criteria.where("_id").is("id")),
+                        query -> find(
+                                query,
+                                Map.of(SECONDARY_READ_PREFERENCE, "secondary", ReadPreference.primary(), "primary")
+                        ),
+                        VERSIONS::get
+                ).contextWrite(SecondaryReadRouter.minVersion(11L))
+        )
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(List.of(SECONDARY_READ_PREFERENCE, ReadPreference.primary()), readPreferences);
+        assertEquals(0, readCount("secondary"));
+        assertEquals(1, readCount("primary"));
+    }
+
+    @Test
+    void shouldReadFromSecondaryDocumentNotOlderThanMinVersion() {
+        StepVerifier.create(
+                secondaryReadRouter.read(
+                        () -> Query.query(Criteria.where("_id").is("id")),
+                        query -> find(
+                                query,
+                                Map.of(SECONDARY_READ_PREFERENCE, "secondary", ReadPreference.primary(), "primary")
+                        ),
+                        VERSIONS::get
+                ).contextWrite(SecondaryReadRouter.minVersion(10L))
+        )
+                .expectNext("secondary")
+                .verifyComplete();
+
+        assertEquals(List.of(SECONDARY_READ_PREFERENCE), readPreferences);
+        assertEquals(1, readCount("secondary"));
+        assertEquals(0, readCount("primary"));
+    }
+
+    @Test
+    void shouldReReadFromPrimaryOnlyDocumentsMissingOnSecondary() {
+        List<Collection<String>> primaryQueriedIds = new ArrayList<>();
+
+        StepVerifier.create(
+                secondaryReadRouter.<String>readAll(
+                        List.of("a", "b", "c"),
+                        ids -> Query.query(Criteria.where("_id").in(ids)),
+                        query -> {
+                            readPreferences.add(query.getReadPreference());
+                            if (SECONDARY_READ_PREFERENCE.equals(query.getReadPreference())) {
+                                return Flux.just("a", "c");
+                            }
+                            primaryQueriedIds.add(ids(query));
+                            return Flux.just("b");
+                        },
+                        id -> id
+                )
+        )
+                .expectNext("a", "c", "b")
+                .verifyComplete();
+
+        assertEquals(List.of(SECONDARY_READ_PREFERENCE, ReadPreference.primary()), readPreferences);
+        assertEquals(List.of(List.of("b")), primaryQueriedIds);
+        assertEquals(2, readCount("secondary"));
+        assertEquals(1, readCount("primary"));
+    }
+
+    @Test
+    void shouldUseDefaultReadPreferenceWhenDisabled() {
+        SecondaryReadRouter disabledSecondaryReadRouter = new SecondaryReadRouter(meterRegistry, false, 90);
+
+        StepVerifier.create(
+                disabledSecondaryReadRouter.read(
+                        () -> Query.query(Criteria.where("_id").is("id")),
+                        query -> {
+                            assertNull(query.getReadPreference());
+                            return Mono.<String>empty();
+                        },
+                        VERSIONS::get
+                )
+        )
+                .verifyComplete();
+
+        assertEquals(0, readCount("secondary"));
+        assertEquals(0, readCount("primary"));
+    }
+
+    private Mono<String> find(
+                              Query query,
+                              Map<ReadPreference, String> documents
+    ) {
+        readPreferences.add(query.getReadPreference());
+        return Mono.justOrEmpty(documents.get(query.getReadPreference()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<String> ids(Query query) {
+        return (Collection<String>) query.getQueryObject().get("_id", Document.class).get("$in");
+    }
+
+    private double readCount(String member) {
+        return meterRegistry.counter("transactionsview.reads", "member", member).count();
+    }
+}
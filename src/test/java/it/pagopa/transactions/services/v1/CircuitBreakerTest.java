@@ -16,6 +16,7 @@ import it.pagopa.generated.transactions.server.model.RequestAuthorizationRequest
 import it.pagopa.generated.transactions.server.model.UpdateAuthorizationRequestDto;
 import it.pagopa.transactions.exceptions.*;
 import it.pagopa.transactions.repositories.TransactionsEventStoreRepository;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import org.junit.jupiter.api.MethodOrderer;
@@ -64,6 +65,8 @@ class CircuitBreakerTest {
     @MockitoBean
     private TransactionsViewRepository transactionsViewRepository;
     @MockitoBean
+    private TransactionsViewOutcomeRepository transactionsViewOutcomeRepository;
+    @MockitoBean
     private TransactionsUtils transactionsUtils;
 
     @MockitoBean
@@ -177,7 +180,7 @@ class CircuitBreakerTest {
         /*
          * Preconditions
          */
-        Mockito.when(transactionsViewRepository.findById(any(String.class)))
+        Mockito.when(transactionsViewRepository.findTransactionInfoById(any(String.class)))
                 .thenReturn(Mono.error(thrownException));
 
         StepVerifier
@@ -206,7 +209,7 @@ class CircuitBreakerTest {
         /*
          * Preconditions
          */
-        Mockito.when(transactionsViewRepository.findById(any(String.class)))
+        Mockito.when(transactionsViewOutcomeRepository.findById(any(String.class)))
                 .thenReturn(Mono.error(thrownException));
 
         StepVerifier
@@ -1,5 +1,6 @@
 package it.pagopa.transactions.services.v1;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import it.pagopa.ecommerce.commons.documents.BaseTransactionEvent;
 import it.pagopa.ecommerce.commons.documents.PaymentNotice;
 import it.pagopa.ecommerce.commons.documents.PaymentTransferInformation;
@@ -19,11 +20,20 @@ import it.pagopa.ecommerce.commons.utils.UpdateTransactionStatusTracerUtils;
 import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
 import it.pagopa.generated.transactions.server.model.*;
 import it.pagopa.transactions.client.*;
+import it.pagopa.transactions.commands.dispatcher.TransactionCommandMailbox;
 import it.pagopa.transactions.exceptions.AlreadyProcessedException;
 import it.pagopa.transactions.exceptions.TransactionNotFoundException;
+import it.pagopa.transactions.repositories.FinalStateResponseTemplateWrapper;
 import it.pagopa.transactions.repositories.TransactionsEventStoreRepository;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
+import it.pagopa.transactions.utils.CalculateFeeCache;
 import it.pagopa.transactions.utils.ConfidentialMailUtils;
+import it.pagopa.transactions.utils.FinalStateResponseCache;
+import it.pagopa.transactions.utils.PaymentMethodsCache;
+import it.pagopa.transactions.utils.SideEffectScheduler;
+import it.pagopa.transactions.utils.TransactionOutcomeNotifier;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import it.pagopa.transactions.utils.UUIDUtils;
 import org.junit.jupiter.api.Test;
@@ -40,6 +50,7 @@ import reactor.test.StepVerifier;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.*;
@@ -123,10 +134,66 @@ class TransactionServiceTest {
     private final Set<String> ecommercePossibleFinalStates = Set
             .of("AUTHORIZATION_COMPLETED", "CLOSURE_REQUESTED", "CLOSURE_ERROR");
 
+    private final TransactionsViewOutcomeRepository transactionsViewOutcomeRepository = Mockito
+            .mock(TransactionsViewOutcomeRepository.class);
+
+    private final SideEffectScheduler sideEffectScheduler = new SideEffectScheduler(
+            new SimpleMeterRegistry(),
+            16,
+            16,
+            SideEffectScheduler.OverflowPolicy.QUEUE,
+            Duration.ofSeconds(1)
+    );
+
+    private final FinalStateResponseCache finalStateResponseCache = new FinalStateResponseCache(
+            new SimpleMeterRegistry(),
+            Mockito.mock(FinalStateResponseTemplateWrapper.class),
+            sideEffectScheduler,
+            false,
+            600,
+            1000,
+            Set.of("NOTIFIED_OK"),
+            false
+    );
+
+    private final TransactionOutcomeNotifier transactionOutcomeNotifier = Mockito
+            .mock(TransactionOutcomeNotifier.class);
+
+    private final TransactionOutcomeUtils transactionOutcomeUtils = new TransactionOutcomeUtils(
+            transactionsViewOutcomeRepository,
+            finalStateResponseCache,
+            transactionOutcomeNotifier,
+            sideEffectScheduler,
+            npgAuthorizationErrorCodeMapping,
+            ecommerceFinalStates,
+            ecommercePossibleFinalStates
+    );
+
     private final boolean enablePaymentMethodsHandler = false;
 
     private final OpenTelemetryUtils openTelemetryUtils = mock(OpenTelemetryUtils.class);
 
+    private final TransactionCommandMailbox transactionCommandMailbox = new TransactionCommandMailbox(
+            new SimpleMeterRegistry(),
+            true
+    );
+
+    private final PaymentMethodsCache paymentMethodsCache = new PaymentMethodsCache(
+            new SimpleMeterRegistry(),
+            false,
+            600,
+            60,
+            30,
+            1000
+    );
+
+    private final CalculateFeeCache calculateFeeCache = new CalculateFeeCache(
+            new SimpleMeterRegistry(),
+            false,
+            30,
+            1000
+    );
+
     private final TransactionsService transactionsServiceV1 = new TransactionsService(
             transactionActivateHandlerV2,
             transactionRequestAuthorizationHandlerV2,
@@ -151,11 +218,16 @@ class TransactionServiceTest {
             paymentRequestInfoRedisTemplateWrapper,
             confidentialMailUtils,
             updateTransactionStatusTracerUtils,
-            npgAuthorizationErrorCodeMapping,
-            ecommerceFinalStates,
-            ecommercePossibleFinalStates,
+            transactionsViewOutcomeRepository,
+            transactionOutcomeUtils,
+            finalStateResponseCache,
             enablePaymentMethodsHandler,
-            openTelemetryUtils
+            openTelemetryUtils,
+            transactionCommandMailbox,
+            paymentMethodsCache,
+            new SimpleMeterRegistry(),
+            calculateFeeCache,
+            sideEffectScheduler
     );
 
     private final TransactionsService transactionsServiceV2 = new TransactionsService(
@@ -182,11 +254,16 @@ class TransactionServiceTest {
             paymentRequestInfoRedisTemplateWrapper,
             confidentialMailUtils,
             updateTransactionStatusTracerUtils,
-            npgAuthorizationErrorCodeMapping,
-            ecommerceFinalStates,
-            ecommercePossibleFinalStates,
+            transactionsViewOutcomeRepository,
+            transactionOutcomeUtils,
+            finalStateResponseCache,
             enablePaymentMethodsHandler,
-            openTelemetryUtils
+            openTelemetryUtils,
+            transactionCommandMailbox,
+            paymentMethodsCache,
+            new SimpleMeterRegistry(),
+            calculateFeeCache,
+            sideEffectScheduler
     );
 
     @Test
@@ -1,7 +1,9 @@
 package it.pagopa.transactions.services.v1;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.opentelemetry.api.common.Attributes;
 import it.pagopa.ecommerce.commons.client.QueueAsyncClient;
+import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
 import it.pagopa.ecommerce.commons.documents.PaymentNotice;
 import it.pagopa.ecommerce.commons.documents.PaymentTransferInformation;
 import it.pagopa.ecommerce.commons.documents.v1.Transaction;
@@ -17,12 +19,18 @@ import it.pagopa.ecommerce.commons.v1.TransactionTestUtils;
 import it.pagopa.generated.transactions.server.model.*;
 import it.pagopa.transactions.client.*;
 import it.pagopa.transactions.commands.TransactionRequestAuthorizationCommand;
+import it.pagopa.transactions.commands.dispatcher.TransactionCommandMailbox;
 import it.pagopa.transactions.exceptions.InvalidRequestException;
 import it.pagopa.transactions.exceptions.PaymentMethodNotFoundException;
 import it.pagopa.transactions.exceptions.TransactionNotFoundException;
+import it.pagopa.transactions.repositories.FinalStateResponseTemplateWrapper;
+import it.pagopa.transactions.repositories.TransactionOutcomeView;
+import it.pagopa.transactions.repositories.TransactionViewOutcome;
 import it.pagopa.transactions.repositories.TransactionsEventStoreRepository;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
 import it.pagopa.transactions.utils.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -75,7 +83,14 @@ import static org.mockito.Mockito.*;
             it.pagopa.transactions.projections.handlers.v2.TransactionsActivationProjectionHandler.class,
             TransactionsEventStoreRepository.class,
             UUIDUtils.class,
-            TransactionsUtils.class
+            TransactionsUtils.class,
+            TransactionCommandMailbox.class,
+            PaymentMethodsCache.class,
+            CalculateFeeCache.class,
+            SideEffectScheduler.class,
+            TransactionOutcomeUtils.class,
+            FinalStateResponseCache.class,
+            SimpleMeterRegistry.class
     }
 )
 @AutoConfigureDataRedis
@@ -84,6 +99,21 @@ class TransactionServiceTests {
     @MockitoBean
     private TransactionsViewRepository repository;
 
+    @MockitoBean
+    private TransactionsViewOutcomeRepository transactionsViewOutcomeRepository;
+
+    @MockitoBean
+    private FinalStateResponseTemplateWrapper finalStateResponseTemplateWrapper;
+
+    @MockitoBean
+    private TransactionOutcomeNotifier transactionOutcomeNotifier;
+
+    @Autowired
+    private FinalStateResponseCache finalStateResponseCache;
+
+    @Autowired
+    private TransactionOutcomeUtils transactionOutcomeUtils;
+
     @Autowired
     @Qualifier(it.pagopa.transactions.services.v1.TransactionsService.QUALIFIER_NAME)
     private it.pagopa.transactions.services.v1.TransactionsService transactionsServiceV1;
@@ -91,6 +121,18 @@ class TransactionServiceTests {
     @Autowired
     private UUIDUtils uuidUtils;
 
+    @Autowired
+    private TransactionCommandMailbox transactionCommandMailbox;
+
+    @Autowired
+    private PaymentMethodsCache paymentMethodsCache;
+
+    @Autowired
+    private CalculateFeeCache calculateFeeCache;
+
+    @Autowired
+    private SideEffectScheduler sideEffectScheduler;
+
     @MockitoBean
     private EcommercePaymentMethodsClient ecommercePaymentMethodsClient;
 
@@ -100,6 +142,9 @@ class TransactionServiceTests {
     @MockitoBean
     private WalletClient walletClient;
 
+    @MockitoBean
+    private WalletNotificationExecutor walletNotificationExecutor;
+
     @MockitoBean
     private PaymentGatewayClient paymentGatewayClient;
 
@@ -184,6 +229,16 @@ class TransactionServiceTests {
 
     final String TRANSACTION_ID = TransactionTestUtils.TRANSACTION_ID;
 
+    @BeforeEach
+    void setUp() {
+        when(transactionsViewOutcomeRepository.findById(any(String.class))).thenReturn(Mono.empty());
+        when(transactionsViewOutcomeRepository.updateOutcome(any(), any())).thenReturn(Mono.just(true));
+    }
+
+    private TransactionOutcomeView outcomeView(BaseTransactionView transactionView) {
+        return new TransactionOutcomeView(TRANSACTION_ID, null, null, null, null, transactionView);
+    }
+
     @Test
     void getTransactionReturnsTransactionDataOriginProvided() {
 
@@ -229,7 +284,7 @@ class TransactionServiceTests {
                 .authorizationCode("00")
                 .errorCode(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(repository.findTransactionInfoById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
         StepVerifier.create(transactionsServiceV1.getTransactionInfo(TRANSACTION_ID, null))
                 .assertNext(
                         result -> assertEquals(expected, result)
@@ -280,7 +335,7 @@ class TransactionServiceTests {
                 .authorizationCode(null)
                 .errorCode(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(repository.findTransactionInfoById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
         assertEquals(
                 transactionsServiceV1.getTransactionInfo(TRANSACTION_ID, null).block(),
                 expected
@@ -293,7 +348,7 @@ class TransactionServiceTests {
 
     @Test
     void getTransactionThrowsOnTransactionNotFound() {
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.empty());
+        when(repository.findTransactionInfoById(TRANSACTION_ID)).thenReturn(Mono.empty());
 
         assertThrows(
                 TransactionNotFoundException.class,
@@ -481,11 +536,16 @@ class TransactionServiceTests {
                 null, // reactivePaymentRequestInfoRedisTemplateWrapper,
                 confidentialMailUtils,
                 updateTransactionStatusTracerUtils,
-                new HashMap<>(),
-                new HashSet<>(),
-                new HashSet<>(),
+                transactionsViewOutcomeRepository,
+                transactionOutcomeUtils,
+                finalStateResponseCache,
                 true,
-                openTelemetryUtils
+                openTelemetryUtils,
+                transactionCommandMailbox,
+                paymentMethodsCache,
+                new SimpleMeterRegistry(),
+                calculateFeeCache,
+                sideEffectScheduler
         );
 
         Transaction transaction = TransactionTestUtils.transactionDocument(
@@ -617,7 +677,7 @@ class TransactionServiceTests {
                         it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.NOTIFIED_OK,
                         ZonedDateTime.now()
                 );
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertThrows(
                 IllegalStateException.class,
                 () -> transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block()
@@ -672,7 +732,7 @@ class TransactionServiceTests {
                 .fees(50)
                 .isFinalStatus(true);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -729,7 +789,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         transaction.setFeeTotal(fees);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 expected,
                 transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block()
@@ -741,6 +801,117 @@ class TransactionServiceTests {
                 .verifyComplete();
     }
 
+    @Test
+    void getTransactionOutcomeReturnsMaterializedOutcomeWithoutReadingWholeView() {
+        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto status = it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.NOTIFIED_OK;
+        TransactionOutcomeView transactionOutcomeView = new TransactionOutcomeView(
+                TRANSACTION_ID,
+                null,
+                status,
+                10L,
+                new TransactionViewOutcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0, true, 300L, 50, status, 10L),
+                null
+        );
+        TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
+                .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0)
+                .isFinalStatus(true)
+                .totalAmount(300L)
+                .fees(50);
+
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transactionOutcomeView));
+
+        StepVerifier
+                .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
+                .expectNext(expected)
+                .verifyComplete();
+    }
+
+    @Test
+    void getTransactionOutcomeEvaluatesOutcomeFromViewForStaleMaterializedOutcome() {
+        final it.pagopa.ecommerce.commons.documents.v2.Transaction transaction = it.pagopa.ecommerce.commons.v2.TransactionTestUtils
+                .transactionDocument(
+                        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.CLOSED,
+                        ZonedDateTime.now()
+                );
+        transaction.setUserId(null);
+        transaction.setSendPaymentResultOutcome(null);
+        TransactionOutcomeView transactionOutcomeView = new TransactionOutcomeView(
+                TRANSACTION_ID,
+                null,
+                it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.CLOSED,
+                transaction.getLastProcessedEventAt(),
+                new TransactionViewOutcome(
+                        TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17,
+                        false,
+                        null,
+                        null,
+                        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.CLOSURE_REQUESTED,
+                        transaction.getLastProcessedEventAt()
+                ),
+                transaction
+        );
+
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transactionOutcomeView));
+
+        StepVerifier
+                .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
+                .expectNext(
+                        new TransactionOutcomeInfoDto()
+                                .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1)
+                                .isFinalStatus(false)
+                )
+                .verifyComplete();
+    }
+
+    @Test
+    void getTransactionViewOutcomeEvaluatesStaleOutcomeWithoutQueries() {
+        final it.pagopa.ecommerce.commons.documents.v2.Transaction transaction = it.pagopa.ecommerce.commons.v2.TransactionTestUtils
+                .transactionDocument(
+                        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.CLOSED,
+                        ZonedDateTime.now()
+                );
+        transaction.setUserId(null);
+        transaction.setSendPaymentResultOutcome(null);
+        TransactionOutcomeView transactionOutcomeView = new TransactionOutcomeView(
+                TRANSACTION_ID,
+                null,
+                it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.CLOSED,
+                transaction.getLastProcessedEventAt(),
+                null,
+                transaction
+        );
+
+        StepVerifier
+                .create(transactionsServiceV1.getTransactionViewOutcome(transactionOutcomeView, null))
+                .assertNext(outcome -> {
+                    assertEquals(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1, outcome.outcome());
+                    assertFalse(outcome.isFinalStatus());
+                })
+                .verifyComplete();
+
+        verify(transactionsViewOutcomeRepository, never()).findById(any(String.class));
+    }
+
+    @Test
+    void getTransactionOutcomeReturnsNotFoundForMaterializedOutcomeOfAnotherUser() {
+        it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto status = it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.NOTIFIED_OK;
+        TransactionOutcomeView transactionOutcomeView = new TransactionOutcomeView(
+                TRANSACTION_ID,
+                UUID.randomUUID().toString(),
+                status,
+                10L,
+                new TransactionViewOutcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0, true, 300L, 50, status, 10L),
+                null
+        );
+
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transactionOutcomeView));
+
+        StepVerifier
+                .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, UUID.randomUUID()))
+                .expectError(TransactionNotFoundException.class)
+                .verify();
+    }
+
     private static Stream<Arguments> getTransactionStatusForFinalOutcomesForSendPaymentResultConditionedLogic() {
         return Stream.of(
                 Arguments.of(
@@ -868,7 +1039,7 @@ class TransactionServiceTests {
         transaction.setFeeTotal(50);
         transaction.setSendPaymentResultOutcome(sendPaymentResultOutcomeEnum);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -1646,7 +1817,7 @@ class TransactionServiceTests {
         transaction.setGatewayAuthorizationStatus(gatewayAuthorizationStatus);
         transaction.setUserId(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -1976,7 +2147,7 @@ class TransactionServiceTests {
         transaction.setAuthorizationErrorCode(errorCode);
         transaction.setUserId(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -2172,7 +2343,7 @@ class TransactionServiceTests {
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto().outcome(expectedOutcome)
                 .isFinalStatus(true);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
 
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
@@ -2205,7 +2376,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1).isFinalStatus(true);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -2237,7 +2408,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25).isFinalStatus(true);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -2269,7 +2440,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1).isFinalStatus(true);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -2301,7 +2472,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_25).isFinalStatus(true);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -2350,7 +2521,7 @@ class TransactionServiceTests {
         transaction.setClosureErrorData(closureErrorData);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18).isFinalStatus(true);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -2383,7 +2554,7 @@ class TransactionServiceTests {
         transaction.setClosureErrorData(closureErrorData);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17).isFinalStatus(false);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -2426,7 +2597,7 @@ class TransactionServiceTests {
         transaction.setClosureErrorData(closureErrorData);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1).isFinalStatus(true);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -2469,7 +2640,7 @@ class TransactionServiceTests {
         transaction.setClosureErrorData(closureErrorData);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1).isFinalStatus(false);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null))
                 .expectNext(expected)
@@ -2524,7 +2695,7 @@ class TransactionServiceTests {
         transaction.setPaymentGateway("NPG");
         transaction.setUserId(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         TransactionOutcomeInfoDto response = transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block();
         assertTrue(
                 Objects.requireNonNull(response)
@@ -2559,7 +2730,7 @@ class TransactionServiceTests {
         transaction.setGatewayAuthorizationStatus(EXECUTED.getValue());
         transaction.setUserId(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         TransactionOutcomeInfoDto response = transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block();
         assertFalse(
                 Objects.requireNonNull(response)
@@ -2594,7 +2765,7 @@ class TransactionServiceTests {
         transaction.setGatewayAuthorizationStatus("OK");
         transaction.setUserId(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         TransactionOutcomeInfoDto response = transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block();
         assertFalse(
                 Objects.requireNonNull(response)
@@ -2629,7 +2800,7 @@ class TransactionServiceTests {
         transaction.setGatewayAuthorizationStatus("test");
         transaction.setUserId(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         TransactionOutcomeInfoDto response = transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block();
         assertTrue(
                 Objects.requireNonNull(response)
@@ -2665,7 +2836,7 @@ class TransactionServiceTests {
         transaction.setGatewayAuthorizationStatus("test");
         transaction.setUserId(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         TransactionOutcomeInfoDto response = transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block();
         assertTrue(
                 Objects.requireNonNull(response)
@@ -2728,7 +2899,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         transaction.setClosureErrorData(closureErrorData);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18,
                 Objects.requireNonNull(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block())
@@ -2749,7 +2920,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         transaction.setClosureErrorData(closureErrorData);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_18,
                 Objects.requireNonNull(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block())
@@ -2770,7 +2941,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         transaction.setClosureErrorData(closureErrorData);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17,
                 Objects.requireNonNull(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block())
@@ -2791,7 +2962,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         transaction.setClosureErrorData(closureErrorData);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17,
                 Objects.requireNonNull(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block())
@@ -2812,7 +2983,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         transaction.setClosureErrorData(closureErrorData);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1,
                 Objects.requireNonNull(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block())
@@ -2851,7 +3022,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         transaction.setClosureErrorData(closureErrorData);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1,
                 Objects.requireNonNull(transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block())
@@ -2903,7 +3074,7 @@ class TransactionServiceTests {
             expected.setFees(50);
             expected.setTotalAmount(MOCK_AMOUNT);
         }
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 expected,
                 transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block()
@@ -2938,7 +3109,7 @@ class TransactionServiceTests {
             expected.setFees(50);
             expected.setTotalAmount(MOCK_AMOUNT);
         }
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 expected,
                 transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block()
@@ -2961,7 +3132,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17).isFinalStatus(true);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 expected,
                 transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block()
@@ -2985,7 +3156,7 @@ class TransactionServiceTests {
         transaction.setPaymentGateway("test");
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_17).isFinalStatus(true);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 expected,
                 transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block()
@@ -3008,7 +3179,7 @@ class TransactionServiceTests {
         transaction.setUserId(null);
         TransactionOutcomeInfoDto expected = new TransactionOutcomeInfoDto()
                 .outcome(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1).isFinalStatus(false);
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(transactionsViewOutcomeRepository.findById(TRANSACTION_ID)).thenReturn(Mono.just(outcomeView(transaction)));
         assertEquals(
                 expected,
                 transactionsServiceV1.getTransactionOutcome(TRANSACTION_ID, null).block()
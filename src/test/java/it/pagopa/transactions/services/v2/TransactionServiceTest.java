@@ -1,5 +1,6 @@
 package it.pagopa.transactions.services.v2;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import it.pagopa.ecommerce.commons.documents.BaseTransactionEvent;
 import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
 import it.pagopa.ecommerce.commons.documents.PaymentNotice;
@@ -13,10 +14,15 @@ import it.pagopa.ecommerce.commons.utils.ConfidentialDataManager;
 import it.pagopa.ecommerce.commons.utils.ConfidentialDataManagerTest;
 import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
 import it.pagopa.generated.transactions.v2.server.model.*;
+import it.pagopa.transactions.commands.dispatcher.TransactionCommandMailbox;
 import it.pagopa.transactions.exceptions.InvalidRequestException;
 import it.pagopa.transactions.exceptions.NotImplementedException;
+import it.pagopa.transactions.exceptions.TransactionNotFoundException;
+import it.pagopa.transactions.repositories.FinalStateResponseTemplateWrapper;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
 import it.pagopa.transactions.utils.ConfidentialMailUtils;
+import it.pagopa.transactions.utils.FinalStateResponseCache;
+import it.pagopa.transactions.utils.SideEffectScheduler;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -33,9 +39,11 @@ import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -60,13 +68,26 @@ class TransactionServiceTest {
     private final ConfidentialMailUtils confidentialMailUtils = new ConfidentialMailUtils(confidentialDataManager);
     private static final Long MOCK_AMOUNT = 100L;
 
+    private final FinalStateResponseCache finalStateResponseCache = new FinalStateResponseCache(
+            new SimpleMeterRegistry(),
+            Mockito.mock(FinalStateResponseTemplateWrapper.class),
+            new SideEffectScheduler(new SimpleMeterRegistry(), 16, 16, SideEffectScheduler.OverflowPolicy.QUEUE, Duration.ZERO),
+            true,
+            600,
+            100,
+            Set.of("NOTIFIED_OK"),
+            false
+    );
+
     @Autowired
     private final TransactionsService transactionsService = new TransactionsService(
             transactionActivateHandlerV2,
             transactionsActivationProjectionHandlerV2,
             transactionsUtils,
             confidentialMailUtils,
-            transactionsViewRepository
+            transactionsViewRepository,
+            new TransactionCommandMailbox(new SimpleMeterRegistry(), true),
+            finalStateResponseCache
     );
 
     @Test
@@ -467,7 +488,7 @@ class TransactionServiceTest {
                                 .authorizationCode("authorizationCode")
                                 .errorCode("authorizationErrorCode")
                 );
-        Mockito.when(transactionsViewRepository.findById(any(String.class))).thenReturn(Mono.just(transaction));
+        Mockito.when(transactionsViewRepository.findTransactionInfoById(any(String.class))).thenReturn(Mono.just(transaction));
         Mockito.when(transactionsUtils.convertEnumerationV2(any())).thenCallRealMethod();
 
         // test
@@ -501,7 +522,7 @@ class TransactionServiceTest {
         closureErrorData.setErrorDescription("errorDescription");
         closureErrorData.setErrorType(ClosureErrorData.ErrorType.KO_RESPONSE_RECEIVED);
         closureErrorData.setHttpErrorCode(HttpStatus.BAD_REQUEST);
-        Mockito.when(transactionsViewRepository.findById(any(String.class)))
+        Mockito.when(transactionsViewRepository.findTransactionInfoById(any(String.class)))
                 .thenReturn(Mono.just(invalidBaseTransaction));
         Mockito.when(transactionsUtils.convertEnumerationV2(any())).thenCallRealMethod();
         String transactionId = TransactionTestUtils.TRANSACTION_ID;
@@ -511,4 +532,48 @@ class TransactionServiceTest {
                 .expectError(NotImplementedException.class)
                 .verify();
     }
+
+    @Test
+    void shouldServeTransactionInfoInImmutableStateFromCache() {
+        Transaction transaction = TransactionTestUtils.transactionDocument(
+                it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.NOTIFIED_OK,
+                ZonedDateTime.now()
+        );
+        String transactionId = transaction.getTransactionId();
+        UUID userId = UUID.fromString(transaction.getUserId());
+        Mockito.when(transactionsViewRepository.findTransactionInfoById(transactionId)).thenReturn(Mono.just(transaction));
+        Mockito.when(transactionsUtils.convertEnumerationV2(any())).thenCallRealMethod();
+
+        TransactionInfoDto transactionInfo = transactionsService.getTransactionInfo(transactionId, userId).block();
+
+        StepVerifier
+                .create(transactionsService.getTransactionInfo(transactionId, userId))
+                .expectNext(transactionInfo)
+                .verifyComplete();
+        StepVerifier
+                .create(transactionsService.getTransactionInfo(transactionId, UUID.randomUUID()))
+                .expectError(TransactionNotFoundException.class)
+                .verify();
+        Mockito.verify(transactionsViewRepository, Mockito.times(1)).findTransactionInfoById(transactionId);
+    }
+
+    @Test
+    void shouldNotCacheTransactionInfoInMutableState() {
+        Transaction transaction = TransactionTestUtils.transactionDocument(
+                it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.CLOSED,
+                ZonedDateTime.now()
+        );
+        String transactionId = transaction.getTransactionId();
+        UUID userId = UUID.fromString(transaction.getUserId());
+        Mockito.when(transactionsViewRepository.findTransactionInfoById(transactionId)).thenReturn(Mono.just(transaction));
+        Mockito.when(transactionsUtils.convertEnumerationV2(any())).thenCallRealMethod();
+
+        StepVerifier.create(transactionsService.getTransactionInfo(transactionId, userId))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(transactionsService.getTransactionInfo(transactionId, userId))
+                .expectNextCount(1)
+                .verifyComplete();
+        Mockito.verify(transactionsViewRepository, Mockito.times(2)).findTransactionInfoById(transactionId);
+    }
 }
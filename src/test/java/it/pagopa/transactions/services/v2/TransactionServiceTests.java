@@ -1,5 +1,8 @@
 package it.pagopa.transactions.services.v2;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import it.pagopa.ecommerce.commons.client.QueueAsyncClient;
 import it.pagopa.ecommerce.commons.documents.BaseTransactionView;
 import it.pagopa.ecommerce.commons.documents.v2.*;
@@ -29,18 +32,30 @@ import it.pagopa.generated.wallet.v1.dto.WalletAuthDataDto;
 import it.pagopa.transactions.client.*;
 import it.pagopa.transactions.commands.TransactionRequestAuthorizationCommand;
 import it.pagopa.transactions.commands.data.AuthorizationRequestData;
+import it.pagopa.transactions.commands.dispatcher.TransactionCommandMailbox;
 import it.pagopa.transactions.exceptions.InvalidRequestException;
 import it.pagopa.transactions.exceptions.NotImplementedException;
 import it.pagopa.transactions.exceptions.PaymentNoticeAllCCPMismatchException;
+import it.pagopa.transactions.exceptions.TransactionAmountMismatchException;
 import it.pagopa.transactions.exceptions.TransactionNotFoundException;
 import it.pagopa.transactions.projections.handlers.v2.AuthorizationRequestProjectionHandler;
 import it.pagopa.transactions.projections.handlers.v2.TransactionsActivationProjectionHandler;
+import it.pagopa.transactions.repositories.FinalStateResponseTemplateWrapper;
 import it.pagopa.transactions.repositories.TransactionsEventStoreRepository;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
 import it.pagopa.transactions.repositories.TransactionsViewRepository;
 import it.pagopa.transactions.utils.AuthRequestDataUtils;
+import it.pagopa.transactions.utils.CalculateFeeCache;
 import it.pagopa.transactions.utils.ConfidentialMailUtils;
+import it.pagopa.transactions.utils.FinalStateResponseCache;
+import it.pagopa.transactions.utils.PaymentMethodsCache;
+import it.pagopa.transactions.utils.SideEffectScheduler;
+import it.pagopa.transactions.utils.TransactionOutcomeNotifier;
+import it.pagopa.transactions.utils.TransactionOutcomeUtils;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import it.pagopa.transactions.utils.UUIDUtils;
+import it.pagopa.transactions.utils.WalletNotificationExecutor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -58,15 +73,19 @@ import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 import reactor.util.function.Tuples;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -91,7 +110,14 @@ import static org.mockito.Mockito.*;
             it.pagopa.transactions.projections.handlers.v2.TransactionsActivationProjectionHandler.class,
             TransactionsEventStoreRepository.class,
             UUIDUtils.class,
-            TransactionsUtils.class
+            TransactionsUtils.class,
+            TransactionCommandMailbox.class,
+            PaymentMethodsCache.class,
+            CalculateFeeCache.class,
+            SideEffectScheduler.class,
+            TransactionOutcomeUtils.class,
+            FinalStateResponseCache.class,
+            SimpleMeterRegistry.class
     }
 )
 @AutoConfigureDataRedis
@@ -99,6 +125,21 @@ class TransactionServiceTests {
     @MockitoBean
     private TransactionsViewRepository repository;
 
+    @MockitoBean
+    private TransactionsViewOutcomeRepository transactionsViewOutcomeRepository;
+
+    @MockitoBean
+    private FinalStateResponseTemplateWrapper finalStateResponseTemplateWrapper;
+
+    @MockitoBean
+    private TransactionOutcomeNotifier transactionOutcomeNotifier;
+
+    @Autowired
+    private FinalStateResponseCache finalStateResponseCache;
+
+    @Autowired
+    private TransactionOutcomeUtils transactionOutcomeUtils;
+
     @Autowired
     @Qualifier(it.pagopa.transactions.services.v1.TransactionsService.QUALIFIER_NAME)
     private it.pagopa.transactions.services.v1.TransactionsService transactionsServiceV1;
@@ -106,6 +147,21 @@ class TransactionServiceTests {
     @Autowired
     private UUIDUtils uuidUtils;
 
+    @Autowired
+    private TransactionCommandMailbox transactionCommandMailbox;
+
+    @Autowired
+    private PaymentMethodsCache paymentMethodsCache;
+
+    @Autowired
+    private CalculateFeeCache calculateFeeCache;
+
+    @Autowired
+    private SideEffectScheduler sideEffectScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private EcommercePaymentMethodsClient ecommercePaymentMethodsClient;
 
@@ -115,6 +171,9 @@ class TransactionServiceTests {
     @MockitoBean
     private WalletClient walletClient;
 
+    @MockitoBean
+    private WalletNotificationExecutor walletNotificationExecutor;
+
     @MockitoBean
     private PaymentGatewayClient paymentGatewayClient;
 
@@ -205,6 +264,11 @@ class TransactionServiceTests {
 
     private static final String expectedOperationTimestamp = "2023-01-01T01:02:03";
 
+    @BeforeEach
+    void setUp() {
+        when(transactionsViewOutcomeRepository.updateOutcome(any(), any())).thenReturn(Mono.just(true));
+    }
+
     @Test
     void getTransactionReturnsTransactionDataOriginProvided() {
 
@@ -250,7 +314,7 @@ class TransactionServiceTests {
                 .authorizationCode("00")
                 .errorCode(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(repository.findTransactionInfoById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
         assertEquals(
                 transactionsServiceV1.getTransactionInfo(TRANSACTION_ID, UUID.fromString(USER_ID)).block(),
                 expected
@@ -308,7 +372,7 @@ class TransactionServiceTests {
                 .authorizationCode("00")
                 .errorCode(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(repository.findTransactionInfoById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
         assertEquals(
                 transactionsServiceV1.getTransactionInfo(TRANSACTION_ID, null).block(),
                 expected
@@ -322,7 +386,7 @@ class TransactionServiceTests {
 
     @Test
     void getTransactionReturnsUnexpectedClassInstance() {
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(new BaseTransactionView() {
+        when(repository.findTransactionInfoById(TRANSACTION_ID)).thenReturn(Mono.just(new BaseTransactionView() {
         }));
         StepVerifier
                 .create(transactionsServiceV1.getTransactionInfo(TRANSACTION_ID, null))
@@ -373,7 +437,7 @@ class TransactionServiceTests {
                 .authorizationCode(null)
                 .errorCode(null);
 
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
+        when(repository.findTransactionInfoById(TRANSACTION_ID)).thenReturn(Mono.just(transaction));
         assertEquals(
                 transactionsServiceV1.getTransactionInfo(TRANSACTION_ID, UUID.fromString(USER_ID)).block(),
                 expected
@@ -387,7 +451,7 @@ class TransactionServiceTests {
 
     @Test
     void getTransactionThrowsOnTransactionNotFound() {
-        when(repository.findById(TRANSACTION_ID)).thenReturn(Mono.empty());
+        when(repository.findTransactionInfoById(TRANSACTION_ID)).thenReturn(Mono.empty());
 
         assertThrows(
                 TransactionNotFoundException.class,
@@ -777,11 +841,16 @@ class TransactionServiceTests {
                 paymentRequestInfoRedisTemplateWrapper, // reactivePaymentRequestInfoRedisTemplateWrapper,
                 confidentialMailUtils,
                 updateTransactionStatusTracerUtils,
-                new HashMap<>(),
-                new HashSet<>(),
-                new HashSet<>(),
+                transactionsViewOutcomeRepository,
+                transactionOutcomeUtils,
+                finalStateResponseCache,
                 true,
-                openTelemetryUtils
+                openTelemetryUtils,
+                transactionCommandMailbox,
+                paymentMethodsCache,
+                new SimpleMeterRegistry(),
+                calculateFeeCache,
+                sideEffectScheduler
         );
 
         RequestAuthorizationRequestDto authorizationRequest = new RequestAuthorizationRequestDto()
@@ -1058,11 +1127,23 @@ class TransactionServiceTests {
                                 )
                         )
                 );
+        Counter nonBlockingThreadResponses = meterRegistry.get("transactions.authorization.update.response.thread")
+                .tag("nonBlocking", "true").counter();
+        Counter blockingThreadResponses = meterRegistry.get("transactions.authorization.update.response.thread")
+                .tag("nonBlocking", "false").counter();
+        double nonBlockingThreadResponsesBefore = nonBlockingThreadResponses.count();
+        double blockingThreadResponsesBefore = blockingThreadResponses.count();
         /* test */
         TransactionInfoDto transactionInfoResponse = transactionsServiceV1
-                .updateTransactionAuthorization(transactionIdDecoded, updateAuthorizationRequest).block();
+                .updateTransactionAuthorization(transactionIdDecoded, updateAuthorizationRequest)
+                .subscribeOn(Schedulers.parallel())
+                .block();
 
         assertEquals(expectedResponse, transactionInfoResponse);
+        // response is emitted on the non-blocking subscriber thread, without hopping
+        // to the bounded elastic scheduler
+        assertEquals(nonBlockingThreadResponsesBefore + 1, nonBlockingThreadResponses.count());
+        assertEquals(blockingThreadResponsesBefore, blockingThreadResponses.count());
     }
 
     @Test
@@ -1263,6 +1344,91 @@ class TransactionServiceTests {
                 .verify();
     }
 
+    @Test
+    void shouldCancelPaymentInstrumentRetrievalOnTransactionValidationError() {
+        String orderId = "orderId";
+        RequestAuthorizationRequestDto authorizationRequest = new RequestAuthorizationRequestDto()
+                .amount(MOCK_AMOUNT + 1)
+                .paymentInstrumentId("paymentInstrumentId")
+                .language(RequestAuthorizationRequestDto.LanguageEnum.IT).fee(200)
+                .pspId("PSP_CODE")
+                .isAllCCP(false)
+                .details(
+                        new CardsAuthRequestDetailsDto().orderId(orderId)
+                );
+        AtomicBoolean cardDataRetrievalCancelled = new AtomicBoolean(false);
+
+        /* preconditions */
+        Mockito.when(
+                ecommercePaymentMethodsClient.retrieveCardData(authorizationRequest.getPaymentInstrumentId(), orderId)
+        ).thenReturn(
+                Mono.<SessionPaymentMethodResponseDto>never()
+                        .doOnCancel(() -> cardDataRetrievalCancelled.set(true))
+        );
+        Mockito.when(transactionsEventStoreRepository.findByTransactionIdOrderByCreationDateAsc(TRANSACTION_ID))
+                .thenReturn(
+                        Flux.just(TransactionTestUtils.transactionActivateEvent()).delayElements(Duration.ofMillis(50))
+                );
+
+        /* test */
+        StepVerifier
+                .create(
+                        transactionsServiceV1
+                                .requestTransactionAuthorization(
+                                        TRANSACTION_ID,
+                                        UUID.fromString(USER_ID),
+                                        null,
+                                        null,
+                                        authorizationRequest
+                                )
+                )
+                .expectErrorMatches(TransactionAmountMismatchException.class::isInstance)
+                .verify(Duration.ofSeconds(5));
+
+        assertTrue(cardDataRetrievalCancelled.get());
+        verify(ecommercePaymentMethodsClient, times(0)).calculateFee(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnTransactionValidationErrorOverPaymentInstrumentError() {
+        String orderId = "orderId";
+        RequestAuthorizationRequestDto authorizationRequest = new RequestAuthorizationRequestDto()
+                .amount(MOCK_AMOUNT + 1)
+                .paymentInstrumentId("paymentInstrumentId")
+                .language(RequestAuthorizationRequestDto.LanguageEnum.IT).fee(200)
+                .pspId("PSP_CODE")
+                .isAllCCP(false)
+                .details(
+                        new CardsAuthRequestDetailsDto().orderId(orderId)
+                );
+
+        /* preconditions */
+        Mockito.when(
+                ecommercePaymentMethodsClient.retrieveCardData(authorizationRequest.getPaymentInstrumentId(), orderId)
+        ).thenReturn(Mono.error(new InvalidRequestException("Card data not found")));
+        Mockito.when(transactionsEventStoreRepository.findByTransactionIdOrderByCreationDateAsc(TRANSACTION_ID))
+                .thenReturn(
+                        Flux.just(TransactionTestUtils.transactionActivateEvent()).delayElements(Duration.ofMillis(50))
+                );
+
+        /* test */
+        StepVerifier
+                .create(
+                        transactionsServiceV1
+                                .requestTransactionAuthorization(
+                                        TRANSACTION_ID,
+                                        UUID.fromString(USER_ID),
+                                        null,
+                                        null,
+                                        authorizationRequest
+                                )
+                )
+                .expectErrorMatches(TransactionAmountMismatchException.class::isInstance)
+                .verify(Duration.ofSeconds(5));
+
+        verify(ecommercePaymentMethodsClient, times(0)).calculateFee(any(), any(), any(), any());
+    }
+
     @Test
     void shouldReturnBadRequestForMismatchingFlagAllCCP() {
         RequestAuthorizationRequestDto authorizationRequest = new RequestAuthorizationRequestDto()
@@ -1,5 +1,6 @@
 package it.pagopa.transactions.services.v2_1;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import it.pagopa.ecommerce.commons.documents.BaseTransactionEvent;
 import it.pagopa.ecommerce.commons.documents.PaymentNotice;
 import it.pagopa.ecommerce.commons.documents.PaymentTransferInformation;
@@ -11,20 +12,35 @@ import it.pagopa.ecommerce.commons.domain.v2.*;
 import it.pagopa.ecommerce.commons.domain.v2.TransactionActivated;
 import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
 import it.pagopa.generated.transactions.v2_1.server.model.*;
+import it.pagopa.transactions.commands.dispatcher.TransactionCommandMailbox;
+import it.pagopa.transactions.exceptions.TransactionNotFoundException;
+import it.pagopa.transactions.repositories.FinalStateResponseTemplateWrapper;
+import it.pagopa.transactions.repositories.TransactionOutcomeView;
+import it.pagopa.transactions.repositories.TransactionViewOutcome;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
+import it.pagopa.transactions.utils.FinalStateResponseCache;
+import it.pagopa.transactions.utils.SideEffectScheduler;
+import it.pagopa.transactions.utils.TransactionOutcomeNotifier;
 import it.pagopa.transactions.utils.TransactionsUtils;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.test.autoconfigure.data.redis.AutoConfigureDataRedis;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 
 @AutoConfigureDataRedis
@@ -36,10 +52,44 @@ class TransactionServiceTest {
 
     private final TransactionsUtils transactionsUtils = Mockito.mock(TransactionsUtils.class);
 
+    private final it.pagopa.transactions.services.v1.TransactionsService transactionsServiceV1 = Mockito
+            .mock(it.pagopa.transactions.services.v1.TransactionsService.class);
+
+    private final TransactionOutcomeNotifier transactionOutcomeNotifier = new TransactionOutcomeNotifier(
+            Mockito.mock(ReactiveStringRedisTemplate.class),
+            new SimpleMeterRegistry(),
+            new SideEffectScheduler(new SimpleMeterRegistry(), 16, 16, SideEffectScheduler.OverflowPolicy.QUEUE, Duration.ZERO),
+            false,
+            "transaction-outcome-updates"
+    );
+
+    private final TransactionsViewOutcomeRepository transactionsViewOutcomeRepository = Mockito
+            .mock(TransactionsViewOutcomeRepository.class);
+
+    private final FinalStateResponseCache finalStateResponseCache = new FinalStateResponseCache(
+            new SimpleMeterRegistry(),
+            Mockito.mock(FinalStateResponseTemplateWrapper.class),
+            new SideEffectScheduler(new SimpleMeterRegistry(), 16, 16, SideEffectScheduler.OverflowPolicy.QUEUE, Duration.ZERO),
+            true,
+            600,
+            100,
+            Set.of("NOTIFIED_OK"),
+            false
+    );
+
     private final it.pagopa.transactions.services.v2_1.TransactionsService transactionsService = new TransactionsService(
             transactionActivateHandlerv2,
             transactionsActivationProjectionHandlerv2,
-            transactionsUtils
+            transactionsUtils,
+            new TransactionCommandMailbox(new SimpleMeterRegistry(), true),
+            transactionsServiceV1,
+            transactionOutcomeNotifier,
+            transactionsViewOutcomeRepository,
+            finalStateResponseCache,
+            60,
+            10,
+            30,
+            120
     );
     private static final Long MOCK_AMOUNT = 100L;
 
@@ -452,4 +502,231 @@ class TransactionServiceTest {
                 .verifyComplete();
 
     }
+
+    @Test
+    void shouldReturnFinalTransactionOutcomeWithoutWaiting() {
+        String transactionId = new TransactionId(UUID.randomUUID()).value();
+        Mockito.when(transactionsServiceV1.getTransactionOutcome(transactionId, null))
+                .thenReturn(Mono.just(outcomeV1(true)));
+
+        StepVerifier.create(transactionsService.waitTransactionOutcome(transactionId, null, 30))
+                .expectNext(expectedOutcome(true))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        Mockito.verify(transactionsServiceV1, Mockito.times(1)).getTransactionOutcome(transactionId, null);
+    }
+
+    @Test
+    void shouldReturnCurrentTransactionOutcomeWithZeroWait() {
+        String transactionId = new TransactionId(UUID.randomUUID()).value();
+        Mockito.when(transactionsServiceV1.getTransactionOutcome(transactionId, null))
+                .thenReturn(Mono.just(outcomeV1(false)));
+
+        StepVerifier.create(transactionsService.waitTransactionOutcome(transactionId, null, 0))
+                .expectNext(expectedOutcome(false))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        Mockito.verify(transactionsServiceV1, Mockito.times(1)).getTransactionOutcome(transactionId, null);
+    }
+
+    @Test
+    void shouldReturnFinalTransactionOutcomeOnceNotified() {
+        String transactionId = new TransactionId(UUID.randomUUID()).value();
+        Mockito.when(transactionsServiceV1.getTransactionOutcome(transactionId, null))
+                .thenReturn(Mono.just(outcomeV1(false)), Mono.just(outcomeV1(true)));
+
+        StepVerifier.create(transactionsService.waitTransactionOutcome(transactionId, null, 30))
+                .then(() -> transactionOutcomeNotifier.notifyUpdate(new TransactionId(UUID.randomUUID()).value(), 10L))
+                .then(() -> transactionOutcomeNotifier.notifyUpdate(transactionId, 10L))
+                .expectNext(expectedOutcome(true))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        Mockito.verify(transactionsServiceV1, Mockito.times(2)).getTransactionOutcome(transactionId, null);
+    }
+
+    @Test
+    void shouldStreamTransactionOutcomeUntilFinal() {
+        String transactionId = new TransactionId(UUID.randomUUID()).value();
+        Mockito.when(transactionsServiceV1.getTransactionOutcome(transactionId, null))
+                .thenReturn(
+                        Mono.just(outcomeV1(false)),
+                        Mono.just(outcomeV1(false)),
+                        Mono.just(outcomeV1(true))
+                );
+
+        StepVerifier.create(transactionsService.streamTransactionOutcome(transactionId, null).flatMapMany(f -> f))
+                .expectNext(expectedOutcome(false))
+                .then(() -> transactionOutcomeNotifier.notifyUpdate(transactionId, 10L))
+                .then(() -> transactionOutcomeNotifier.notifyUpdate(transactionId, 10L))
+                .expectNext(expectedOutcome(true))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldReturnErrorWaitingOutcomeOfNotFoundTransaction() {
+        String transactionId = new TransactionId(UUID.randomUUID()).value();
+        Mockito.when(transactionsServiceV1.getTransactionOutcome(transactionId, null))
+                .thenReturn(Mono.error(new TransactionNotFoundException(transactionId)));
+
+        StepVerifier.create(transactionsService.waitTransactionOutcome(transactionId, null, 30))
+                .expectError(TransactionNotFoundException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldGetTransactionsStatusesFromCacheAndView() {
+        UUID userId = UUID.randomUUID();
+        String cachedTransactionId = new TransactionId(UUID.randomUUID()).value();
+        String materializedTransactionId = new TransactionId(UUID.randomUUID()).value();
+        String staleTransactionId = new TransactionId(UUID.randomUUID()).value();
+        String otherUserTransactionId = new TransactionId(UUID.randomUUID()).value();
+        String missingTransactionId = new TransactionId(UUID.randomUUID()).value();
+        TransactionViewOutcome notifiedOutcome = viewOutcome(
+                it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.NOTIFIED_OK,
+                true
+        );
+        TransactionViewOutcome pendingOutcome = viewOutcome(
+                it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.AUTHORIZATION_REQUESTED,
+                false
+        );
+        finalStateResponseCache.put(
+                FinalStateResponseCache.TRANSACTION_OUTCOME,
+                cachedTransactionId,
+                userId.toString(),
+                notifiedOutcome.status(),
+                notifiedOutcome
+        );
+        Mockito.when(transactionsUtils.convertEnumerationV2_1(any())).thenCallRealMethod();
+        Mockito.when(
+                transactionsViewOutcomeRepository.findAllById(
+                        List.of(materializedTransactionId, staleTransactionId, otherUserTransactionId, missingTransactionId)
+                )
+        ).thenReturn(
+                Flux.just(
+                        new TransactionOutcomeView(
+                                materializedTransactionId,
+                                userId.toString(),
+                                pendingOutcome.status(),
+                                pendingOutcome.lastProcessedEventAt(),
+                                pendingOutcome,
+                                null
+                        ),
+                        new TransactionOutcomeView(
+                                staleTransactionId,
+                                userId.toString(),
+                                it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.NOTIFIED_OK,
+                                pendingOutcome.lastProcessedEventAt() + 1,
+                                pendingOutcome,
+                                null
+                        ),
+                        new TransactionOutcomeView(
+                                otherUserTransactionId,
+                                UUID.randomUUID().toString(),
+                                pendingOutcome.status(),
+                                pendingOutcome.lastProcessedEventAt(),
+                                pendingOutcome,
+                                null
+                        )
+                )
+        );
+        Mockito.when(transactionsServiceV1.getTransactionViewOutcome(any(), Mockito.eq(userId))).thenAnswer(
+                invocation -> Mono.just(
+                        Optional.ofNullable(invocation.<TransactionOutcomeView>getArgument(0).upToDateOutcome())
+                                .orElse(notifiedOutcome)
+                )
+        );
+
+        StepVerifier.create(
+                transactionsService.getTransactionsStatuses(
+                        List.of(
+                                cachedTransactionId,
+                                materializedTransactionId,
+                                staleTransactionId,
+                                otherUserTransactionId,
+                                missingTransactionId,
+                                cachedTransactionId
+                        ),
+                        userId
+                ).collectList()
+        )
+                .assertNext(statuses -> {
+                    assertEquals(
+                            Set.of(
+                                    new TransactionStatusInfoDto().transactionId(cachedTransactionId)
+                                            .status(TransactionStatusDto.NOTIFIED_OK).outcome(expectedOutcome(true)),
+                                    new TransactionStatusInfoDto().transactionId(materializedTransactionId)
+                                            .status(TransactionStatusDto.AUTHORIZATION_REQUESTED)
+                                            .outcome(expectedOutcome(false)),
+                                    new TransactionStatusInfoDto().transactionId(staleTransactionId)
+                                            .status(TransactionStatusDto.NOTIFIED_OK).outcome(expectedOutcome(true))
+                            ),
+                            Set.copyOf(statuses)
+                    );
+                    assertEquals(3, statuses.size());
+                })
+                .verifyComplete();
+
+        Mockito.verify(transactionsServiceV1, Mockito.times(2)).getTransactionViewOutcome(any(), any());
+        Mockito.verify(transactionsServiceV1, Mockito.never()).getTransactionOutcome(any(), any());
+    }
+
+    @Test
+    void shouldNotQueryViewWhenAllTransactionsStatusesAreCached() {
+        String transactionId = new TransactionId(UUID.randomUUID()).value();
+        TransactionViewOutcome notifiedOutcome = viewOutcome(
+                it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto.NOTIFIED_OK,
+                true
+        );
+        finalStateResponseCache
+                .put(FinalStateResponseCache.TRANSACTION_OUTCOME, transactionId, null, notifiedOutcome.status(), notifiedOutcome);
+        Mockito.when(transactionsUtils.convertEnumerationV2_1(any())).thenCallRealMethod();
+
+        StepVerifier.create(transactionsService.getTransactionsStatuses(List.of(transactionId), null))
+                .expectNext(
+                        new TransactionStatusInfoDto().transactionId(transactionId)
+                                .status(TransactionStatusDto.NOTIFIED_OK).outcome(expectedOutcome(true))
+                )
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(transactionsViewOutcomeRepository);
+    }
+
+    private static TransactionViewOutcome viewOutcome(
+                                                      it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto status,
+                                                      boolean isFinalStatus
+    ) {
+        return new TransactionViewOutcome(
+                isFinalStatus ? it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0
+                        : it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1,
+                isFinalStatus,
+                null,
+                null,
+                status,
+                10L
+        );
+    }
+
+    private static it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto outcomeV1(
+                                                                                                    boolean isFinalStatus
+    ) {
+        return new it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto()
+                .outcome(
+                        isFinalStatus ? it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0
+                                : it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1
+                )
+                .isFinalStatus(isFinalStatus);
+    }
+
+    private static TransactionOutcomeInfoDto expectedOutcome(boolean isFinalStatus) {
+        return new TransactionOutcomeInfoDto()
+                .outcome(
+                        isFinalStatus ? TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0
+                                : TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1
+                )
+                .isFinalStatus(isFinalStatus);
+    }
 }
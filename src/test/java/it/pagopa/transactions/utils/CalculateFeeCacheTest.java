@@ -0,0 +1,87 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.pagopa.generated.ecommerce.paymentmethods.v2.dto.CalculateFeeRequestDto;
+import it.pagopa.generated.ecommerce.paymentmethods.v2.dto.CalculateFeeResponseDto;
+import it.pagopa.generated.ecommerce.paymentmethods.v2.dto.PaymentNoticeDto;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CalculateFeeCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private static CalculateFeeRequestDto calculateFeeRequest(String bin) {
+        return new CalculateFeeRequestDto()
+                .addPaymentNoticesItem(
+                        new PaymentNoticeDto()
+                                .paymentAmount(10L)
+                                .primaryCreditorInstitution("7777777777")
+                )
+                .bin(bin)
+                .touchpoint("CHECKOUT").idPspList(List.of("pspId"));
+    }
+
+    private Mono<CalculateFeeResponseDto> loader() {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return new CalculateFeeResponseDto().belowThreshold(true);
+        });
+    }
+
+    @Test
+    void shouldBuildSameKeyForEqualRequests() {
+        assertEquals(
+                CalculateFeeCache.keyOf("paymentMethodId", null, calculateFeeRequest("57497554")),
+                CalculateFeeCache.keyOf("paymentMethodId", null, calculateFeeRequest("57497554"))
+        );
+    }
+
+    @Test
+    void shouldBuildDifferentKeysForDifferentRequests() {
+        assertNotEquals(
+                CalculateFeeCache.keyOf("paymentMethodId", null, calculateFeeRequest("57497554")),
+                CalculateFeeCache.keyOf("paymentMethodId", null, calculateFeeRequest("40000000"))
+        );
+        assertNotEquals(
+                CalculateFeeCache.keyOf("paymentMethodId", "walletId", calculateFeeRequest("57497554")),
+                CalculateFeeCache.keyOf("paymentMethodId", null, calculateFeeRequest("57497554"))
+        );
+    }
+
+    @Test
+    void shouldServeCachedResponseForSameRequest() {
+        CalculateFeeCache calculateFeeCache = new CalculateFeeCache(meterRegistry, true, 30, 100);
+        CalculateFeeCache.Key key = CalculateFeeCache.keyOf("paymentMethodId", null, calculateFeeRequest("57497554"));
+
+        StepVerifier.create(calculateFeeCache.getCalculateFeeResponse(key, this::loader))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(calculateFeeCache.getCalculateFeeResponse(key, this::loader))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "calculateFee").gauge().value());
+    }
+
+    @Test
+    void shouldAlwaysLoadWhenDisabled() {
+        CalculateFeeCache calculateFeeCache = new CalculateFeeCache(meterRegistry, false, 30, 100);
+        CalculateFeeCache.Key key = CalculateFeeCache.keyOf("paymentMethodId", null, calculateFeeRequest("57497554"));
+
+        calculateFeeCache.getCalculateFeeResponse(key, this::loader).block();
+        calculateFeeCache.getCalculateFeeResponse(key, this::loader).block();
+
+        assertEquals(2, loads.get());
+    }
+}
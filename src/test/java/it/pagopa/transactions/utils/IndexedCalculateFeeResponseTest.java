@@ -0,0 +1,63 @@
+package it.pagopa.transactions.utils;
+
+import it.pagopa.generated.ecommerce.paymentmethods.v2.dto.BundleDto;
+import it.pagopa.generated.ecommerce.paymentmethods.v2.dto.CalculateFeeResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedCalculateFeeResponseTest {
+
+    private static List<BundleDto> bundles(int pspCount) {
+        return IntStream.range(0, pspCount)
+                .boxed()
+                .flatMap(
+                        psp -> IntStream.range(0, 3).mapToObj(
+                                feeIndex -> new BundleDto()
+                                        .idPsp("PSP_%d".formatted(psp))
+                                        .idBundle("BUNDLE_%d_%d".formatted(psp, feeIndex))
+                                        .taxPayerFee(100L * (feeIndex + 1))
+                        )
+                )
+                .toList();
+    }
+
+    @Test
+    void shouldFindBundleByPspAndFeeAsLinearScan() {
+        List<BundleDto> bundles = bundles(500);
+        IndexedCalculateFeeResponse indexed = IndexedCalculateFeeResponse
+                .of(new CalculateFeeResponseDto().bundles(bundles));
+
+        for (String idPsp : List.of("PSP_0", "PSP_250", "PSP_499", "PSP_500")) {
+            for (long fee : List.of(100L, 300L, 400L)) {
+                Optional<BundleDto> expected = bundles.stream()
+                        .filter(b -> idPsp.equals(b.getIdPsp()) && Long.valueOf(fee).equals(b.getTaxPayerFee()))
+                        .findFirst();
+                assertEquals(expected, indexed.findBundle(idPsp, fee));
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnFirstBundleForDuplicatedPspAndFee() {
+        BundleDto first = new BundleDto().idPsp("PSP").idBundle("FIRST").taxPayerFee(100L);
+        BundleDto second = new BundleDto().idPsp("PSP").idBundle("SECOND").taxPayerFee(100L);
+        IndexedCalculateFeeResponse indexed = IndexedCalculateFeeResponse
+                .of(new CalculateFeeResponseDto().bundles(List.of(first, second)));
+
+        assertEquals(Optional.of(first), indexed.findBundle("PSP", 100L));
+    }
+
+    @Test
+    void shouldHandleResponseWithoutBundles() {
+        CalculateFeeResponseDto response = new CalculateFeeResponseDto().bundles(null);
+        IndexedCalculateFeeResponse indexed = IndexedCalculateFeeResponse.of(response);
+
+        assertSame(response, indexed.response());
+        assertTrue(indexed.findBundle("PSP", 100L).isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.pagopa.transactions.exceptions.InvalidRequestException;
+import it.pagopa.transactions.exceptions.PaymentMethodNotFoundException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReactiveLocalCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-01-01T00:00:00Z"));
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    };
+
+    private final ReactiveLocalCache<String, String> cache = new ReactiveLocalCache<>(
+            "test",
+            Duration.ofSeconds(60),
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(5),
+            2,
+            PaymentMethodNotFoundException.class::isInstance,
+            meterRegistry,
+            clock
+    );
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Mono<String> loader(String value) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return value;
+        });
+    }
+
+    @Test
+    void shouldLoadOnceAndServeCachedValue() {
+        StepVerifier.create(cache.get("key", () -> loader("value"))).expectNext("value").verifyComplete();
+        StepVerifier.create(cache.get("key", () -> loader("other"))).expectNext("value").verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void shouldReloadExpiredValue() {
+        StepVerifier.create(cache.get("key", () -> loader("value"))).expectNext("value").verifyComplete();
+        now.set(now.get().plusSeconds(61));
+        StepVerifier.create(cache.get("key", () -> loader("new-value"))).expectNext("new-value").verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldRefreshAheadServingCachedValue() {
+        StepVerifier.create(cache.get("key", () -> loader("value"))).expectNext("value").verifyComplete();
+        now.set(now.get().plusSeconds(55));
+        StepVerifier.create(cache.get("key", () -> loader("refreshed"))).expectNext("value").verifyComplete();
+        StepVerifier.create(cache.get("key", () -> loader("other"))).expectNext("refreshed").verifyComplete();
+
+        assertEquals(2, loads.get());
+        assertEquals(1, meterRegistry.get("cache.refreshes").counter().count());
+    }
+
+    @Test
+    void shouldCacheNegativeResultForNegativeTtl() {
+        StepVerifier.create(
+                cache.get("key", () -> Mono.error(new PaymentMethodNotFoundException("key", "CHECKOUT")))
+        )
+                .expectError(PaymentMethodNotFoundException.class)
+                .verify();
+        StepVerifier.create(cache.get("key", () -> loader("value")))
+                .expectError(PaymentMethodNotFoundException.class)
+                .verify();
+        now.set(now.get().plusSeconds(6));
+        StepVerifier.create(cache.get("key", () -> loader("value"))).expectNext("value").verifyComplete();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheOtherErrors() {
+        StepVerifier.create(cache.get("key", () -> Mono.error(new InvalidRequestException("error"))))
+                .expectError(InvalidRequestException.class)
+                .verify();
+        StepVerifier.create(cache.get("key", () -> loader("value"))).expectNext("value").verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("cache.loads").tag("result", "failure").counter().count());
+    }
+
+    @Test
+    void shouldEvictEntriesExceedingMaxSize() {
+        StepVerifier.create(cache.get("key1", () -> loader("value1"))).expectNext("value1").verifyComplete();
+        StepVerifier.create(cache.get("key2", () -> loader("value2"))).expectNext("value2").verifyComplete();
+        StepVerifier.create(cache.get("key3", () -> loader("value3"))).expectNext("value3").verifyComplete();
+
+        assertEquals(2, cache.size());
+        assertEquals(1, meterRegistry.get("cache.evictions").counter().count());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyReadEntry() {
+        StepVerifier.create(cache.get("key1", () -> loader("value1"))).expectNext("value1").verifyComplete();
+        StepVerifier.create(cache.get("key2", () -> loader("value2"))).expectNext("value2").verifyComplete();
+        StepVerifier.create(cache.get("key1", () -> loader("other"))).expectNext("value1").verifyComplete();
+        StepVerifier.create(cache.get("key3", () -> loader("value3"))).expectNext("value3").verifyComplete();
+
+        StepVerifier.create(cache.get("key1", () -> loader("other"))).expectNext("value1").verifyComplete();
+        StepVerifier.create(cache.get("key3", () -> loader("other"))).expectNext("value3").verifyComplete();
+        assertEquals(3, loads.get());
+        assertEquals(1, meterRegistry.get("cache.evictions").counter().count());
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaxSizeOnRepeatedPuts() {
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + (i % 3), "value" + i);
+        }
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void shouldServePutValueWithoutLoading() {
+        cache.put("key", "value");
+        StepVerifier.create(cache.get("key", () -> loader("other"))).expectNext("value").verifyComplete();
+        now.set(now.get().plusSeconds(61));
+        StepVerifier.create(cache.get("key", () -> loader("other"))).expectNext("other").verifyComplete();
+
+        assertEquals(1, loads.get());
+    }
+}
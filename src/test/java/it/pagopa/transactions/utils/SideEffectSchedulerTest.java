@@ -0,0 +1,121 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SideEffectSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SideEffectScheduler scheduler(
+                                          int maxConcurrency,
+                                          SideEffectScheduler.OverflowPolicy overflowPolicy,
+                                          Duration shutdownTimeout
+    ) {
+        return new SideEffectScheduler(meterRegistry, maxConcurrency, 1, overflowPolicy, shutdownTimeout);
+    }
+
+    private double tasksCount(String outcome) {
+        return meterRegistry.get("side.effects.tasks").tag("task", "task").tag("outcome", outcome).counter()
+                .count();
+    }
+
+    @Test
+    void shouldRunSubmittedTasksAndCountFailures() {
+        SideEffectScheduler sideEffectScheduler = scheduler(2, SideEffectScheduler.OverflowPolicy.DROP, Duration.ZERO);
+        AtomicInteger executions = new AtomicInteger();
+
+        assertTrue(sideEffectScheduler.submit("task", Mono.fromRunnable(executions::incrementAndGet)));
+        assertTrue(sideEffectScheduler.submit("task", Mono.error(new RuntimeException("side effect error"))));
+
+        assertEquals(1, executions.get());
+        assertEquals(2, tasksCount("submitted"));
+        assertEquals(1, tasksCount("failed"));
+    }
+
+    @Test
+    void shouldDropTasksWhenConcurrencyIsExhausted() {
+        SideEffectScheduler sideEffectScheduler = scheduler(1, SideEffectScheduler.OverflowPolicy.DROP, Duration.ZERO);
+
+        assertTrue(sideEffectScheduler.submit("task", Mono.never()));
+        assertFalse(sideEffectScheduler.submit("task", Mono.empty()));
+
+        assertEquals(1, tasksCount("dropped"));
+    }
+
+    @Test
+    void shouldRunRequiredTasksWhenConcurrencyIsExhausted() {
+        SideEffectScheduler sideEffectScheduler = scheduler(1, SideEffectScheduler.OverflowPolicy.DROP, Duration.ZERO);
+        AtomicInteger executions = new AtomicInteger();
+
+        assertTrue(sideEffectScheduler.submit("task", Mono.never()));
+        sideEffectScheduler.submitRequired("task", Mono.fromRunnable(executions::incrementAndGet));
+
+        assertEquals(1, executions.get());
+        assertEquals(1, tasksCount("overflowed"));
+        assertEquals(0, meterRegistry.find("side.effects.tasks").tag("outcome", "dropped").counters().size());
+        // the overflowed task slot is released once completed
+        assertFalse(sideEffectScheduler.submit("task", Mono.empty()));
+    }
+
+    @Test
+    void shouldQueueTasksUpToCapacityWhenConcurrencyIsExhausted() {
+        SideEffectScheduler sideEffectScheduler = scheduler(1, SideEffectScheduler.OverflowPolicy.QUEUE, Duration.ZERO);
+        Sinks.Empty<Void> running = Sinks.empty();
+        AtomicInteger executions = new AtomicInteger();
+
+        assertTrue(sideEffectScheduler.submit("task", running.asMono()));
+        assertTrue(sideEffectScheduler.submit("task", Mono.fromRunnable(executions::incrementAndGet)));
+        assertFalse(sideEffectScheduler.submit("task", Mono.fromRunnable(executions::incrementAndGet)));
+        assertEquals(0, executions.get());
+
+        running.tryEmitEmpty();
+
+        assertEquals(1, executions.get());
+        assertEquals(1, tasksCount("dropped"));
+    }
+
+    @Test
+    void shouldWaitForRunningTasksOnShutdown() throws InterruptedException {
+        SideEffectScheduler sideEffectScheduler = scheduler(
+                1,
+                SideEffectScheduler.OverflowPolicy.QUEUE,
+                Duration.ofSeconds(5)
+        );
+        Sinks.Empty<Void> running = Sinks.empty();
+        CountDownLatch stopped = new CountDownLatch(1);
+        sideEffectScheduler.start();
+        sideEffectScheduler.submit("task", running.asMono());
+
+        sideEffectScheduler.stop(stopped::countDown);
+
+        assertFalse(stopped.await(100, TimeUnit.MILLISECONDS));
+        running.tryEmitEmpty();
+        assertTrue(stopped.await(1, TimeUnit.SECONDS));
+        assertFalse(sideEffectScheduler.isRunning());
+    }
+
+    @Test
+    void shouldStopAfterShutdownTimeout() throws InterruptedException {
+        SideEffectScheduler sideEffectScheduler = scheduler(
+                1,
+                SideEffectScheduler.OverflowPolicy.QUEUE,
+                Duration.ofMillis(100)
+        );
+        CountDownLatch stopped = new CountDownLatch(1);
+        sideEffectScheduler.submit("task", Mono.never());
+
+        sideEffectScheduler.stop(stopped::countDown);
+
+        assertTrue(stopped.await(1, TimeUnit.SECONDS));
+    }
+}
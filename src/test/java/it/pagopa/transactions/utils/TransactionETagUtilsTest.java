@@ -0,0 +1,272 @@
+package it.pagopa.transactions.utils;
+
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
+import it.pagopa.transactions.exceptions.TransactionNotFoundException;
+import it.pagopa.transactions.repositories.FinalStateResponseTemplateWrapper;
+import it.pagopa.transactions.repositories.SecondaryReadRouter;
+import it.pagopa.transactions.repositories.TransactionViewVersion;
+import it.pagopa.transactions.repositories.TransactionsViewProjectionRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionETagUtilsTest {
+
+    private static final String TRANSACTION_ID = "93cce28d3b7c4cb9975e6d856ecee89f";
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final TransactionsViewProjectionRepository transactionsViewProjectionRepository = Mockito
+            .mock(TransactionsViewProjectionRepository.class);
+
+    private final FinalStateResponseCache finalStateResponseCache = new FinalStateResponseCache(
+            new SimpleMeterRegistry(),
+            Mockito.mock(FinalStateResponseTemplateWrapper.class),
+            new SideEffectScheduler(new SimpleMeterRegistry(), 16, 16, SideEffectScheduler.OverflowPolicy.QUEUE, Duration.ZERO),
+            true,
+            600,
+            100,
+            Set.of("NOTIFIED_OK"),
+            false
+    );
+
+    private final TransactionETagUtils transactionETagUtils = new TransactionETagUtils(
+            transactionsViewProjectionRepository,
+            finalStateResponseCache,
+            true
+    );
+
+    private final SecondaryReadRouter secondaryReadRouter = new SecondaryReadRouter(new SimpleMeterRegistry(), true, 90);
+
+    private final AtomicInteger builtResponses = new AtomicInteger();
+
+    private final Supplier<Mono<String>> responseSupplier = () -> Mono
+            .fromCallable(() -> "response-" + builtResponses.incrementAndGet());
+
+    @Test
+    void shouldTagResponseWithViewVersion() {
+        mockVersion(TransactionStatusDto.AUTHORIZATION_REQUESTED, 10L, USER_ID.toString());
+
+        StepVerifier.create(
+                transactionETagUtils.conditionalGet(
+                        TRANSACTION_ID,
+                        USER_ID,
+                        MockServerHttpRequest.get("/transactions").build(),
+                        responseSupplier
+                )
+        )
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.getStatusCode());
+                    assertEquals("W/\"10-AUTHORIZATION_REQUESTED\"", response.getHeaders().getETag());
+                    assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+                    assertEquals("response-1", response.getBody());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotBuildResponseForMatchingETag() {
+        mockVersion(TransactionStatusDto.AUTHORIZATION_REQUESTED, 10L, USER_ID.toString());
+
+        StepVerifier.create(
+                transactionETagUtils.conditionalGet(
+                        TRANSACTION_ID,
+                        USER_ID,
+                        MockServerHttpRequest.get("/transactions").ifNoneMatch("W/\"10-AUTHORIZATION_REQUESTED\"")
+                                .build(),
+                        responseSupplier
+                )
+        )
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+                    assertEquals("W/\"10-AUTHORIZATION_REQUESTED\"", response.getHeaders().getETag());
+                    assertNull(response.getBody());
+                })
+                .verifyComplete();
+
+        assertEquals(0, builtResponses.get());
+    }
+
+    @Test
+    void shouldBuildResponseForStaleETag() {
+        mockVersion(TransactionStatusDto.AUTHORIZATION_COMPLETED, 11L, USER_ID.toString());
+
+        StepVerifier.create(
+                transactionETagUtils.conditionalGet(
+                        TRANSACTION_ID,
+                        USER_ID,
+                        MockServerHttpRequest.get("/transactions").ifNoneMatch("W/\"10-AUTHORIZATION_REQUESTED\"")
+                                .build(),
+                        responseSupplier
+                )
+        )
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.getStatusCode());
+                    assertEquals("W/\"11-AUTHORIZATION_COMPLETED\"", response.getHeaders().getETag());
+                    assertEquals("response-1", response.getBody());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReadVersionNotOlderThanIfNoneMatchFromPrimary() {
+        Mockito.when(transactionsViewProjectionRepository.findVersionById(TRANSACTION_ID))
+                .thenReturn(
+                        secondaryReadRouter.read(
+                                Query::new,
+                                query -> Mono.just(
+                                        new TransactionViewVersion(
+                                                TRANSACTION_ID,
+                                                USER_ID.toString(),
+                                                TransactionStatusDto.AUTHORIZATION_REQUESTED,
+                                                ReadPreference.primary().equals(query.getReadPreference()) ? 10L : 9L
+                                        )
+                                ),
+                                TransactionViewVersion::lastProcessedEventAt
+                        )
+                );
+
+        StepVerifier.create(
+                transactionETagUtils.conditionalGet(
+                        TRANSACTION_ID,
+                        USER_ID,
+                        MockServerHttpRequest.get("/transactions").ifNoneMatch("W/\"10-AUTHORIZATION_REQUESTED\"")
+                                .build(),
+                        responseSupplier
+                )
+        )
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.NOT_MODIFIED)
+                .verifyComplete();
+
+        assertEquals(0, builtResponses.get());
+    }
+
+    @Test
+    void shouldNotBuildResponseOlderThanETag() {
+        mockVersion(TransactionStatusDto.AUTHORIZATION_COMPLETED, 11L, USER_ID.toString());
+
+        StepVerifier.create(
+                transactionETagUtils.conditionalGet(
+                        TRANSACTION_ID,
+                        USER_ID,
+                        MockServerHttpRequest.get("/transactions").build(),
+                        () -> secondaryReadRouter.read(
+                                Query::new,
+                                query -> Mono.just(
+                                        ReadPreference.primary().equals(query.getReadPreference()) ? 11L : 10L
+                                ),
+                                version -> version
+                        )
+                )
+        )
+                .assertNext(response -> {
+                    assertEquals("W/\"11-AUTHORIZATION_COMPLETED\"", response.getHeaders().getETag());
+                    assertEquals(11L, response.getBody());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnNotFoundForTransactionOfAnotherUser() {
+        mockVersion(TransactionStatusDto.AUTHORIZATION_REQUESTED, 10L, UUID.randomUUID().toString());
+
+        StepVerifier.create(
+                transactionETagUtils.conditionalGet(
+                        TRANSACTION_ID,
+                        USER_ID,
+                        MockServerHttpRequest.get("/transactions").ifNoneMatch("*").build(),
+                        responseSupplier
+                )
+        )
+                .expectError(TransactionNotFoundException.class)
+                .verify();
+
+        assertEquals(0, builtResponses.get());
+    }
+
+    @Test
+    void shouldNotTagResponseWithoutViewVersion() {
+        mockVersion(TransactionStatusDto.ACTIVATED, null, null);
+
+        StepVerifier.create(
+                transactionETagUtils.conditionalGet(
+                        TRANSACTION_ID,
+                        null,
+                        MockServerHttpRequest.get("/transactions").ifNoneMatch("*").build(),
+                        responseSupplier
+                )
+        )
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.getStatusCode());
+                    assertNull(response.getHeaders().getETag());
+                    assertEquals("response-1", response.getBody());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldServeVersionOfTransactionsInImmutableStatesFromCache() {
+        mockVersion(TransactionStatusDto.NOTIFIED_OK, 20L, USER_ID.toString());
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(
+                    transactionETagUtils.conditionalGet(
+                            TRANSACTION_ID,
+                            USER_ID,
+                            MockServerHttpRequest.get("/transactions").ifNoneMatch("W/\"20-NOTIFIED_OK\"").build(),
+                            responseSupplier
+                    )
+            )
+                    .expectNextMatches(response -> response.getStatusCode() == HttpStatus.NOT_MODIFIED)
+                    .verifyComplete();
+        }
+
+        Mockito.verify(transactionsViewProjectionRepository, Mockito.times(1)).findVersionById(TRANSACTION_ID);
+    }
+
+    @Test
+    void shouldServeRequestsUnconditionallyWhenDisabled() {
+        TransactionETagUtils disabledTransactionETagUtils = new TransactionETagUtils(
+                transactionsViewProjectionRepository,
+                finalStateResponseCache,
+                false
+        );
+
+        StepVerifier.create(
+                disabledTransactionETagUtils.conditionalGet(
+                        TRANSACTION_ID,
+                        USER_ID,
+                        MockServerHttpRequest.get("/transactions").ifNoneMatch("*").build(),
+                        responseSupplier
+                )
+        )
+                .expectNext(ResponseEntity.ok("response-1"))
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(transactionsViewProjectionRepository);
+    }
+
+    private void mockVersion(
+                             TransactionStatusDto status,
+                             Long lastProcessedEventAt,
+                             String userId
+    ) {
+        Mockito.when(transactionsViewProjectionRepository.findVersionById(TRANSACTION_ID))
+                .thenReturn(Mono.just(new TransactionViewVersion(TRANSACTION_ID, userId, status, lastProcessedEventAt)));
+    }
+}
@@ -0,0 +1,103 @@
+package it.pagopa.transactions.utils;
+
+import it.pagopa.ecommerce.commons.documents.v2.Transaction;
+import it.pagopa.ecommerce.commons.redis.reactivetemplatewrappers.ReactiveExclusiveLockDocumentWrapper;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+
+class TransactionOutcomeBackfillJobTest {
+
+    private final TransactionsViewOutcomeRepository transactionsViewOutcomeRepository = Mockito
+            .mock(TransactionsViewOutcomeRepository.class);
+
+    private final TransactionOutcomeUtils transactionOutcomeUtils = Mockito.mock(TransactionOutcomeUtils.class);
+
+    private final ReactiveExclusiveLockDocumentWrapper reactiveExclusiveLockDocumentWrapper = Mockito
+            .mock(ReactiveExclusiveLockDocumentWrapper.class);
+
+    private final TransactionOutcomeBackfillJob transactionOutcomeBackfillJob = new TransactionOutcomeBackfillJob(
+            true,
+            2,
+            4,
+            3600,
+            transactionsViewOutcomeRepository,
+            transactionOutcomeUtils,
+            reactiveExclusiveLockDocumentWrapper
+    );
+
+    private static Transaction transaction(String transactionId) {
+        Transaction transaction = Mockito.mock(Transaction.class);
+        Mockito.when(transaction.getTransactionId()).thenReturn(transactionId);
+        return transaction;
+    }
+
+    @Test
+    void shouldMaterializeOutcomeOnAllViewsPagingByTransactionId() {
+        Transaction first = transaction("1");
+        Transaction second = transaction("2");
+        Transaction third = transaction("3");
+        Mockito.when(transactionsViewOutcomeRepository.findWithoutOutcome(null, 2))
+                .thenReturn(Flux.just(first, second));
+        Mockito.when(transactionsViewOutcomeRepository.findWithoutOutcome("2", 2))
+                .thenReturn(Flux.just(third));
+        Mockito.when(transactionOutcomeUtils.backfillOutcome(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(transactionOutcomeBackfillJob.run())
+                .expectNext(3L)
+                .verifyComplete();
+
+        Mockito.verify(transactionOutcomeUtils).backfillOutcome(first);
+        Mockito.verify(transactionOutcomeUtils).backfillOutcome(second);
+        Mockito.verify(transactionOutcomeUtils).backfillOutcome(third);
+        Mockito.verify(transactionsViewOutcomeRepository, Mockito.times(2)).findWithoutOutcome(any(), Mockito.eq(2));
+    }
+
+    @Test
+    void shouldCompleteWithoutViewsToBackfill() {
+        Mockito.when(transactionsViewOutcomeRepository.findWithoutOutcome(null, 2))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(transactionOutcomeBackfillJob.run())
+                .expectNext(0L)
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(transactionOutcomeUtils);
+    }
+
+    @Test
+    void shouldRunBackfillHoldingTheLock() {
+        Mockito.when(reactiveExclusiveLockDocumentWrapper.saveIfAbsent(any(), any()))
+                .thenReturn(Mono.just(true));
+        Mockito.when(transactionsViewOutcomeRepository.findWithoutOutcome(null, 2))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(transactionOutcomeBackfillJob.runExclusively())
+                .expectNext(0L)
+                .verifyComplete();
+
+        Mockito.verify(reactiveExclusiveLockDocumentWrapper).saveIfAbsent(
+                Mockito.argThat(lock -> TransactionOutcomeBackfillJob.LOCK_ID.equals(lock.id())),
+                Mockito.eq(Duration.ofSeconds(3600))
+        );
+    }
+
+    @Test
+    void shouldSkipBackfillWhenLockIsHeldByAnotherRun() {
+        Mockito.when(reactiveExclusiveLockDocumentWrapper.saveIfAbsent(any(), any()))
+                .thenReturn(Mono.just(false));
+
+        StepVerifier.create(transactionOutcomeBackfillJob.runExclusively())
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(transactionsViewOutcomeRepository, transactionOutcomeUtils);
+    }
+}
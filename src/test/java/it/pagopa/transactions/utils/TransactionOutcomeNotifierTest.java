@@ -0,0 +1,117 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class TransactionOutcomeNotifierTest {
+
+    private static final String CHANNEL = "transaction-outcome-updates";
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate = Mockito
+            .mock(ReactiveStringRedisTemplate.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SideEffectScheduler sideEffectScheduler = new SideEffectScheduler(
+            meterRegistry,
+            16,
+            16,
+            SideEffectScheduler.OverflowPolicy.QUEUE,
+            Duration.ZERO
+    );
+
+    @Test
+    void shouldNotifyLocalUpdatesOfTheRequestedTransactionOnly() {
+        TransactionOutcomeNotifier notifier = new TransactionOutcomeNotifier(
+                reactiveStringRedisTemplate,
+                meterRegistry,
+                sideEffectScheduler,
+                false,
+                CHANNEL
+        );
+
+        StepVerifier.create(notifier.updates("transactionId").take(1))
+                .then(() -> notifier.notifyUpdate("otherTransactionId", 10L))
+                .then(() -> notifier.notifyUpdate("transactionId", 11L))
+                .expectNext(new TransactionOutcomeUpdate("transactionId", 11L))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(
+                2,
+                meterRegistry.get(TransactionOutcomeNotifier.METRIC_NAME).tag("source", "local").counter().count()
+        );
+        Mockito.verifyNoInteractions(reactiveStringRedisTemplate);
+    }
+
+    @Test
+    void shouldForwardRemoteUpdatesSkippingOwnMessages() {
+        Mockito.when(reactiveStringRedisTemplate.convertAndSend(eq(CHANNEL), any())).thenReturn(Mono.just(1L));
+        TransactionOutcomeNotifier notifier = new TransactionOutcomeNotifier(
+                reactiveStringRedisTemplate,
+                meterRegistry,
+                sideEffectScheduler,
+                true,
+                CHANNEL
+        );
+        notifier.notifyUpdate("localTransactionId", 10L);
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(reactiveStringRedisTemplate).convertAndSend(eq(CHANNEL), published.capture());
+        Mockito.doReturn(
+                Flux.just(
+                        new ReactiveSubscription.ChannelMessage<>(CHANNEL, published.getValue()),
+                        new ReactiveSubscription.ChannelMessage<>(CHANNEL, "otherInstance:remoteTransactionId:11"),
+                        new ReactiveSubscription.ChannelMessage<>(CHANNEL, "otherInstance:unversionedTransactionId")
+                )
+        ).when(reactiveStringRedisTemplate).listenToChannel(CHANNEL);
+
+        StepVerifier.create(notifier.listen())
+                .expectNext(new TransactionOutcomeUpdate("remoteTransactionId", 11L))
+                .expectNext(new TransactionOutcomeUpdate("unversionedTransactionId", null))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(
+                2,
+                meterRegistry.get(TransactionOutcomeNotifier.METRIC_NAME).tag("source", "redis").counter().count()
+        );
+    }
+
+    @Test
+    void shouldNotFailNotifyingWhenPublishingFails() {
+        Mockito.when(reactiveStringRedisTemplate.convertAndSend(eq(CHANNEL), any()))
+                .thenReturn(Mono.error(new RuntimeException("redis error")));
+        TransactionOutcomeNotifier notifier = new TransactionOutcomeNotifier(
+                reactiveStringRedisTemplate,
+                meterRegistry,
+                sideEffectScheduler,
+                true,
+                CHANNEL
+        );
+
+        StepVerifier.create(notifier.updates("transactionId").take(1))
+                .then(() -> notifier.notifyUpdate("transactionId", null))
+                .expectNext(new TransactionOutcomeUpdate("transactionId", null))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(
+                1,
+                meterRegistry.get("side.effects.tasks").tag("task", "transactionOutcomeUpdatePublish")
+                        .tag("outcome", "submitted").counter().count()
+        );
+    }
+}
@@ -0,0 +1,203 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.pagopa.ecommerce.commons.documents.v2.Transaction;
+import it.pagopa.ecommerce.commons.generated.server.model.TransactionStatusDto;
+import it.pagopa.ecommerce.commons.v2.TransactionTestUtils;
+import it.pagopa.generated.transactions.server.model.TransactionOutcomeInfoDto;
+import it.pagopa.transactions.repositories.FinalStateResponseTemplateWrapper;
+import it.pagopa.transactions.repositories.TransactionViewOutcome;
+import it.pagopa.transactions.repositories.TransactionsViewOutcomeRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class TransactionOutcomeUtilsTest {
+
+    private final TransactionsViewOutcomeRepository transactionsViewOutcomeRepository = Mockito
+            .mock(TransactionsViewOutcomeRepository.class);
+
+    private final SideEffectScheduler sideEffectScheduler = new SideEffectScheduler(
+            new SimpleMeterRegistry(),
+            16,
+            16,
+            SideEffectScheduler.OverflowPolicy.QUEUE,
+            Duration.ZERO
+    );
+
+    private final FinalStateResponseCache finalStateResponseCache = new FinalStateResponseCache(
+            new SimpleMeterRegistry(),
+            Mockito.mock(FinalStateResponseTemplateWrapper.class),
+            sideEffectScheduler,
+            true,
+            600,
+            100,
+            Set.of("NOTIFIED_OK"),
+            false
+    );
+
+    private final TransactionOutcomeNotifier transactionOutcomeNotifier = Mockito
+            .mock(TransactionOutcomeNotifier.class);
+
+    private final TransactionOutcomeUtils transactionOutcomeUtils = new TransactionOutcomeUtils(
+            transactionsViewOutcomeRepository,
+            finalStateResponseCache,
+            transactionOutcomeNotifier,
+            sideEffectScheduler,
+            Map.of("100", "2"),
+            Set.of("NOTIFIED_OK"),
+            Set.of("AUTHORIZATION_COMPLETED", "CLOSURE_REQUESTED", "CLOSURE_ERROR")
+    );
+
+    @Test
+    void shouldEvaluateOutcomeAgainstCurrentViewState() {
+        Transaction transaction = TransactionTestUtils
+                .transactionDocument(TransactionStatusDto.NOTIFIED_OK, ZonedDateTime.now());
+        transaction.setFeeTotal(50);
+        transaction.setLastProcessedEventAt(10L);
+
+        TransactionViewOutcome outcome = transactionOutcomeUtils.evaluateOutcome(transaction);
+
+        assertEquals(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_0, outcome.outcome());
+        assertTrue(outcome.isFinalStatus());
+        assertEquals(
+                transaction.getPaymentNotices().stream()
+                        .mapToLong(it.pagopa.ecommerce.commons.documents.PaymentNotice::getAmount).sum(),
+                outcome.totalAmount()
+        );
+        assertEquals(50, outcome.fees());
+        assertTrue(outcome.isUpToDateWith(TransactionStatusDto.NOTIFIED_OK, 10L));
+        assertFalse(outcome.isUpToDateWith(TransactionStatusDto.NOTIFIED_OK, 11L));
+        assertFalse(outcome.isUpToDateWith(TransactionStatusDto.NOTIFIED_KO, 10L));
+    }
+
+    @Test
+    void shouldNotValueAmountsForNotSuccessfulOutcomes() {
+        Transaction transaction = TransactionTestUtils
+                .transactionDocument(TransactionStatusDto.ACTIVATED, ZonedDateTime.now());
+
+        TransactionViewOutcome outcome = transactionOutcomeUtils.evaluateOutcome(transaction);
+
+        assertEquals(TransactionOutcomeInfoDto.OutcomeEnum.NUMBER_1, outcome.outcome());
+        assertFalse(outcome.isFinalStatus());
+        assertNull(outcome.totalAmount());
+        assertNull(outcome.fees());
+    }
+
+    @Test
+    void shouldMaterializeOutcomeOnView() {
+        Transaction transaction = TransactionTestUtils
+                .transactionDocument(TransactionStatusDto.NOTIFIED_OK, ZonedDateTime.now());
+        Mockito.when(transactionsViewOutcomeRepository.updateOutcome(eq(transaction.getTransactionId()), any()))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(transactionOutcomeUtils.materializeOutcome(transaction))
+                .expectNext(transaction)
+                .verifyComplete();
+
+        Mockito.verify(transactionsViewOutcomeRepository).updateOutcome(
+                transaction.getTransactionId(),
+                transactionOutcomeUtils.evaluateOutcome(transaction)
+        );
+        Mockito.verify(transactionOutcomeNotifier)
+                .notifyUpdate(transaction.getTransactionId(), transaction.getLastProcessedEventAt());
+    }
+
+    @Test
+    void shouldIgnoreErrorsMaterializingOutcome() {
+        Transaction transaction = TransactionTestUtils
+                .transactionDocument(TransactionStatusDto.NOTIFIED_OK, ZonedDateTime.now());
+        Mockito.when(transactionsViewOutcomeRepository.updateOutcome(any(), any()))
+                .thenReturn(Mono.error(new RuntimeException("mongo error")));
+
+        StepVerifier.create(transactionOutcomeUtils.materializeOutcome(transaction))
+                .expectNext(transaction)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldIgnoreErrorsEvaluatingOutcome() {
+        Transaction transaction = TransactionTestUtils
+                .transactionDocument(TransactionStatusDto.NOTIFIED_OK, ZonedDateTime.now());
+        transaction.setPaymentNotices(null);
+
+        StepVerifier.create(transactionOutcomeUtils.materializeOutcome(transaction))
+                .expectNext(transaction)
+                .verifyComplete();
+
+        Mockito.verify(transactionsViewOutcomeRepository, Mockito.never()).updateOutcome(any(), any());
+        Mockito.verify(transactionOutcomeNotifier)
+                .notifyUpdate(transaction.getTransactionId(), transaction.getLastProcessedEventAt());
+    }
+
+    @Test
+    void shouldCacheOutcomeOfTransactionsInImmutableStates() {
+        Transaction transaction = TransactionTestUtils
+                .transactionDocument(TransactionStatusDto.NOTIFIED_OK, ZonedDateTime.now());
+        Mockito.when(transactionsViewOutcomeRepository.updateOutcome(any(), any())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(transactionOutcomeUtils.materializeOutcome(transaction))
+                .expectNext(transaction)
+                .verifyComplete();
+
+        StepVerifier.create(
+                finalStateResponseCache.get(
+                        FinalStateResponseCache.TRANSACTION_OUTCOME,
+                        transaction.getTransactionId(),
+                        Optional.ofNullable(transaction.getUserId()).map(UUID::fromString).orElse(null)
+                )
+        )
+                .expectNext(transactionOutcomeUtils.evaluateOutcome(transaction))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotCacheBackfilledOutcome() {
+        Transaction transaction = TransactionTestUtils
+                .transactionDocument(TransactionStatusDto.NOTIFIED_OK, ZonedDateTime.now());
+        Mockito.when(transactionsViewOutcomeRepository.updateOutcome(any(), any())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(transactionOutcomeUtils.backfillOutcome(transaction))
+                .expectNext(transaction)
+                .verifyComplete();
+
+        StepVerifier.create(
+                finalStateResponseCache.get(
+                        FinalStateResponseCache.TRANSACTION_OUTCOME,
+                        transaction.getTransactionId(),
+                        Optional.ofNullable(transaction.getUserId()).map(UUID::fromString).orElse(null)
+                )
+        )
+                .verifyComplete();
+        Mockito.verifyNoInteractions(transactionOutcomeNotifier);
+    }
+
+    @Test
+    void shouldSkipBackfillOfViewWhoseOutcomeCannotBeEvaluated() {
+        Transaction transaction = Mockito.spy(
+                TransactionTestUtils.transactionDocument(TransactionStatusDto.NOTIFIED_OK, ZonedDateTime.now())
+        );
+        Mockito.doThrow(new IllegalStateException("invalid view document")).when(transaction).getStatus();
+
+        Mono<Transaction> backfill = transactionOutcomeUtils.backfillOutcome(transaction);
+        Mockito.verify(transaction, Mockito.never()).getStatus();
+
+        StepVerifier.create(backfill)
+                .expectNext(transaction)
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(transactionsViewOutcomeRepository);
+    }
+}
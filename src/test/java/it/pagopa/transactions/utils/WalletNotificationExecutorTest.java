@@ -0,0 +1,273 @@
+package it.pagopa.transactions.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.pagopa.transactions.client.WalletClient;
+import it.pagopa.transactions.configurations.WalletConfig;
+import it.pagopa.transactions.exceptions.WalletErrorResponseException;
+import it.pagopa.transactions.repositories.WalletNotificationJob;
+import it.pagopa.transactions.repositories.WalletNotificationJobTemplateWrapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+
+class WalletNotificationExecutorTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T10:00:00Z");
+
+    private final WalletClient walletClient = Mockito.mock(WalletClient.class);
+
+    private final WalletNotificationJobTemplateWrapper walletNotificationJobTemplateWrapper = Mockito
+            .mock(WalletNotificationJobTemplateWrapper.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WalletNotificationExecutor executor(int queueCapacity) {
+        Mockito.when(walletNotificationJobTemplateWrapper.save(any())).thenReturn(Mono.just(true));
+        Mockito.when(walletNotificationJobTemplateWrapper.deleteById(any())).thenReturn(Mono.just(true));
+        Mockito.when(walletNotificationJobTemplateWrapper.claim(any(), any())).thenReturn(Mono.just(true));
+        Mockito.when(walletNotificationJobTemplateWrapper.findById(any()))
+                .thenAnswer(invocation -> Mono.just(job(invocation.getArgument(0), NOW)));
+        return new WalletNotificationExecutor(
+                walletClient,
+                walletNotificationJobTemplateWrapper,
+                new WalletConfig(
+                        "http://localhost",
+                        1000,
+                        1000,
+                        "api-key",
+                        new WalletConfig.NotificationConf(1, 1, 1, 0.5, queueCapacity, 2, 3600, 2, 1)
+                ),
+                meterRegistry,
+                new SideEffectScheduler(meterRegistry, 16, 16, SideEffectScheduler.OverflowPolicy.QUEUE, Duration.ZERO)
+        );
+    }
+
+    private static WalletNotificationJob job(
+                                             String transactionId,
+                                             Instant createdAt
+    ) {
+        return job(transactionId, createdAt, 0);
+    }
+
+    private static WalletNotificationJob job(
+                                             String transactionId,
+                                             Instant createdAt,
+                                             int attempts
+    ) {
+        return new WalletNotificationJob(
+                transactionId,
+                "walletId",
+                "orderId",
+                "operationId",
+                "EXECUTED",
+                null,
+                OffsetDateTime.now().toString(),
+                "cardId4",
+                createdAt.toString(),
+                attempts
+        );
+    }
+
+    private double jobsCount(String outcome) {
+        return meterRegistry.get("wallet.notification.jobs").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void shouldPersistAndNotifyWalletForSubmittedJob() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletClient.notifyWallet(any(), any(), any())).thenReturn(Mono.empty());
+        executor.start();
+
+        executor.submit(job("transactionId", NOW));
+
+        Mockito.verify(walletClient, Mockito.timeout(2000)).notifyWallet(eq("walletId"), eq("orderId"), any());
+        // job persisted at submission and with its attempts count at execution
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.times(2)).save(any());
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(2000)).deleteById("transactionId");
+        assertEquals(1, jobsCount("submitted"));
+    }
+
+    @Test
+    void shouldRejectJobsWhenQueueIsFull() {
+        WalletNotificationExecutor executor = executor(1);
+
+        executor.submit(job("transactionId1", NOW));
+        executor.submit(job("transactionId2", NOW));
+
+        // rejected job is kept persisted to be replayed by the next recovery sweep
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(2000).times(2)).save(any());
+        assertEquals(1, jobsCount("rejected"));
+        assertEquals(1, meterRegistry.get("wallet.notification.jobs.queued").gauge().value());
+    }
+
+    @Test
+    void shouldRecoverAllPersistedJobs() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletNotificationJobTemplateWrapper.findAll()).thenReturn(
+                Flux.just(job("oldTransactionId", NOW.minusSeconds(3600)), job("newTransactionId", NOW))
+        );
+        Mockito.when(walletClient.notifyWallet(any(), any(), any())).thenReturn(Mono.empty());
+        executor.start();
+
+        StepVerifier.create(executor.recoverPendingJobs())
+                .expectNext(2L)
+                .verifyComplete();
+
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(2000)).deleteById("oldTransactionId");
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(2000)).deleteById("newTransactionId");
+        Mockito.verify(walletClient, Mockito.times(2)).notifyWallet(any(), any(), any());
+        assertEquals(2, jobsCount("recovered"));
+    }
+
+    @Test
+    void shouldNotRecoverJobsQueuedOnThisInstance() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletNotificationJobTemplateWrapper.findAll())
+                .thenReturn(Flux.just(job("transactionId", NOW)));
+
+        executor.submit(job("transactionId", NOW));
+
+        StepVerifier.create(executor.recoverPendingJobs())
+                .expectNext(0L)
+                .verifyComplete();
+
+        assertEquals(1, meterRegistry.get("wallet.notification.jobs.queued").gauge().value());
+    }
+
+    @Test
+    void shouldRecoverPendingJobsPeriodically() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletNotificationJobTemplateWrapper.findAll()).thenReturn(Flux.empty());
+
+        executor.startRecovery();
+
+        try {
+            Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(3000).atLeast(2)).findAll();
+        } finally {
+            executor.stop();
+        }
+    }
+
+    @Test
+    void shouldNotifyWalletForJobNotPersistedWithoutClaimingIt() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletNotificationJobTemplateWrapper.save(any()))
+                .thenReturn(Mono.error(new RuntimeException("redis error")));
+        Mockito.when(walletClient.notifyWallet(any(), any(), any())).thenReturn(Mono.empty());
+        executor.start();
+
+        executor.submit(job("transactionId", NOW));
+
+        Mockito.verify(walletClient, Mockito.timeout(2000)).notifyWallet(eq("walletId"), eq("orderId"), any());
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.never()).claim(any(), any());
+    }
+
+    @Test
+    void shouldDeleteJobRejectedByWallet() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletClient.notifyWallet(any(), any(), any())).thenReturn(
+                Mono.error(new WalletErrorResponseException("bad request", HttpStatus.BAD_REQUEST, null))
+        );
+        executor.start();
+
+        executor.submit(job("transactionId", NOW));
+
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(2000)).deleteById("transactionId");
+        Mockito.verify(walletClient, Mockito.times(1)).notifyWallet(any(), any(), any());
+    }
+
+    @Test
+    void shouldKeepJobWhenRetriesAreExhausted() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletClient.notifyWallet(any(), any(), any())).thenReturn(
+                Mono.error(new WalletErrorResponseException("error", HttpStatus.INTERNAL_SERVER_ERROR, null))
+        );
+        executor.start();
+
+        executor.submit(job("transactionId", NOW));
+
+        Mockito.verify(walletClient, Mockito.timeout(5000).times(2)).notifyWallet(any(), any(), any());
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.after(500).never()).deleteById(any());
+        assertEquals(1, jobsCount("failed"));
+    }
+
+    @Test
+    void shouldPersistJobAttemptsBeforeNotifyingWallet() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletClient.notifyWallet(any(), any(), any())).thenReturn(Mono.empty());
+        executor.start();
+
+        executor.submit(job("transactionId", NOW));
+
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(2000)).deleteById("transactionId");
+        Mockito.verify(walletNotificationJobTemplateWrapper)
+                .claim(argThat(job -> job.transactionId().equals("transactionId")), any());
+        Mockito.verify(walletNotificationJobTemplateWrapper).save(argThat(job -> job.attempts() == 1));
+    }
+
+    @Test
+    void shouldSkipJobLeasedByAnotherExecution() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletNotificationJobTemplateWrapper.claim(any(), any())).thenReturn(Mono.just(false));
+        Mockito.when(walletNotificationJobTemplateWrapper.findAll())
+                .thenReturn(Flux.just(job("transactionId", NOW.minusSeconds(60))));
+        executor.start();
+
+        StepVerifier.create(executor.recoverPendingJobs())
+                .expectNext(1L)
+                .verifyComplete();
+
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(2000)).claim(any(), any());
+        Mockito.verify(walletClient, Mockito.after(500).never()).notifyWallet(any(), any(), any());
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.never()).deleteById(any());
+        assertEquals(1, jobsCount("skipped"));
+    }
+
+    @Test
+    void shouldSkipJobAlreadyCompleted() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletNotificationJobTemplateWrapper.findById(any())).thenReturn(Mono.empty());
+        Mockito.when(walletNotificationJobTemplateWrapper.findAll())
+                .thenReturn(Flux.just(job("transactionId", NOW.minusSeconds(60))));
+        executor.start();
+
+        StepVerifier.create(executor.recoverPendingJobs())
+                .expectNext(1L)
+                .verifyComplete();
+
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(2000)).findById("transactionId");
+        Mockito.verify(walletClient, Mockito.after(500).never()).notifyWallet(any(), any(), any());
+        assertEquals(1, jobsCount("skipped"));
+    }
+
+    @Test
+    void shouldDiscardJobAfterMaxAttempts() {
+        WalletNotificationExecutor executor = executor(16);
+        Mockito.when(walletNotificationJobTemplateWrapper.findById(any()))
+                .thenReturn(Mono.just(job("transactionId", NOW.minusSeconds(60), 2)));
+        Mockito.when(walletNotificationJobTemplateWrapper.findAll())
+                .thenReturn(Flux.just(job("transactionId", NOW.minusSeconds(60), 2)));
+        executor.start();
+
+        StepVerifier.create(executor.recoverPendingJobs())
+                .expectNext(1L)
+                .verifyComplete();
+
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.timeout(2000)).deleteById("transactionId");
+        Mockito.verify(walletClient, Mockito.never()).notifyWallet(any(), any(), any());
+        Mockito.verify(walletNotificationJobTemplateWrapper, Mockito.never()).save(any());
+        assertEquals(1, jobsCount("discarded"));
+    }
+}
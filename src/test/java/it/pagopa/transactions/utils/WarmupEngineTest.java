@@ -0,0 +1,191 @@
+package it.pagopa.transactions.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.pagopa.generated.transactions.server.model.AddUserReceiptRequestDto;
+import it.pagopa.generated.transactions.server.model.RequestAuthorizationRequestDto;
+import it.pagopa.generated.transactions.v2.server.model.UpdateAuthorizationRequestDto;
+import it.pagopa.transactions.repositories.TransactionsEventStoreRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmupEngineTest {
+
+    private final TransactionsUtils transactionsUtils = new TransactionsUtils(
+            Mockito.mock(TransactionsEventStoreRepository.class),
+            "3020"
+    );
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WarmupEngine warmupEngine(
+                                      boolean enabled,
+                                      ExchangeFunction exchangeFunction
+    ) {
+        return new WarmupEngine(
+                enabled,
+                2,
+                4,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(10),
+                "primary-key",
+                transactionsUtils,
+                meterRegistry,
+                WebClient.builder().baseUrl("http://localhost:8080").exchangeFunction(exchangeFunction).build()
+        );
+    }
+
+    private double requestsCount(String outcome) {
+        return meterRegistry.find(WarmupEngine.METRIC_NAME).tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    @Test
+    void shouldReportOutOfServiceUntilAllScenariosAreExecuted() {
+        AtomicInteger requests = new AtomicInteger();
+        WarmupEngine warmupEngine = warmupEngine(
+                true,
+                request -> {
+                    requests.incrementAndGet();
+                    assertEquals("primary-key", request.headers().getFirst("x-api-key"));
+                    if (request.method() == HttpMethod.POST && request.url().getPath().endsWith("transactions")) {
+                        return Mono.just(
+                                ClientResponse.create(HttpStatus.OK)
+                                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                        .body("{\"transactionId\": \"transactionId\"}")
+                                        .build()
+                        );
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+                }
+        );
+        assertEquals(Status.OUT_OF_SERVICE, warmupEngine.health().getStatus());
+
+        StepVerifier.create(warmupEngine.run()).verifyComplete();
+
+        assertTrue(warmupEngine.isCompleted());
+        assertEquals(Status.UP, warmupEngine.health().getStatus());
+        // per round: 3 activations, 4 info/outcomes reads, 4 random transaction
+        // requests, SOAP codec scenario doesn't perform any request
+        assertEquals(22, requests.get());
+        assertEquals(16, requestsCount("completed"));
+        assertEquals(0, requestsCount("failed"));
+        assertEquals(1, meterRegistry.get("warmup.duration").timer().count());
+    }
+
+    @Test
+    void shouldSendWriteRequestsFailingValidation() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        assertEquals(
+                Set.of("amount"),
+                violatedProperties(
+                        validator.validate(
+                                objectMapper.readValue(
+                                        WarmupEngine.INVALID_AUTHORIZATION_REQUEST,
+                                        RequestAuthorizationRequestDto.class
+                                )
+                        )
+                )
+        );
+        assertEquals(
+                Set.of("timestampOperation"),
+                violatedProperties(
+                        validator.validate(
+                                objectMapper.readValue(
+                                        WarmupEngine.INVALID_UPDATE_AUTHORIZATION_REQUEST,
+                                        UpdateAuthorizationRequestDto.class
+                                )
+                        )
+                )
+        );
+        assertEquals(
+                Set.of("payments"),
+                violatedProperties(
+                        validator.validate(
+                                objectMapper.readValue(
+                                        WarmupEngine.INVALID_ADD_USER_RECEIPT_REQUEST.formatted(OffsetDateTime.now()),
+                                        AddUserReceiptRequestDto.class
+                                )
+                        )
+                )
+        );
+    }
+
+    private static Set<String> violatedProperties(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream().map(violation -> violation.getPropertyPath().toString())
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void shouldCompleteWarmupEvenIfRequestsFail() {
+        WarmupEngine warmupEngine = warmupEngine(
+                true,
+                request -> Mono.error(new ConnectException("connection refused"))
+        );
+
+        StepVerifier.create(warmupEngine.run()).verifyComplete();
+
+        assertEquals(Status.UP, warmupEngine.health().getStatus());
+        // only SOAP codec scenario doesn't depend on the server
+        assertEquals(2, requestsCount("completed"));
+        assertEquals(14, requestsCount("failed"));
+    }
+
+    @Test
+    void shouldSignalCompletionOnceWarmupHasEnded() {
+        WarmupEngine warmupEngine = warmupEngine(
+                true,
+                request -> Mono.error(new ConnectException("connection refused"))
+        );
+
+        StepVerifier.create(warmupEngine.completion())
+                .then(() -> warmupEngine.run().subscribe())
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void shouldSignalCompletionImmediatelyWhenWarmupIsDisabled() {
+        WarmupEngine warmupEngine = warmupEngine(
+                false,
+                request -> Mono.error(new IllegalStateException("no request expected"))
+        );
+
+        StepVerifier.create(warmupEngine.completion()).verifyComplete();
+    }
+
+    @Test
+    void shouldReportUpWhenWarmupIsDisabled() {
+        WarmupEngine warmupEngine = warmupEngine(
+                false,
+                request -> Mono.error(new IllegalStateException("no request expected"))
+        );
+
+        assertEquals(Status.UP, warmupEngine.health().getStatus());
+    }
+}